@@ -0,0 +1,173 @@
+package org.example.automotive;
+
+import org.example.automotive.VehicleDashboard.FuelConsumption;
+
+/**
+ * Streaming fuel consumption and range estimate, updated in constant time per telemetry sample.
+ * <p>
+ * The fuel level sensor is noisy and coarse, so the level is first smoothed with an exponentially weighted
+ * moving average; each sample's fuel use is the drop of the smoothed level, its distance the trapezoid of the
+ * speed over the time step. Consumption is the ratio of two exponentially weighted rates, fuel per second over
+ * distance per second: a short window gives the instant and a long window the average consumption. Each
+ * average uses a time-based weight of {@code dt / (window + dt)}, so irregular sample intervals are handled.
+ * <p>
+ * A level rising by more than {@link #REFUEL_PERCENT} counts as refuelling and restarts the smoothing there.
+ * The fuel level turns critical at or below the critical level and clears only at or above the clear level,
+ * so sensor noise around the threshold does not report it repeatedly.
+ * <p>
+ * Not thread-safe; the dashboard updates it from its single writer and publishes {@link #snapshot}s.
+ */
+public final class FuelEstimator {
+
+    public static final double DEFAULT_TANK_LITERS = 50;
+    /** L/100km assumed until enough distance has been driven */
+    public static final double DEFAULT_CONSUMPTION = 7.2;
+    public static final double INSTANT_WINDOW_SECONDS = 5;
+    public static final double AVERAGE_WINDOW_SECONDS = 600;
+    public static final double LEVEL_WINDOW_SECONDS = 20;
+    public static final double REFUEL_PERCENT = 5;
+    public static final double DEFAULT_CRITICAL_PERCENT = 10;
+    public static final double DEFAULT_CLEAR_PERCENT = 15;
+
+    // Below 1 km/h consumption per distance is meaningless, so instant consumption reads 0
+    private static final double MIN_DISTANCE_RATE = 1.0 / 3600;
+    // The prior's weight corresponds to driving at 50 km/h
+    private static final double PRIOR_DISTANCE_RATE = 50.0 / 3600;
+
+    private final double tankLiters;
+    private final double criticalPercent;
+    private final double clearPercent;
+
+    private long lastTime;
+    private double lastSpeed;
+    private boolean started;
+    private double level;
+    private double instantFuelRate;
+    private double instantDistanceRate;
+    private double averageFuelRate;
+    private double averageDistanceRate;
+    private double tripLiters;
+    private boolean critical;
+
+    public FuelEstimator() {
+        this(DEFAULT_TANK_LITERS, DEFAULT_CRITICAL_PERCENT, DEFAULT_CLEAR_PERCENT);
+    }
+
+    /**
+     * @param criticalPercent fuel level at which it turns critical
+     * @param clearPercent fuel level at which it stops being critical; above {@code criticalPercent}
+     */
+    public FuelEstimator(double tankLiters, double criticalPercent, double clearPercent) {
+        if (!(tankLiters > 0) || !(criticalPercent >= 0) || !(clearPercent > criticalPercent)) {
+            throw new IllegalArgumentException("Invalid tank " + tankLiters + " L or thresholds " + criticalPercent
+                + "/" + clearPercent + " %");
+        }
+        this.tankLiters = tankLiters;
+        this.criticalPercent = criticalPercent;
+        this.clearPercent = clearPercent;
+        averageDistanceRate = PRIOR_DISTANCE_RATE;
+        averageFuelRate = DEFAULT_CONSUMPTION / 100 * PRIOR_DISTANCE_RATE;
+    }
+
+    /**
+     * Adds a sample; samples must come in time order
+     *
+     * @param speed km/h
+     * @param fuelLevel percentage of the tank
+     * @return true if the fuel level just turned critical
+     */
+    public boolean update(long timeMillis, double speed, double fuelLevel) {
+        if (!started) {
+            started = true;
+            lastTime = timeMillis;
+            lastSpeed = speed;
+            level = fuelLevel;
+            return checkCritical();
+        }
+        double dt = (timeMillis - lastTime) / 1000.0;
+        if (dt <= 0) {
+            return false;
+        }
+        if (fuelLevel - level > REFUEL_PERCENT) {
+            level = fuelLevel;
+        } else {
+            double previous = level;
+            level += (fuelLevel - level) * weight(dt, LEVEL_WINDOW_SECONDS);
+            // Signed, so that sensor noise averages out instead of being counted as fuel use
+            double usedLiters = (previous - level) / 100 * tankLiters;
+            double distanceKm = (speed + lastSpeed) / 2 * dt / 3600;
+            tripLiters += usedLiters;
+            double instantWeight = weight(dt, INSTANT_WINDOW_SECONDS);
+            instantFuelRate += (usedLiters / dt - instantFuelRate) * instantWeight;
+            instantDistanceRate += (distanceKm / dt - instantDistanceRate) * instantWeight;
+            double averageWeight = weight(dt, AVERAGE_WINDOW_SECONDS);
+            averageFuelRate += (usedLiters / dt - averageFuelRate) * averageWeight;
+            averageDistanceRate += (distanceKm / dt - averageDistanceRate) * averageWeight;
+        }
+        lastTime = timeMillis;
+        lastSpeed = speed;
+        return checkCritical();
+    }
+
+    private static double weight(double dt, double window) {
+        return dt / (window + dt);
+    }
+
+    private boolean checkCritical() {
+        if (!critical && level <= criticalPercent) {
+            critical = true;
+            return true;
+        }
+        if (critical && level >= clearPercent) {
+            critical = false;
+        }
+        return false;
+    }
+
+    public void resetTrip() {
+        tripLiters = 0;
+    }
+
+    /**
+     * L/100km over the last seconds; 0 while standing
+     */
+    public double getInstantConsumption() {
+        return instantDistanceRate < MIN_DISTANCE_RATE ? 0 : Math.max(0, 100 * instantFuelRate / instantDistanceRate);
+    }
+
+    /**
+     * L/100km over the last minutes
+     */
+    public double getAverageConsumption() {
+        return averageDistanceRate < MIN_DISTANCE_RATE ? DEFAULT_CONSUMPTION
+            : Math.max(0, 100 * averageFuelRate / averageDistanceRate);
+    }
+
+    public double getRemainingLiters() {
+        return Math.max(0, level) / 100 * tankLiters;
+    }
+
+    /**
+     * km left at the average consumption
+     */
+    public double getRangeEstimate() {
+        double consumption = getAverageConsumption();
+        return consumption <= 0 ? 0 : getRemainingLiters() / consumption * 100;
+    }
+
+    public double getTripLiters() {
+        return Math.max(0, tripLiters);
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    /**
+     * Current estimates; fuelUsedTrip is in mL as in the interface
+     */
+    public FuelConsumption snapshot() {
+        return new FuelConsumption((float) getInstantConsumption(), (float) getAverageConsumption(),
+            (float) getRangeEstimate(), (int) Math.round(getTripLiters() * 1000));
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.automotive;
+
+import java.util.Arrays;
+
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+
+/**
+ * Reusable buffer of vehicle signal samples for {@link VehicleDashboardImpl#ingest}.
+ * <p>
+ * Samples are kept in parallel arrays in arrival order; a later sample of a signal overrides an earlier one
+ * of the same batch. Odometer samples are total kilometres, and increases also advance the trip meter.
+ * Producers fill a batch, ingest it and {@link #clear} it, so steady-state ingestion does not allocate per
+ * sample.
+ */
+public final class TelemetryBatch {
+
+    private static final VehicleSignal[] SIGNALS = VehicleSignal.values();
+
+    private byte[] signals;
+    private double[] values;
+    private int size;
+
+    public TelemetryBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, got " + capacity);
+        }
+        signals = new byte[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Appends a sample, growing the buffer if needed
+     */
+    public TelemetryBatch add(VehicleSignal signal, double value) {
+        if (signal == null) {
+            throw new IllegalArgumentException("Signal is required");
+        }
+        if (size == signals.length) {
+            signals = Arrays.copyOf(signals, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        signals[size] = (byte) signal.ordinal();
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public VehicleSignal signal(int index) {
+        checkIndex(index);
+        return SIGNALS[signals[index]];
+    }
+
+    public double value(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    int signalOrdinal(int index) {
+        return signals[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " outside batch of " + size);
+        }
+    }
+}
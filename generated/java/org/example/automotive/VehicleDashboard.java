@@ -2,10 +2,14 @@ package org.example.automotive;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import org.example.common.*;
+import java.nio.ByteBuffer;
+import org.example.runtime.SomeIpCodec;
+import org.example.runtime.EventBus;
 
 /**
  * VehicleDashboard interface generated from FRANCA IDL
+ * <p>
+ * Vehicle dashboard interface for automotive applications
  */
 public interface VehicleDashboard {
     
@@ -15,6 +19,18 @@ public interface VehicleDashboard {
         private final int value;
         TransmissionState(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static TransmissionState fromValue(int value) {
+            switch (value) {
+                case 0: return PARK;
+                case 1: return REVERSE;
+                case 2: return NEUTRAL;
+                case 3: return DRIVE;
+                case 4: return SPORT;
+                case 5: return MANUAL;
+                default: throw new IllegalArgumentException("Unknown TransmissionState value " + value);
+            }
+        }
     }
     
     enum EngineState {
@@ -23,15 +39,88 @@ public interface VehicleDashboard {
         private final int value;
         EngineState(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static EngineState fromValue(int value) {
+            switch (value) {
+                case 0: return OFF;
+                case 1: return STARTING;
+                case 2: return IDLE;
+                case 3: return RUNNING;
+                case 4: return OVERHEATED;
+                case 5: return ERROR;
+                default: throw new IllegalArgumentException("Unknown EngineState value " + value);
+            }
+        }
     }
     
     enum WarningLight {
-        ENGINE_CHECK(1), OIL_PRESSURE(2), BATTERY(3), TEMPERATURE(4), BRAKE(5),
-        ABS(6), AIRBAG(7), SEAT_BELT(8), FUEL_LOW(9), TIRE_PRESSURE(10);
+        ENGINE_CHECK(1), OIL_PRESSURE(2), BATTERY(3), TEMPERATURE(4), BRAKE(5), ABS(6), AIRBAG(7),
+        SEAT_BELT(8), FUEL_LOW(9), TIRE_PRESSURE(10);
         
         private final int value;
         WarningLight(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static WarningLight fromValue(int value) {
+            switch (value) {
+                case 1: return ENGINE_CHECK;
+                case 2: return OIL_PRESSURE;
+                case 3: return BATTERY;
+                case 4: return TEMPERATURE;
+                case 5: return BRAKE;
+                case 6: return ABS;
+                case 7: return AIRBAG;
+                case 8: return SEAT_BELT;
+                case 9: return FUEL_LOW;
+                case 10: return TIRE_PRESSURE;
+                default: throw new IllegalArgumentException("Unknown WarningLight value " + value);
+            }
+        }
+    }
+    
+    enum VehicleSignal {
+        SPEED(0), ENGINE_RPM(1), FUEL_LEVEL(2), ENGINE_TEMPERATURE(3), OIL_PRESSURE(4),
+        ODOMETER(5);
+        
+        private final int value;
+        VehicleSignal(int value) { this.value = value; }
+        public int getValue() { return value; }
+        
+        public static VehicleSignal fromValue(int value) {
+            switch (value) {
+                case 0: return SPEED;
+                case 1: return ENGINE_RPM;
+                case 2: return FUEL_LEVEL;
+                case 3: return ENGINE_TEMPERATURE;
+                case 4: return OIL_PRESSURE;
+                case 5: return ODOMETER;
+                default: throw new IllegalArgumentException("Unknown VehicleSignal value " + value);
+            }
+        }
+    }
+    
+    enum CommonError {
+        NO_ERROR(0), INVALID_INPUT(1), TIMEOUT(2), COMMUNICATION_ERROR(3),
+        AUTHENTICATION_FAILED(4), PERMISSION_DENIED(5), RESOURCE_NOT_AVAILABLE(6),
+        INTERNAL_ERROR(99);
+        
+        private final int value;
+        CommonError(int value) { this.value = value; }
+        public int getValue() { return value; }
+        
+        public static CommonError fromValue(int value) {
+            switch (value) {
+                case 0: return NO_ERROR;
+                case 1: return INVALID_INPUT;
+                case 2: return TIMEOUT;
+                case 3: return COMMUNICATION_ERROR;
+                case 4: return AUTHENTICATION_FAILED;
+                case 5: return PERMISSION_DENIED;
+                case 6: return RESOURCE_NOT_AVAILABLE;
+                case 99: return INTERNAL_ERROR;
+                default: throw new IllegalArgumentException("Unknown CommonError value " + value);
+            }
+        }
     }
     
     enum StatusLevel {
@@ -40,6 +129,16 @@ public interface VehicleDashboard {
         private final int value;
         StatusLevel(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static StatusLevel fromValue(int value) {
+            switch (value) {
+                case 0: return OK;
+                case 1: return WARNING;
+                case 2: return ERROR;
+                case 3: return CRITICAL;
+                default: throw new IllegalArgumentException("Unknown StatusLevel value " + value);
+            }
+        }
     }
     
     class VehicleData {
@@ -52,6 +151,55 @@ public interface VehicleDashboard {
         public int tripMeter;
         public TransmissionState transmission;
         public EngineState engineState;
+        
+        public VehicleData() {}
+        
+        public VehicleData(float speed, float engineRPM, float fuelLevel, float engineTemperature, float oilPressure, int odometer, int tripMeter, TransmissionState transmission, EngineState engineState) {
+            this.speed = speed;
+            this.engineRPM = engineRPM;
+            this.fuelLevel = fuelLevel;
+            this.engineTemperature = engineTemperature;
+            this.oilPressure = oilPressure;
+            this.odometer = odometer;
+            this.tripMeter = tripMeter;
+            this.transmission = transmission;
+            this.engineState = engineState;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putFloat(speed);
+            buffer.putFloat(engineRPM);
+            buffer.putFloat(fuelLevel);
+            buffer.putFloat(engineTemperature);
+            buffer.putFloat(oilPressure);
+            buffer.putInt(odometer);
+            buffer.putInt(tripMeter);
+            if (transmission == null) {
+                throw new IllegalArgumentException("TransmissionState transmission must not be null");
+            }
+            buffer.put((byte) transmission.getValue());
+            if (engineState == null) {
+                throw new IllegalArgumentException("EngineState engineState must not be null");
+            }
+            buffer.put((byte) engineState.getValue());
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            speed = buffer.getFloat();
+            engineRPM = buffer.getFloat();
+            fuelLevel = buffer.getFloat();
+            engineTemperature = buffer.getFloat();
+            oilPressure = buffer.getFloat();
+            odometer = buffer.getInt();
+            tripMeter = buffer.getInt();
+            transmission = TransmissionState.fromValue(buffer.get() & 0xFF);
+            engineState = EngineState.fromValue(buffer.get() & 0xFF);
+        }
+        
+        public int serializedSize() {
+            return 30;
+        }
     }
     
     class WarningStatus {
@@ -60,6 +208,45 @@ public interface VehicleDashboard {
         public String message;
         public StatusLevel severity;
         public long activatedTime;
+        
+        public WarningStatus() {}
+        
+        public WarningStatus(WarningLight type, boolean isActive, String message, StatusLevel severity, long activatedTime) {
+            this.type = type;
+            this.isActive = isActive;
+            this.message = message;
+            this.severity = severity;
+            this.activatedTime = activatedTime;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            if (type == null) {
+                throw new IllegalArgumentException("WarningLight type must not be null");
+            }
+            buffer.put((byte) type.getValue());
+            SomeIpCodec.writeBoolean(buffer, isActive);
+            SomeIpCodec.writeString(buffer, message);
+            if (severity == null) {
+                throw new IllegalArgumentException("StatusLevel severity must not be null");
+            }
+            buffer.put((byte) severity.getValue());
+            buffer.putLong(activatedTime);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            type = WarningLight.fromValue(buffer.get() & 0xFF);
+            isActive = SomeIpCodec.readBoolean(buffer);
+            message = SomeIpCodec.readString(buffer);
+            severity = StatusLevel.fromValue(buffer.get() & 0xFF);
+            activatedTime = buffer.getLong();
+        }
+        
+        public int serializedSize() {
+            int size = 11;
+            size += SomeIpCodec.stringSize(message);
+            return size;
+        }
     }
     
     class FuelConsumption {
@@ -67,6 +254,77 @@ public interface VehicleDashboard {
         public float averageConsumption;
         public float rangeEstimate;
         public int fuelUsedTrip;
+        
+        public FuelConsumption() {}
+        
+        public FuelConsumption(float instantConsumption, float averageConsumption, float rangeEstimate, int fuelUsedTrip) {
+            this.instantConsumption = instantConsumption;
+            this.averageConsumption = averageConsumption;
+            this.rangeEstimate = rangeEstimate;
+            this.fuelUsedTrip = fuelUsedTrip;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putFloat(instantConsumption);
+            buffer.putFloat(averageConsumption);
+            buffer.putFloat(rangeEstimate);
+            buffer.putInt(fuelUsedTrip);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            instantConsumption = buffer.getFloat();
+            averageConsumption = buffer.getFloat();
+            rangeEstimate = buffer.getFloat();
+            fuelUsedTrip = buffer.getInt();
+        }
+        
+        public int serializedSize() {
+            return 16;
+        }
+    }
+    
+    class HistoryBucket {
+        public long startTime;
+        public long endTime;
+        public float minimum;
+        public float maximum;
+        public float average;
+        public int samples;
+        
+        public HistoryBucket() {}
+        
+        public HistoryBucket(long startTime, long endTime, float minimum, float maximum, float average, int samples) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.average = average;
+            this.samples = samples;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putLong(startTime);
+            buffer.putLong(endTime);
+            buffer.putFloat(minimum);
+            buffer.putFloat(maximum);
+            buffer.putFloat(average);
+            buffer.putInt(samples);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            startTime = buffer.getLong();
+            endTime = buffer.getLong();
+            minimum = buffer.getFloat();
+            maximum = buffer.getFloat();
+            average = buffer.getFloat();
+            samples = buffer.getInt();
+        }
+        
+        public int serializedSize() {
+            return 32;
+        }
     }
     
     // Methods
@@ -75,36 +333,116 @@ public interface VehicleDashboard {
     CompletableFuture<FuelConsumption> getFuelConsumption();
     CompletableFuture<Boolean> resetTripMeter();
     CompletableFuture<Boolean> setDisplayUnits(boolean useMetric);
+    CompletableFuture<HistoryBucket[]> getVehicleHistory(VehicleSignal signal, long fromTime, long toTime, int maxBuckets);
+    
+    // Attributes
+    CompletableFuture<Float> getCurrentSpeed();
+    CompletableFuture<Float> getCurrentRPM();
+    CompletableFuture<Byte> getDisplayBrightness();
+    CompletableFuture<Void> setDisplayBrightness(byte displayBrightness);
+    CompletableFuture<Boolean> getUseMetricUnits();
+    CompletableFuture<Void> setUseMetricUnits(boolean useMetricUnits);
+    EventBus<Float> currentSpeedChanges();
+    EventBus<Float> currentRPMChanges();
+    EventBus<Byte> displayBrightnessChanges();
+    EventBus<Boolean> useMetricUnitsChanges();
+    
+    // Events
+    EventBus<VehicleDataChangedEvent> vehicleDataChangedEvents();
+    EventBus<WarningStatusChangedEvent> warningStatusChangedEvents();
+    EventBus<FuelLevelCriticalEvent> fuelLevelCriticalEvents();
+    
+    default void setVehicleDataChangedListener(Consumer<VehicleDataChangedEvent> listener) {
+        vehicleDataChangedEvents().setListener(listener);
+    }
+    
+    default void setWarningStatusChangedListener(Consumer<WarningStatusChangedEvent> listener) {
+        warningStatusChangedEvents().setListener(listener);
+    }
     
-    // Event listeners
-    void setVehicleDataChangedListener(Consumer<VehicleDataChangedEvent> listener);
-    void setWarningStatusChangedListener(Consumer<WarningStatusChangedEvent> listener);
-    void setFuelLevelCriticalListener(Consumer<FuelLevelCriticalEvent> listener);
+    default void setFuelLevelCriticalListener(Consumer<FuelLevelCriticalEvent> listener) {
+        fuelLevelCriticalEvents().setListener(listener);
+    }
     
     // Event classes
     class VehicleDataChangedEvent {
         public VehicleData newData;
         
+        public VehicleDataChangedEvent() {}
+        
         public VehicleDataChangedEvent(VehicleData newData) {
             this.newData = newData;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            (newData != null ? newData : new VehicleData()).writeTo(buffer);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            if (newData == null) {
+                newData = new VehicleData();
+            }
+            newData.readFrom(buffer);
+        }
+        
+        public int serializedSize() {
+            return 30;
+        }
     }
     
     class WarningStatusChangedEvent {
         public WarningStatus warning;
         
+        public WarningStatusChangedEvent() {}
+        
         public WarningStatusChangedEvent(WarningStatus warning) {
             this.warning = warning;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            (warning != null ? warning : new WarningStatus()).writeTo(buffer);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            if (warning == null) {
+                warning = new WarningStatus();
+            }
+            warning.readFrom(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 0;
+            size += (warning != null ? warning : new WarningStatus()).serializedSize();
+            return size;
+        }
     }
     
     class FuelLevelCriticalEvent {
         public float remainingFuel;
         public float estimatedRange;
         
+        public FuelLevelCriticalEvent() {}
+        
         public FuelLevelCriticalEvent(float remainingFuel, float estimatedRange) {
             this.remainingFuel = remainingFuel;
             this.estimatedRange = estimatedRange;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putFloat(remainingFuel);
+            buffer.putFloat(estimatedRange);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            remainingFuel = buffer.getFloat();
+            estimatedRange = buffer.getFloat();
+        }
+        
+        public int serializedSize() {
+            return 8;
+        }
     }
 }
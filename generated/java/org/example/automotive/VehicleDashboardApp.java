@@ -2,6 +2,7 @@ package org.example.automotive;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Vehicle Dashboard demo application
@@ -79,6 +80,10 @@ public class VehicleDashboardApp {
                 
                 impl.simulateVehicleDataChange();
                 impl.simulateFuelLevelCritical();
+                
+                // Listeners run asynchronously; let them print before the demo exits
+                dashboard.vehicleDataChangedEvents().awaitIdle(1, TimeUnit.SECONDS);
+                dashboard.fuelLevelCriticalEvents().awaitIdle(1, TimeUnit.SECONDS);
             }
             
         } catch (InterruptedException | ExecutionException e) {
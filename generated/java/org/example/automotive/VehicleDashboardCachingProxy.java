@@ -0,0 +1,204 @@
+package org.example.automotive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.example.runtime.EventBus;
+import org.example.runtime.ResponseCache;
+import org.example.automotive.VehicleDashboard.*;
+
+/**
+ * Caching client proxy of VehicleDashboard generated from FRANCA IDL
+ * <p>
+ * Replies of the get methods are kept in a {@link ResponseCache}; other methods and events
+ * are passed through to the delegate. Invalidating events are delivered asynchronously, so a
+ * reply can outlive its invalidation by the event's delivery latency.
+ */
+public final class VehicleDashboardCachingProxy implements VehicleDashboard, AutoCloseable {
+    
+    private static final int GET_VEHICLE_DATA = 0;
+    private static final int GET_ACTIVE_WARNINGS = 1;
+    private static final int GET_FUEL_CONSUMPTION = 2;
+    private static final int GET_VEHICLE_HISTORY = 3;
+    private static final int GET_CURRENT_SPEED = 4;
+    private static final int GET_CURRENT_RPM = 5;
+    private static final int GET_DISPLAY_BRIGHTNESS = 6;
+    private static final int GET_USE_METRIC_UNITS = 7;
+    private static final String[] METHODS = {"getVehicleData", "getActiveWarnings", "getFuelConsumption",
+        "getVehicleHistory", "getCurrentSpeed", "getCurrentRPM", "getDisplayBrightness", "getUseMetricUnits"};
+    // Events invalidating each method unless the policy replaces them
+    private static final String[][] INVALIDATED_BY = {
+        {"vehicleDataChanged", "warningStatusChanged", "fuelLevelCritical"},
+        {"vehicleDataChanged", "warningStatusChanged", "fuelLevelCritical"},
+        {"vehicleDataChanged", "warningStatusChanged", "fuelLevelCritical"},
+        {"vehicleDataChanged", "warningStatusChanged", "fuelLevelCritical"},
+        {"currentSpeed"},
+        {"currentRPM"},
+        {"displayBrightness"},
+        {"useMetricUnits"},
+    };
+    // Methods whose replies the other methods' calls may change
+    private static final int[] WRITE_INVALIDATED = {GET_VEHICLE_DATA, GET_ACTIVE_WARNINGS,
+        GET_FUEL_CONSUMPTION, GET_VEHICLE_HISTORY};
+    
+    private final VehicleDashboard delegate;
+    private final ResponseCache cache;
+    private final List<EventBus.Subscription<?>> subscriptions = new ArrayList<>();
+    
+    public VehicleDashboardCachingProxy(VehicleDashboard delegate) {
+        this(delegate, ResponseCache.Policy.defaults());
+    }
+    
+    public VehicleDashboardCachingProxy(VehicleDashboard delegate, ResponseCache.Policy policy) {
+        this.delegate = delegate;
+        this.cache = new ResponseCache("VehicleDashboard", METHODS, INVALIDATED_BY, policy);
+        if (cache.isInvalidatedBy("vehicleDataChanged")) {
+            subscriptions.add(delegate.vehicleDataChangedEvents().subscribe(
+                event -> cache.invalidate("vehicleDataChanged"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("warningStatusChanged")) {
+            subscriptions.add(delegate.warningStatusChangedEvents().subscribe(
+                event -> cache.invalidate("warningStatusChanged"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("fuelLevelCritical")) {
+            subscriptions.add(delegate.fuelLevelCriticalEvents().subscribe(
+                event -> cache.invalidate("fuelLevelCritical"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("currentSpeed")) {
+            subscriptions.add(delegate.currentSpeedChanges().subscribe(
+                value -> cache.invalidate("currentSpeed"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("currentRPM")) {
+            subscriptions.add(delegate.currentRPMChanges().subscribe(
+                value -> cache.invalidate("currentRPM"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("displayBrightness")) {
+            subscriptions.add(delegate.displayBrightnessChanges().subscribe(
+                value -> cache.invalidate("displayBrightness"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("useMetricUnits")) {
+            subscriptions.add(delegate.useMetricUnitsChanges().subscribe(
+                value -> cache.invalidate("useMetricUnits"), 1, EventBus.Backpressure.COALESCE));
+        }
+    }
+    
+    public ResponseCache getCache() {
+        return cache;
+    }
+    
+    @Override
+    public CompletableFuture<VehicleData> getVehicleData() {
+        return cache.get(GET_VEHICLE_DATA, delegate::getVehicleData);
+    }
+    
+    @Override
+    public CompletableFuture<WarningStatus[]> getActiveWarnings() {
+        return cache.get(GET_ACTIVE_WARNINGS, delegate::getActiveWarnings);
+    }
+    
+    @Override
+    public CompletableFuture<FuelConsumption> getFuelConsumption() {
+        return cache.get(GET_FUEL_CONSUMPTION, delegate::getFuelConsumption);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> resetTripMeter() {
+        return delegate.resetTripMeter()
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> setDisplayUnits(boolean useMetric) {
+        return delegate.setDisplayUnits(useMetric)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<HistoryBucket[]> getVehicleHistory(VehicleSignal signal, long fromTime, long toTime, int maxBuckets) {
+        return cache.get(GET_VEHICLE_HISTORY, () -> delegate.getVehicleHistory(signal, fromTime, toTime, maxBuckets),
+            new Object[] {signal, fromTime, toTime, maxBuckets});
+    }
+    
+    @Override
+    public CompletableFuture<Float> getCurrentSpeed() {
+        return cache.get(GET_CURRENT_SPEED, delegate::getCurrentSpeed);
+    }
+    
+    @Override
+    public CompletableFuture<Float> getCurrentRPM() {
+        return cache.get(GET_CURRENT_RPM, delegate::getCurrentRPM);
+    }
+    
+    @Override
+    public CompletableFuture<Byte> getDisplayBrightness() {
+        return cache.get(GET_DISPLAY_BRIGHTNESS, delegate::getDisplayBrightness);
+    }
+    
+    @Override
+    public CompletableFuture<Void> setDisplayBrightness(byte displayBrightness) {
+        return delegate.setDisplayBrightness(displayBrightness)
+            .whenComplete((ignored, error) -> cache.invalidate(GET_DISPLAY_BRIGHTNESS));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> getUseMetricUnits() {
+        return cache.get(GET_USE_METRIC_UNITS, delegate::getUseMetricUnits);
+    }
+    
+    @Override
+    public CompletableFuture<Void> setUseMetricUnits(boolean useMetricUnits) {
+        return delegate.setUseMetricUnits(useMetricUnits)
+            .whenComplete((ignored, error) -> cache.invalidate(GET_USE_METRIC_UNITS));
+    }
+    
+    @Override
+    public EventBus<VehicleDataChangedEvent> vehicleDataChangedEvents() {
+        return delegate.vehicleDataChangedEvents();
+    }
+    
+    @Override
+    public EventBus<WarningStatusChangedEvent> warningStatusChangedEvents() {
+        return delegate.warningStatusChangedEvents();
+    }
+    
+    @Override
+    public EventBus<FuelLevelCriticalEvent> fuelLevelCriticalEvents() {
+        return delegate.fuelLevelCriticalEvents();
+    }
+    
+    @Override
+    public EventBus<Float> currentSpeedChanges() {
+        return delegate.currentSpeedChanges();
+    }
+    
+    @Override
+    public EventBus<Float> currentRPMChanges() {
+        return delegate.currentRPMChanges();
+    }
+    
+    @Override
+    public EventBus<Byte> displayBrightnessChanges() {
+        return delegate.displayBrightnessChanges();
+    }
+    
+    @Override
+    public EventBus<Boolean> useMetricUnitsChanges() {
+        return delegate.useMetricUnitsChanges();
+    }
+    
+    /**
+     * Stops listening for invalidating events; the delegate is left open
+     */
+    @Override
+    public void close() {
+        for (EventBus.Subscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+    
+    private void invalidateWrites() {
+        for (int method : WRITE_INVALIDATED) {
+            cache.invalidate(method);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.automotive;
+
+import java.io.IOException;
+import org.example.runtime.SomeIpClient;
+import org.example.runtime.SomeIpDeployment;
+import org.example.runtime.SomeIpServer;
+
+/**
+ * Service instances deployed by VehicleDashboardDeployment.fdepl, generated from FRANCA deployment model
+ */
+public final class VehicleDashboardDeployment {
+    
+    public static final SomeIpDeployment VEHICLE_DASHBOARD_SERVICE = new SomeIpDeployment(
+        "vehicleDashboardService", "org.example.automotive.VehicleDashboard", "192.168.1.101", 30501,
+        2, 512, 64, 20);
+    
+    private VehicleDashboardDeployment() {}
+    
+    /**
+     * Serves {@code service} as vehicleDashboardService on its deployed endpoint
+     */
+    public static SomeIpServer startVehicleDashboardService(VehicleDashboard service) throws IOException {
+        return startVehicleDashboardService(service, VEHICLE_DASHBOARD_SERVICE);
+    }
+    
+    /**
+     * Serves {@code service} with the settings of {@code deployment}, e.g. a
+     * {@link SomeIpDeployment#withEndpoint} copy of {@link #VEHICLE_DASHBOARD_SERVICE}
+     */
+    public static SomeIpServer startVehicleDashboardService(VehicleDashboard service, SomeIpDeployment deployment)
+            throws IOException {
+        return new SomeIpServer(deployment).register(VehicleDashboardSomeIp.skeleton(service)).start();
+    }
+    
+    /**
+     * Connects to vehicleDashboardService; use {@code VehicleDashboardSomeIp.proxy(client)} to call it
+     */
+    public static SomeIpClient connectVehicleDashboardService() throws IOException {
+        return SomeIpClient.connect(VEHICLE_DASHBOARD_SERVICE);
+    }
+}
@@ -1,44 +1,102 @@
 package org.example.automotive;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.runtime.AttributeCell;
+import org.example.runtime.EventBus;
 
 /**
- * VehicleDashboard implementation with all required methods
+ * VehicleDashboard implementation with all required methods.
+ * <p>
+ * Vehicle data is updated by a single writer ({@link #ingest} or {@link #resetTripMeter}) on a private working
+ * copy; after each update the writer publishes an immutable snapshot through a volatile field. Readers of
+ * {@link #getVehicleData} take no lock and always see a complete snapshot, which they must not modify.
+ * <p>
+ * vehicleDataChanged is only broadcast for snapshots that differ significantly from the last broadcast one,
+ * as decided by {@link #getDeadband()}. Subscribers that want fewer events still can limit their rate with
+ * {@link EventBus#subscribe(java.util.function.Consumer, long, java.util.concurrent.TimeUnit)}.
+ * <p>
+ * Every ingested batch is also recorded in a {@link VehicleHistory}, which getVehicleHistory downsamples,
+ * and fed to a {@link FuelEstimator} that keeps the fuel consumption current and raises fuelLevelCritical.
+ * <p>
+ * Warnings are kept in a {@link WarningTable}; warningStatusChanged is broadcast only when a light actually
+ * turns on or off, and getActiveWarnings returns the table's cached array of active warnings, which callers
+ * must not modify.
+ * <p>
+ * The currentSpeed and currentRPM attributes follow every published snapshot exactly, without deadbands;
+ * useMetricUnits is also set by setDisplayUnits.
  */
 public class VehicleDashboardImpl implements VehicleDashboard {
     
-    // Event listeners
-    private Consumer<VehicleDataChangedEvent> vehicleDataChangedListener;
-    private Consumer<WarningStatusChangedEvent> warningStatusChangedListener;
-    private Consumer<FuelLevelCriticalEvent> fuelLevelCriticalListener;
+    /** One minute at 100 Hz, about 200 KB off-heap; longer retention is opt-in through the history constructor */
+    public static final int DEFAULT_HISTORY_CAPACITY = 6_000;
+    
+    // Events
+    private final EventBus<VehicleDataChangedEvent> vehicleDataChangedEvents =
+        new EventBus<>("VehicleDashboard.vehicleDataChanged");
+    private final EventBus<WarningStatusChangedEvent> warningStatusChangedEvents =
+        new EventBus<>("VehicleDashboard.warningStatusChanged");
+    private final EventBus<FuelLevelCriticalEvent> fuelLevelCriticalEvents =
+        new EventBus<>("VehicleDashboard.fuelLevelCritical");
     
     // Current vehicle state
-    private VehicleData currentVehicleData;
-    private List<WarningStatus> activeWarnings;
-    private FuelConsumption currentFuelConsumption;
-    private boolean useMetricUnits = true;
+    private volatile VehicleData currentVehicleData;
+    private final VehicleData workingVehicleData = new VehicleData();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    // Written only by the thread holding the writer flag
+    private volatile long ingestedSamples;
+    private volatile long rejectedSamples;
+    private volatile long publishedSnapshots;
+    private final VehicleDataDeadband deadband = new VehicleDataDeadband();
+    private VehicleData lastBroadcast;
+    private volatile long emittedEvents;
+    private volatile long suppressedEvents;
+    private final VehicleHistory history;
+    private final WarningTable warnings = new WarningTable();
+    private final FuelEstimator fuelEstimator;
+    private volatile FuelConsumption currentFuelConsumption;
+    
+    // Attributes
+    private final AttributeCell<Float> currentSpeed = new AttributeCell<>("VehicleDashboard.currentSpeed", 0f);
+    private final AttributeCell<Float> currentRPM = new AttributeCell<>("VehicleDashboard.currentRPM", 0f);
+    private final AttributeCell<Byte> displayBrightness =
+        new AttributeCell<>("VehicleDashboard.displayBrightness", (byte) 80);
+    private final AttributeCell<Boolean> useMetricUnits = new AttributeCell<>("VehicleDashboard.useMetricUnits", true);
     
+    /**
+     * Dashboard with a short {@link #DEFAULT_HISTORY_CAPACITY} history, cheap enough to create per test or client
+     */
     public VehicleDashboardImpl() {
+        this(new VehicleHistory(DEFAULT_HISTORY_CAPACITY));
+    }
+    
+    /**
+     * @param history records ingested vehicle data, e.g. {@code VehicleHistory.forRetention(24, HOURS, 100)}
+     */
+    public VehicleDashboardImpl(VehicleHistory history) {
+        this(history, new FuelEstimator());
+    }
+    
+    public VehicleDashboardImpl(VehicleHistory history, FuelEstimator fuelEstimator) {
+        this.history = history;
+        this.fuelEstimator = fuelEstimator;
         // Initialize with default data
         initializeDefaultData();
     }
     
     private void initializeDefaultData() {
-        currentVehicleData = new VehicleData();
-        currentVehicleData.speed = 0.0f;
-        currentVehicleData.engineRPM = 800.0f;
-        currentVehicleData.fuelLevel = 50.0f;
-        currentVehicleData.engineTemperature = 90.0f;
-        currentVehicleData.oilPressure = 45.0f;
-        currentVehicleData.odometer = 12345;
-        currentVehicleData.tripMeter = 0;
-        currentVehicleData.transmission = TransmissionState.PARK;
-        currentVehicleData.engineState = EngineState.IDLE;
-        
-        activeWarnings = new ArrayList<>();
+        workingVehicleData.speed = 0.0f;
+        workingVehicleData.engineRPM = 800.0f;
+        workingVehicleData.fuelLevel = 50.0f;
+        workingVehicleData.engineTemperature = 90.0f;
+        workingVehicleData.oilPressure = 45.0f;
+        workingVehicleData.odometer = 12345;
+        workingVehicleData.tripMeter = 0;
+        workingVehicleData.transmission = TransmissionState.PARK;
+        workingVehicleData.engineState = EngineState.IDLE;
+        currentVehicleData = snapshot(workingVehicleData);
+        currentSpeed.set(workingVehicleData.speed);
+        currentRPM.set(workingVehicleData.engineRPM);
         
         currentFuelConsumption = new FuelConsumption();
         currentFuelConsumption.instantConsumption = 8.5f;
@@ -54,8 +112,7 @@ public class VehicleDashboardImpl implements VehicleDashboard {
     
     @Override
     public CompletableFuture<WarningStatus[]> getActiveWarnings() {
-        WarningStatus[] warnings = activeWarnings.toArray(new WarningStatus[0]);
-        return CompletableFuture.completedFuture(warnings);
+        return CompletableFuture.completedFuture(warnings.getActiveArray());
     }
     
     @Override
@@ -65,48 +122,307 @@ public class VehicleDashboardImpl implements VehicleDashboard {
     
     @Override
     public CompletableFuture<Boolean> resetTripMeter() {
-        currentVehicleData.tripMeter = 0;
-        currentFuelConsumption.fuelUsedTrip = 0;
+        acquireWriter();
+        try {
+            workingVehicleData.tripMeter = 0;
+            publish();
+            fuelEstimator.resetTrip();
+            FuelConsumption consumption = currentFuelConsumption;
+            currentFuelConsumption = new FuelConsumption(consumption.instantConsumption,
+                consumption.averageConsumption, consumption.rangeEstimate, 0);
+        } finally {
+            writing.set(false);
+        }
         return CompletableFuture.completedFuture(true);
     }
     
     @Override
     public CompletableFuture<Boolean> setDisplayUnits(boolean useMetric) {
-        this.useMetricUnits = useMetric;
+        useMetricUnits.set(useMetric);
         return CompletableFuture.completedFuture(true);
     }
     
     @Override
-    public void setVehicleDataChangedListener(Consumer<VehicleDataChangedEvent> listener) {
-        this.vehicleDataChangedListener = listener;
+    public CompletableFuture<Float> getCurrentSpeed() {
+        return CompletableFuture.completedFuture(currentSpeed.get());
+    }
+    
+    @Override
+    public CompletableFuture<Float> getCurrentRPM() {
+        return CompletableFuture.completedFuture(currentRPM.get());
+    }
+    
+    @Override
+    public CompletableFuture<Byte> getDisplayBrightness() {
+        return CompletableFuture.completedFuture(displayBrightness.get());
+    }
+    
+    @Override
+    public CompletableFuture<Void> setDisplayBrightness(byte displayBrightness) {
+        this.displayBrightness.set(displayBrightness);
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> getUseMetricUnits() {
+        return CompletableFuture.completedFuture(useMetricUnits.get());
+    }
+    
+    @Override
+    public CompletableFuture<Void> setUseMetricUnits(boolean useMetricUnits) {
+        this.useMetricUnits.set(useMetricUnits);
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    @Override
+    public CompletableFuture<HistoryBucket[]> getVehicleHistory(VehicleSignal signal, long fromTime, long toTime,
+                                                                int maxBuckets) {
+        try {
+            return CompletableFuture.completedFuture(history.downsample(signal, fromTime, toTime, maxBuckets));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    public VehicleHistory getHistory() {
+        return history;
+    }
+    
+    public WarningTable getWarnings() {
+        return warnings;
+    }
+    
+    /**
+     * Turns {@code type} on and broadcasts warningStatusChanged, unless it is on already
+     *
+     * @return true if the light was off
+     */
+    public boolean activateWarning(WarningLight type, String message, StatusLevel severity) {
+        // Publishing under the table's lock keeps the events in transition order
+        synchronized (warnings) {
+            return publishWarning(warnings.activate(type, message, severity, System.currentTimeMillis()));
+        }
+    }
+    
+    /**
+     * Turns {@code type} off and broadcasts warningStatusChanged, unless it is off already
+     *
+     * @return true if the light was on
+     */
+    public boolean deactivateWarning(WarningLight type) {
+        synchronized (warnings) {
+            return publishWarning(warnings.deactivate(type));
+        }
+    }
+    
+    private boolean publishWarning(WarningStatus changed) {
+        if (changed == null) {
+            return false;
+        }
+        if (warningStatusChangedEvents.hasSubscribers()) {
+            warningStatusChangedEvents.publish(new WarningStatusChangedEvent(changed));
+        }
+        return true;
+    }
+
+    
+    @Override
+    public EventBus<VehicleDataChangedEvent> vehicleDataChangedEvents() {
+        return vehicleDataChangedEvents;
+    }
+    
+    @Override
+    public EventBus<WarningStatusChangedEvent> warningStatusChangedEvents() {
+        return warningStatusChangedEvents;
+    }
+    
+    @Override
+    public EventBus<FuelLevelCriticalEvent> fuelLevelCriticalEvents() {
+        return fuelLevelCriticalEvents;
+    }
+    
+    @Override
+    public EventBus<Float> currentSpeedChanges() {
+        return currentSpeed.changes();
     }
     
     @Override
-    public void setWarningStatusChangedListener(Consumer<WarningStatusChangedEvent> listener) {
-        this.warningStatusChangedListener = listener;
+    public EventBus<Float> currentRPMChanges() {
+        return currentRPM.changes();
     }
     
     @Override
-    public void setFuelLevelCriticalListener(Consumer<FuelLevelCriticalEvent> listener) {
-        this.fuelLevelCriticalListener = listener;
+    public EventBus<Byte> displayBrightnessChanges() {
+        return displayBrightness.changes();
+    }
+    
+    @Override
+    public EventBus<Boolean> useMetricUnitsChanges() {
+        return useMetricUnits.changes();
+    }
+    
+    public int ingest(TelemetryBatch batch) {
+        return ingest(batch, System.currentTimeMillis());
+    }
+    
+    /**
+     * Applies a batch of signal samples taken at {@code timeMillis} and publishes the resulting vehicle data as
+     * one snapshot, with one vehicleDataChanged event, records it in the history and updates the fuel estimate.
+     * Non-finite samples and odometer readings below the current odometer are rejected. Ingestion has a single
+     * writer: a call made while another thread is ingesting fails instead of interleaving with it.
+     *
+     * @return number of samples applied
+     * @throws IllegalStateException if another thread is ingesting
+     */
+    public int ingest(TelemetryBatch batch, long timeMillis) {
+        if (!writing.compareAndSet(false, true)) {
+            throw new IllegalStateException("Telemetry is being ingested by another thread");
+        }
+        try {
+            VehicleData data = workingVehicleData;
+            int applied = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                double value = batch.value(i);
+                if (!Double.isFinite(value)) {
+                    continue;
+                }
+                switch (batch.signal(i)) {
+                    case SPEED:
+                        data.speed = (float) value;
+                        break;
+                    case ENGINE_RPM:
+                        data.engineRPM = (float) value;
+                        break;
+                    case FUEL_LEVEL:
+                        data.fuelLevel = (float) value;
+                        break;
+                    case ENGINE_TEMPERATURE:
+                        data.engineTemperature = (float) value;
+                        break;
+                    case OIL_PRESSURE:
+                        data.oilPressure = (float) value;
+                        break;
+                    case ODOMETER:
+                        long odometer = (long) value;
+                        if (odometer < data.odometer || odometer > Integer.MAX_VALUE) {
+                            continue;
+                        }
+                        data.tripMeter += (int) odometer - data.odometer;
+                        data.odometer = (int) odometer;
+                        break;
+                    default:
+                        continue;
+                }
+                applied++;
+            }
+            ingestedSamples += applied;
+            rejectedSamples += batch.size() - applied;
+            publish();
+            history.append(timeMillis, data);
+            boolean critical = fuelEstimator.update(timeMillis, data.speed, data.fuelLevel);
+            currentFuelConsumption = fuelEstimator.snapshot();
+            if (critical && fuelLevelCriticalEvents.hasSubscribers()) {
+                fuelLevelCriticalEvents.publish(new FuelLevelCriticalEvent((float) fuelEstimator.getRemainingLiters(),
+                    (float) fuelEstimator.getRangeEstimate()));
+            }
+            return applied;
+        } finally {
+            writing.set(false);
+        }
+    }
+    
+    public long getIngestedSamples() {
+        return ingestedSamples;
+    }
+    
+    public long getRejectedSamples() {
+        return rejectedSamples;
+    }
+    
+    public long getPublishedSnapshots() {
+        return publishedSnapshots;
+    }
+    
+    public VehicleDataDeadband getDeadband() {
+        return deadband;
+    }
+    
+    /**
+     * vehicleDataChanged broadcasts that passed the deadbands
+     */
+    public long getEmittedEvents() {
+        return emittedEvents;
+    }
+    
+    /**
+     * Updates not broadcast because no signal left its deadband
+     */
+    public long getSuppressedEvents() {
+        return suppressedEvents;
+    }
+    
+    /**
+     * Waits for a running ingest rather than failing; applying a batch takes microseconds
+     */
+    private void acquireWriter() {
+        while (!writing.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+    }
+    
+    /**
+     * Called by the writer only
+     */
+    private void publish() {
+        VehicleData snapshot = snapshot(workingVehicleData);
+        currentVehicleData = snapshot;
+        publishedSnapshots++;
+        currentSpeed.set(snapshot.speed);
+        currentRPM.set(snapshot.engineRPM);
+        broadcast(snapshot);
+    }
+    
+    /**
+     * Called by the writer only
+     */
+    private void broadcast(VehicleData snapshot) {
+        if (!deadband.isSignificant(lastBroadcast, snapshot)) {
+            suppressedEvents++;
+            return;
+        }
+        lastBroadcast = snapshot;
+        emittedEvents++;
+        if (vehicleDataChangedEvents.hasSubscribers()) {
+            vehicleDataChangedEvents.publish(new VehicleDataChangedEvent(snapshot));
+        }
+    }
+    
+    private static VehicleData snapshot(VehicleData data) {
+        return new VehicleData(data.speed, data.engineRPM, data.fuelLevel, data.engineTemperature, data.oilPressure,
+            data.odometer, data.tripMeter, data.transmission, data.engineState);
     }
     
     // Simulation methods to trigger events (for testing)
     public void simulateVehicleDataChange() {
-        if (vehicleDataChangedListener != null) {
-            vehicleDataChangedListener.accept(new VehicleDataChangedEvent(currentVehicleData));
+        acquireWriter();
+        try {
+            broadcast(currentVehicleData);
+        } finally {
+            writing.set(false);
         }
     }
     
     public void simulateWarningStatusChange(WarningStatus warning) {
-        if (warningStatusChangedListener != null) {
-            warningStatusChangedListener.accept(new WarningStatusChangedEvent(warning));
+        if (warning.isActive) {
+            activateWarning(warning.type, warning.message, warning.severity);
+        } else {
+            deactivateWarning(warning.type);
         }
     }
     
     public void simulateFuelLevelCritical() {
-        if (fuelLevelCriticalListener != null) {
-            fuelLevelCriticalListener.accept(
+        if (fuelLevelCriticalEvents.hasSubscribers()) {
+            fuelLevelCriticalEvents.publish(
                 new FuelLevelCriticalEvent(currentVehicleData.fuelLevel, currentFuelConsumption.rangeEstimate)
             );
         }
@@ -0,0 +1,536 @@
+package org.example.automotive;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.example.runtime.EventBus;
+import org.example.runtime.ServiceMetrics;
+import org.example.runtime.SomeIpClient;
+import org.example.runtime.SomeIpCodec;
+import org.example.runtime.SomeIpHeader;
+import org.example.runtime.SomeIpService;
+import org.example.automotive.VehicleDashboard.*;
+
+/**
+ * SOME/IP binding of VehicleDashboard generated from FRANCA IDL
+ */
+public final class VehicleDashboardSomeIp {
+    
+    public static final int SERVICE_ID = 0xF42F;
+    public static final int INTERFACE_VERSION = 1;
+    
+    // Method IDs
+    public static final int METHOD_GET_VEHICLE_DATA = 0x0001;
+    public static final int METHOD_GET_ACTIVE_WARNINGS = 0x0002;
+    public static final int METHOD_GET_FUEL_CONSUMPTION = 0x0003;
+    public static final int METHOD_RESET_TRIP_METER = 0x0004;
+    public static final int METHOD_SET_DISPLAY_UNITS = 0x0005;
+    public static final int METHOD_GET_VEHICLE_HISTORY = 0x0006;
+    public static final int METHOD_GET_CURRENT_SPEED = 0x0007;
+    public static final int METHOD_GET_CURRENT_RPM = 0x0008;
+    public static final int METHOD_GET_DISPLAY_BRIGHTNESS = 0x0009;
+    public static final int METHOD_SET_DISPLAY_BRIGHTNESS = 0x000A;
+    public static final int METHOD_GET_USE_METRIC_UNITS = 0x000B;
+    public static final int METHOD_SET_USE_METRIC_UNITS = 0x000C;
+    
+    // Event IDs
+    public static final int EVENT_VEHICLE_DATA_CHANGED = 0x8001;
+    public static final int EVENT_WARNING_STATUS_CHANGED = 0x8002;
+    public static final int EVENT_FUEL_LEVEL_CRITICAL = 0x8003;
+    public static final int EVENT_CURRENT_SPEED_CHANGED = 0x8004;
+    public static final int EVENT_CURRENT_RPM_CHANGED = 0x8005;
+    public static final int EVENT_DISPLAY_BRIGHTNESS_CHANGED = 0x8006;
+    public static final int EVENT_USE_METRIC_UNITS_CHANGED = 0x8007;
+    
+    private VehicleDashboardSomeIp() {}
+    
+    /**
+     * Exposes {@code service} for registration with a {@code SomeIpServer}
+     */
+    public static SomeIpService skeleton(VehicleDashboard service) {
+        return new Skeleton(service);
+    }
+    
+    /**
+     * Remote VehicleDashboard calling through {@code client}
+     */
+    public static VehicleDashboard proxy(SomeIpClient client) {
+        return new Proxy(client);
+    }
+    
+    private static final class Skeleton implements SomeIpService {
+        private final VehicleDashboard service;
+        private final ServiceMetrics metrics = new ServiceMetrics("VehicleDashboard", "getVehicleData",
+            "getActiveWarnings", "getFuelConsumption", "resetTripMeter", "setDisplayUnits",
+            "getVehicleHistory", "getCurrentSpeed", "getCurrentRPM", "getDisplayBrightness",
+            "setDisplayBrightness", "getUseMetricUnits", "setUseMetricUnits");
+        
+        Skeleton(VehicleDashboard service) {
+            this.service = service;
+        }
+        
+        @Override
+        public int getServiceId() {
+            return SERVICE_ID;
+        }
+        
+        @Override
+        public int getInterfaceVersion() {
+            return INTERFACE_VERSION;
+        }
+        
+        @Override
+        public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {
+            long start = System.nanoTime();
+            switch (methodId) {
+                case METHOD_GET_VEHICLE_DATA: return metrics.record(0, start, getVehicleData(payload));
+                case METHOD_GET_ACTIVE_WARNINGS: return metrics.record(1, start, getActiveWarnings(payload));
+                case METHOD_GET_FUEL_CONSUMPTION: return metrics.record(2, start, getFuelConsumption(payload));
+                case METHOD_RESET_TRIP_METER: return metrics.record(3, start, resetTripMeter(payload));
+                case METHOD_SET_DISPLAY_UNITS: return metrics.record(4, start, setDisplayUnits(payload));
+                case METHOD_GET_VEHICLE_HISTORY: return metrics.record(5, start, getVehicleHistory(payload));
+                case METHOD_GET_CURRENT_SPEED: return metrics.record(6, start, getCurrentSpeed(payload));
+                case METHOD_GET_CURRENT_RPM: return metrics.record(7, start, getCurrentRPM(payload));
+                case METHOD_GET_DISPLAY_BRIGHTNESS: return metrics.record(8, start, getDisplayBrightness(payload));
+                case METHOD_SET_DISPLAY_BRIGHTNESS: return metrics.record(9, start, setDisplayBrightness(payload));
+                case METHOD_GET_USE_METRIC_UNITS: return metrics.record(10, start, getUseMetricUnits(payload));
+                case METHOD_SET_USE_METRIC_UNITS: return metrics.record(11, start, setUseMetricUnits(payload));
+                default: return null;
+            }
+        }
+        
+        @Override
+        public ServiceMetrics getMetrics() {
+            return metrics;
+        }
+        
+        @Override
+        public void bindEvents(Notifier notifier) {
+            service.vehicleDataChangedEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_VEHICLE_DATA_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.warningStatusChangedEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_WARNING_STATUS_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.fuelLevelCriticalEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_FUEL_LEVEL_CRITICAL, INTERFACE_VERSION, message);
+            });
+            service.currentSpeedChanges().subscribe(value -> {
+                ByteBuffer message = getCurrentSpeedReply(value);
+                notifier.notify(SERVICE_ID, EVENT_CURRENT_SPEED_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.currentRPMChanges().subscribe(value -> {
+                ByteBuffer message = getCurrentRPMReply(value);
+                notifier.notify(SERVICE_ID, EVENT_CURRENT_RPM_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.displayBrightnessChanges().subscribe(value -> {
+                ByteBuffer message = getDisplayBrightnessReply(value);
+                notifier.notify(SERVICE_ID, EVENT_DISPLAY_BRIGHTNESS_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.useMetricUnitsChanges().subscribe(value -> {
+                ByteBuffer message = getUseMetricUnitsReply(value);
+                notifier.notify(SERVICE_ID, EVENT_USE_METRIC_UNITS_CHANGED, INTERFACE_VERSION, message);
+            });
+        }
+        
+        private CompletableFuture<ByteBuffer> getVehicleData(ByteBuffer buffer) {
+            return service.getVehicleData().thenApply(Skeleton::getVehicleDataReply);
+        }
+        
+        private static ByteBuffer getVehicleDataReply(VehicleData result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(30);
+            (result != null ? result : new VehicleData()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getActiveWarnings(ByteBuffer buffer) {
+            return service.getActiveWarnings().thenApply(Skeleton::getActiveWarningsReply);
+        }
+        
+        private static ByteBuffer getActiveWarningsReply(WarningStatus[] result) {
+            int size = 0;
+            size += 4;
+            if (result != null) {
+                for (WarningStatus element0 : result) {
+                    size += (element0 != null ? element0 : new WarningStatus()).serializedSize();
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (result != null) {
+                for (WarningStatus element1 : result) {
+                    (element1 != null ? element1 : new WarningStatus()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getFuelConsumption(ByteBuffer buffer) {
+            return service.getFuelConsumption().thenApply(Skeleton::getFuelConsumptionReply);
+        }
+        
+        private static ByteBuffer getFuelConsumptionReply(FuelConsumption result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(16);
+            (result != null ? result : new FuelConsumption()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> resetTripMeter(ByteBuffer buffer) {
+            return service.resetTripMeter().thenApply(Skeleton::resetTripMeterReply);
+        }
+        
+        private static ByteBuffer resetTripMeterReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> setDisplayUnits(ByteBuffer buffer) {
+            boolean useMetric = SomeIpCodec.readBoolean(buffer);
+            return service.setDisplayUnits(useMetric).thenApply(Skeleton::setDisplayUnitsReply);
+        }
+        
+        private static ByteBuffer setDisplayUnitsReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getVehicleHistory(ByteBuffer buffer) {
+            VehicleSignal signal = VehicleSignal.fromValue(buffer.get() & 0xFF);
+            long fromTime = buffer.getLong();
+            long toTime = buffer.getLong();
+            int maxBuckets = buffer.getInt();
+            return service.getVehicleHistory(signal, fromTime, toTime, maxBuckets).thenApply(Skeleton::getVehicleHistoryReply);
+        }
+        
+        private static ByteBuffer getVehicleHistoryReply(HistoryBucket[] result) {
+            int size = 0;
+            size += 4 + (result == null ? 0 : result.length * 32);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition0 = SomeIpCodec.beginLength(buffer);
+            if (result != null) {
+                for (HistoryBucket element0 : result) {
+                    (element0 != null ? element0 : new HistoryBucket()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition0);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getCurrentSpeed(ByteBuffer buffer) {
+            return service.getCurrentSpeed().thenApply(Skeleton::getCurrentSpeedReply);
+        }
+        
+        private static ByteBuffer getCurrentSpeedReply(Float result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(4);
+            buffer.putFloat(result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getCurrentRPM(ByteBuffer buffer) {
+            return service.getCurrentRPM().thenApply(Skeleton::getCurrentRPMReply);
+        }
+        
+        private static ByteBuffer getCurrentRPMReply(Float result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(4);
+            buffer.putFloat(result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getDisplayBrightness(ByteBuffer buffer) {
+            return service.getDisplayBrightness().thenApply(Skeleton::getDisplayBrightnessReply);
+        }
+        
+        private static ByteBuffer getDisplayBrightnessReply(Byte result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            buffer.put(result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> setDisplayBrightness(ByteBuffer buffer) {
+            byte displayBrightness = buffer.get();
+            return service.setDisplayBrightness(displayBrightness).thenApply(ignored -> SomeIpHeader.allocate(0));
+        }
+        
+        private CompletableFuture<ByteBuffer> getUseMetricUnits(ByteBuffer buffer) {
+            return service.getUseMetricUnits().thenApply(Skeleton::getUseMetricUnitsReply);
+        }
+        
+        private static ByteBuffer getUseMetricUnitsReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> setUseMetricUnits(ByteBuffer buffer) {
+            boolean useMetricUnits = SomeIpCodec.readBoolean(buffer);
+            return service.setUseMetricUnits(useMetricUnits).thenApply(ignored -> SomeIpHeader.allocate(0));
+        }
+    }
+    
+    private static final class Proxy implements VehicleDashboard {
+        private final SomeIpClient client;
+        private final EventBus<VehicleDataChangedEvent> vehicleDataChangedEvents =
+            new EventBus<>("VehicleDashboard.vehicleDataChanged");
+        private final EventBus<WarningStatusChangedEvent> warningStatusChangedEvents =
+            new EventBus<>("VehicleDashboard.warningStatusChanged");
+        private final EventBus<FuelLevelCriticalEvent> fuelLevelCriticalEvents =
+            new EventBus<>("VehicleDashboard.fuelLevelCritical");
+        private final EventBus<Float> currentSpeedChanges = new EventBus<>("VehicleDashboard.currentSpeed");
+        private final EventBus<Float> currentRPMChanges = new EventBus<>("VehicleDashboard.currentRPM");
+        private final EventBus<Byte> displayBrightnessChanges =
+            new EventBus<>("VehicleDashboard.displayBrightness");
+        private final EventBus<Boolean> useMetricUnitsChanges =
+            new EventBus<>("VehicleDashboard.useMetricUnits");
+        
+        Proxy(SomeIpClient client) {
+            this.client = client;
+            client.setNotificationHandler(SERVICE_ID, this::onNotification);
+        }
+        
+        @Override
+        public CompletableFuture<VehicleData> getVehicleData() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_VEHICLE_DATA, INTERFACE_VERSION, buffer, Proxy::getVehicleDataReply);
+        }
+        
+        private static VehicleData getVehicleDataReply(ByteBuffer buffer) {
+            VehicleData result;
+            result = new VehicleData();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<WarningStatus[]> getActiveWarnings() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_ACTIVE_WARNINGS, INTERFACE_VERSION, buffer, Proxy::getActiveWarningsReply);
+        }
+        
+        private static WarningStatus[] getActiveWarningsReply(ByteBuffer buffer) {
+            WarningStatus[] result;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<WarningStatus> list0 = new java.util.ArrayList<>();
+            while (buffer.position() < end0) {
+                WarningStatus element0;
+                element0 = new WarningStatus();
+                element0.readFrom(buffer);
+                list0.add(element0);
+            }
+            result = list0.toArray(new WarningStatus[0]);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<FuelConsumption> getFuelConsumption() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_FUEL_CONSUMPTION, INTERFACE_VERSION, buffer, Proxy::getFuelConsumptionReply);
+        }
+        
+        private static FuelConsumption getFuelConsumptionReply(ByteBuffer buffer) {
+            FuelConsumption result;
+            result = new FuelConsumption();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> resetTripMeter() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_RESET_TRIP_METER, INTERFACE_VERSION, buffer, Proxy::resetTripMeterReply);
+        }
+        
+        private static Boolean resetTripMeterReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> setDisplayUnits(boolean useMetric) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, useMetric);
+            return client.call(SERVICE_ID, METHOD_SET_DISPLAY_UNITS, INTERFACE_VERSION, buffer, Proxy::setDisplayUnitsReply);
+        }
+        
+        private static Boolean setDisplayUnitsReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<HistoryBucket[]> getVehicleHistory(VehicleSignal signal, long fromTime, long toTime, int maxBuckets) {
+            ByteBuffer buffer = SomeIpHeader.allocate(21);
+            if (signal == null) {
+                throw new IllegalArgumentException("VehicleSignal signal must not be null");
+            }
+            buffer.put((byte) signal.getValue());
+            buffer.putLong(fromTime);
+            buffer.putLong(toTime);
+            buffer.putInt(maxBuckets);
+            return client.call(SERVICE_ID, METHOD_GET_VEHICLE_HISTORY, INTERFACE_VERSION, buffer, Proxy::getVehicleHistoryReply);
+        }
+        
+        private static HistoryBucket[] getVehicleHistoryReply(ByteBuffer buffer) {
+            HistoryBucket[] result;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            int count0 = (end0 - buffer.position()) / 32;
+            result = new HistoryBucket[count0];
+            for (int i0 = 0; i0 < count0; i0++) {
+                result[i0] = new HistoryBucket();
+                result[i0].readFrom(buffer);
+            }
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Float> getCurrentSpeed() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_CURRENT_SPEED, INTERFACE_VERSION, buffer, Proxy::getCurrentSpeedReply);
+        }
+        
+        private static Float getCurrentSpeedReply(ByteBuffer buffer) {
+            float result = buffer.getFloat();
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Float> getCurrentRPM() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_CURRENT_RPM, INTERFACE_VERSION, buffer, Proxy::getCurrentRPMReply);
+        }
+        
+        private static Float getCurrentRPMReply(ByteBuffer buffer) {
+            float result = buffer.getFloat();
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Byte> getDisplayBrightness() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_DISPLAY_BRIGHTNESS, INTERFACE_VERSION, buffer, Proxy::getDisplayBrightnessReply);
+        }
+        
+        private static Byte getDisplayBrightnessReply(ByteBuffer buffer) {
+            byte result = buffer.get();
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Void> setDisplayBrightness(byte displayBrightness) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            buffer.put(displayBrightness);
+            return client.call(SERVICE_ID, METHOD_SET_DISPLAY_BRIGHTNESS, INTERFACE_VERSION, buffer, ignored -> null);
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> getUseMetricUnits() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_USE_METRIC_UNITS, INTERFACE_VERSION, buffer, Proxy::getUseMetricUnitsReply);
+        }
+        
+        private static Boolean getUseMetricUnitsReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Void> setUseMetricUnits(boolean useMetricUnits) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, useMetricUnits);
+            return client.call(SERVICE_ID, METHOD_SET_USE_METRIC_UNITS, INTERFACE_VERSION, buffer, ignored -> null);
+        }
+        
+        @Override
+        public EventBus<VehicleDataChangedEvent> vehicleDataChangedEvents() {
+            return vehicleDataChangedEvents;
+        }
+        
+        @Override
+        public EventBus<WarningStatusChangedEvent> warningStatusChangedEvents() {
+            return warningStatusChangedEvents;
+        }
+        
+        @Override
+        public EventBus<FuelLevelCriticalEvent> fuelLevelCriticalEvents() {
+            return fuelLevelCriticalEvents;
+        }
+        
+        @Override
+        public EventBus<Float> currentSpeedChanges() {
+            return currentSpeedChanges;
+        }
+        
+        @Override
+        public EventBus<Float> currentRPMChanges() {
+            return currentRPMChanges;
+        }
+        
+        @Override
+        public EventBus<Byte> displayBrightnessChanges() {
+            return displayBrightnessChanges;
+        }
+        
+        @Override
+        public EventBus<Boolean> useMetricUnitsChanges() {
+            return useMetricUnitsChanges;
+        }
+        
+        private void onNotification(int eventId, ByteBuffer payload) {
+            switch (eventId) {
+                case EVENT_VEHICLE_DATA_CHANGED: {
+                    if (vehicleDataChangedEvents.hasSubscribers()) {
+                        VehicleDataChangedEvent event = new VehicleDataChangedEvent();
+                        event.readFrom(payload);
+                        vehicleDataChangedEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_WARNING_STATUS_CHANGED: {
+                    if (warningStatusChangedEvents.hasSubscribers()) {
+                        WarningStatusChangedEvent event = new WarningStatusChangedEvent();
+                        event.readFrom(payload);
+                        warningStatusChangedEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_FUEL_LEVEL_CRITICAL: {
+                    if (fuelLevelCriticalEvents.hasSubscribers()) {
+                        FuelLevelCriticalEvent event = new FuelLevelCriticalEvent();
+                        event.readFrom(payload);
+                        fuelLevelCriticalEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_CURRENT_SPEED_CHANGED:
+                    if (currentSpeedChanges.hasSubscribers()) {
+                        currentSpeedChanges.publish(getCurrentSpeedReply(payload));
+                    }
+                    break;
+                case EVENT_CURRENT_RPM_CHANGED:
+                    if (currentRPMChanges.hasSubscribers()) {
+                        currentRPMChanges.publish(getCurrentRPMReply(payload));
+                    }
+                    break;
+                case EVENT_DISPLAY_BRIGHTNESS_CHANGED:
+                    if (displayBrightnessChanges.hasSubscribers()) {
+                        displayBrightnessChanges.publish(getDisplayBrightnessReply(payload));
+                    }
+                    break;
+                case EVENT_USE_METRIC_UNITS_CHANGED:
+                    if (useMetricUnitsChanges.hasSubscribers()) {
+                        useMetricUnitsChanges.publish(getUseMetricUnitsReply(payload));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package org.example.automotive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.example.automotive.VehicleDashboard.FuelConsumption;
+import org.example.automotive.VehicleDashboard.FuelLevelCriticalEvent;
+import org.example.automotive.VehicleDashboard.HistoryBucket;
+import org.example.automotive.VehicleDashboard.StatusLevel;
+import org.example.automotive.VehicleDashboard.VehicleData;
+import org.example.automotive.VehicleDashboard.VehicleDataChangedEvent;
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+import org.example.automotive.VehicleDashboard.WarningLight;
+import org.example.automotive.VehicleDashboard.WarningStatus;
+import org.example.automotive.VehicleDashboard.WarningStatusChangedEvent;
+import org.example.runtime.EventBus;
+
+public class VehicleDashboardTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running VehicleDashboard Tests...");
+        testIngest();
+        testConsistentSnapshots();
+        testSingleWriter();
+        testDeadbands();
+        testCoalescedStream();
+        testHistory();
+        testHistoryUnderConcurrentWrites(1000);
+        // A capacity far below the samples a query spans makes the writer wrap around during reads
+        testHistoryUnderConcurrentWrites(2);
+        testFuelEstimator();
+        testFuelLevelCritical();
+        testWarningTable();
+        testConcurrentWarnings();
+        System.out.println("All VehicleDashboard tests passed");
+    }
+
+    private static void testIngest() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        List<VehicleData> events = Collections.synchronizedList(new ArrayList<>());
+        dashboard.setVehicleDataChangedListener(event -> events.add(event.newData));
+        VehicleData before = dashboard.getVehicleData().join();
+
+        TelemetryBatch batch = new TelemetryBatch(2)
+            .add(VehicleSignal.SPEED, 50)
+            .add(VehicleSignal.ENGINE_RPM, 2100)
+            .add(VehicleSignal.SPEED, 52.5)
+            .add(VehicleSignal.FUEL_LEVEL, Double.NaN)
+            .add(VehicleSignal.ODOMETER, 12350)
+            .add(VehicleSignal.ODOMETER, 12000)
+            .add(VehicleSignal.OIL_PRESSURE, 41);
+        check(dashboard.ingest(batch) == 5, "non-finite and decreasing samples rejected");
+        VehicleData data = dashboard.getVehicleData().join();
+        check(data.speed == 52.5f && data.engineRPM == 2100f && data.oilPressure == 41f, "latest sample wins");
+        check(data.fuelLevel == 50f && data.odometer == 12350 && data.tripMeter == 5, "odometer advances trip");
+        check(before.speed == 0f && before.odometer == 12345, "published snapshots are not modified");
+        check(dashboard.getIngestedSamples() == 5 && dashboard.getRejectedSamples() == 2, "sample counters");
+
+        batch.clear();
+        dashboard.ingest(batch.add(VehicleSignal.ODOMETER, 12360));
+        dashboard.resetTripMeter().join();
+        check(dashboard.getVehicleData().join().tripMeter == 0 && data.tripMeter == 5, "trip reset publishes");
+        check(dashboard.vehicleDataChangedEvents().awaitIdle(5, TimeUnit.SECONDS), "events delivered");
+        check(events.size() == 3 && events.get(0) == data && events.get(1).tripMeter == 15, "one event per update");
+        check(dashboard.getPublishedSnapshots() == 3, "snapshots " + dashboard.getPublishedSnapshots());
+    }
+
+    private static void testConsistentSnapshots() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        int updates = 200_000;
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            TelemetryBatch batch = new TelemetryBatch(6);
+            for (int k = 1; k <= updates; k++) {
+                batch.clear();
+                batch.add(VehicleSignal.SPEED, k).add(VehicleSignal.ENGINE_RPM, k).add(VehicleSignal.FUEL_LEVEL, k)
+                    .add(VehicleSignal.ENGINE_TEMPERATURE, k).add(VehicleSignal.OIL_PRESSURE, k)
+                    .add(VehicleSignal.ODOMETER, 12345 + k);
+                dashboard.ingest(batch);
+            }
+        });
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                float last = 0;
+                while (last < updates && failure.get() == null) {
+                    VehicleData data = dashboard.getVehicleData().join();
+                    float k = data.speed;
+                    if (k == 0) {
+                        continue;
+                    }
+                    if (data.engineRPM != k || data.fuelLevel != k || data.engineTemperature != k
+                        || data.oilPressure != k || data.odometer != 12345 + (int) k || data.tripMeter != (int) k) {
+                        failure.set("torn snapshot at " + k);
+                    } else if (k < last) {
+                        failure.set("snapshot went back from " + last + " to " + k);
+                    }
+                    last = k;
+                }
+            });
+        }
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.start();
+        writer.join(30_000);
+        for (Thread reader : readers) {
+            reader.join(30_000);
+        }
+        check(failure.get() == null, String.valueOf(failure.get()));
+        check(dashboard.getVehicleData().join().speed == updates, "last update visible");
+        check(dashboard.getIngestedSamples() == 6L * updates, "all samples applied");
+    }
+
+    private static void testSingleWriter() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        CountDownLatch release = new CountDownLatch(1);
+        // A BLOCK subscriber that stops consuming holds the third writer inside ingest
+        EventBus.Subscription<VehicleDataChangedEvent> subscription = dashboard.vehicleDataChangedEvents()
+            .subscribe(event -> await(release), 1, EventBus.Backpressure.BLOCK);
+        TelemetryBatch batch = new TelemetryBatch(1).add(VehicleSignal.SPEED, 10);
+        dashboard.ingest(batch);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscription.getQueueDepth() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        dashboard.ingest(new TelemetryBatch(1).add(VehicleSignal.SPEED, 20));
+        Thread stuck = new Thread(() -> dashboard.ingest(new TelemetryBatch(1).add(VehicleSignal.SPEED, 30)));
+        stuck.start();
+        while (stuck.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(stuck.getState() == Thread.State.WAITING, "writer held in publish");
+
+        try {
+            dashboard.ingest(batch);
+            check(false, "second writer accepted");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        Thread reset = new Thread(() -> dashboard.resetTripMeter().join());
+        reset.start();
+        check(dashboard.getVehicleData().join().speed == 30f, "readers not blocked by the writer");
+
+        release.countDown();
+        stuck.join(5000);
+        reset.join(5000);
+        check(!stuck.isAlive() && !reset.isAlive(), "writers finish once the subscriber consumes");
+        check(dashboard.getPublishedSnapshots() == 4 && dashboard.getIngestedSamples() == 3, "one writer at a time");
+    }
+
+    private static void testDeadbands() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        List<VehicleData> events = Collections.synchronizedList(new ArrayList<>());
+        dashboard.setVehicleDataChangedListener(event -> events.add(event.newData));
+        TelemetryBatch batch = new TelemetryBatch(1);
+        dashboard.simulateVehicleDataChange();
+        dashboard.simulateVehicleDataChange();
+        check(dashboard.getEmittedEvents() == 1 && dashboard.getSuppressedEvents() == 1, "unchanged data suppressed");
+
+        dashboard.ingest(batch.add(VehicleSignal.SPEED, 0.3));
+        dashboard.ingest(batch.add(VehicleSignal.SPEED, 0.6));
+        dashboard.ingest(batch.add(VehicleSignal.ENGINE_RPM, 840));
+        dashboard.ingest(batch.add(VehicleSignal.ENGINE_RPM, 850));
+        check(dashboard.getEmittedEvents() == 3 && dashboard.getSuppressedEvents() == 3,
+            "drift reported once it reaches a deadband");
+
+        dashboard.getDeadband().set(VehicleSignal.SPEED, 0);
+        batch.clear();
+        dashboard.ingest(batch.add(VehicleSignal.SPEED, 0.61));
+        dashboard.resetTripMeter().join();
+        check(dashboard.getEmittedEvents() == 4 && dashboard.getSuppressedEvents() == 4, "zero deadband");
+        check(dashboard.vehicleDataChangedEvents().awaitIdle(5, TimeUnit.SECONDS), "events delivered");
+        check(events.size() == 4 && events.get(3).speed == 0.61f, "only significant changes broadcast");
+        try {
+            dashboard.getDeadband().set(VehicleSignal.SPEED, -1);
+            check(false, "negative deadband accepted");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    /**
+     * One second of 1 kHz input: the deadbands drop sensor noise, a 20 Hz subscriber gets the latest state
+     */
+    private static void testCoalescedStream() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        List<VehicleData> significant = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<VehicleDataChangedEvent> all = dashboard.vehicleDataChangedEvents()
+            .subscribe(event -> significant.add(event.newData));
+        List<VehicleData> display = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<VehicleDataChangedEvent> throttled = dashboard.vehicleDataChangedEvents()
+            .subscribe(event -> display.add(event.newData), 50, TimeUnit.MILLISECONDS);
+
+        Random random = new Random(7);
+        TelemetryBatch batch = new TelemetryBatch(3);
+        int samples = 1000;
+        long start = System.nanoTime();
+        for (int i = 1; i <= samples; i++) {
+            batch.clear();
+            batch.add(VehicleSignal.SPEED, i * 0.03 + random.nextGaussian() * 0.05)
+                .add(VehicleSignal.ENGINE_RPM, 2000 + random.nextGaussian() * 10)
+                .add(VehicleSignal.ENGINE_TEMPERATURE, 90 + random.nextGaussian() * 0.1);
+            dashboard.ingest(batch);
+            LockSupport.parkNanos(start + i * 1_000_000L - System.nanoTime());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        check(dashboard.vehicleDataChangedEvents().awaitIdle(5, TimeUnit.SECONDS), "events delivered");
+
+        long emitted = dashboard.getEmittedEvents();
+        check(emitted + dashboard.getSuppressedEvents() == samples, "every update counted");
+        check(emitted <= 100, emitted + " of " + samples + " updates broadcast");
+        check(all.getDelivered() == emitted && significant.size() == emitted, "deadband-only subscriber");
+        check(display.size() <= elapsedMillis / 50 + 2,
+            display.size() + " events at 20 Hz in " + elapsedMillis + " ms");
+        check(throttled.getDelivered() + throttled.getCoalesced() == emitted, "coalesced events counted");
+        check(display.get(display.size() - 1) == significant.get(significant.size() - 1), "final state delivered");
+    }
+
+    private static void testHistory() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl(new VehicleHistory(100));
+        TelemetryBatch batch = new TelemetryBatch(2);
+        for (int i = 0; i < 250; i++) {
+            batch.clear();
+            dashboard.ingest(batch.add(VehicleSignal.SPEED, i).add(VehicleSignal.ODOMETER, 20_000 + i), 1000 + i * 10);
+        }
+        VehicleHistory history = dashboard.getHistory();
+        check(history.size() == 100 && history.getAppended() == 250, "oldest samples overwritten");
+
+        long[] times = new long[200];
+        float[] values = new float[200];
+        int count = history.range(VehicleSignal.SPEED, 0, Long.MAX_VALUE, times, values);
+        check(count == 100 && times[0] == 2500 && values[0] == 150f && values[99] == 249f, "range covers the window");
+        count = history.range(VehicleSignal.ODOMETER, 3000, 3035, times, values);
+        check(count == 4 && times[3] == 3030 && values[3] == 20_203f, "range bounds inclusive");
+        check(history.range(VehicleSignal.SPEED, 0, 2499, times, values) == 0, "overwritten range empty");
+
+        // 1000 ms in 4 buckets of 250 ms, 25 samples each
+        HistoryBucket[] buckets = dashboard.getVehicleHistory(VehicleSignal.SPEED, 2500, 3499, 4).join();
+        check(buckets.length == 4 && buckets[0].samples == 25 && buckets[0].startTime == 2500
+            && buckets[0].endTime == 2740, "bucket bounds");
+        check(buckets[1].minimum == 175f && buckets[1].maximum == 199f && buckets[1].average == 187f, "bucket stats");
+        buckets = dashboard.getVehicleHistory(VehicleSignal.SPEED, 0, 4000, 1000).join();
+        check(buckets.length == 100, "empty buckets left out");
+        check(dashboard.getVehicleHistory(VehicleSignal.SPEED, 10, 5, 4).isCompletedExceptionally(), "bad range");
+        check(dashboard.getVehicleHistory(VehicleSignal.SPEED, 0, 5, 0).isCompletedExceptionally(), "no buckets");
+
+        // Clock stepping back is recorded at the previous time, keeping the history ordered
+        dashboard.ingest(batch, 100);
+        history.range(VehicleSignal.SPEED, 3490, Long.MAX_VALUE, times, values);
+        check(times[1] == 3490, "non-decreasing timestamps");
+        check(VehicleHistory.bytesFor(24 * 3600 * 100) < 300_000_000L, "24 h at 100 Hz fits the budget");
+    }
+
+    private static void testHistoryUnderConcurrentWrites(int capacity) throws Exception {
+        VehicleHistory history = new VehicleHistory(capacity);
+        int samples = 2_000_000;
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            VehicleData data = new VehicleData();
+            for (int k = 1; k <= samples; k++) {
+                data.speed = k % 1_000_000;
+                data.odometer = k;
+                history.append(k, data);
+            }
+        });
+        Thread reader = new Thread(() -> {
+            long[] times = new long[1000];
+            float[] values = new float[1000];
+            while (history.getAppended() < samples && failure.get() == null) {
+                try {
+                    int count = history.range(VehicleSignal.ODOMETER, 0, Long.MAX_VALUE, times, values);
+                    for (int i = 0; i < count; i++) {
+                        if (values[i] != times[i] || (i > 0 && times[i] != times[i - 1] + 1)) {
+                            failure.set("torn row at " + times[i]);
+                        }
+                    }
+                    for (HistoryBucket bucket : history.downsample(VehicleSignal.ODOMETER, 0, samples, 10)) {
+                        if (bucket.minimum != bucket.startTime || bucket.maximum != bucket.endTime) {
+                            failure.set("torn bucket " + bucket.startTime);
+                        }
+                    }
+                } catch (IllegalStateException e) {
+                    // Lapped by the writer on every attempt; acceptable under this write rate
+                }
+            }
+        });
+        reader.start();
+        writer.start();
+        writer.join(30_000);
+        reader.join(30_000);
+        check(failure.get() == null, String.valueOf(failure.get()));
+    }
+
+    /**
+     * One hour at 100 km/h and 6 L/100km, sampled at 10 Hz
+     */
+    private static void testFuelEstimator() {
+        // Percent of a 50 L tank per second
+        double burn = 6.0 / 100 * (100.0 / 3600) / 50 * 100;
+        FuelEstimator exact = new FuelEstimator();
+        FuelEstimator noisy = new FuelEstimator();
+        Random random = new Random(3);
+        double level = 80;
+        for (int i = 1; i <= 36_000; i++) {
+            level -= burn / 10;
+            exact.update(i * 100L, 100, level);
+            // Sensor noise, quantized to half a percent
+            double reading = Math.round((level + random.nextGaussian() * 0.3) * 2) / 2.0;
+            noisy.update(i * 100L, 100 + random.nextGaussian(), reading);
+        }
+        check(Math.abs(exact.getInstantConsumption() - 6) < 0.1, "instant " + exact.getInstantConsumption());
+        check(Math.abs(exact.getAverageConsumption() - 6) < 0.1, "average " + exact.getAverageConsumption());
+        check(Math.abs(noisy.getAverageConsumption() - 6) < 0.3, "noisy average " + noisy.getAverageConsumption());
+        check(Math.abs(noisy.getTripLiters() - 6) < 0.2, "trip fuel " + noisy.getTripLiters());
+        // 34 L left at 6 L/100km
+        check(Math.abs(exact.getRangeEstimate() - 34.0 / 6 * 100) < 15, "range " + exact.getRangeEstimate());
+        FuelConsumption snapshot = noisy.snapshot();
+        check(Math.abs(snapshot.fuelUsedTrip - 6000) < 200 && snapshot.instantConsumption >= 0, "snapshot in mL");
+        noisy.resetTrip();
+        check(noisy.getTripLiters() == 0, "trip reset");
+
+        // Standing still for half a minute burns fuel without distance
+        exact.update(36_000 * 100L + 60_000, 0, level - 0.01);
+        for (int i = 1; i <= 300; i++) {
+            exact.update(36_000 * 100L + 60_000 + i * 100L, 0, level - 0.01 - i * 0.0001);
+        }
+        check(exact.getInstantConsumption() == 0, "no instant consumption while standing");
+    }
+
+    private static void testFuelLevelCritical() throws Exception {
+        FuelEstimator estimator = new FuelEstimator(50, 10, 15);
+        Random random = new Random(5);
+        int alerts = 0;
+        long time = 0;
+        // Noisy readings drifting down through the threshold, then a refuel and a second drain
+        for (double level = 20; level > 5; level -= 0.001) {
+            alerts += estimator.update(time += 100, 50, level + random.nextGaussian() * 1.5) ? 1 : 0;
+        }
+        check(alerts == 1 && estimator.isCritical(), "one alert despite noise, got " + alerts);
+        estimator.update(time += 100, 0, 60);
+        check(!estimator.isCritical(), "refuel clears");
+        for (double level = 60; level > 5; level -= 0.01) {
+            alerts += estimator.update(time += 100, 50, level) ? 1 : 0;
+        }
+        check(alerts == 2, "alert again after refuelling");
+
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl(new VehicleHistory(16));
+        List<FuelLevelCriticalEvent> events = Collections.synchronizedList(new ArrayList<>());
+        dashboard.setFuelLevelCriticalListener(events::add);
+        TelemetryBatch batch = new TelemetryBatch(2);
+        for (int i = 0; i <= 400; i++) {
+            batch.clear();
+            dashboard.ingest(batch.add(VehicleSignal.SPEED, 80).add(VehicleSignal.FUEL_LEVEL, 12 - i * 0.01),
+                i * 1000L);
+        }
+        check(dashboard.fuelLevelCriticalEvents().awaitIdle(5, TimeUnit.SECONDS), "critical event delivered");
+        check(events.size() == 1 && events.get(0).remainingFuel <= 5 && events.get(0).estimatedRange > 0,
+            "critical event from ingested data");
+        FuelConsumption consumption = dashboard.getFuelConsumption().join();
+        check(consumption.fuelUsedTrip > 0 && consumption.averageConsumption > 0, "consumption follows telemetry");
+        dashboard.resetTripMeter().join();
+        check(dashboard.getFuelConsumption().join().fuelUsedTrip == 0 && consumption.fuelUsedTrip > 0,
+            "trip reset publishes a new snapshot");
+    }
+
+    private static void testWarningTable() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl(new VehicleHistory(16));
+        List<WarningStatus> events = Collections.synchronizedList(new ArrayList<>());
+        dashboard.setWarningStatusChangedListener(event -> events.add(event.warning));
+        List<WarningStatus> none = dashboard.getWarnings().getActive();
+        check(none.isEmpty() && dashboard.getWarnings().getActive() == none, "empty list is cached");
+
+        check(dashboard.activateWarning(WarningLight.TIRE_PRESSURE, "Low pressure", StatusLevel.WARNING),
+            "activated");
+        check(!dashboard.activateWarning(WarningLight.TIRE_PRESSURE, "Still low", StatusLevel.WARNING),
+            "active light is not activated again");
+        check(dashboard.activateWarning(WarningLight.ENGINE_CHECK, "Check engine", StatusLevel.ERROR),
+            "second light activated");
+        check(!dashboard.deactivateWarning(WarningLight.BRAKE), "inactive light is not deactivated");
+        WarningStatus[] active = dashboard.getActiveWarnings().join();
+        check(active.length == 2 && active[0].type == WarningLight.ENGINE_CHECK
+            && active[1].type == WarningLight.TIRE_PRESSURE && active[1].message.equals("Low pressure"),
+            "active warnings in light order");
+        List<WarningStatus> cached = dashboard.getWarnings().getActive();
+        check(dashboard.getWarnings().getActive() == cached && cached.size() == 2,
+            "list is cached until the next transition");
+        check(dashboard.getActiveWarnings().join() == active, "array is cached until the next transition");
+        try {
+            cached.clear();
+            throw new AssertionError("cached list must be unmodifiable");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+        long version = dashboard.getWarnings().getVersion();
+
+        check(dashboard.deactivateWarning(WarningLight.TIRE_PRESSURE), "deactivated");
+        check(dashboard.getWarnings().getVersion() == version + 1, "transition bumps the version");
+        List<WarningStatus> remaining = dashboard.getWarnings().getActive();
+        check(dashboard.getActiveWarnings().join() != active, "new array after a transition");
+        check(remaining != cached && remaining.size() == 1
+            && !dashboard.getWarnings().isActive(WarningLight.TIRE_PRESSURE), "new list after a transition");
+        dashboard.simulateWarningStatusChange(new WarningStatus(WarningLight.ENGINE_CHECK, true, "Again",
+            StatusLevel.ERROR, 0));
+        dashboard.simulateWarningStatusChange(new WarningStatus(WarningLight.ENGINE_CHECK, false, "", null, 0));
+
+        check(dashboard.warningStatusChangedEvents().awaitIdle(5, TimeUnit.SECONDS), "events delivered");
+        check(events.size() == 4, "only transitions are broadcast, got " + events.size());
+        check(events.get(2).type == WarningLight.TIRE_PRESSURE && !events.get(2).isActive
+            && events.get(2).message.equals("Low pressure"), "deactivation keeps the activation's details");
+        check(events.get(3).type == WarningLight.ENGINE_CHECK && !events.get(3).isActive,
+            "simulated change goes through the table");
+        check(dashboard.getActiveWarnings().join().length == 0, "all lights off");
+    }
+
+    private static void testConcurrentWarnings() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl(new VehicleHistory(16));
+        List<WarningStatusChangedEvent> events = Collections.synchronizedList(new ArrayList<>());
+        // Blocking, so that every transition is delivered
+        dashboard.warningStatusChangedEvents().subscribe(events::add, 1024, EventBus.Backpressure.BLOCK);
+        WarningLight[] lights = WarningLight.values();
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20_000; i++) {
+                        WarningLight light = lights[random.nextInt(lights.length)];
+                        if (random.nextBoolean()) {
+                            dashboard.activateWarning(light, "Warning " + light, StatusLevel.WARNING);
+                        } else {
+                            dashboard.deactivateWarning(light);
+                        }
+                        WarningStatus[] active = dashboard.getActiveWarnings().join();
+                        for (int j = 1; j < active.length; j++) {
+                            check(active[j - 1].type.ordinal() < active[j].type.ordinal(), "consistent array");
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        await(done);
+        check(failure.get() == null, "writers failed: " + failure.get());
+        check(dashboard.warningStatusChangedEvents().awaitIdle(5, TimeUnit.SECONDS), "events delivered");
+
+        WarningTable table = dashboard.getWarnings();
+        check(events.size() == table.getVersion(), "one event per transition");
+        // Replaying the events must alternate per light and end in the table's state
+        boolean[] on = new boolean[lights.length];
+        for (WarningStatusChangedEvent event : events) {
+            int light = event.warning.type.ordinal();
+            check(on[light] != event.warning.isActive, "events alternate for " + event.warning.type);
+            on[light] = event.warning.isActive;
+        }
+        for (WarningLight light : lights) {
+            check(on[light.ordinal()] == table.isActive(light), "final state of " + light);
+        }
+        check(dashboard.getActiveWarnings().join().length == table.size(), "cached list matches the table");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.automotive;
+
+import java.util.Arrays;
+
+import org.example.automotive.VehicleDashboard.VehicleData;
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+
+/**
+ * Per-signal deadbands deciding whether vehicle data changed significantly enough for a vehicleDataChanged
+ * broadcast.
+ * <p>
+ * Data is compared with the last data that was broadcast, not with the previous sample, so slow drift is
+ * reported once it has accumulated to a full deadband. A deadband of 0 reports every change. Trip meter
+ * resets and transmission or engine state changes are always significant.
+ */
+public final class VehicleDataDeadband {
+
+    public static final double DEFAULT_SPEED = 0.5;
+    public static final double DEFAULT_ENGINE_RPM = 50;
+    public static final double DEFAULT_FUEL_LEVEL = 0.5;
+    public static final double DEFAULT_ENGINE_TEMPERATURE = 1;
+    public static final double DEFAULT_OIL_PRESSURE = 1;
+    public static final double DEFAULT_ODOMETER = 1;
+
+    // Replaced on update, so the ingesting thread reads a consistent set without locking
+    private volatile double[] deadbands;
+
+    public VehicleDataDeadband() {
+        double[] defaults = new double[VehicleSignal.values().length];
+        defaults[VehicleSignal.SPEED.ordinal()] = DEFAULT_SPEED;
+        defaults[VehicleSignal.ENGINE_RPM.ordinal()] = DEFAULT_ENGINE_RPM;
+        defaults[VehicleSignal.FUEL_LEVEL.ordinal()] = DEFAULT_FUEL_LEVEL;
+        defaults[VehicleSignal.ENGINE_TEMPERATURE.ordinal()] = DEFAULT_ENGINE_TEMPERATURE;
+        defaults[VehicleSignal.OIL_PRESSURE.ordinal()] = DEFAULT_OIL_PRESSURE;
+        defaults[VehicleSignal.ODOMETER.ordinal()] = DEFAULT_ODOMETER;
+        deadbands = defaults;
+    }
+
+    /**
+     * Changes of {@code signal} smaller than {@code deadband} are not significant
+     */
+    public synchronized VehicleDataDeadband set(VehicleSignal signal, double deadband) {
+        if (!(deadband >= 0) || Double.isInfinite(deadband)) {
+            throw new IllegalArgumentException("Deadband must be finite and not negative, got " + deadband);
+        }
+        double[] updated = Arrays.copyOf(deadbands, deadbands.length);
+        updated[signal.ordinal()] = deadband;
+        deadbands = updated;
+        return this;
+    }
+
+    public double get(VehicleSignal signal) {
+        return deadbands[signal.ordinal()];
+    }
+
+    /**
+     * @param last data last broadcast, or null if nothing was broadcast yet
+     */
+    public boolean isSignificant(VehicleData last, VehicleData next) {
+        if (last == null) {
+            return true;
+        }
+        double[] bands = deadbands;
+        return exceeds(last.speed, next.speed, bands[VehicleSignal.SPEED.ordinal()])
+            || exceeds(last.engineRPM, next.engineRPM, bands[VehicleSignal.ENGINE_RPM.ordinal()])
+            || exceeds(last.fuelLevel, next.fuelLevel, bands[VehicleSignal.FUEL_LEVEL.ordinal()])
+            || exceeds(last.engineTemperature, next.engineTemperature,
+                       bands[VehicleSignal.ENGINE_TEMPERATURE.ordinal()])
+            || exceeds(last.oilPressure, next.oilPressure, bands[VehicleSignal.OIL_PRESSURE.ordinal()])
+            || exceeds(last.odometer, next.odometer, bands[VehicleSignal.ODOMETER.ordinal()])
+            || next.tripMeter < last.tripMeter
+            || next.transmission != last.transmission
+            || next.engineState != last.engineState;
+    }
+
+    private static boolean exceeds(double last, double next, double deadband) {
+        return next != last && Math.abs(next - last) >= deadband;
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.automotive;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.example.automotive.VehicleDashboard.HistoryBucket;
+import org.example.automotive.VehicleDashboard.VehicleData;
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+
+/**
+ * Fixed-memory history of vehicle data, kept off-heap in one column per signal.
+ * <p>
+ * Every column is a direct buffer of primitives indexed by sample sequence modulo the slot count: timestamps
+ * as longs, the odometer as ints and the other signals as floats, {@value #BYTES_PER_SAMPLE} bytes per sample.
+ * All memory is allocated up front; 24 h at 100 Hz ({@code forRetention(24, TimeUnit.HOURS, 100)}) takes
+ * about 280 MB outside the heap, see {@link #bytesFor}. Once full, each sample replaces the oldest one.
+ * <p>
+ * One thread appends, any thread queries. The writer fills a row and then publishes the new sample count.
+ * Readers copy what they need and check afterwards that the writer has not wrapped around into the rows they
+ * read, retrying if it has; a reserve of slots beyond the capacity makes that rare. Queries neither lock nor
+ * return torn rows.
+ */
+public final class VehicleHistory {
+
+    public static final int BYTES_PER_SAMPLE = 32;
+
+    private static final int FLOAT_SIGNALS = VehicleSignal.ODOMETER.ordinal();
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final int capacity;
+    private final int slots;
+    private final LongBuffer times;
+    private final FloatBuffer[] floatColumns = new FloatBuffer[FLOAT_SIGNALS];
+    private final IntBuffer odometers;
+    // Samples appended so far; written by the single writer after the row is complete
+    private volatile long count;
+    private long lastTime = Long.MIN_VALUE;
+
+    /**
+     * @param capacity samples that can be queried; older samples are overwritten
+     */
+    public VehicleHistory(int capacity) {
+        // The timestamp column must fit one buffer
+        if (capacity < 1 || (long) capacity + reserve(capacity) > Integer.MAX_VALUE / 8) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = capacity + reserve(capacity);
+        this.times = column(8).asLongBuffer();
+        for (int i = 0; i < FLOAT_SIGNALS; i++) {
+            floatColumns[i] = column(4).asFloatBuffer();
+        }
+        this.odometers = column(4).asIntBuffer();
+    }
+
+    /**
+     * History holding {@code duration} of samples recorded at {@code rateHz}
+     */
+    public static VehicleHistory forRetention(long duration, TimeUnit unit, int rateHz) {
+        long samples = unit.toSeconds(duration) * rateHz;
+        if (samples > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(samples + " samples exceed the maximum capacity");
+        }
+        return new VehicleHistory((int) samples);
+    }
+
+    /**
+     * Off-heap bytes allocated for a history of {@code capacity} samples
+     */
+    public static long bytesFor(int capacity) {
+        return (long) (capacity + reserve(capacity)) * BYTES_PER_SAMPLE;
+    }
+
+    /**
+     * Slots beyond the capacity, so that a query is only disturbed if the writer appends this many samples
+     * while it runs
+     */
+    private static int reserve(int capacity) {
+        return capacity / 64 + 64;
+    }
+
+    private ByteBuffer column(int width) {
+        return ByteBuffer.allocateDirect(slots * width).order(ByteOrder.nativeOrder());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Samples currently held
+     */
+    public int size() {
+        return (int) Math.min(count, capacity);
+    }
+
+    /**
+     * Samples appended since creation, including overwritten ones
+     */
+    public long getAppended() {
+        return count;
+    }
+
+    /**
+     * Records {@code data} at {@code timeMillis}. Called by one writer thread only. Timestamps are kept
+     * non-decreasing: a time before the previous sample's is recorded as the previous sample's time.
+     */
+    public void append(long timeMillis, VehicleData data) {
+        long sequence = count;
+        int slot = (int) (sequence % slots);
+        lastTime = Math.max(lastTime, timeMillis);
+        times.put(slot, lastTime);
+        floatColumns[VehicleSignal.SPEED.ordinal()].put(slot, data.speed);
+        floatColumns[VehicleSignal.ENGINE_RPM.ordinal()].put(slot, data.engineRPM);
+        floatColumns[VehicleSignal.FUEL_LEVEL.ordinal()].put(slot, data.fuelLevel);
+        floatColumns[VehicleSignal.ENGINE_TEMPERATURE.ordinal()].put(slot, data.engineTemperature);
+        floatColumns[VehicleSignal.OIL_PRESSURE.ordinal()].put(slot, data.oilPressure);
+        odometers.put(slot, data.odometer);
+        count = sequence + 1;
+    }
+
+    /**
+     * Copies the samples of {@code signal} recorded between {@code fromTime} and {@code toTime} (inclusive)
+     * in time order, at most {@code times.length} of them
+     *
+     * @return number of samples copied
+     */
+    public int range(VehicleSignal signal, long fromTime, long toTime, long[] times, float[] values) {
+        if (values.length < times.length) {
+            throw new IllegalArgumentException("Values hold " + values.length + " samples, times " + times.length);
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long end = count;
+            long first = Math.max(0, end - capacity);
+            long start = lowerBound(first, end, fromTime);
+            int copied = 0;
+            for (long sequence = start; sequence < end && copied < times.length; sequence++) {
+                int slot = (int) (sequence % slots);
+                long time = this.times.get(slot);
+                if (time > toTime) {
+                    break;
+                }
+                times[copied] = time;
+                values[copied] = value(signal, slot);
+                copied++;
+            }
+            if (intact(first)) {
+                return copied;
+            }
+        }
+        throw overtaken();
+    }
+
+    /**
+     * Splits {@code fromTime..toTime} (inclusive) into {@code maxBuckets} equal time buckets and returns the
+     * minimum, maximum and average of {@code signal} in each bucket that has samples
+     */
+    public HistoryBucket[] downsample(VehicleSignal signal, long fromTime, long toTime, int maxBuckets) {
+        if (signal == null) {
+            throw new IllegalArgumentException("Signal is required");
+        }
+        if (fromTime > toTime || maxBuckets < 1) {
+            throw new IllegalArgumentException("Invalid range " + fromTime + ".." + toTime + " in " + maxBuckets
+                + " buckets");
+        }
+        // Just wide enough for maxBuckets buckets to cover the range
+        long span = toTime - fromTime;
+        long width = span / maxBuckets + 1;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long end = count;
+            long first = Math.max(0, end - capacity);
+            long sequence = lowerBound(first, end, fromTime);
+            HistoryBucket[] buckets = new HistoryBucket[(int) Math.min(maxBuckets, end - sequence)];
+            int filled = 0;
+            long bucketIndex = -1;
+            HistoryBucket bucket = null;
+            double sum = 0;
+            for (; sequence < end; sequence++) {
+                int slot = (int) (sequence % slots);
+                long time = times.get(slot);
+                if (time > toTime) {
+                    break;
+                }
+                float value = value(signal, slot);
+                long index = (time - fromTime) / width;
+                if (index != bucketIndex) {
+                    if (filled == buckets.length) {
+                        // Only a torn read yields more buckets than sized for; the intact check retries it
+                        break;
+                    }
+                    if (bucket != null) {
+                        bucket.average = (float) (sum / bucket.samples);
+                    }
+                    bucket = new HistoryBucket(time, time, value, value, 0, 0);
+                    buckets[filled++] = bucket;
+                    bucketIndex = index;
+                    sum = 0;
+                }
+                bucket.endTime = time;
+                bucket.minimum = Math.min(bucket.minimum, value);
+                bucket.maximum = Math.max(bucket.maximum, value);
+                bucket.samples++;
+                sum += value;
+            }
+            if (bucket != null) {
+                bucket.average = (float) (sum / bucket.samples);
+            }
+            if (intact(first)) {
+                return Arrays.copyOf(buckets, filled);
+            }
+        }
+        throw overtaken();
+    }
+
+    private float value(VehicleSignal signal, int slot) {
+        return signal == VehicleSignal.ODOMETER ? odometers.get(slot) : floatColumns[signal.ordinal()].get(slot);
+    }
+
+    /**
+     * First sequence in {@code first..end} whose time is at least {@code time}
+     */
+    private long lowerBound(long first, long end, long time) {
+        long low = first;
+        long high = end;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (times.get((int) (middle % slots)) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * True if no row from {@code first} on was overwritten while it was being read. At a count of
+     * {@code first + slots} the writer may already be filling the slot of {@code first}, so that counts as lapped.
+     */
+    private boolean intact(long first) {
+        // Keep the row reads above from moving after the count check
+        VarHandle.loadLoadFence();
+        return count - first < slots;
+    }
+
+    private static IllegalStateException overtaken() {
+        return new IllegalStateException("History overwritten faster than it could be read");
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.automotive;
+
+import java.util.List;
+
+import org.example.automotive.VehicleDashboard.StatusLevel;
+import org.example.automotive.VehicleDashboard.WarningLight;
+import org.example.automotive.VehicleDashboard.WarningStatus;
+
+/**
+ * Active warnings, one slot per {@link WarningLight}.
+ * <p>
+ * Statuses are kept in an array indexed by the light's ordinal and the active lights in a bit mask, so
+ * activating, deactivating and checking a light take constant time, which limits the table to 32 lights. Every
+ * transition increments a version; {@link #getActive()} builds an unmodifiable list of the active warnings once
+ * per version and returns that same list until the next transition, and {@link #getActiveArray()} does the same
+ * for an array of them. The array and the statuses are shared, so callers must not modify them.
+ * <p>
+ * Only transitions count: activating an active light or deactivating an inactive one changes nothing. Writers
+ * synchronize on the table; reads of the version, the mask and the cached array do not lock.
+ */
+public final class WarningTable {
+
+    static {
+        if (WarningLight.values().length > Integer.SIZE) {
+            throw new IllegalStateException(WarningLight.values().length + " warning lights do not fit the "
+                + Integer.SIZE + "-bit active mask");
+        }
+    }
+
+    private final WarningStatus[] statuses = new WarningStatus[WarningLight.values().length];
+    // Bit n set if the light with ordinal n is active
+    private volatile int activeMask;
+    private volatile long version;
+    // Active warnings as of the version they were built for
+    private volatile Snapshot cached = new Snapshot(0, new WarningStatus[0]);
+
+    /**
+     * Activates {@code type} unless it is active already
+     *
+     * @return the new status, or null if the light was active
+     */
+    public synchronized WarningStatus activate(WarningLight type, String message, StatusLevel severity,
+                                               long timeMillis) {
+        int bit = 1 << type.ordinal();
+        if ((activeMask & bit) != 0) {
+            return null;
+        }
+        WarningStatus status = new WarningStatus(type, true, message, severity, timeMillis);
+        statuses[type.ordinal()] = status;
+        activeMask |= bit;
+        version++;
+        return status;
+    }
+
+    /**
+     * Deactivates {@code type} if it is active
+     *
+     * @return the inactive status, keeping the activation's message and time, or null if the light was inactive
+     */
+    public synchronized WarningStatus deactivate(WarningLight type) {
+        int bit = 1 << type.ordinal();
+        if ((activeMask & bit) == 0) {
+            return null;
+        }
+        WarningStatus active = statuses[type.ordinal()];
+        statuses[type.ordinal()] = null;
+        activeMask &= ~bit;
+        version++;
+        return new WarningStatus(type, false, active.message, active.severity, active.activatedTime);
+    }
+
+    public boolean isActive(WarningLight type) {
+        return (activeMask & 1 << type.ordinal()) != 0;
+    }
+
+    public int size() {
+        return Integer.bitCount(activeMask);
+    }
+
+    /**
+     * Incremented on every transition
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Active warnings in light order; the same list is returned until the next transition
+     */
+    public List<WarningStatus> getActive() {
+        return current().warnings;
+    }
+
+    /**
+     * Active warnings in light order; the same array is returned until the next transition and must not be modified
+     */
+    public WarningStatus[] getActiveArray() {
+        return current().array;
+    }
+
+    private Snapshot current() {
+        Snapshot snapshot = cached;
+        return snapshot.version == version ? snapshot : rebuild();
+    }
+
+    private synchronized Snapshot rebuild() {
+        if (cached.version != version) {
+            WarningStatus[] active = new WarningStatus[Integer.bitCount(activeMask)];
+            int filled = 0;
+            for (int mask = activeMask; mask != 0; mask &= mask - 1) {
+                active[filled++] = statuses[Integer.numberOfTrailingZeros(mask)];
+            }
+            cached = new Snapshot(version, active);
+        }
+        return cached;
+    }
+
+    private static final class Snapshot {
+        final long version;
+        final WarningStatus[] array;
+        final List<WarningStatus> warnings;
+
+        Snapshot(long version, WarningStatus[] array) {
+            this.version = version;
+            this.array = array;
+            this.warnings = List.of(array);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package org.example.calculator;
 
-import java.util.function.Consumer;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.nio.ByteBuffer;
+import org.example.runtime.SomeIpCodec;
+import org.example.runtime.EventBus;
 
 /**
  * Calculator interface generated from FRANCA IDL
+ * <p>
+ * Basic calculator interface demonstrating FRANCA IDL concepts
  */
 public interface Calculator {
     
@@ -14,6 +19,42 @@ public interface Calculator {
         private final int value;
         Operation(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static Operation fromValue(int value) {
+            switch (value) {
+                case 1: return ADD;
+                case 2: return SUBTRACT;
+                case 3: return MULTIPLY;
+                case 4: return DIVIDE;
+                case 5: return POWER;
+                case 6: return SQRT;
+                default: throw new IllegalArgumentException("Unknown Operation value " + value);
+            }
+        }
+    }
+    
+    enum CommonError {
+        NO_ERROR(0), INVALID_INPUT(1), TIMEOUT(2), COMMUNICATION_ERROR(3),
+        AUTHENTICATION_FAILED(4), PERMISSION_DENIED(5), RESOURCE_NOT_AVAILABLE(6),
+        INTERNAL_ERROR(99);
+        
+        private final int value;
+        CommonError(int value) { this.value = value; }
+        public int getValue() { return value; }
+        
+        public static CommonError fromValue(int value) {
+            switch (value) {
+                case 0: return NO_ERROR;
+                case 1: return INVALID_INPUT;
+                case 2: return TIMEOUT;
+                case 3: return COMMUNICATION_ERROR;
+                case 4: return AUTHENTICATION_FAILED;
+                case 5: return PERMISSION_DENIED;
+                case 6: return RESOURCE_NOT_AVAILABLE;
+                case 99: return INTERNAL_ERROR;
+                default: throw new IllegalArgumentException("Unknown CommonError value " + value);
+            }
+        }
     }
     
     class CalculationResult {
@@ -30,6 +71,27 @@ public interface Calculator {
             this.isValid = isValid;
             this.timestamp = timestamp;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putDouble(result);
+            SomeIpCodec.writeString(buffer, errorMessage);
+            SomeIpCodec.writeBoolean(buffer, isValid);
+            buffer.putLong(timestamp);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            result = buffer.getDouble();
+            errorMessage = SomeIpCodec.readString(buffer);
+            isValid = SomeIpCodec.readBoolean(buffer);
+            timestamp = buffer.getLong();
+        }
+        
+        public int serializedSize() {
+            int size = 17;
+            size += SomeIpCodec.stringSize(errorMessage);
+            return size;
+        }
     }
     
     class ComplexNumber {
@@ -42,6 +104,21 @@ public interface Calculator {
             this.real = real;
             this.imaginary = imaginary;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putDouble(real);
+            buffer.putDouble(imaginary);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            real = buffer.getDouble();
+            imaginary = buffer.getDouble();
+        }
+        
+        public int serializedSize() {
+            return 16;
+        }
     }
     
     class CalculatorStats {
@@ -52,11 +129,30 @@ public interface Calculator {
         
         public CalculatorStats() {}
         
-        public CalculatorStats(int total, int successful, int errors, double avgTime) {
-            this.totalOperations = total;
-            this.successfulOperations = successful;
-            this.errorCount = errors;
-            this.averageExecutionTime = avgTime;
+        public CalculatorStats(int totalOperations, int successfulOperations, int errorCount, double averageExecutionTime) {
+            this.totalOperations = totalOperations;
+            this.successfulOperations = successfulOperations;
+            this.errorCount = errorCount;
+            this.averageExecutionTime = averageExecutionTime;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putInt(totalOperations);
+            buffer.putInt(successfulOperations);
+            buffer.putInt(errorCount);
+            buffer.putDouble(averageExecutionTime);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            totalOperations = buffer.getInt();
+            successfulOperations = buffer.getInt();
+            errorCount = buffer.getInt();
+            averageExecutionTime = buffer.getDouble();
+        }
+        
+        public int serializedSize() {
+            return 20;
         }
     }
     
@@ -66,20 +162,60 @@ public interface Calculator {
     CompletableFuture<CalculatorStats> getStatistics();
     CompletableFuture<Boolean> reset();
     CompletableFuture<Boolean> setPrecision(byte decimalPlaces);
+    CompletableFuture<CalculateBatchReply> calculateBatch(double[] leftOperands, double[] rightOperands, Operation operation);
+    
+    // Attributes
+    CompletableFuture<Byte> getPrecision();
+    CompletableFuture<String> getMode();
+    CompletableFuture<Void> setMode(String mode);
+    CompletableFuture<Double> getMaxValue();
+    EventBus<Byte> precisionChanges();
+    EventBus<String> modeChanges();
+    EventBus<Double> maxValueChanges();
     
-    // Event listeners
-    void setCalculationCompletedListener(Consumer<CalculationCompletedEvent> listener);
-    void setErrorOccurredListener(Consumer<ErrorOccurredEvent> listener);
+    // Events
+    EventBus<CalculationCompletedEvent> calculationCompletedEvents();
+    EventBus<ErrorOccurredEvent> errorOccurredEvents();
+    
+    default void setCalculationCompletedListener(Consumer<CalculationCompletedEvent> listener) {
+        calculationCompletedEvents().setListener(listener);
+    }
+    
+    default void setErrorOccurredListener(Consumer<ErrorOccurredEvent> listener) {
+        errorOccurredEvents().setListener(listener);
+    }
     
     // Event classes
     class CalculationCompletedEvent {
         public CalculationResult result;
         public long sessionId;
         
+        public CalculationCompletedEvent() {}
+        
         public CalculationCompletedEvent(CalculationResult result, long sessionId) {
             this.result = result;
             this.sessionId = sessionId;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            (result != null ? result : new CalculationResult()).writeTo(buffer);
+            buffer.putLong(sessionId);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            if (result == null) {
+                result = new CalculationResult();
+            }
+            result.readFrom(buffer);
+            sessionId = buffer.getLong();
+        }
+        
+        public int serializedSize() {
+            int size = 8;
+            size += (result != null ? result : new CalculationResult()).serializedSize();
+            return size;
+        }
     }
     
     class ErrorOccurredEvent {
@@ -87,10 +223,62 @@ public interface Calculator {
         public int errorCode;
         public long timestamp;
         
+        public ErrorOccurredEvent() {}
+        
         public ErrorOccurredEvent(String errorMessage, int errorCode, long timestamp) {
             this.errorMessage = errorMessage;
             this.errorCode = errorCode;
             this.timestamp = timestamp;
         }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            SomeIpCodec.writeString(buffer, errorMessage);
+            buffer.putInt(errorCode);
+            buffer.putLong(timestamp);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            errorMessage = SomeIpCodec.readString(buffer);
+            errorCode = buffer.getInt();
+            timestamp = buffer.getLong();
+        }
+        
+        public int serializedSize() {
+            int size = 12;
+            size += SomeIpCodec.stringSize(errorMessage);
+            return size;
+        }
+    }
+    
+    // Reply classes
+    class CalculateBatchReply {
+        public double[] results;
+        public long[] errorBitmap;
+        
+        public CalculateBatchReply() {}
+        
+        public CalculateBatchReply(double[] results, long[] errorBitmap) {
+            this.results = results;
+            this.errorBitmap = errorBitmap;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            SomeIpCodec.writeDoubles(buffer, results);
+            SomeIpCodec.writeLongs(buffer, errorBitmap);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            results = SomeIpCodec.readDoubles(buffer, results);
+            errorBitmap = SomeIpCodec.readLongs(buffer, errorBitmap);
+        }
+        
+        public int serializedSize() {
+            int size = 0;
+            size += 4 + (results == null ? 0 : results.length * 8);
+            size += 4 + (errorBitmap == null ? 0 : errorBitmap.length * 8);
+            return size;
+        }
     }
 }
@@ -0,0 +1,172 @@
+package org.example.calculator;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+import org.example.calculator.Calculator.Operation;
+
+/**
+ * Element-wise batch arithmetic writing into caller-provided result arrays.
+ * <p>
+ * The operation is dispatched once per batch and each operation runs in its own counted loop without
+ * calls or branches, which C2 compiles to SIMD code for ADD, SUBTRACT, MULTIPLY, DIVIDE and SQRT.
+ * Error detection (division by zero, square root of a negative number, as in
+ * {@link CalculatorImpl#calculate}) is a separate pass that only touches the results of failed elements:
+ * their bit in the error bitmap is set and their result is NaN. Bit {@code i % 64} of word {@code i / 64}
+ * corresponds to element {@code i} of the batch.
+ */
+public final class CalculatorBatch {
+
+    private CalculatorBatch() {}
+
+    /**
+     * Number of bitmap words needed for {@code count} elements
+     */
+    public static int bitmapLength(int count) {
+        return (count + 63) >>> 6;
+    }
+
+    /**
+     * @return number of failed elements
+     */
+    public static int calculate(Operation operation, double[] left, double[] right, double[] results,
+                                long[] errorBitmap) {
+        return calculate(operation, left, 0, right, 0, results, 0, errorBitmap, left.length);
+    }
+
+    /**
+     * Calculates {@code count} elements starting at the given offsets; {@code right} is not read for SQRT
+     * and may then be null
+     *
+     * @return number of failed elements
+     */
+    public static int calculate(Operation operation, double[] left, int leftOffset, double[] right, int rightOffset,
+                                double[] results, int resultOffset, long[] errorBitmap, int count) {
+        checkRange(left.length, leftOffset, count, "left");
+        if (operation != Operation.SQRT) {
+            checkRange(right.length, rightOffset, count, "right");
+        }
+        checkRange(results.length, resultOffset, count, "results");
+        if (errorBitmap.length < bitmapLength(count)) {
+            throw new IllegalArgumentException("Error bitmap needs " + bitmapLength(count) + " words");
+        }
+        Arrays.fill(errorBitmap, 0, bitmapLength(count), 0L);
+
+        switch (operation) {
+            case ADD:
+                for (int i = 0; i < count; i++) {
+                    results[resultOffset + i] = left[leftOffset + i] + right[rightOffset + i];
+                }
+                return 0;
+            case SUBTRACT:
+                for (int i = 0; i < count; i++) {
+                    results[resultOffset + i] = left[leftOffset + i] - right[rightOffset + i];
+                }
+                return 0;
+            case MULTIPLY:
+                for (int i = 0; i < count; i++) {
+                    results[resultOffset + i] = left[leftOffset + i] * right[rightOffset + i];
+                }
+                return 0;
+            case DIVIDE:
+                for (int i = 0; i < count; i++) {
+                    results[resultOffset + i] = left[leftOffset + i] / right[rightOffset + i];
+                }
+                return markErrors(right, rightOffset, results, resultOffset, errorBitmap, count, true);
+            case POWER:
+                for (int i = 0; i < count; i++) {
+                    results[resultOffset + i] = Math.pow(left[leftOffset + i], right[rightOffset + i]);
+                }
+                return 0;
+            case SQRT:
+                for (int i = 0; i < count; i++) {
+                    results[resultOffset + i] = Math.sqrt(left[leftOffset + i]);
+                }
+                return markErrors(left, leftOffset, results, resultOffset, errorBitmap, count, false);
+            default:
+                throw new IllegalArgumentException("Invalid operation");
+        }
+    }
+
+    /**
+     * Calculates {@code left.remaining()} elements from the buffers' positions without moving them.
+     * Heap buffers run on their backing arrays; direct buffers are read with absolute gets.
+     *
+     * @return number of failed elements
+     */
+    public static int calculate(Operation operation, DoubleBuffer left, DoubleBuffer right, DoubleBuffer results,
+                                long[] errorBitmap) {
+        int count = left.remaining();
+        boolean unary = operation == Operation.SQRT;
+        if ((!unary && right.remaining() < count) || results.remaining() < count) {
+            throw new IllegalArgumentException("Buffers must hold " + count + " elements");
+        }
+        if (left.hasArray() && (unary || right.hasArray()) && results.hasArray()) {
+            return calculate(operation, left.array(), left.arrayOffset() + left.position(),
+                unary ? null : right.array(), unary ? 0 : right.arrayOffset() + right.position(),
+                results.array(), results.arrayOffset() + results.position(), errorBitmap, count);
+        }
+        if (errorBitmap.length < bitmapLength(count)) {
+            throw new IllegalArgumentException("Error bitmap needs " + bitmapLength(count) + " words");
+        }
+        Arrays.fill(errorBitmap, 0, bitmapLength(count), 0L);
+        int l = left.position();
+        int r = unary ? 0 : right.position();
+        int out = results.position();
+        int errors = 0;
+        for (int i = 0; i < count; i++) {
+            double a = left.get(l + i);
+            double b = unary ? 0 : right.get(r + i);
+            double value;
+            switch (operation) {
+                case ADD: value = a + b; break;
+                case SUBTRACT: value = a - b; break;
+                case MULTIPLY: value = a * b; break;
+                case DIVIDE: value = a / b; break;
+                case POWER: value = Math.pow(a, b); break;
+                case SQRT: value = Math.sqrt(a); break;
+                default: throw new IllegalArgumentException("Invalid operation");
+            }
+            if ((operation == Operation.DIVIDE && b == 0) || (unary && a < 0)) {
+                value = Double.NaN;
+                errorBitmap[i >>> 6] |= 1L << i;
+                errors++;
+            }
+            results.put(out + i, value);
+        }
+        return errors;
+    }
+
+    /**
+     * Flags elements whose checked operand is zero (division) or negative (square root)
+     */
+    private static int markErrors(double[] operands, int operandOffset, double[] results, int resultOffset,
+                                  long[] errorBitmap, int count, boolean zeroFails) {
+        int errors = 0;
+        for (int word = 0; word < bitmapLength(count); word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, count);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                double operand = operands[operandOffset + i];
+                boolean failed = zeroFails ? operand == 0 : operand < 0;
+                bits |= (failed ? 1L : 0L) << i;
+            }
+            if (bits != 0) {
+                errorBitmap[word] = bits;
+                errors += Long.bitCount(bits);
+                for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+                    results[resultOffset + base + Long.numberOfTrailingZeros(remaining)] = Double.NaN;
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static void checkRange(int length, int offset, int count, String name) {
+        if (offset < 0 || count < 0 || offset > length - count) {
+            throw new IndexOutOfBoundsException(name + ": " + count + " elements at " + offset
+                + " exceed length " + length);
+        }
+    }
+}
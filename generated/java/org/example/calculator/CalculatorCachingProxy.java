@@ -0,0 +1,167 @@
+package org.example.calculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.example.runtime.EventBus;
+import org.example.runtime.ResponseCache;
+import org.example.calculator.Calculator.*;
+
+/**
+ * Caching client proxy of Calculator generated from FRANCA IDL
+ * <p>
+ * Replies of the get methods are kept in a {@link ResponseCache}; other methods and events
+ * are passed through to the delegate. Invalidating events are delivered asynchronously, so a
+ * reply can outlive its invalidation by the event's delivery latency.
+ */
+public final class CalculatorCachingProxy implements Calculator, AutoCloseable {
+    
+    private static final int GET_STATISTICS = 0;
+    private static final int GET_PRECISION = 1;
+    private static final int GET_MODE = 2;
+    private static final int GET_MAX_VALUE = 3;
+    private static final String[] METHODS = {"getStatistics", "getPrecision", "getMode", "getMaxValue"};
+    // Events invalidating each method unless the policy replaces them
+    private static final String[][] INVALIDATED_BY = {
+        {"calculationCompleted", "errorOccurred"},
+        {"precision"},
+        {"mode"},
+        {"maxValue"},
+    };
+    // Methods whose replies the other methods' calls may change
+    private static final int[] WRITE_INVALIDATED = {GET_STATISTICS};
+    
+    private final Calculator delegate;
+    private final ResponseCache cache;
+    private final List<EventBus.Subscription<?>> subscriptions = new ArrayList<>();
+    
+    public CalculatorCachingProxy(Calculator delegate) {
+        this(delegate, ResponseCache.Policy.defaults());
+    }
+    
+    public CalculatorCachingProxy(Calculator delegate, ResponseCache.Policy policy) {
+        this.delegate = delegate;
+        this.cache = new ResponseCache("Calculator", METHODS, INVALIDATED_BY, policy);
+        if (cache.isInvalidatedBy("calculationCompleted")) {
+            subscriptions.add(delegate.calculationCompletedEvents().subscribe(
+                event -> cache.invalidate("calculationCompleted"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("errorOccurred")) {
+            subscriptions.add(delegate.errorOccurredEvents().subscribe(
+                event -> cache.invalidate("errorOccurred"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("precision")) {
+            subscriptions.add(delegate.precisionChanges().subscribe(
+                value -> cache.invalidate("precision"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("mode")) {
+            subscriptions.add(delegate.modeChanges().subscribe(
+                value -> cache.invalidate("mode"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("maxValue")) {
+            subscriptions.add(delegate.maxValueChanges().subscribe(
+                value -> cache.invalidate("maxValue"), 1, EventBus.Backpressure.COALESCE));
+        }
+    }
+    
+    public ResponseCache getCache() {
+        return cache;
+    }
+    
+    @Override
+    public CompletableFuture<CalculationResult> calculate(double leftOperand, double rightOperand, Operation operation) {
+        return delegate.calculate(leftOperand, rightOperand, operation)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<ComplexNumber> calculateComplex(ComplexNumber left, ComplexNumber right, Operation operation) {
+        return delegate.calculateComplex(left, right, operation)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<CalculatorStats> getStatistics() {
+        return cache.get(GET_STATISTICS, delegate::getStatistics);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> reset() {
+        return delegate.reset()
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> setPrecision(byte decimalPlaces) {
+        return delegate.setPrecision(decimalPlaces)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<CalculateBatchReply> calculateBatch(double[] leftOperands, double[] rightOperands, Operation operation) {
+        return delegate.calculateBatch(leftOperands, rightOperands, operation)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<Byte> getPrecision() {
+        return cache.get(GET_PRECISION, delegate::getPrecision);
+    }
+    
+    @Override
+    public CompletableFuture<String> getMode() {
+        return cache.get(GET_MODE, delegate::getMode);
+    }
+    
+    @Override
+    public CompletableFuture<Void> setMode(String mode) {
+        return delegate.setMode(mode)
+            .whenComplete((ignored, error) -> cache.invalidate(GET_MODE));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getMaxValue() {
+        return cache.get(GET_MAX_VALUE, delegate::getMaxValue);
+    }
+    
+    @Override
+    public EventBus<CalculationCompletedEvent> calculationCompletedEvents() {
+        return delegate.calculationCompletedEvents();
+    }
+    
+    @Override
+    public EventBus<ErrorOccurredEvent> errorOccurredEvents() {
+        return delegate.errorOccurredEvents();
+    }
+    
+    @Override
+    public EventBus<Byte> precisionChanges() {
+        return delegate.precisionChanges();
+    }
+    
+    @Override
+    public EventBus<String> modeChanges() {
+        return delegate.modeChanges();
+    }
+    
+    @Override
+    public EventBus<Double> maxValueChanges() {
+        return delegate.maxValueChanges();
+    }
+    
+    /**
+     * Stops listening for invalidating events; the delegate is left open
+     */
+    @Override
+    public void close() {
+        for (EventBus.Subscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+    
+    private void invalidateWrites() {
+        for (int method : WRITE_INVALIDATED) {
+            cache.invalidate(method);
+        }
+    }
+}
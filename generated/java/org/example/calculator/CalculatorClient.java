@@ -2,6 +2,7 @@ package org.example.calculator;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Calculator client demo
@@ -47,6 +48,10 @@ public class CalculatorClient {
                 System.out.println("Error: " + r3.errorMessage);
             }
             
+            // Listeners run asynchronously; let them print before the statistics
+            calculator.calculationCompletedEvents().awaitIdle(1, TimeUnit.SECONDS);
+            calculator.errorOccurredEvents().awaitIdle(1, TimeUnit.SECONDS);
+            
             // Get statistics
             CompletableFuture<Calculator.CalculatorStats> statsResult = calculator.getStatistics();
             Calculator.CalculatorStats stats = statsResult.get();
@@ -0,0 +1,230 @@
+package org.example.calculator;
+
+import java.util.Arrays;
+
+import org.example.calculator.Calculator.ComplexNumber;
+import org.example.calculator.Calculator.Operation;
+
+/**
+ * Complex arithmetic for every {@link Operation}, on single values and on structure-of-arrays batches.
+ * <p>
+ * POWER raises {@code left} to the complex exponent {@code right} on the principal branch of the logarithm;
+ * SQRT is the principal square root of {@code left} and ignores {@code right}. Division by zero and zero
+ * raised to an exponent with a non-positive real part (other than 0^0 = 1) fail.
+ * <p>
+ * Batches keep real and imaginary parts in separate arrays. ADD, SUBTRACT and MULTIPLY run as branch-free
+ * counted loops that C2 vectorizes; the other operations run their scalar kernel in a dedicated loop with
+ * one scratch value per batch, so no element allocates. Failed elements are NaN and flagged in the error
+ * bitmap as in {@link CalculatorBatch}.
+ */
+public final class CalculatorComplex {
+
+    private CalculatorComplex() {}
+
+    /**
+     * Calculates {@code left <operation> right} into {@code result}
+     *
+     * @return false if the operation is undefined for the operands; {@code result} is then NaN
+     */
+    public static boolean calculate(Operation operation, double leftReal, double leftImaginary,
+                                    double rightReal, double rightImaginary, ComplexNumber result) {
+        switch (operation) {
+            case ADD:
+                result.real = leftReal + rightReal;
+                result.imaginary = leftImaginary + rightImaginary;
+                return true;
+            case SUBTRACT:
+                result.real = leftReal - rightReal;
+                result.imaginary = leftImaginary - rightImaginary;
+                return true;
+            case MULTIPLY:
+                result.real = leftReal * rightReal - leftImaginary * rightImaginary;
+                result.imaginary = leftReal * rightImaginary + leftImaginary * rightReal;
+                return true;
+            case DIVIDE:
+                return divide(leftReal, leftImaginary, rightReal, rightImaginary, result);
+            case POWER:
+                return power(leftReal, leftImaginary, rightReal, rightImaginary, result);
+            case SQRT:
+                sqrt(leftReal, leftImaginary, result);
+                return true;
+            default:
+                throw new IllegalArgumentException("Invalid operation");
+        }
+    }
+
+    /**
+     * Calculates all elements of the {@code left*} arrays; the {@code right*} arrays are not read for SQRT
+     * and may then be null
+     *
+     * @return number of failed elements
+     */
+    public static int calculate(Operation operation, double[] leftReal, double[] leftImaginary,
+                                double[] rightReal, double[] rightImaginary,
+                                double[] resultReal, double[] resultImaginary, long[] errorBitmap) {
+        int count = leftReal.length;
+        checkLength(leftImaginary, count, "leftImaginary");
+        if (operation != Operation.SQRT) {
+            checkLength(rightReal, count, "rightReal");
+            checkLength(rightImaginary, count, "rightImaginary");
+        }
+        checkLength(resultReal, count, "resultReal");
+        checkLength(resultImaginary, count, "resultImaginary");
+        if (errorBitmap.length < CalculatorBatch.bitmapLength(count)) {
+            throw new IllegalArgumentException("Error bitmap needs " + CalculatorBatch.bitmapLength(count) + " words");
+        }
+        Arrays.fill(errorBitmap, 0, CalculatorBatch.bitmapLength(count), 0L);
+
+        switch (operation) {
+            case ADD:
+                for (int i = 0; i < count; i++) {
+                    resultReal[i] = leftReal[i] + rightReal[i];
+                    resultImaginary[i] = leftImaginary[i] + rightImaginary[i];
+                }
+                return 0;
+            case SUBTRACT:
+                for (int i = 0; i < count; i++) {
+                    resultReal[i] = leftReal[i] - rightReal[i];
+                    resultImaginary[i] = leftImaginary[i] - rightImaginary[i];
+                }
+                return 0;
+            case MULTIPLY:
+                for (int i = 0; i < count; i++) {
+                    double a = leftReal[i];
+                    double b = leftImaginary[i];
+                    double c = rightReal[i];
+                    double d = rightImaginary[i];
+                    resultReal[i] = a * c - b * d;
+                    resultImaginary[i] = a * d + b * c;
+                }
+                return 0;
+            case DIVIDE:
+                return divide(leftReal, leftImaginary, rightReal, rightImaginary, resultReal, resultImaginary,
+                    errorBitmap, count);
+            case POWER:
+                return power(leftReal, leftImaginary, rightReal, rightImaginary, resultReal, resultImaginary,
+                    errorBitmap, count);
+            case SQRT:
+                ComplexNumber root = new ComplexNumber();
+                for (int i = 0; i < count; i++) {
+                    sqrt(leftReal[i], leftImaginary[i], root);
+                    resultReal[i] = root.real;
+                    resultImaginary[i] = root.imaginary;
+                }
+                return 0;
+            default:
+                throw new IllegalArgumentException("Invalid operation");
+        }
+    }
+
+    private static int divide(double[] leftReal, double[] leftImaginary, double[] rightReal,
+                              double[] rightImaginary, double[] resultReal, double[] resultImaginary,
+                              long[] errorBitmap, int count) {
+        ComplexNumber quotient = new ComplexNumber();
+        int errors = 0;
+        for (int i = 0; i < count; i++) {
+            if (!divide(leftReal[i], leftImaginary[i], rightReal[i], rightImaginary[i], quotient)) {
+                errorBitmap[i >>> 6] |= 1L << i;
+                errors++;
+            }
+            resultReal[i] = quotient.real;
+            resultImaginary[i] = quotient.imaginary;
+        }
+        return errors;
+    }
+
+    private static int power(double[] leftReal, double[] leftImaginary, double[] rightReal,
+                             double[] rightImaginary, double[] resultReal, double[] resultImaginary,
+                             long[] errorBitmap, int count) {
+        ComplexNumber power = new ComplexNumber();
+        int errors = 0;
+        for (int i = 0; i < count; i++) {
+            if (!power(leftReal[i], leftImaginary[i], rightReal[i], rightImaginary[i], power)) {
+                errorBitmap[i >>> 6] |= 1L << i;
+                errors++;
+            }
+            resultReal[i] = power.real;
+            resultImaginary[i] = power.imaginary;
+        }
+        return errors;
+    }
+
+    /**
+     * Smith's algorithm: scales by the larger divisor component so that neither the intermediate
+     * products nor |divisor|^2 overflow
+     */
+    private static boolean divide(double a, double b, double c, double d, ComplexNumber result) {
+        if (c == 0 && d == 0) {
+            return fail(result);
+        }
+        if (Math.abs(c) >= Math.abs(d)) {
+            double ratio = d / c;
+            double denominator = c + d * ratio;
+            result.real = (a + b * ratio) / denominator;
+            result.imaginary = (b - a * ratio) / denominator;
+        } else {
+            double ratio = c / d;
+            double denominator = c * ratio + d;
+            result.real = (a * ratio + b) / denominator;
+            result.imaginary = (b * ratio - a) / denominator;
+        }
+        return true;
+    }
+
+    /**
+     * (a + bi)^(c + di) = exp((c + di) * log(a + bi))
+     */
+    private static boolean power(double a, double b, double c, double d, ComplexNumber result) {
+        if (a == 0 && b == 0) {
+            if (c == 0 && d == 0) {
+                result.real = 1;
+                result.imaginary = 0;
+                return true;
+            }
+            if (c <= 0) {
+                return fail(result);
+            }
+            result.real = 0;
+            result.imaginary = 0;
+            return true;
+        }
+        double logModulus = Math.log(Math.hypot(a, b));
+        double argument = Math.atan2(b, a);
+        double modulus = Math.exp(c * logModulus - d * argument);
+        double angle = d * logModulus + c * argument;
+        result.real = modulus * Math.cos(angle);
+        result.imaginary = modulus * Math.sin(angle);
+        return true;
+    }
+
+    /**
+     * Principal root, computed from |z| + |a| to avoid cancellation when a is negative
+     */
+    private static void sqrt(double a, double b, ComplexNumber result) {
+        if (a == 0 && b == 0) {
+            result.real = 0;
+            result.imaginary = b;
+            return;
+        }
+        double t = Math.sqrt((Math.hypot(a, b) + Math.abs(a)) / 2);
+        if (a >= 0) {
+            result.real = t;
+            result.imaginary = b / (2 * t);
+        } else {
+            result.real = Math.abs(b) / (2 * t);
+            result.imaginary = Math.copySign(t, b);
+        }
+    }
+
+    private static boolean fail(ComplexNumber result) {
+        result.real = Double.NaN;
+        result.imaginary = Double.NaN;
+        return false;
+    }
+
+    private static void checkLength(double[] array, int count, String name) {
+        if (array.length != count) {
+            throw new IllegalArgumentException(name + " holds " + array.length + " elements, expected " + count);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.calculator;
+
+import java.io.IOException;
+import org.example.runtime.SomeIpClient;
+import org.example.runtime.SomeIpDeployment;
+import org.example.runtime.SomeIpServer;
+
+/**
+ * Service instances deployed by CalculatorDeployment.fdepl, generated from FRANCA deployment model
+ */
+public final class CalculatorDeployment {
+    
+    public static final SomeIpDeployment CALCULATOR_SERVICE = new SomeIpDeployment(
+        "calculatorService", "org.example.calculator.Calculator", "192.168.1.100", 30500,
+        4, 256, 32, 0);
+    
+    private CalculatorDeployment() {}
+    
+    /**
+     * Serves {@code service} as calculatorService on its deployed endpoint
+     */
+    public static SomeIpServer startCalculatorService(Calculator service) throws IOException {
+        return startCalculatorService(service, CALCULATOR_SERVICE);
+    }
+    
+    /**
+     * Serves {@code service} with the settings of {@code deployment}, e.g. a
+     * {@link SomeIpDeployment#withEndpoint} copy of {@link #CALCULATOR_SERVICE}
+     */
+    public static SomeIpServer startCalculatorService(Calculator service, SomeIpDeployment deployment)
+            throws IOException {
+        return new SomeIpServer(deployment).register(CalculatorSomeIp.skeleton(service)).start();
+    }
+    
+    /**
+     * Connects to calculatorService; use {@code CalculatorSomeIp.proxy(client)} to call it
+     */
+    public static SomeIpClient connectCalculatorService() throws IOException {
+        return SomeIpClient.connect(CALCULATOR_SERVICE);
+    }
+}
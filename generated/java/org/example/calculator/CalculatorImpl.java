@@ -1,27 +1,58 @@
 package org.example.calculator;
 
+import java.nio.DoubleBuffer;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
+import org.example.runtime.AttributeCell;
+import org.example.runtime.EventBus;
+import org.example.runtime.ServiceExecutor;
+import org.example.runtime.StatsRecorder;
 
 /**
- * Calculator implementation
+ * Calculator implementation. Arithmetic completes inline by default; pass a {@link ServiceExecutor}
+ * to run calls on a dedicated pool or on virtual threads instead.
+ * <p>
+ * Attributes are kept in {@link AttributeCell}s; precision changes through {@link #setPrecision}.
  */
 public class CalculatorImpl implements Calculator {
     
-    private CalculatorStats stats = new CalculatorStats(0, 0, 0, 0.0);
-    private byte precision = 2;
-    private Consumer<CalculationCompletedEvent> calculationCompletedListener;
-    private Consumer<ErrorOccurredEvent> errorOccurredListener;
+    private final StatsRecorder<Operation> stats = new StatsRecorder<>(Operation.class);
+    private static final Set<String> MODES = Set.of("basic", "scientific", "programmer");
+    
+    private final AttributeCell<Byte> precision = new AttributeCell<>("Calculator.precision", (byte) 2);
+    private final AttributeCell<String> mode = new AttributeCell<>("Calculator.mode", "basic");
+    private final AttributeCell<Double> maxValue = new AttributeCell<>("Calculator.maxValue", Double.MAX_VALUE);
+    private final EventBus<CalculationCompletedEvent> calculationCompletedEvents;
+    private final EventBus<ErrorOccurredEvent> errorOccurredEvents;
+    private final ServiceExecutor executor;
+    
+    public CalculatorImpl() {
+        this(ServiceExecutor.inline());
+    }
+    
+    public CalculatorImpl(ServiceExecutor executor) {
+        this(executor, 0);
+    }
+    
+    /**
+     * @param eventPoolSize events preallocated per broadcast and recycled once every subscriber has handled
+     *                      them, see {@link EventBus#EventBus(String, int, java.util.function.Supplier)};
+     *                      0 creates a new event per publication
+     */
+    public CalculatorImpl(ServiceExecutor executor, int eventPoolSize) {
+        this.executor = executor;
+        this.calculationCompletedEvents =
+            new EventBus<>("Calculator.calculationCompleted", eventPoolSize, CalculationCompletedEvent::new);
+        this.errorOccurredEvents = new EventBus<>("Calculator.errorOccurred", eventPoolSize, ErrorOccurredEvent::new);
+    }
     
     @Override
     public CompletableFuture<CalculationResult> calculate(double leftOperand, double rightOperand, Operation operation) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
             long startTime = System.nanoTime();
             CalculationResult result = new CalculationResult();
             result.timestamp = System.currentTimeMillis();
             
-            stats.totalOperations++;
-            
             try {
                 switch (operation) {
                     case ADD:
@@ -53,70 +84,94 @@ public class CalculatorImpl implements Calculator {
                 }
                 
                 result.isValid = true;
-                stats.successfulOperations++;
                 
-                if (calculationCompletedListener != null) {
-                    calculationCompletedListener.accept(new CalculationCompletedEvent(result, 12345L));
+                if (calculationCompletedEvents.hasSubscribers()) {
+                    EventBus.Slot<CalculationCompletedEvent> slot = calculationCompletedEvents.claim();
+                    slot.get().result = result;
+                    slot.get().sessionId = 12345L;
+                    calculationCompletedEvents.publish(slot);
                 }
+                stats.recordSuccess(operation, System.nanoTime() - startTime);
                 
             } catch (Exception e) {
                 result.isValid = false;
                 result.errorMessage = e.getMessage();
-                stats.errorCount++;
+                stats.recordError(operation, System.nanoTime() - startTime);
                 
-                if (errorOccurredListener != null) {
-                    errorOccurredListener.accept(new ErrorOccurredEvent(result.errorMessage, 1, result.timestamp));
+                if (errorOccurredEvents.hasSubscribers()) {
+                    EventBus.Slot<ErrorOccurredEvent> slot = errorOccurredEvents.claim();
+                    slot.get().errorMessage = result.errorMessage;
+                    slot.get().errorCode = 1;
+                    slot.get().timestamp = result.timestamp;
+                    errorOccurredEvents.publish(slot);
                 }
             }
             
-            long endTime = System.nanoTime();
-            double executionTime = (endTime - startTime) / 1000.0; // microseconds
-            
-            stats.averageExecutionTime = 
-                (stats.averageExecutionTime * (stats.totalOperations - 1) + executionTime) / stats.totalOperations;
-            
             return result;
         });
     }
     
     @Override
     public CompletableFuture<ComplexNumber> calculateComplex(ComplexNumber left, ComplexNumber right, Operation operation) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
+            checkOperation(operation);
+            // The result object is the reply itself; the kernels work on primitives and allocate nothing else
             ComplexNumber result = new ComplexNumber();
-            switch (operation) {
-                case ADD:
-                    result.real = left.real + right.real;
-                    result.imaginary = left.imaginary + right.imaginary;
-                    break;
-                case SUBTRACT:
-                    result.real = left.real - right.real;
-                    result.imaginary = left.imaginary - right.imaginary;
-                    break;
-                default:
-                    throw new IllegalArgumentException("Complex operation not implemented");
+            boolean unary = operation == Operation.SQRT;
+            if (!CalculatorComplex.calculate(operation, left.real, left.imaginary,
+                    unary ? 0 : right.real, unary ? 0 : right.imaginary, result)) {
+                throw new ArithmeticException(operation == Operation.DIVIDE ? "Division by zero"
+                    : "Zero raised to a non-positive power");
             }
             return result;
         });
     }
     
+    /**
+     * In-process complex batch over structure-of-arrays operands; nothing is allocated per element.
+     * Every element counts as one operation in the statistics.
+     *
+     * @return number of failed elements, see {@link CalculatorComplex}
+     */
+    public int calculateComplexBatch(Operation operation, double[] leftReal, double[] leftImaginary,
+                                     double[] rightReal, double[] rightImaginary,
+                                     double[] resultReal, double[] resultImaginary, long[] errorBitmap) {
+        checkOperation(operation);
+        long startTime = System.nanoTime();
+        int errors = CalculatorComplex.calculate(operation, leftReal, leftImaginary, rightReal, rightImaginary,
+            resultReal, resultImaginary, errorBitmap);
+        stats.recordBatch(operation, leftReal.length - errors, errors, System.nanoTime() - startTime);
+        return errors;
+    }
+    
     @Override
     public CompletableFuture<CalculatorStats> getStatistics() {
-        return CompletableFuture.completedFuture(stats);
+        // A fresh object per call; callers never see the live counters
+        StatsRecorder.Snapshot<Operation> snapshot = stats.snapshot();
+        return CompletableFuture.completedFuture(new CalculatorStats(uint32(snapshot.getTotal()),
+            uint32(snapshot.getSuccessful()), uint32(snapshot.getErrors()), snapshot.getAverageMicros()));
+    }
+    
+    /**
+     * Consistent per-operation view of the statistics
+     */
+    public StatsRecorder.Snapshot<Operation> getStatisticsSnapshot() {
+        return stats.snapshot();
     }
     
     @Override
     public CompletableFuture<Boolean> reset() {
-        return CompletableFuture.supplyAsync(() -> {
-            stats = new CalculatorStats(0, 0, 0, 0.0);
+        return executor.supply(() -> {
+            stats.reset();
             return true;
         });
     }
     
     @Override
     public CompletableFuture<Boolean> setPrecision(byte decimalPlaces) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
             if (decimalPlaces >= 0 && decimalPlaces <= 15) {
-                precision = decimalPlaces;
+                precision.set(decimalPlaces);
                 return true;
             }
             return false;
@@ -124,12 +179,113 @@ public class CalculatorImpl implements Calculator {
     }
     
     @Override
-    public void setCalculationCompletedListener(Consumer<CalculationCompletedEvent> listener) {
-        this.calculationCompletedListener = listener;
+    public CompletableFuture<CalculateBatchReply> calculateBatch(double[] leftOperands, double[] rightOperands,
+                                                                 Operation operation) {
+        return executor.supply(() -> {
+            double[] left = leftOperands != null ? leftOperands : new double[0];
+            double[] right = rightOperands != null ? rightOperands : new double[0];
+            if (operation != Operation.SQRT && right.length != left.length) {
+                throw new IllegalArgumentException("Operand arrays differ in length: " + left.length
+                    + " and " + right.length);
+            }
+            double[] results = new double[left.length];
+            long[] errorBitmap = new long[CalculatorBatch.bitmapLength(left.length)];
+            calculateBatch(operation, left, right, results, errorBitmap);
+            return new CalculateBatchReply(results, errorBitmap);
+        });
+    }
+    
+    /**
+     * In-process batch into caller-provided arrays; no per-element futures, results or events.
+     * Every element counts as one operation in the statistics.
+     *
+     * @return number of failed elements, see {@link CalculatorBatch}
+     */
+    public int calculateBatch(Operation operation, double[] left, double[] right, double[] results,
+                              long[] errorBitmap) {
+        checkOperation(operation);
+        long startTime = System.nanoTime();
+        int errors = CalculatorBatch.calculate(operation, left, right, results, errorBitmap);
+        stats.recordBatch(operation, left.length - errors, errors, System.nanoTime() - startTime);
+        return errors;
+    }
+    
+    /**
+     * {@link #calculateBatch(Operation, double[], double[], double[], long[])} on buffers, e.g. views of
+     * memory-mapped or direct sample buffers
+     */
+    public int calculateBatch(Operation operation, DoubleBuffer left, DoubleBuffer right, DoubleBuffer results,
+                              long[] errorBitmap) {
+        checkOperation(operation);
+        long startTime = System.nanoTime();
+        int count = left.remaining();
+        int errors = CalculatorBatch.calculate(operation, left, right, results, errorBitmap);
+        stats.recordBatch(operation, count - errors, errors, System.nanoTime() - startTime);
+        return errors;
+    }
+    
+    private static void checkOperation(Operation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Invalid operation");
+        }
+    }
+    
+    @Override
+    public CompletableFuture<Byte> getPrecision() {
+        return CompletableFuture.completedFuture(precision.get());
+    }
+    
+    @Override
+    public CompletableFuture<String> getMode() {
+        return CompletableFuture.completedFuture(mode.get());
+    }
+    
+    /**
+     * @param mode one of basic, scientific or programmer
+     */
+    @Override
+    public CompletableFuture<Void> setMode(String mode) {
+        return executor.supply(() -> {
+            if (mode == null || !MODES.contains(mode)) {
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + MODES);
+            }
+            this.mode.set(mode);
+            return null;
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Double> getMaxValue() {
+        return CompletableFuture.completedFuture(maxValue.get());
     }
     
     @Override
-    public void setErrorOccurredListener(Consumer<ErrorOccurredEvent> listener) {
-        this.errorOccurredListener = listener;
+    public EventBus<CalculationCompletedEvent> calculationCompletedEvents() {
+        return calculationCompletedEvents;
+    }
+    
+    @Override
+    public EventBus<ErrorOccurredEvent> errorOccurredEvents() {
+        return errorOccurredEvents;
+    }
+    
+    @Override
+    public EventBus<Byte> precisionChanges() {
+        return precision.changes();
+    }
+    
+    @Override
+    public EventBus<String> modeChanges() {
+        return mode.changes();
+    }
+    
+    @Override
+    public EventBus<Double> maxValueChanges() {
+        return maxValue.changes();
+    }
+    
+    private static int uint32(long count) {
+        // UInt32 on the wire: saturate instead of wrapping
+        return (int) Math.min(count, 0xFFFFFFFFL);
     }
 }
@@ -0,0 +1,456 @@
+package org.example.calculator;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.example.runtime.EventBus;
+import org.example.runtime.ServiceMetrics;
+import org.example.runtime.SomeIpClient;
+import org.example.runtime.SomeIpCodec;
+import org.example.runtime.SomeIpHeader;
+import org.example.runtime.SomeIpService;
+import org.example.calculator.Calculator.*;
+
+/**
+ * SOME/IP binding of Calculator generated from FRANCA IDL
+ */
+public final class CalculatorSomeIp {
+    
+    public static final int SERVICE_ID = 0xBBE6;
+    public static final int INTERFACE_VERSION = 1;
+    
+    // Method IDs
+    public static final int METHOD_CALCULATE = 0x0001;
+    public static final int METHOD_CALCULATE_COMPLEX = 0x0002;
+    public static final int METHOD_GET_STATISTICS = 0x0003;
+    public static final int METHOD_RESET = 0x0004;
+    public static final int METHOD_SET_PRECISION = 0x0005;
+    public static final int METHOD_CALCULATE_BATCH = 0x0006;
+    public static final int METHOD_GET_PRECISION = 0x0007;
+    public static final int METHOD_GET_MODE = 0x0008;
+    public static final int METHOD_SET_MODE = 0x0009;
+    public static final int METHOD_GET_MAX_VALUE = 0x000A;
+    
+    // Event IDs
+    public static final int EVENT_CALCULATION_COMPLETED = 0x8001;
+    public static final int EVENT_ERROR_OCCURRED = 0x8002;
+    public static final int EVENT_PRECISION_CHANGED = 0x8003;
+    public static final int EVENT_MODE_CHANGED = 0x8004;
+    public static final int EVENT_MAX_VALUE_CHANGED = 0x8005;
+    
+    private CalculatorSomeIp() {}
+    
+    /**
+     * Exposes {@code service} for registration with a {@code SomeIpServer}
+     */
+    public static SomeIpService skeleton(Calculator service) {
+        return new Skeleton(service);
+    }
+    
+    /**
+     * Remote Calculator calling through {@code client}
+     */
+    public static Calculator proxy(SomeIpClient client) {
+        return new Proxy(client);
+    }
+    
+    private static final class Skeleton implements SomeIpService {
+        private final Calculator service;
+        private final ServiceMetrics metrics = new ServiceMetrics("Calculator", "calculate",
+            "calculateComplex", "getStatistics", "reset", "setPrecision", "calculateBatch", "getPrecision",
+            "getMode", "setMode", "getMaxValue");
+        
+        Skeleton(Calculator service) {
+            this.service = service;
+        }
+        
+        @Override
+        public int getServiceId() {
+            return SERVICE_ID;
+        }
+        
+        @Override
+        public int getInterfaceVersion() {
+            return INTERFACE_VERSION;
+        }
+        
+        @Override
+        public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {
+            long start = System.nanoTime();
+            switch (methodId) {
+                case METHOD_CALCULATE: return metrics.record(0, start, calculate(payload));
+                case METHOD_CALCULATE_COMPLEX: return metrics.record(1, start, calculateComplex(payload));
+                case METHOD_GET_STATISTICS: return metrics.record(2, start, getStatistics(payload));
+                case METHOD_RESET: return metrics.record(3, start, reset(payload));
+                case METHOD_SET_PRECISION: return metrics.record(4, start, setPrecision(payload));
+                case METHOD_CALCULATE_BATCH: return metrics.record(5, start, calculateBatch(payload));
+                case METHOD_GET_PRECISION: return metrics.record(6, start, getPrecision(payload));
+                case METHOD_GET_MODE: return metrics.record(7, start, getMode(payload));
+                case METHOD_SET_MODE: return metrics.record(8, start, setMode(payload));
+                case METHOD_GET_MAX_VALUE: return metrics.record(9, start, getMaxValue(payload));
+                default: return null;
+            }
+        }
+        
+        @Override
+        public ServiceMetrics getMetrics() {
+            return metrics;
+        }
+        
+        @Override
+        public void bindEvents(Notifier notifier) {
+            service.calculationCompletedEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_CALCULATION_COMPLETED, INTERFACE_VERSION, message);
+            });
+            service.errorOccurredEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_ERROR_OCCURRED, INTERFACE_VERSION, message);
+            });
+            service.precisionChanges().subscribe(value -> {
+                ByteBuffer message = getPrecisionReply(value);
+                notifier.notify(SERVICE_ID, EVENT_PRECISION_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.modeChanges().subscribe(value -> {
+                ByteBuffer message = getModeReply(value);
+                notifier.notify(SERVICE_ID, EVENT_MODE_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.maxValueChanges().subscribe(value -> {
+                ByteBuffer message = getMaxValueReply(value);
+                notifier.notify(SERVICE_ID, EVENT_MAX_VALUE_CHANGED, INTERFACE_VERSION, message);
+            });
+        }
+        
+        private CompletableFuture<ByteBuffer> calculate(ByteBuffer buffer) {
+            double leftOperand = buffer.getDouble();
+            double rightOperand = buffer.getDouble();
+            Operation operation = Operation.fromValue(buffer.get() & 0xFF);
+            return service.calculate(leftOperand, rightOperand, operation).thenApply(Skeleton::calculateReply);
+        }
+        
+        private static ByteBuffer calculateReply(CalculationResult result) {
+            int size = 0;
+            size += (result != null ? result : new CalculationResult()).serializedSize();
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            (result != null ? result : new CalculationResult()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> calculateComplex(ByteBuffer buffer) {
+            ComplexNumber left;
+            left = new ComplexNumber();
+            left.readFrom(buffer);
+            ComplexNumber right;
+            right = new ComplexNumber();
+            right.readFrom(buffer);
+            Operation operation = Operation.fromValue(buffer.get() & 0xFF);
+            return service.calculateComplex(left, right, operation).thenApply(Skeleton::calculateComplexReply);
+        }
+        
+        private static ByteBuffer calculateComplexReply(ComplexNumber result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(16);
+            (result != null ? result : new ComplexNumber()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getStatistics(ByteBuffer buffer) {
+            return service.getStatistics().thenApply(Skeleton::getStatisticsReply);
+        }
+        
+        private static ByteBuffer getStatisticsReply(CalculatorStats result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(20);
+            (result != null ? result : new CalculatorStats()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> reset(ByteBuffer buffer) {
+            return service.reset().thenApply(Skeleton::resetReply);
+        }
+        
+        private static ByteBuffer resetReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> setPrecision(ByteBuffer buffer) {
+            byte decimalPlaces = buffer.get();
+            return service.setPrecision(decimalPlaces).thenApply(Skeleton::setPrecisionReply);
+        }
+        
+        private static ByteBuffer setPrecisionReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> calculateBatch(ByteBuffer buffer) {
+            double[] leftOperands;
+            leftOperands = SomeIpCodec.readDoubles(buffer, null);
+            double[] rightOperands;
+            rightOperands = SomeIpCodec.readDoubles(buffer, null);
+            Operation operation = Operation.fromValue(buffer.get() & 0xFF);
+            return service.calculateBatch(leftOperands, rightOperands, operation).thenApply(Skeleton::calculateBatchReply);
+        }
+        
+        private static ByteBuffer calculateBatchReply(CalculateBatchReply result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(result.serializedSize());
+            result.writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getPrecision(ByteBuffer buffer) {
+            return service.getPrecision().thenApply(Skeleton::getPrecisionReply);
+        }
+        
+        private static ByteBuffer getPrecisionReply(Byte result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            buffer.put(result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getMode(ByteBuffer buffer) {
+            return service.getMode().thenApply(Skeleton::getModeReply);
+        }
+        
+        private static ByteBuffer getModeReply(String result) {
+            int size = 0;
+            size += SomeIpCodec.stringSize(result);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            SomeIpCodec.writeString(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> setMode(ByteBuffer buffer) {
+            String mode = SomeIpCodec.readString(buffer);
+            return service.setMode(mode).thenApply(ignored -> SomeIpHeader.allocate(0));
+        }
+        
+        private CompletableFuture<ByteBuffer> getMaxValue(ByteBuffer buffer) {
+            return service.getMaxValue().thenApply(Skeleton::getMaxValueReply);
+        }
+        
+        private static ByteBuffer getMaxValueReply(Double result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(8);
+            buffer.putDouble(result);
+            return buffer;
+        }
+    }
+    
+    private static final class Proxy implements Calculator {
+        private final SomeIpClient client;
+        private final EventBus<CalculationCompletedEvent> calculationCompletedEvents =
+            new EventBus<>("Calculator.calculationCompleted");
+        private final EventBus<ErrorOccurredEvent> errorOccurredEvents =
+            new EventBus<>("Calculator.errorOccurred");
+        private final EventBus<Byte> precisionChanges = new EventBus<>("Calculator.precision");
+        private final EventBus<String> modeChanges = new EventBus<>("Calculator.mode");
+        private final EventBus<Double> maxValueChanges = new EventBus<>("Calculator.maxValue");
+        
+        Proxy(SomeIpClient client) {
+            this.client = client;
+            client.setNotificationHandler(SERVICE_ID, this::onNotification);
+        }
+        
+        @Override
+        public CompletableFuture<CalculationResult> calculate(double leftOperand, double rightOperand, Operation operation) {
+            ByteBuffer buffer = SomeIpHeader.allocate(17);
+            buffer.putDouble(leftOperand);
+            buffer.putDouble(rightOperand);
+            if (operation == null) {
+                throw new IllegalArgumentException("Operation operation must not be null");
+            }
+            buffer.put((byte) operation.getValue());
+            return client.call(SERVICE_ID, METHOD_CALCULATE, INTERFACE_VERSION, buffer, Proxy::calculateReply);
+        }
+        
+        private static CalculationResult calculateReply(ByteBuffer buffer) {
+            CalculationResult result;
+            result = new CalculationResult();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<ComplexNumber> calculateComplex(ComplexNumber left, ComplexNumber right, Operation operation) {
+            ByteBuffer buffer = SomeIpHeader.allocate(33);
+            (left != null ? left : new ComplexNumber()).writeTo(buffer);
+            (right != null ? right : new ComplexNumber()).writeTo(buffer);
+            if (operation == null) {
+                throw new IllegalArgumentException("Operation operation must not be null");
+            }
+            buffer.put((byte) operation.getValue());
+            return client.call(SERVICE_ID, METHOD_CALCULATE_COMPLEX, INTERFACE_VERSION, buffer, Proxy::calculateComplexReply);
+        }
+        
+        private static ComplexNumber calculateComplexReply(ByteBuffer buffer) {
+            ComplexNumber result;
+            result = new ComplexNumber();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<CalculatorStats> getStatistics() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_STATISTICS, INTERFACE_VERSION, buffer, Proxy::getStatisticsReply);
+        }
+        
+        private static CalculatorStats getStatisticsReply(ByteBuffer buffer) {
+            CalculatorStats result;
+            result = new CalculatorStats();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> reset() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_RESET, INTERFACE_VERSION, buffer, Proxy::resetReply);
+        }
+        
+        private static Boolean resetReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> setPrecision(byte decimalPlaces) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            buffer.put(decimalPlaces);
+            return client.call(SERVICE_ID, METHOD_SET_PRECISION, INTERFACE_VERSION, buffer, Proxy::setPrecisionReply);
+        }
+        
+        private static Boolean setPrecisionReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<CalculateBatchReply> calculateBatch(double[] leftOperands, double[] rightOperands, Operation operation) {
+            int size = 1;
+            size += 4 + (leftOperands == null ? 0 : leftOperands.length * 8);
+            size += 4 + (rightOperands == null ? 0 : rightOperands.length * 8);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            SomeIpCodec.writeDoubles(buffer, leftOperands);
+            SomeIpCodec.writeDoubles(buffer, rightOperands);
+            if (operation == null) {
+                throw new IllegalArgumentException("Operation operation must not be null");
+            }
+            buffer.put((byte) operation.getValue());
+            return client.call(SERVICE_ID, METHOD_CALCULATE_BATCH, INTERFACE_VERSION, buffer, Proxy::calculateBatchReply);
+        }
+        
+        private static CalculateBatchReply calculateBatchReply(ByteBuffer buffer) {
+            CalculateBatchReply result = new CalculateBatchReply();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Byte> getPrecision() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_PRECISION, INTERFACE_VERSION, buffer, Proxy::getPrecisionReply);
+        }
+        
+        private static Byte getPrecisionReply(ByteBuffer buffer) {
+            byte result = buffer.get();
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<String> getMode() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_MODE, INTERFACE_VERSION, buffer, Proxy::getModeReply);
+        }
+        
+        private static String getModeReply(ByteBuffer buffer) {
+            String result = SomeIpCodec.readString(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Void> setMode(String mode) {
+            int size = 0;
+            size += SomeIpCodec.stringSize(mode);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            SomeIpCodec.writeString(buffer, mode);
+            return client.call(SERVICE_ID, METHOD_SET_MODE, INTERFACE_VERSION, buffer, ignored -> null);
+        }
+        
+        @Override
+        public CompletableFuture<Double> getMaxValue() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_MAX_VALUE, INTERFACE_VERSION, buffer, Proxy::getMaxValueReply);
+        }
+        
+        private static Double getMaxValueReply(ByteBuffer buffer) {
+            double result = buffer.getDouble();
+            return result;
+        }
+        
+        @Override
+        public EventBus<CalculationCompletedEvent> calculationCompletedEvents() {
+            return calculationCompletedEvents;
+        }
+        
+        @Override
+        public EventBus<ErrorOccurredEvent> errorOccurredEvents() {
+            return errorOccurredEvents;
+        }
+        
+        @Override
+        public EventBus<Byte> precisionChanges() {
+            return precisionChanges;
+        }
+        
+        @Override
+        public EventBus<String> modeChanges() {
+            return modeChanges;
+        }
+        
+        @Override
+        public EventBus<Double> maxValueChanges() {
+            return maxValueChanges;
+        }
+        
+        private void onNotification(int eventId, ByteBuffer payload) {
+            switch (eventId) {
+                case EVENT_CALCULATION_COMPLETED: {
+                    if (calculationCompletedEvents.hasSubscribers()) {
+                        CalculationCompletedEvent event = new CalculationCompletedEvent();
+                        event.readFrom(payload);
+                        calculationCompletedEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_ERROR_OCCURRED: {
+                    if (errorOccurredEvents.hasSubscribers()) {
+                        ErrorOccurredEvent event = new ErrorOccurredEvent();
+                        event.readFrom(payload);
+                        errorOccurredEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_PRECISION_CHANGED:
+                    if (precisionChanges.hasSubscribers()) {
+                        precisionChanges.publish(getPrecisionReply(payload));
+                    }
+                    break;
+                case EVENT_MODE_CHANGED:
+                    if (modeChanges.hasSubscribers()) {
+                        modeChanges.publish(getModeReply(payload));
+                    }
+                    break;
+                case EVENT_MAX_VALUE_CHANGED:
+                    if (maxValueChanges.hasSubscribers()) {
+                        maxValueChanges.publish(getMaxValueReply(payload));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
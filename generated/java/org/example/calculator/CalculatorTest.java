@@ -1,8 +1,266 @@
 package org.example.calculator;
 
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import org.example.calculator.Calculator.CalculateBatchReply;
+import org.example.calculator.Calculator.CalculationResult;
+import org.example.calculator.Calculator.CalculatorStats;
+import org.example.calculator.Calculator.ComplexNumber;
+import org.example.calculator.Calculator.Operation;
+import org.example.runtime.StatsRecorder;
+
 public class CalculatorTest {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         System.out.println("Running Calculator Tests...");
-        // Test implementations
+        testStatistics();
+        testConcurrentStatistics();
+        testBatch();
+        testBatchBuffers();
+        testComplex();
+        testComplexBatch();
+        System.out.println("All Calculator tests passed");
+    }
+
+    private static void testStatistics() {
+        CalculatorImpl calculator = new CalculatorImpl();
+        calculator.calculate(1, 2, Operation.ADD).join();
+        calculator.calculate(1, 0, Operation.DIVIDE).join();
+        calculator.calculate(-1, 0, Operation.SQRT).join();
+
+        CalculatorStats stats = calculator.getStatistics().join();
+        check(stats.totalOperations == 3 && stats.successfulOperations == 1 && stats.errorCount == 2, "counters");
+        check(stats.averageExecutionTime >= 0, "average execution time");
+
+        stats.totalOperations = 99;
+        check(calculator.getStatistics().join().totalOperations == 3, "statistics are a copy");
+
+        StatsRecorder.Snapshot<Operation> snapshot = calculator.getStatisticsSnapshot();
+        check(snapshot.getSuccessful(Operation.ADD) == 1 && snapshot.getErrors(Operation.DIVIDE) == 1
+            && snapshot.getErrors(Operation.SQRT) == 1 && snapshot.getTotal(Operation.POWER) == 0, "per operation");
+
+        calculator.reset().join();
+        check(calculator.getStatistics().join().totalOperations == 0, "reset");
+        check(snapshot.getTotal() == 3, "snapshot unaffected by reset");
+    }
+
+    private static void testConcurrentStatistics() throws Exception {
+        int threads = 64;
+        int callsPerThread = 10_000;
+        CalculatorImpl calculator = new CalculatorImpl();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] callers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Operation operation = Operation.values()[t % Operation.values().length];
+            callers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < callsPerThread; i++) {
+                    // Every other division is by zero and counted as an error
+                    calculator.calculate(i, i % 2, operation).join();
+                }
+            });
+            callers[t].start();
+        }
+
+        // Snapshots taken while callers are running must always be internally consistent
+        start.countDown();
+        boolean running = true;
+        while (running) {
+            StatsRecorder.Snapshot<Operation> snapshot = calculator.getStatisticsSnapshot();
+            long perOperation = 0;
+            for (Operation operation : Operation.values()) {
+                perOperation += snapshot.getTotal(operation);
+            }
+            check(snapshot.getTotal() == snapshot.getSuccessful() + snapshot.getErrors(), "consistent totals");
+            check(perOperation == snapshot.getTotal(), "per-operation counts add up");
+            running = false;
+            for (Thread caller : callers) {
+                running |= caller.isAlive();
+            }
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        StatsRecorder.Snapshot<Operation> done = calculator.getStatisticsSnapshot();
+        check(done.getTotal() == (long) threads * callsPerThread, "no lost updates");
+        long callsPerOperation = (long) threads / Operation.values().length * callsPerThread;
+        check(done.getErrors(Operation.DIVIDE) >= callsPerOperation / 2, "division by zero counted per operation");
+    }
+
+    private static void testBatch() {
+        int count = 1000;
+        Random random = new Random(42);
+        double[] left = new double[count];
+        double[] right = new double[count];
+        for (int i = 0; i < count; i++) {
+            // Zeros and negatives exercise the error paths of DIVIDE and SQRT
+            left[i] = i % 7 == 0 ? -random.nextDouble() : random.nextDouble() * 100;
+            right[i] = i % 5 == 0 ? 0 : random.nextDouble() * 4 - 2;
+        }
+        CalculatorImpl calculator = new CalculatorImpl();
+        for (Operation operation : Operation.values()) {
+            CalculateBatchReply reply = calculator.calculateBatch(left, right, operation).join();
+            check(reply.results.length == count && reply.errorBitmap.length == 16, "batch shape " + operation);
+            for (int i = 0; i < count; i++) {
+                CalculationResult scalar = calculator.calculate(left[i], right[i], operation).join();
+                boolean failed = (reply.errorBitmap[i / 64] & (1L << (i % 64))) != 0;
+                check(failed == !scalar.isValid, operation + " error bit " + i);
+                check(failed ? Double.isNaN(reply.results[i])
+                    : Double.compare(reply.results[i], scalar.result) == 0, operation + " result " + i);
+            }
+        }
+        StatsRecorder.Snapshot<Operation> stats = calculator.getStatisticsSnapshot();
+        check(stats.getTotal(Operation.ADD) == 2 * count, "batch elements counted");
+        check(stats.getErrors(Operation.DIVIDE) == 2 * (count / 5), "batch errors counted");
+
+        double[] results = new double[10];
+        long[] bitmap = {-1L};
+        check(CalculatorBatch.calculate(Operation.SQRT, new double[] {4, -1, 9}, 0, null, 0, results, 5, bitmap, 3) == 1,
+            "offsets and unary right operand");
+        check(results[5] == 2 && Double.isNaN(results[6]) && results[7] == 3 && bitmap[0] == 2L, "offset results");
+        try {
+            calculator.calculateBatch(new double[2], new double[3], Operation.ADD).join();
+            throw new AssertionError("length mismatch must fail");
+        } catch (CompletionException e) {
+            check(e.getCause() instanceof IllegalArgumentException, "length mismatch");
+        }
+    }
+
+    private static void testBatchBuffers() {
+        double[] left = {1, 2, 3, 4, 5, 6};
+        double[] right = {1, 0, 1, 0, 1, 0};
+        long[] expectedBitmap = new long[1];
+        double[] expected = new double[4];
+        CalculatorBatch.calculate(Operation.DIVIDE, left, 2, right, 2, expected, 0, expectedBitmap, 4);
+
+        long[] bitmap = new long[1];
+        DoubleBuffer heapResults = DoubleBuffer.allocate(6);
+        heapResults.position(2);
+        CalculatorImpl calculator = new CalculatorImpl();
+        int errors = calculator.calculateBatch(Operation.DIVIDE, DoubleBuffer.wrap(left, 2, 4).slice(),
+            DoubleBuffer.wrap(right).position(2), heapResults, bitmap);
+        check(errors == 2 && bitmap[0] == expectedBitmap[0], "heap buffer errors");
+        for (int i = 0; i < 4; i++) {
+            check(Double.compare(heapResults.get(2 + i), expected[i]) == 0, "heap buffer result " + i);
+        }
+        check(heapResults.position() == 2, "buffer positions unchanged");
+
+        DoubleBuffer directLeft = ByteBuffer.allocateDirect(6 * 8).asDoubleBuffer().put(left);
+        DoubleBuffer directRight = ByteBuffer.allocateDirect(6 * 8).asDoubleBuffer().put(right);
+        DoubleBuffer directResults = ByteBuffer.allocateDirect(4 * 8).asDoubleBuffer();
+        directLeft.position(2);
+        directRight.position(2);
+        bitmap[0] = -1L;
+        errors = calculator.calculateBatch(Operation.DIVIDE, directLeft, directRight, directResults, bitmap);
+        check(errors == 2 && bitmap[0] == expectedBitmap[0], "direct buffer errors");
+        for (int i = 0; i < 4; i++) {
+            check(Double.compare(directResults.get(i), expected[i]) == 0, "direct buffer result " + i);
+        }
+    }
+
+    private static void testComplex() {
+        CalculatorImpl calculator = new CalculatorImpl();
+        checkComplex(calculator, 1, 2, 3, 4, Operation.ADD, 4, 6);
+        checkComplex(calculator, 1, 2, 3, 4, Operation.SUBTRACT, -2, -2);
+        checkComplex(calculator, 1, 2, 3, 4, Operation.MULTIPLY, -5, 10);
+        checkComplex(calculator, 1, 2, 3, 4, Operation.DIVIDE, 0.44, 0.08);
+        checkComplex(calculator, 1e300, 1e300, 1e300, 1e300, Operation.DIVIDE, 1, 0);
+        checkComplex(calculator, 0, 1, 2, 0, Operation.POWER, -1, 0);
+        checkComplex(calculator, Math.E, 0, 0, Math.PI, Operation.POWER, -1, 0);
+        checkComplex(calculator, 0, 0, 0, 0, Operation.POWER, 1, 0);
+        checkComplex(calculator, 3, 4, 0, 0, Operation.SQRT, 2, 1);
+        checkComplex(calculator, -3, -4, 0, 0, Operation.SQRT, 1, -2);
+        checkComplex(calculator, -4, 0, 0, 0, Operation.SQRT, 0, 2);
+
+        for (ComplexNumber divisor : new ComplexNumber[] {new ComplexNumber(0, 0), new ComplexNumber(-0.0, 0)}) {
+            try {
+                calculator.calculateComplex(new ComplexNumber(1, 1), divisor, Operation.DIVIDE).join();
+                throw new AssertionError("complex division by zero must fail");
+            } catch (CompletionException e) {
+                check(e.getCause() instanceof ArithmeticException, "complex division by zero");
+            }
+        }
+        check(calculator.calculateComplex(new ComplexNumber(9, 0), null, Operation.SQRT).join().real == 3,
+            "SQRT ignores the right operand");
+    }
+
+    private static void checkComplex(CalculatorImpl calculator, double leftReal, double leftImaginary,
+                                     double rightReal, double rightImaginary, Operation operation,
+                                     double expectedReal, double expectedImaginary) {
+        ComplexNumber result = calculator.calculateComplex(new ComplexNumber(leftReal, leftImaginary),
+            new ComplexNumber(rightReal, rightImaginary), operation).join();
+        check(Math.abs(result.real - expectedReal) < 1e-12 && Math.abs(result.imaginary - expectedImaginary) < 1e-12,
+            operation + " gave " + result.real + " + " + result.imaginary + "i");
+    }
+
+    private static void testComplexBatch() {
+        int count = 1000;
+        Random random = new Random(7);
+        double[][] operands = new double[4][count];
+        for (int i = 0; i < count; i++) {
+            for (double[] operand : operands) {
+                // Every tenth right operand is zero for the DIVIDE and POWER error paths
+                operand[i] = operand == operands[2] || operand == operands[3]
+                    ? (i % 10 == 0 ? 0 : random.nextDouble() * 6 - 3) : random.nextDouble() * 6 - 3;
+            }
+            if (i % 20 == 5) {
+                operands[0][i] = 0;
+                operands[1][i] = 0;
+            }
+        }
+        double[] resultReal = new double[count];
+        double[] resultImaginary = new double[count];
+        long[] bitmap = new long[CalculatorBatch.bitmapLength(count)];
+        CalculatorImpl calculator = new CalculatorImpl();
+        ComplexNumber scalar = new ComplexNumber();
+        for (Operation operation : Operation.values()) {
+            int errors = calculator.calculateComplexBatch(operation, operands[0], operands[1], operands[2],
+                operands[3], resultReal, resultImaginary, bitmap);
+            int expectedErrors = 0;
+            for (int i = 0; i < count; i++) {
+                boolean valid = CalculatorComplex.calculate(operation, operands[0][i], operands[1][i],
+                    operands[2][i], operands[3][i], scalar);
+                expectedErrors += valid ? 0 : 1;
+                check(((bitmap[i / 64] >>> (i % 64)) & 1) == (valid ? 0 : 1), operation + " error bit " + i);
+                check(Double.compare(resultReal[i], scalar.real) == 0
+                    && Double.compare(resultImaginary[i], scalar.imaginary) == 0, operation + " element " + i);
+            }
+            check(errors == expectedErrors, operation + " error count");
+            boolean canFail = operation == Operation.DIVIDE || operation == Operation.POWER;
+            check(canFail == (errors > 0), operation + " errors " + errors);
+            StatsRecorder.Snapshot<Operation> stats = calculator.getStatisticsSnapshot();
+            check(stats.getTotal(operation) == count && stats.getErrors(operation) == errors,
+                operation + " complex batch elements counted");
+        }
+
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int rounds = 200;
+        Operation[] operations = Operation.values();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int round = 0; round < rounds; round++) {
+            calculator.calculateComplexBatch(operations[round % operations.length], operands[0],
+                operands[1], operands[2], operands[3], resultReal, resultImaginary, bitmap);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        check(allocated < 64L * rounds, "complex batches allocated " + allocated + " bytes");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
     }
 }
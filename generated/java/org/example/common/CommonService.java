@@ -3,19 +3,39 @@ package org.example.common;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.Map;
+import java.nio.ByteBuffer;
+import org.example.runtime.SomeIpCodec;
+import org.example.runtime.EventBus;
 
 /**
  * CommonService interface generated from FRANCA IDL
+ * <p>
+ * Common service interface demonstrating usage of common types
  */
 public interface CommonService {
     
     enum CommonError {
         NO_ERROR(0), INVALID_INPUT(1), TIMEOUT(2), COMMUNICATION_ERROR(3),
-        AUTHENTICATION_FAILED(4), PERMISSION_DENIED(5), RESOURCE_NOT_AVAILABLE(6), INTERNAL_ERROR(99);
+        AUTHENTICATION_FAILED(4), PERMISSION_DENIED(5), RESOURCE_NOT_AVAILABLE(6),
+        INTERNAL_ERROR(99);
         
         private final int value;
         CommonError(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static CommonError fromValue(int value) {
+            switch (value) {
+                case 0: return NO_ERROR;
+                case 1: return INVALID_INPUT;
+                case 2: return TIMEOUT;
+                case 3: return COMMUNICATION_ERROR;
+                case 4: return AUTHENTICATION_FAILED;
+                case 5: return PERMISSION_DENIED;
+                case 6: return RESOURCE_NOT_AVAILABLE;
+                case 99: return INTERNAL_ERROR;
+                default: throw new IllegalArgumentException("Unknown CommonError value " + value);
+            }
+        }
     }
     
     enum StatusLevel {
@@ -24,6 +44,16 @@ public interface CommonService {
         private final int value;
         StatusLevel(int value) { this.value = value; }
         public int getValue() { return value; }
+        
+        public static StatusLevel fromValue(int value) {
+            switch (value) {
+                case 0: return OK;
+                case 1: return WARNING;
+                case 2: return ERROR;
+                case 3: return CRITICAL;
+                default: throw new IllegalArgumentException("Unknown StatusLevel value " + value);
+            }
+        }
     }
     
     class Response {
@@ -31,18 +61,137 @@ public interface CommonService {
         public String message;
         public int errorCode;
         public long timestamp;
+        
+        public Response() {}
+        
+        public Response(boolean success, String message, int errorCode, long timestamp) {
+            this.success = success;
+            this.message = message;
+            this.errorCode = errorCode;
+            this.timestamp = timestamp;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            SomeIpCodec.writeBoolean(buffer, success);
+            SomeIpCodec.writeString(buffer, message);
+            buffer.putInt(errorCode);
+            buffer.putLong(timestamp);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            success = SomeIpCodec.readBoolean(buffer);
+            message = SomeIpCodec.readString(buffer);
+            errorCode = buffer.getInt();
+            timestamp = buffer.getLong();
+        }
+        
+        public int serializedSize() {
+            int size = 13;
+            size += SomeIpCodec.stringSize(message);
+            return size;
+        }
     }
     
     class Position {
         public double latitude;
         public double longitude;
         public double altitude;
+        
+        public Position() {}
+        
+        public Position(double latitude, double longitude, double altitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.altitude = altitude;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putDouble(latitude);
+            buffer.putDouble(longitude);
+            buffer.putDouble(altitude);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            latitude = buffer.getDouble();
+            longitude = buffer.getDouble();
+            altitude = buffer.getDouble();
+        }
+        
+        public int serializedSize() {
+            return 24;
+        }
+    }
+    
+    class NearbyPosition {
+        public String id;
+        public Position position;
+        public double distance;
+        
+        public NearbyPosition() {}
+        
+        public NearbyPosition(String id, Position position, double distance) {
+            this.id = id;
+            this.position = position;
+            this.distance = distance;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            SomeIpCodec.writeString(buffer, id);
+            (position != null ? position : new Position()).writeTo(buffer);
+            buffer.putDouble(distance);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            id = SomeIpCodec.readString(buffer);
+            if (position == null) {
+                position = new Position();
+            }
+            position.readFrom(buffer);
+            distance = buffer.getDouble();
+        }
+        
+        public int serializedSize() {
+            int size = 32;
+            size += SomeIpCodec.stringSize(id);
+            return size;
+        }
     }
     
     class TimeInfo {
         public long timestamp;
         public String timezone;
         public String isoFormat;
+        
+        public TimeInfo() {}
+        
+        public TimeInfo(long timestamp, String timezone, String isoFormat) {
+            this.timestamp = timestamp;
+            this.timezone = timezone;
+            this.isoFormat = isoFormat;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putLong(timestamp);
+            SomeIpCodec.writeString(buffer, timezone);
+            SomeIpCodec.writeString(buffer, isoFormat);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            timestamp = buffer.getLong();
+            timezone = SomeIpCodec.readString(buffer);
+            isoFormat = SomeIpCodec.readString(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 8;
+            size += SomeIpCodec.stringSize(timezone);
+            size += SomeIpCodec.stringSize(isoFormat);
+            return size;
+        }
     }
     
     class Version {
@@ -50,40 +199,400 @@ public interface CommonService {
         public int minor;
         public int patch;
         public String buildInfo;
+        
+        public Version() {}
+        
+        public Version(int major, int minor, int patch, String buildInfo) {
+            this.major = major;
+            this.minor = minor;
+            this.patch = patch;
+            this.buildInfo = buildInfo;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            buffer.putShort((short) major);
+            buffer.putShort((short) minor);
+            buffer.putShort((short) patch);
+            SomeIpCodec.writeString(buffer, buildInfo);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            major = buffer.getShort() & 0xFFFF;
+            minor = buffer.getShort() & 0xFFFF;
+            patch = buffer.getShort() & 0xFFFF;
+            buildInfo = SomeIpCodec.readString(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 6;
+            size += SomeIpCodec.stringSize(buildInfo);
+            return size;
+        }
     }
     
     class ConfigItem {
         public String key;
         public String value;
         public String description;
+        
+        public ConfigItem() {}
+        
+        public ConfigItem(String key, String value, String description) {
+            this.key = key;
+            this.value = value;
+            this.description = description;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            SomeIpCodec.writeString(buffer, key);
+            SomeIpCodec.writeString(buffer, value);
+            SomeIpCodec.writeString(buffer, description);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            key = SomeIpCodec.readString(buffer);
+            value = SomeIpCodec.readString(buffer);
+            description = SomeIpCodec.readString(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 0;
+            size += SomeIpCodec.stringSize(key);
+            size += SomeIpCodec.stringSize(value);
+            size += SomeIpCodec.stringSize(description);
+            return size;
+        }
     }
     
     class ValidationResult {
         public boolean isValid;
         public String[] errors;
         public String[] warnings;
+        
+        public ValidationResult() {}
+        
+        public ValidationResult(boolean isValid, String[] errors, String[] warnings) {
+            this.isValid = isValid;
+            this.errors = errors;
+            this.warnings = warnings;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            SomeIpCodec.writeBoolean(buffer, isValid);
+            int lengthPosition0 = SomeIpCodec.beginLength(buffer);
+            if (errors != null) {
+                for (String element0 : errors) {
+                    SomeIpCodec.writeString(buffer, element0);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition0);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (warnings != null) {
+                for (String element1 : warnings) {
+                    SomeIpCodec.writeString(buffer, element1);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            isValid = SomeIpCodec.readBoolean(buffer);
+            int end2 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<String> list2 = new java.util.ArrayList<>();
+            while (buffer.position() < end2) {
+                String element2 = SomeIpCodec.readString(buffer);
+                list2.add(element2);
+            }
+            errors = list2.toArray(new String[0]);
+            int end3 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<String> list3 = new java.util.ArrayList<>();
+            while (buffer.position() < end3) {
+                String element3 = SomeIpCodec.readString(buffer);
+                list3.add(element3);
+            }
+            warnings = list3.toArray(new String[0]);
+        }
+        
+        public int serializedSize() {
+            int size = 1;
+            size += 4;
+            if (errors != null) {
+                for (String element4 : errors) {
+                    size += SomeIpCodec.stringSize(element4);
+                }
+            }
+            size += 4;
+            if (warnings != null) {
+                for (String element5 : warnings) {
+                    size += SomeIpCodec.stringSize(element5);
+                }
+            }
+            return size;
+        }
     }
     
     // Methods
     CompletableFuture<Version> getVersion();
     CompletableFuture<ValidationResult> validateData(String data, String[] rules);
-    CompletableFuture<Position> getCurrentPosition();
+    CompletableFuture<GetCurrentPositionReply> getCurrentPosition();
     CompletableFuture<Response> updateConfiguration(Map<String, ConfigItem> config);
-    CompletableFuture<StatusLevel> getSystemStatus();
+    CompletableFuture<ProcessPositionsReply> processPositions(Position[] positions);
+    CompletableFuture<GetSystemStatusReply> getSystemStatus();
+    CompletableFuture<ValidationResult[]> validateDataBatch(String[] data, String[] rules);
+    CompletableFuture<Boolean> updateTrackedPosition(String id, Position position);
+    CompletableFuture<Boolean> removeTrackedPosition(String id);
+    CompletableFuture<NearbyPosition[]> findNearestPositions(Position center, int maxResults);
+    CompletableFuture<NearbyPosition[]> findPositionsWithinRadius(Position center, double radius, int maxResults);
+    
+    // Attributes
+    CompletableFuture<StatusLevel> getCurrentStatus();
+    CompletableFuture<Long> getUptime();
+    CompletableFuture<Boolean> getDebugMode();
+    CompletableFuture<Void> setDebugMode(boolean debugMode);
+    EventBus<StatusLevel> currentStatusChanges();
+    EventBus<Long> uptimeChanges();
+    EventBus<Boolean> debugModeChanges();
+    
+    // Events
+    EventBus<StatusChangedEvent> statusChangedEvents();
+    EventBus<ConfigurationUpdatedEvent> configurationUpdatedEvents();
+    
+    default void setStatusChangedListener(Consumer<StatusChangedEvent> listener) {
+        statusChangedEvents().setListener(listener);
+    }
     
-    // Event listeners
-    void setStatusChangedListener(Consumer<StatusChangedEvent> listener);
-    void setConfigurationUpdatedListener(Consumer<ConfigurationUpdatedEvent> listener);
+    default void setConfigurationUpdatedListener(Consumer<ConfigurationUpdatedEvent> listener) {
+        configurationUpdatedEvents().setListener(listener);
+    }
     
     // Event classes
     class StatusChangedEvent {
         public StatusLevel newStatus;
         public String reason;
         public TimeInfo timestamp;
+        
+        public StatusChangedEvent() {}
+        
+        public StatusChangedEvent(StatusLevel newStatus, String reason, TimeInfo timestamp) {
+            this.newStatus = newStatus;
+            this.reason = reason;
+            this.timestamp = timestamp;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            if (newStatus == null) {
+                throw new IllegalArgumentException("StatusLevel newStatus must not be null");
+            }
+            buffer.put((byte) newStatus.getValue());
+            SomeIpCodec.writeString(buffer, reason);
+            (timestamp != null ? timestamp : new TimeInfo()).writeTo(buffer);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            newStatus = StatusLevel.fromValue(buffer.get() & 0xFF);
+            reason = SomeIpCodec.readString(buffer);
+            if (timestamp == null) {
+                timestamp = new TimeInfo();
+            }
+            timestamp.readFrom(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 1;
+            size += SomeIpCodec.stringSize(reason);
+            size += (timestamp != null ? timestamp : new TimeInfo()).serializedSize();
+            return size;
+        }
     }
     
     class ConfigurationUpdatedEvent {
         public Map<String, ConfigItem> updatedConfig;
         public TimeInfo timestamp;
+        
+        public ConfigurationUpdatedEvent() {}
+        
+        public ConfigurationUpdatedEvent(Map<String, ConfigItem> updatedConfig, TimeInfo timestamp) {
+            this.updatedConfig = updatedConfig;
+            this.timestamp = timestamp;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            int lengthPosition0 = SomeIpCodec.beginLength(buffer);
+            if (updatedConfig != null) {
+                for (Map.Entry<String, ConfigItem> entry0 : updatedConfig.entrySet()) {
+                    SomeIpCodec.writeString(buffer, entry0.getKey());
+                    (entry0.getValue() != null ? entry0.getValue() : new ConfigItem()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition0);
+            (timestamp != null ? timestamp : new TimeInfo()).writeTo(buffer);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            int end1 = SomeIpCodec.readSectionEnd(buffer);
+            if (updatedConfig == null) {
+                updatedConfig = new java.util.LinkedHashMap<>();
+            } else {
+                updatedConfig.clear();
+            }
+            while (buffer.position() < end1) {
+                String key1 = SomeIpCodec.readString(buffer);
+                ConfigItem value1;
+                value1 = new ConfigItem();
+                value1.readFrom(buffer);
+                updatedConfig.put(key1, value1);
+            }
+            if (timestamp == null) {
+                timestamp = new TimeInfo();
+            }
+            timestamp.readFrom(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 0;
+            size += 4;
+            if (updatedConfig != null) {
+                for (Map.Entry<String, ConfigItem> entry2 : updatedConfig.entrySet()) {
+                    size += SomeIpCodec.stringSize(entry2.getKey());
+                    size += (entry2.getValue() != null ? entry2.getValue() : new ConfigItem()).serializedSize();
+                }
+            }
+            size += (timestamp != null ? timestamp : new TimeInfo()).serializedSize();
+            return size;
+        }
+    }
+    
+    // Reply classes
+    class GetCurrentPositionReply {
+        public Position position;
+        public TimeInfo timeInfo;
+        
+        public GetCurrentPositionReply() {}
+        
+        public GetCurrentPositionReply(Position position, TimeInfo timeInfo) {
+            this.position = position;
+            this.timeInfo = timeInfo;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            (position != null ? position : new Position()).writeTo(buffer);
+            (timeInfo != null ? timeInfo : new TimeInfo()).writeTo(buffer);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            if (position == null) {
+                position = new Position();
+            }
+            position.readFrom(buffer);
+            if (timeInfo == null) {
+                timeInfo = new TimeInfo();
+            }
+            timeInfo.readFrom(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 24;
+            size += (timeInfo != null ? timeInfo : new TimeInfo()).serializedSize();
+            return size;
+        }
+    }
+    
+    class ProcessPositionsReply {
+        public Position averagePosition;
+        public double totalDistance;
+        
+        public ProcessPositionsReply() {}
+        
+        public ProcessPositionsReply(Position averagePosition, double totalDistance) {
+            this.averagePosition = averagePosition;
+            this.totalDistance = totalDistance;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            (averagePosition != null ? averagePosition : new Position()).writeTo(buffer);
+            buffer.putDouble(totalDistance);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            if (averagePosition == null) {
+                averagePosition = new Position();
+            }
+            averagePosition.readFrom(buffer);
+            totalDistance = buffer.getDouble();
+        }
+        
+        public int serializedSize() {
+            return 32;
+        }
+    }
+    
+    class GetSystemStatusReply {
+        public StatusLevel status;
+        public Map<String, String> statusDetails;
+        public TimeInfo lastUpdate;
+        
+        public GetSystemStatusReply() {}
+        
+        public GetSystemStatusReply(StatusLevel status, Map<String, String> statusDetails, TimeInfo lastUpdate) {
+            this.status = status;
+            this.statusDetails = statusDetails;
+            this.lastUpdate = lastUpdate;
+        }
+        
+        // SOME/IP serialization
+        public void writeTo(ByteBuffer buffer) {
+            if (status == null) {
+                throw new IllegalArgumentException("StatusLevel status must not be null");
+            }
+            buffer.put((byte) status.getValue());
+            int lengthPosition0 = SomeIpCodec.beginLength(buffer);
+            if (statusDetails != null) {
+                for (Map.Entry<String, String> entry0 : statusDetails.entrySet()) {
+                    SomeIpCodec.writeString(buffer, entry0.getKey());
+                    SomeIpCodec.writeString(buffer, entry0.getValue());
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition0);
+            (lastUpdate != null ? lastUpdate : new TimeInfo()).writeTo(buffer);
+        }
+        
+        public void readFrom(ByteBuffer buffer) {
+            status = StatusLevel.fromValue(buffer.get() & 0xFF);
+            int end1 = SomeIpCodec.readSectionEnd(buffer);
+            if (statusDetails == null) {
+                statusDetails = new java.util.LinkedHashMap<>();
+            } else {
+                statusDetails.clear();
+            }
+            while (buffer.position() < end1) {
+                String key1 = SomeIpCodec.readString(buffer);
+                String value1 = SomeIpCodec.readString(buffer);
+                statusDetails.put(key1, value1);
+            }
+            if (lastUpdate == null) {
+                lastUpdate = new TimeInfo();
+            }
+            lastUpdate.readFrom(buffer);
+        }
+        
+        public int serializedSize() {
+            int size = 1;
+            size += 4;
+            if (statusDetails != null) {
+                for (Map.Entry<String, String> entry2 : statusDetails.entrySet()) {
+                    size += SomeIpCodec.stringSize(entry2.getKey());
+                    size += SomeIpCodec.stringSize(entry2.getValue());
+                }
+            }
+            size += (lastUpdate != null ? lastUpdate : new TimeInfo()).serializedSize();
+            return size;
+        }
     }
 }
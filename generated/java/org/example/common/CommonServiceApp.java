@@ -2,6 +2,7 @@ package org.example.common;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -35,17 +36,17 @@ public class CommonServiceApp {
             System.out.println("  Build: " + version.buildInfo);
             
             // Get current position
-            CompletableFuture<CommonService.Position> positionFuture = commonService.getCurrentPosition();
-            CommonService.Position position = positionFuture.get();
+            CompletableFuture<CommonService.GetCurrentPositionReply> positionFuture = commonService.getCurrentPosition();
+            CommonService.Position position = positionFuture.get().position;
             System.out.println("Current Position:");
             System.out.println("  Latitude: " + position.latitude + "°");
             System.out.println("  Longitude: " + position.longitude + "°");
             System.out.println("  Altitude: " + position.altitude + " m");
             
             // Get system status
-            CompletableFuture<CommonService.StatusLevel> statusFuture = commonService.getSystemStatus();
-            CommonService.StatusLevel status = statusFuture.get();
-            System.out.println("System Status: " + status);
+            CompletableFuture<CommonService.GetSystemStatusReply> statusFuture = commonService.getSystemStatus();
+            CommonService.GetSystemStatusReply status = statusFuture.get();
+            System.out.println("System Status: " + status.status + " " + status.statusDetails);
             
             // Test data validation
             System.out.println("\nTesting Data Validation:");
@@ -94,6 +95,10 @@ public class CommonServiceApp {
                 impl.simulateStatusChange(CommonService.StatusLevel.WARNING, "System load high");
                 impl.updatePosition(40.7128, -74.0060, 10.0); // New York coordinates
                 impl.simulateStatusChange(CommonService.StatusLevel.OK, "System load normalized");
+                
+                // Listeners run asynchronously; let them print before the demo exits
+                commonService.statusChangedEvents().awaitIdle(1, TimeUnit.SECONDS);
+                commonService.configurationUpdatedEvents().awaitIdle(1, TimeUnit.SECONDS);
             }
             
         } catch (InterruptedException | ExecutionException e) {
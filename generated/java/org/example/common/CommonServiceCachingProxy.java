@@ -0,0 +1,201 @@
+package org.example.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import org.example.runtime.EventBus;
+import org.example.runtime.ResponseCache;
+import org.example.common.CommonService.*;
+
+/**
+ * Caching client proxy of CommonService generated from FRANCA IDL
+ * <p>
+ * Replies of the get methods are kept in a {@link ResponseCache}; other methods and events
+ * are passed through to the delegate. Invalidating events are delivered asynchronously, so a
+ * reply can outlive its invalidation by the event's delivery latency.
+ */
+public final class CommonServiceCachingProxy implements CommonService, AutoCloseable {
+    
+    private static final int GET_VERSION = 0;
+    private static final int GET_CURRENT_POSITION = 1;
+    private static final int GET_SYSTEM_STATUS = 2;
+    private static final int GET_CURRENT_STATUS = 3;
+    private static final int GET_UPTIME = 4;
+    private static final int GET_DEBUG_MODE = 5;
+    private static final String[] METHODS = {"getVersion", "getCurrentPosition", "getSystemStatus",
+        "getCurrentStatus", "getUptime", "getDebugMode"};
+    // Events invalidating each method unless the policy replaces them
+    private static final String[][] INVALIDATED_BY = {
+        {"statusChanged", "configurationUpdated"},
+        {"statusChanged", "configurationUpdated"},
+        {"statusChanged", "configurationUpdated"},
+        {"currentStatus"},
+        {"uptime"},
+        {"debugMode"},
+    };
+    // Methods whose replies the other methods' calls may change
+    private static final int[] WRITE_INVALIDATED = {GET_VERSION, GET_CURRENT_POSITION, GET_SYSTEM_STATUS};
+    
+    private final CommonService delegate;
+    private final ResponseCache cache;
+    private final List<EventBus.Subscription<?>> subscriptions = new ArrayList<>();
+    
+    public CommonServiceCachingProxy(CommonService delegate) {
+        this(delegate, ResponseCache.Policy.defaults());
+    }
+    
+    public CommonServiceCachingProxy(CommonService delegate, ResponseCache.Policy policy) {
+        this.delegate = delegate;
+        this.cache = new ResponseCache("CommonService", METHODS, INVALIDATED_BY, policy);
+        if (cache.isInvalidatedBy("statusChanged")) {
+            subscriptions.add(delegate.statusChangedEvents().subscribe(
+                event -> cache.invalidate("statusChanged"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("configurationUpdated")) {
+            subscriptions.add(delegate.configurationUpdatedEvents().subscribe(
+                event -> cache.invalidate("configurationUpdated"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("currentStatus")) {
+            subscriptions.add(delegate.currentStatusChanges().subscribe(
+                value -> cache.invalidate("currentStatus"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("uptime")) {
+            subscriptions.add(delegate.uptimeChanges().subscribe(
+                value -> cache.invalidate("uptime"), 1, EventBus.Backpressure.COALESCE));
+        }
+        if (cache.isInvalidatedBy("debugMode")) {
+            subscriptions.add(delegate.debugModeChanges().subscribe(
+                value -> cache.invalidate("debugMode"), 1, EventBus.Backpressure.COALESCE));
+        }
+    }
+    
+    public ResponseCache getCache() {
+        return cache;
+    }
+    
+    @Override
+    public CompletableFuture<Version> getVersion() {
+        return cache.get(GET_VERSION, delegate::getVersion);
+    }
+    
+    @Override
+    public CompletableFuture<ValidationResult> validateData(String data, String[] rules) {
+        return delegate.validateData(data, rules)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<GetCurrentPositionReply> getCurrentPosition() {
+        return cache.get(GET_CURRENT_POSITION, delegate::getCurrentPosition);
+    }
+    
+    @Override
+    public CompletableFuture<Response> updateConfiguration(Map<String, ConfigItem> config) {
+        return delegate.updateConfiguration(config)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<ProcessPositionsReply> processPositions(Position[] positions) {
+        return delegate.processPositions(positions)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<GetSystemStatusReply> getSystemStatus() {
+        return cache.get(GET_SYSTEM_STATUS, delegate::getSystemStatus);
+    }
+    
+    @Override
+    public CompletableFuture<ValidationResult[]> validateDataBatch(String[] data, String[] rules) {
+        return delegate.validateDataBatch(data, rules)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> updateTrackedPosition(String id, Position position) {
+        return delegate.updateTrackedPosition(id, position)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> removeTrackedPosition(String id) {
+        return delegate.removeTrackedPosition(id)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<NearbyPosition[]> findNearestPositions(Position center, int maxResults) {
+        return delegate.findNearestPositions(center, maxResults)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<NearbyPosition[]> findPositionsWithinRadius(Position center, double radius, int maxResults) {
+        return delegate.findPositionsWithinRadius(center, radius, maxResults)
+            .whenComplete((ignored, error) -> invalidateWrites());
+    }
+    
+    @Override
+    public CompletableFuture<StatusLevel> getCurrentStatus() {
+        return cache.get(GET_CURRENT_STATUS, delegate::getCurrentStatus);
+    }
+    
+    @Override
+    public CompletableFuture<Long> getUptime() {
+        return cache.get(GET_UPTIME, delegate::getUptime);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> getDebugMode() {
+        return cache.get(GET_DEBUG_MODE, delegate::getDebugMode);
+    }
+    
+    @Override
+    public CompletableFuture<Void> setDebugMode(boolean debugMode) {
+        return delegate.setDebugMode(debugMode)
+            .whenComplete((ignored, error) -> cache.invalidate(GET_DEBUG_MODE));
+    }
+    
+    @Override
+    public EventBus<StatusChangedEvent> statusChangedEvents() {
+        return delegate.statusChangedEvents();
+    }
+    
+    @Override
+    public EventBus<ConfigurationUpdatedEvent> configurationUpdatedEvents() {
+        return delegate.configurationUpdatedEvents();
+    }
+    
+    @Override
+    public EventBus<StatusLevel> currentStatusChanges() {
+        return delegate.currentStatusChanges();
+    }
+    
+    @Override
+    public EventBus<Long> uptimeChanges() {
+        return delegate.uptimeChanges();
+    }
+    
+    @Override
+    public EventBus<Boolean> debugModeChanges() {
+        return delegate.debugModeChanges();
+    }
+    
+    /**
+     * Stops listening for invalidating events; the delegate is left open
+     */
+    @Override
+    public void close() {
+        for (EventBus.Subscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+    
+    private void invalidateWrites() {
+        for (int method : WRITE_INVALIDATED) {
+            cache.invalidate(method);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.common;
+
+import java.io.IOException;
+import org.example.runtime.SomeIpClient;
+import org.example.runtime.SomeIpDeployment;
+import org.example.runtime.SomeIpServer;
+
+/**
+ * Service instances deployed by CommonServiceDeployment.fdepl, generated from FRANCA deployment model
+ */
+public final class CommonServiceDeployment {
+    
+    public static final SomeIpDeployment COMMON_SERVICE = new SomeIpDeployment(
+        "commonService", "org.example.common.CommonService", "192.168.1.102", 30502,
+        2, 1024, 64, 0);
+    
+    private CommonServiceDeployment() {}
+    
+    /**
+     * Serves {@code service} as commonService on its deployed endpoint
+     */
+    public static SomeIpServer startCommonService(CommonService service) throws IOException {
+        return startCommonService(service, COMMON_SERVICE);
+    }
+    
+    /**
+     * Serves {@code service} with the settings of {@code deployment}, e.g. a
+     * {@link SomeIpDeployment#withEndpoint} copy of {@link #COMMON_SERVICE}
+     */
+    public static SomeIpServer startCommonService(CommonService service, SomeIpDeployment deployment)
+            throws IOException {
+        return new SomeIpServer(deployment).register(CommonServiceSomeIp.skeleton(service)).start();
+    }
+    
+    /**
+     * Connects to commonService; use {@code CommonServiceSomeIp.proxy(client)} to call it
+     */
+    public static SomeIpClient connectCommonService() throws IOException {
+        return SomeIpClient.connect(COMMON_SERVICE);
+    }
+}
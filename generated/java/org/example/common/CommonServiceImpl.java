@@ -1,27 +1,79 @@
 package org.example.common;
 
+import java.lang.ref.WeakReference;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.Map;
 import java.util.HashMap;
+import org.example.runtime.AttributeCell;
+import org.example.runtime.EventBus;
+import org.example.runtime.ServiceExecutor;
 
 /**
- * CommonService implementation with all required methods
+ * CommonService implementation with all required methods.
+ * <p>
+ * Configuration is kept in a {@link ConfigurationStore}: reads do not lock, each update is applied atomically
+ * and configurationUpdated carries only the items that changed. The event is published outside the store's
+ * lock, so events of concurrent updates may arrive in either order. Positions of tracked entities are kept in a
+ * {@link PositionIndex} for nearest and radius queries.
+ * <p>
+ * currentStatus follows {@link #simulateStatusChange}. uptime is ticked once per second by a shared timer,
+ * which stops ticking a service once it has been garbage collected, and reads bring it up to date as well.
  */
 public class CommonServiceImpl implements CommonService {
     
-    // Event listeners
-    private Consumer<StatusChangedEvent> statusChangedListener;
-    private Consumer<ConfigurationUpdatedEvent> configurationUpdatedListener;
+    // Events
+    private final EventBus<StatusChangedEvent> statusChangedEvents;
+    private final EventBus<ConfigurationUpdatedEvent> configurationUpdatedEvents;
     
     // Current service state
-    private StatusLevel currentStatus = StatusLevel.OK;
+    private final long startNanos = System.nanoTime();
     private Version serviceVersion;
-    private Position currentPosition;
-    private Map<String, ConfigItem> configuration;
+    private volatile Position currentPosition;
+    private TimeInfo lastStatusUpdate;
+    private final ConfigurationStore configuration = new ConfigurationStore();
+    private final PositionIndex trackedPositions = new PositionIndex();
+    private final ServiceExecutor executor;
+    private static volatile FormattedSecond lastFormatted;
+    
+    private static final ScheduledExecutorService UPTIME_TIMER = Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+            Thread thread = new Thread(runnable, "common-service-uptime");
+            thread.setDaemon(true);
+            return thread;
+        });
+    
+    // Attributes
+    private final AttributeCell<StatusLevel> currentStatus =
+        new AttributeCell<>("CommonService.currentStatus", StatusLevel.OK);
+    private final AttributeCell<Long> uptime = new AttributeCell<>("CommonService.uptime", 0L);
+    private final AttributeCell<Boolean> debugMode = new AttributeCell<>("CommonService.debugMode", false);
     
     public CommonServiceImpl() {
+        this(ServiceExecutor.inline());
+    }
+    
+    public CommonServiceImpl(ServiceExecutor executor) {
+        this(executor, 0);
+    }
+    
+    /**
+     * @param eventPoolSize events preallocated per broadcast and recycled once every subscriber has handled
+     *                      them; 0 creates a new event per publication
+     */
+    public CommonServiceImpl(ServiceExecutor executor, int eventPoolSize) {
+        this.executor = executor;
+        this.statusChangedEvents = new EventBus<>("CommonService.statusChanged", eventPoolSize, () -> {
+            StatusChangedEvent event = new StatusChangedEvent();
+            event.timestamp = new TimeInfo();
+            return event;
+        });
+        this.configurationUpdatedEvents = new EventBus<>("CommonService.configurationUpdated", eventPoolSize,
+            () -> new ConfigurationUpdatedEvent(new HashMap<>(), new TimeInfo()));
         initializeDefaultData();
+        scheduleUptimeTick(new WeakReference<>(this));
     }
     
     private void initializeDefaultData() {
@@ -36,12 +88,13 @@ public class CommonServiceImpl implements CommonService {
         currentPosition.longitude = -122.4194;
         currentPosition.altitude = 52.0;
         
-        configuration = new HashMap<>();
+        lastStatusUpdate = currentTimeInfo();
+        
         ConfigItem defaultConfig = new ConfigItem();
         defaultConfig.key = "default_timeout";
         defaultConfig.value = "30000";
         defaultConfig.description = "Default timeout in milliseconds";
-        configuration.put("default_timeout", defaultConfig);
+        configuration.update(Map.of("default_timeout", defaultConfig));
     }
     
     @Override
@@ -49,53 +102,56 @@ public class CommonServiceImpl implements CommonService {
         return CompletableFuture.completedFuture(serviceVersion);
     }
     
+    /**
+     * Checks {@code data} against {@link ValidationRules}; no rules means {@code required}. Unknown or malformed
+     * rules fail the call.
+     */
     @Override
     public CompletableFuture<ValidationResult> validateData(String data, String[] rules) {
-        return CompletableFuture.supplyAsync(() -> {
-            ValidationResult result = new ValidationResult();
-            
-            if (data == null || data.trim().isEmpty()) {
-                result.isValid = false;
-                result.errors = new String[]{"Data cannot be null or empty"};
-                result.warnings = new String[0];
-            } else {
-                result.isValid = true;
-                result.errors = new String[0];
-                result.warnings = new String[0];
+        return executor.supply(() -> ValidationRules.compile(rules).validate(data));
+    }
+    
+    @Override
+    public CompletableFuture<ValidationResult[]> validateDataBatch(String[] data, String[] rules) {
+        return executor.supply(() -> {
+            ValidationRules compiled = ValidationRules.compile(rules);
+            ValidationResult[] results = new ValidationResult[data == null ? 0 : data.length];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = compiled.validate(data[i]);
             }
-            
-            return result;
+            return results;
         });
     }
     
     @Override
-    public CompletableFuture<Position> getCurrentPosition() {
-        return CompletableFuture.completedFuture(currentPosition);
+    public CompletableFuture<GetCurrentPositionReply> getCurrentPosition() {
+        return CompletableFuture.completedFuture(new GetCurrentPositionReply(currentPosition, currentTimeInfo()));
     }
     
     @Override
     public CompletableFuture<Response> updateConfiguration(Map<String, ConfigItem> config) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
             Response response = new Response();
             response.timestamp = System.currentTimeMillis();
             
             try {
                 if (config != null) {
-                    configuration.putAll(config);
-                    response.success = true;
-                    response.message = "Configuration updated successfully";
-                    response.errorCode = 0;
+                    // The store computes the delta under its own lock; publishing happens after it is released,
+                    // so a subscriber applying backpressure never holds up other updates
+                    Map<String, ConfigItem> delta = configuration.update(config);
                     
                     // Trigger configuration updated event
-                    if (configurationUpdatedListener != null) {
-                        ConfigurationUpdatedEvent event = new ConfigurationUpdatedEvent();
-                        event.updatedConfig = new HashMap<>(configuration);
-                        event.timestamp = new TimeInfo();
-                        event.timestamp.timestamp = System.currentTimeMillis();
-                        event.timestamp.timezone = "UTC";
-                        event.timestamp.isoFormat = new java.util.Date().toString();
-                        configurationUpdatedListener.accept(event);
+                    if (!delta.isEmpty() && configurationUpdatedEvents.hasSubscribers()) {
+                        EventBus.Slot<ConfigurationUpdatedEvent> slot = configurationUpdatedEvents.claim();
+                        ConfigurationUpdatedEvent event = slot.get();
+                        event.updatedConfig.clear();
+                        event.updatedConfig.putAll(delta);
+                        fillTimeInfo(event.timestamp, System.currentTimeMillis());
+                        configurationUpdatedEvents.publish(slot);
                     }
+                    response.success = true;
+                    response.message = "Configuration updated successfully";
+                    response.errorCode = 0;
                 } else {
                     response.success = false;
                     response.message = "Configuration cannot be null";
@@ -111,41 +167,214 @@ public class CommonServiceImpl implements CommonService {
         });
     }
     
+    /**
+     * Center, mean altitude and great-circle path length (m) of a track; see {@link PositionAccumulator}
+     */
     @Override
-    public CompletableFuture<StatusLevel> getSystemStatus() {
-        return CompletableFuture.completedFuture(currentStatus);
+    public CompletableFuture<ProcessPositionsReply> processPositions(Position[] positions) {
+        return executor.supply(() -> {
+            if (positions == null || positions.length == 0) {
+                throw new IllegalArgumentException("No positions to process");
+            }
+            return PositionAccumulator.of(positions).toReply();
+        });
+    }
+    
+    /**
+     * processPositions for a track read from {@code source} in chunks of {@code chunkSize}, so that the whole
+     * track is never held in memory
+     */
+    public CompletableFuture<ProcessPositionsReply> processPositions(PositionAccumulator.Source source,
+                                                                     int chunkSize) {
+        return executor.supply(() -> {
+            PositionAccumulator accumulator = PositionAccumulator.read(source, chunkSize);
+            if (accumulator.getCount() == 0) {
+                throw new IllegalArgumentException("No positions to process");
+            }
+            return accumulator.toReply();
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> updateTrackedPosition(String id, Position position) {
+        return executor.supply(() -> {
+            if (position == null) {
+                throw new IllegalArgumentException("Position is required");
+            }
+            return trackedPositions.update(id, position.latitude, position.longitude, position.altitude);
+        });
     }
     
     @Override
-    public void setStatusChangedListener(Consumer<StatusChangedEvent> listener) {
-        this.statusChangedListener = listener;
+    public CompletableFuture<Boolean> removeTrackedPosition(String id) {
+        return executor.supply(() -> trackedPositions.remove(id));
     }
     
     @Override
-    public void setConfigurationUpdatedListener(Consumer<ConfigurationUpdatedEvent> listener) {
-        this.configurationUpdatedListener = listener;
+    public CompletableFuture<NearbyPosition[]> findNearestPositions(Position center, int maxResults) {
+        return executor.supply(() -> {
+            if (center == null) {
+                throw new IllegalArgumentException("Center is required");
+            }
+            return trackedPositions.nearest(center.latitude, center.longitude, maxResults);
+        });
+    }
+    
+    @Override
+    public CompletableFuture<NearbyPosition[]> findPositionsWithinRadius(Position center, double radius,
+                                                                        int maxResults) {
+        return executor.supply(() -> {
+            if (center == null) {
+                throw new IllegalArgumentException("Center is required");
+            }
+            return trackedPositions.withinRadius(center.latitude, center.longitude, radius, maxResults);
+        });
+    }
+    
+    public PositionIndex getTrackedPositions() {
+        return trackedPositions;
+    }
+    
+    @Override
+    public CompletableFuture<GetSystemStatusReply> getSystemStatus() {
+        Map<String, String> statusDetails = new HashMap<>();
+        statusDetails.put("build", serviceVersion.buildInfo);
+        statusDetails.put("configurationItems", String.valueOf(configuration.size()));
+        statusDetails.put("uptime", String.valueOf(refreshUptime()));
+        return CompletableFuture.completedFuture(new GetSystemStatusReply(currentStatus.get(), statusDetails,
+            lastStatusUpdate));
+    }
+    
+    @Override
+    public CompletableFuture<StatusLevel> getCurrentStatus() {
+        return CompletableFuture.completedFuture(currentStatus.get());
+    }
+    
+    @Override
+    public CompletableFuture<Long> getUptime() {
+        return CompletableFuture.completedFuture(refreshUptime());
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> getDebugMode() {
+        return CompletableFuture.completedFuture(debugMode.get());
+    }
+    
+    @Override
+    public CompletableFuture<Void> setDebugMode(boolean debugMode) {
+        this.debugMode.set(debugMode);
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    /**
+     * Refreshes uptime just after the next whole second; the timer holds the service only weakly
+     */
+    private static void scheduleUptimeTick(WeakReference<CommonServiceImpl> reference) {
+        CommonServiceImpl service = reference.get();
+        if (service == null) {
+            return;
+        }
+        service.refreshUptime();
+        long delay = 1_000_000_000L - (System.nanoTime() - service.startNanos) % 1_000_000_000L;
+        UPTIME_TIMER.schedule(() -> scheduleUptimeTick(reference), delay, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Whole seconds since the service was created
+     */
+    private long refreshUptime() {
+        long seconds = (System.nanoTime() - startNanos) / 1_000_000_000L;
+        uptime.update(current -> Math.max(current, seconds));
+        return uptime.get();
+    }
+    
+    @Override
+    public EventBus<StatusChangedEvent> statusChangedEvents() {
+        return statusChangedEvents;
+    }
+    
+    @Override
+    public EventBus<ConfigurationUpdatedEvent> configurationUpdatedEvents() {
+        return configurationUpdatedEvents;
+    }
+    
+    @Override
+    public EventBus<StatusLevel> currentStatusChanges() {
+        return currentStatus.changes();
+    }
+    
+    @Override
+    public EventBus<Long> uptimeChanges() {
+        return uptime.changes();
+    }
+    
+    @Override
+    public EventBus<Boolean> debugModeChanges() {
+        return debugMode.changes();
     }
     
     // Utility methods for testing
     public void simulateStatusChange(StatusLevel newStatus, String reason) {
-        StatusLevel oldStatus = currentStatus;
-        currentStatus = newStatus;
+        boolean changed = currentStatus.set(newStatus);
+        if (changed) {
+            lastStatusUpdate = currentTimeInfo();
+        }
         
-        if (statusChangedListener != null && oldStatus != newStatus) {
-            StatusChangedEvent event = new StatusChangedEvent();
+        if (statusChangedEvents.hasSubscribers() && changed) {
+            EventBus.Slot<StatusChangedEvent> slot = statusChangedEvents.claim();
+            StatusChangedEvent event = slot.get();
             event.newStatus = newStatus;
             event.reason = reason;
-            event.timestamp = new TimeInfo();
-            event.timestamp.timestamp = System.currentTimeMillis();
-            event.timestamp.timezone = "UTC";
-            event.timestamp.isoFormat = new java.util.Date().toString();
-            statusChangedListener.accept(event);
+            event.timestamp.timestamp = lastStatusUpdate.timestamp;
+            event.timestamp.timezone = lastStatusUpdate.timezone;
+            event.timestamp.isoFormat = lastStatusUpdate.isoFormat;
+            statusChangedEvents.publish(slot);
         }
     }
     
+    public ConfigurationStore getConfiguration() {
+        return configuration;
+    }
+    
+    /**
+     * Replaces the current position; positions already returned by getCurrentPosition do not change
+     */
     public void updatePosition(double latitude, double longitude, double altitude) {
-        currentPosition.latitude = latitude;
-        currentPosition.longitude = longitude;
-        currentPosition.altitude = altitude;
+        currentPosition = new Position(latitude, longitude, altitude);
+    }
+    
+    private static TimeInfo currentTimeInfo() {
+        TimeInfo timeInfo = new TimeInfo();
+        fillTimeInfo(timeInfo, System.currentTimeMillis());
+        return timeInfo;
+    }
+    
+    private static void fillTimeInfo(TimeInfo timeInfo, long millis) {
+        timeInfo.timestamp = millis;
+        timeInfo.timezone = "UTC";
+        timeInfo.isoFormat = formatSecond(millis);
+    }
+    
+    /**
+     * Date.toString() has second resolution, so format each second once
+     */
+    private static String formatSecond(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        FormattedSecond cached = lastFormatted;
+        if (cached == null || cached.second != second) {
+            cached = new FormattedSecond(second, new java.util.Date(second * 1000).toString());
+            lastFormatted = cached;
+        }
+        return cached.text;
+    }
+    
+    private static final class FormattedSecond {
+        final long second;
+        final String text;
+        
+        FormattedSecond(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
     }
 }
@@ -0,0 +1,745 @@
+package org.example.common;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import org.example.runtime.EventBus;
+import org.example.runtime.ServiceMetrics;
+import org.example.runtime.SomeIpClient;
+import org.example.runtime.SomeIpCodec;
+import org.example.runtime.SomeIpHeader;
+import org.example.runtime.SomeIpService;
+import org.example.common.CommonService.*;
+
+/**
+ * SOME/IP binding of CommonService generated from FRANCA IDL
+ */
+public final class CommonServiceSomeIp {
+    
+    public static final int SERVICE_ID = 0x1AF9;
+    public static final int INTERFACE_VERSION = 1;
+    
+    // Method IDs
+    public static final int METHOD_GET_VERSION = 0x0001;
+    public static final int METHOD_VALIDATE_DATA = 0x0002;
+    public static final int METHOD_GET_CURRENT_POSITION = 0x0003;
+    public static final int METHOD_UPDATE_CONFIGURATION = 0x0004;
+    public static final int METHOD_PROCESS_POSITIONS = 0x0005;
+    public static final int METHOD_GET_SYSTEM_STATUS = 0x0006;
+    public static final int METHOD_VALIDATE_DATA_BATCH = 0x0007;
+    public static final int METHOD_UPDATE_TRACKED_POSITION = 0x0008;
+    public static final int METHOD_REMOVE_TRACKED_POSITION = 0x0009;
+    public static final int METHOD_FIND_NEAREST_POSITIONS = 0x000A;
+    public static final int METHOD_FIND_POSITIONS_WITHIN_RADIUS = 0x000B;
+    public static final int METHOD_GET_CURRENT_STATUS = 0x000C;
+    public static final int METHOD_GET_UPTIME = 0x000D;
+    public static final int METHOD_GET_DEBUG_MODE = 0x000E;
+    public static final int METHOD_SET_DEBUG_MODE = 0x000F;
+    
+    // Event IDs
+    public static final int EVENT_STATUS_CHANGED = 0x8001;
+    public static final int EVENT_CONFIGURATION_UPDATED = 0x8002;
+    public static final int EVENT_CURRENT_STATUS_CHANGED = 0x8003;
+    public static final int EVENT_UPTIME_CHANGED = 0x8004;
+    public static final int EVENT_DEBUG_MODE_CHANGED = 0x8005;
+    
+    private CommonServiceSomeIp() {}
+    
+    /**
+     * Exposes {@code service} for registration with a {@code SomeIpServer}
+     */
+    public static SomeIpService skeleton(CommonService service) {
+        return new Skeleton(service);
+    }
+    
+    /**
+     * Remote CommonService calling through {@code client}
+     */
+    public static CommonService proxy(SomeIpClient client) {
+        return new Proxy(client);
+    }
+    
+    private static final class Skeleton implements SomeIpService {
+        private final CommonService service;
+        private final ServiceMetrics metrics = new ServiceMetrics("CommonService", "getVersion",
+            "validateData", "getCurrentPosition", "updateConfiguration", "processPositions",
+            "getSystemStatus", "validateDataBatch", "updateTrackedPosition", "removeTrackedPosition",
+            "findNearestPositions", "findPositionsWithinRadius", "getCurrentStatus", "getUptime",
+            "getDebugMode", "setDebugMode");
+        
+        Skeleton(CommonService service) {
+            this.service = service;
+        }
+        
+        @Override
+        public int getServiceId() {
+            return SERVICE_ID;
+        }
+        
+        @Override
+        public int getInterfaceVersion() {
+            return INTERFACE_VERSION;
+        }
+        
+        @Override
+        public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {
+            long start = System.nanoTime();
+            switch (methodId) {
+                case METHOD_GET_VERSION: return metrics.record(0, start, getVersion(payload));
+                case METHOD_VALIDATE_DATA: return metrics.record(1, start, validateData(payload));
+                case METHOD_GET_CURRENT_POSITION: return metrics.record(2, start, getCurrentPosition(payload));
+                case METHOD_UPDATE_CONFIGURATION: return metrics.record(3, start, updateConfiguration(payload));
+                case METHOD_PROCESS_POSITIONS: return metrics.record(4, start, processPositions(payload));
+                case METHOD_GET_SYSTEM_STATUS: return metrics.record(5, start, getSystemStatus(payload));
+                case METHOD_VALIDATE_DATA_BATCH: return metrics.record(6, start, validateDataBatch(payload));
+                case METHOD_UPDATE_TRACKED_POSITION: return metrics.record(7, start, updateTrackedPosition(payload));
+                case METHOD_REMOVE_TRACKED_POSITION: return metrics.record(8, start, removeTrackedPosition(payload));
+                case METHOD_FIND_NEAREST_POSITIONS: return metrics.record(9, start, findNearestPositions(payload));
+                case METHOD_FIND_POSITIONS_WITHIN_RADIUS: return metrics.record(10, start, findPositionsWithinRadius(payload));
+                case METHOD_GET_CURRENT_STATUS: return metrics.record(11, start, getCurrentStatus(payload));
+                case METHOD_GET_UPTIME: return metrics.record(12, start, getUptime(payload));
+                case METHOD_GET_DEBUG_MODE: return metrics.record(13, start, getDebugMode(payload));
+                case METHOD_SET_DEBUG_MODE: return metrics.record(14, start, setDebugMode(payload));
+                default: return null;
+            }
+        }
+        
+        @Override
+        public ServiceMetrics getMetrics() {
+            return metrics;
+        }
+        
+        @Override
+        public void bindEvents(Notifier notifier) {
+            service.statusChangedEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_STATUS_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.configurationUpdatedEvents().subscribe(event -> {
+                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());
+                event.writeTo(message);
+                notifier.notify(SERVICE_ID, EVENT_CONFIGURATION_UPDATED, INTERFACE_VERSION, message);
+            });
+            service.currentStatusChanges().subscribe(value -> {
+                ByteBuffer message = getCurrentStatusReply(value);
+                notifier.notify(SERVICE_ID, EVENT_CURRENT_STATUS_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.uptimeChanges().subscribe(value -> {
+                ByteBuffer message = getUptimeReply(value);
+                notifier.notify(SERVICE_ID, EVENT_UPTIME_CHANGED, INTERFACE_VERSION, message);
+            });
+            service.debugModeChanges().subscribe(value -> {
+                ByteBuffer message = getDebugModeReply(value);
+                notifier.notify(SERVICE_ID, EVENT_DEBUG_MODE_CHANGED, INTERFACE_VERSION, message);
+            });
+        }
+        
+        private CompletableFuture<ByteBuffer> getVersion(ByteBuffer buffer) {
+            return service.getVersion().thenApply(Skeleton::getVersionReply);
+        }
+        
+        private static ByteBuffer getVersionReply(Version result) {
+            int size = 0;
+            size += (result != null ? result : new Version()).serializedSize();
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            (result != null ? result : new Version()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> validateData(ByteBuffer buffer) {
+            String data = SomeIpCodec.readString(buffer);
+            String[] rules;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<String> list0 = new java.util.ArrayList<>();
+            while (buffer.position() < end0) {
+                String element0 = SomeIpCodec.readString(buffer);
+                list0.add(element0);
+            }
+            rules = list0.toArray(new String[0]);
+            return service.validateData(data, rules).thenApply(Skeleton::validateDataReply);
+        }
+        
+        private static ByteBuffer validateDataReply(ValidationResult result) {
+            int size = 0;
+            size += (result != null ? result : new ValidationResult()).serializedSize();
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            (result != null ? result : new ValidationResult()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getCurrentPosition(ByteBuffer buffer) {
+            return service.getCurrentPosition().thenApply(Skeleton::getCurrentPositionReply);
+        }
+        
+        private static ByteBuffer getCurrentPositionReply(GetCurrentPositionReply result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(result.serializedSize());
+            result.writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> updateConfiguration(ByteBuffer buffer) {
+            Map<String, ConfigItem> config;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            config = new java.util.LinkedHashMap<>();
+            while (buffer.position() < end0) {
+                String key0 = SomeIpCodec.readString(buffer);
+                ConfigItem value0;
+                value0 = new ConfigItem();
+                value0.readFrom(buffer);
+                config.put(key0, value0);
+            }
+            return service.updateConfiguration(config).thenApply(Skeleton::updateConfigurationReply);
+        }
+        
+        private static ByteBuffer updateConfigurationReply(Response result) {
+            int size = 0;
+            size += (result != null ? result : new Response()).serializedSize();
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            (result != null ? result : new Response()).writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> processPositions(ByteBuffer buffer) {
+            Position[] positions;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            int count0 = (end0 - buffer.position()) / 24;
+            positions = new Position[count0];
+            for (int i0 = 0; i0 < count0; i0++) {
+                positions[i0] = new Position();
+                positions[i0].readFrom(buffer);
+            }
+            return service.processPositions(positions).thenApply(Skeleton::processPositionsReply);
+        }
+        
+        private static ByteBuffer processPositionsReply(ProcessPositionsReply result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(result.serializedSize());
+            result.writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getSystemStatus(ByteBuffer buffer) {
+            return service.getSystemStatus().thenApply(Skeleton::getSystemStatusReply);
+        }
+        
+        private static ByteBuffer getSystemStatusReply(GetSystemStatusReply result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(result.serializedSize());
+            result.writeTo(buffer);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> validateDataBatch(ByteBuffer buffer) {
+            String[] data;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<String> list0 = new java.util.ArrayList<>();
+            while (buffer.position() < end0) {
+                String element0 = SomeIpCodec.readString(buffer);
+                list0.add(element0);
+            }
+            data = list0.toArray(new String[0]);
+            String[] rules;
+            int end1 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<String> list1 = new java.util.ArrayList<>();
+            while (buffer.position() < end1) {
+                String element1 = SomeIpCodec.readString(buffer);
+                list1.add(element1);
+            }
+            rules = list1.toArray(new String[0]);
+            return service.validateDataBatch(data, rules).thenApply(Skeleton::validateDataBatchReply);
+        }
+        
+        private static ByteBuffer validateDataBatchReply(ValidationResult[] result) {
+            int size = 0;
+            size += 4;
+            if (result != null) {
+                for (ValidationResult element0 : result) {
+                    size += (element0 != null ? element0 : new ValidationResult()).serializedSize();
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (result != null) {
+                for (ValidationResult element1 : result) {
+                    (element1 != null ? element1 : new ValidationResult()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> updateTrackedPosition(ByteBuffer buffer) {
+            String id = SomeIpCodec.readString(buffer);
+            Position position;
+            position = new Position();
+            position.readFrom(buffer);
+            return service.updateTrackedPosition(id, position).thenApply(Skeleton::updateTrackedPositionReply);
+        }
+        
+        private static ByteBuffer updateTrackedPositionReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> removeTrackedPosition(ByteBuffer buffer) {
+            String id = SomeIpCodec.readString(buffer);
+            return service.removeTrackedPosition(id).thenApply(Skeleton::removeTrackedPositionReply);
+        }
+        
+        private static ByteBuffer removeTrackedPositionReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> findNearestPositions(ByteBuffer buffer) {
+            Position center;
+            center = new Position();
+            center.readFrom(buffer);
+            int maxResults = buffer.getInt();
+            return service.findNearestPositions(center, maxResults).thenApply(Skeleton::findNearestPositionsReply);
+        }
+        
+        private static ByteBuffer findNearestPositionsReply(NearbyPosition[] result) {
+            int size = 0;
+            size += 4;
+            if (result != null) {
+                for (NearbyPosition element0 : result) {
+                    size += (element0 != null ? element0 : new NearbyPosition()).serializedSize();
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (result != null) {
+                for (NearbyPosition element1 : result) {
+                    (element1 != null ? element1 : new NearbyPosition()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> findPositionsWithinRadius(ByteBuffer buffer) {
+            Position center;
+            center = new Position();
+            center.readFrom(buffer);
+            double radius = buffer.getDouble();
+            int maxResults = buffer.getInt();
+            return service.findPositionsWithinRadius(center, radius, maxResults).thenApply(Skeleton::findPositionsWithinRadiusReply);
+        }
+        
+        private static ByteBuffer findPositionsWithinRadiusReply(NearbyPosition[] result) {
+            int size = 0;
+            size += 4;
+            if (result != null) {
+                for (NearbyPosition element0 : result) {
+                    size += (element0 != null ? element0 : new NearbyPosition()).serializedSize();
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (result != null) {
+                for (NearbyPosition element1 : result) {
+                    (element1 != null ? element1 : new NearbyPosition()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getCurrentStatus(ByteBuffer buffer) {
+            return service.getCurrentStatus().thenApply(Skeleton::getCurrentStatusReply);
+        }
+        
+        private static ByteBuffer getCurrentStatusReply(StatusLevel result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            if (result == null) {
+                throw new IllegalArgumentException("StatusLevel result must not be null");
+            }
+            buffer.put((byte) result.getValue());
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getUptime(ByteBuffer buffer) {
+            return service.getUptime().thenApply(Skeleton::getUptimeReply);
+        }
+        
+        private static ByteBuffer getUptimeReply(Long result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(8);
+            buffer.putLong(result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> getDebugMode(ByteBuffer buffer) {
+            return service.getDebugMode().thenApply(Skeleton::getDebugModeReply);
+        }
+        
+        private static ByteBuffer getDebugModeReply(Boolean result) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, result);
+            return buffer;
+        }
+        
+        private CompletableFuture<ByteBuffer> setDebugMode(ByteBuffer buffer) {
+            boolean debugMode = SomeIpCodec.readBoolean(buffer);
+            return service.setDebugMode(debugMode).thenApply(ignored -> SomeIpHeader.allocate(0));
+        }
+    }
+    
+    private static final class Proxy implements CommonService {
+        private final SomeIpClient client;
+        private final EventBus<StatusChangedEvent> statusChangedEvents =
+            new EventBus<>("CommonService.statusChanged");
+        private final EventBus<ConfigurationUpdatedEvent> configurationUpdatedEvents =
+            new EventBus<>("CommonService.configurationUpdated");
+        private final EventBus<StatusLevel> currentStatusChanges =
+            new EventBus<>("CommonService.currentStatus");
+        private final EventBus<Long> uptimeChanges = new EventBus<>("CommonService.uptime");
+        private final EventBus<Boolean> debugModeChanges = new EventBus<>("CommonService.debugMode");
+        
+        Proxy(SomeIpClient client) {
+            this.client = client;
+            client.setNotificationHandler(SERVICE_ID, this::onNotification);
+        }
+        
+        @Override
+        public CompletableFuture<Version> getVersion() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_VERSION, INTERFACE_VERSION, buffer, Proxy::getVersionReply);
+        }
+        
+        private static Version getVersionReply(ByteBuffer buffer) {
+            Version result;
+            result = new Version();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<ValidationResult> validateData(String data, String[] rules) {
+            int size = 0;
+            size += SomeIpCodec.stringSize(data);
+            size += 4;
+            if (rules != null) {
+                for (String element0 : rules) {
+                    size += SomeIpCodec.stringSize(element0);
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            SomeIpCodec.writeString(buffer, data);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (rules != null) {
+                for (String element1 : rules) {
+                    SomeIpCodec.writeString(buffer, element1);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+            return client.call(SERVICE_ID, METHOD_VALIDATE_DATA, INTERFACE_VERSION, buffer, Proxy::validateDataReply);
+        }
+        
+        private static ValidationResult validateDataReply(ByteBuffer buffer) {
+            ValidationResult result;
+            result = new ValidationResult();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<GetCurrentPositionReply> getCurrentPosition() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_CURRENT_POSITION, INTERFACE_VERSION, buffer, Proxy::getCurrentPositionReply);
+        }
+        
+        private static GetCurrentPositionReply getCurrentPositionReply(ByteBuffer buffer) {
+            GetCurrentPositionReply result = new GetCurrentPositionReply();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Response> updateConfiguration(Map<String, ConfigItem> config) {
+            int size = 0;
+            size += 4;
+            if (config != null) {
+                for (Map.Entry<String, ConfigItem> entry0 : config.entrySet()) {
+                    size += SomeIpCodec.stringSize(entry0.getKey());
+                    size += (entry0.getValue() != null ? entry0.getValue() : new ConfigItem()).serializedSize();
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition1 = SomeIpCodec.beginLength(buffer);
+            if (config != null) {
+                for (Map.Entry<String, ConfigItem> entry1 : config.entrySet()) {
+                    SomeIpCodec.writeString(buffer, entry1.getKey());
+                    (entry1.getValue() != null ? entry1.getValue() : new ConfigItem()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition1);
+            return client.call(SERVICE_ID, METHOD_UPDATE_CONFIGURATION, INTERFACE_VERSION, buffer, Proxy::updateConfigurationReply);
+        }
+        
+        private static Response updateConfigurationReply(ByteBuffer buffer) {
+            Response result;
+            result = new Response();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<ProcessPositionsReply> processPositions(Position[] positions) {
+            int size = 0;
+            size += 4 + (positions == null ? 0 : positions.length * 24);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition0 = SomeIpCodec.beginLength(buffer);
+            if (positions != null) {
+                for (Position element0 : positions) {
+                    (element0 != null ? element0 : new Position()).writeTo(buffer);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition0);
+            return client.call(SERVICE_ID, METHOD_PROCESS_POSITIONS, INTERFACE_VERSION, buffer, Proxy::processPositionsReply);
+        }
+        
+        private static ProcessPositionsReply processPositionsReply(ByteBuffer buffer) {
+            ProcessPositionsReply result = new ProcessPositionsReply();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<GetSystemStatusReply> getSystemStatus() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_SYSTEM_STATUS, INTERFACE_VERSION, buffer, Proxy::getSystemStatusReply);
+        }
+        
+        private static GetSystemStatusReply getSystemStatusReply(ByteBuffer buffer) {
+            GetSystemStatusReply result = new GetSystemStatusReply();
+            result.readFrom(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<ValidationResult[]> validateDataBatch(String[] data, String[] rules) {
+            int size = 0;
+            size += 4;
+            if (data != null) {
+                for (String element0 : data) {
+                    size += SomeIpCodec.stringSize(element0);
+                }
+            }
+            size += 4;
+            if (rules != null) {
+                for (String element1 : rules) {
+                    size += SomeIpCodec.stringSize(element1);
+                }
+            }
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            int lengthPosition2 = SomeIpCodec.beginLength(buffer);
+            if (data != null) {
+                for (String element2 : data) {
+                    SomeIpCodec.writeString(buffer, element2);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition2);
+            int lengthPosition3 = SomeIpCodec.beginLength(buffer);
+            if (rules != null) {
+                for (String element3 : rules) {
+                    SomeIpCodec.writeString(buffer, element3);
+                }
+            }
+            SomeIpCodec.endLength(buffer, lengthPosition3);
+            return client.call(SERVICE_ID, METHOD_VALIDATE_DATA_BATCH, INTERFACE_VERSION, buffer, Proxy::validateDataBatchReply);
+        }
+        
+        private static ValidationResult[] validateDataBatchReply(ByteBuffer buffer) {
+            ValidationResult[] result;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<ValidationResult> list0 = new java.util.ArrayList<>();
+            while (buffer.position() < end0) {
+                ValidationResult element0;
+                element0 = new ValidationResult();
+                element0.readFrom(buffer);
+                list0.add(element0);
+            }
+            result = list0.toArray(new ValidationResult[0]);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> updateTrackedPosition(String id, Position position) {
+            int size = 24;
+            size += SomeIpCodec.stringSize(id);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            SomeIpCodec.writeString(buffer, id);
+            (position != null ? position : new Position()).writeTo(buffer);
+            return client.call(SERVICE_ID, METHOD_UPDATE_TRACKED_POSITION, INTERFACE_VERSION, buffer, Proxy::updateTrackedPositionReply);
+        }
+        
+        private static Boolean updateTrackedPositionReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> removeTrackedPosition(String id) {
+            int size = 0;
+            size += SomeIpCodec.stringSize(id);
+            ByteBuffer buffer = SomeIpHeader.allocate(size);
+            SomeIpCodec.writeString(buffer, id);
+            return client.call(SERVICE_ID, METHOD_REMOVE_TRACKED_POSITION, INTERFACE_VERSION, buffer, Proxy::removeTrackedPositionReply);
+        }
+        
+        private static Boolean removeTrackedPositionReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<NearbyPosition[]> findNearestPositions(Position center, int maxResults) {
+            ByteBuffer buffer = SomeIpHeader.allocate(28);
+            (center != null ? center : new Position()).writeTo(buffer);
+            buffer.putInt(maxResults);
+            return client.call(SERVICE_ID, METHOD_FIND_NEAREST_POSITIONS, INTERFACE_VERSION, buffer, Proxy::findNearestPositionsReply);
+        }
+        
+        private static NearbyPosition[] findNearestPositionsReply(ByteBuffer buffer) {
+            NearbyPosition[] result;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<NearbyPosition> list0 = new java.util.ArrayList<>();
+            while (buffer.position() < end0) {
+                NearbyPosition element0;
+                element0 = new NearbyPosition();
+                element0.readFrom(buffer);
+                list0.add(element0);
+            }
+            result = list0.toArray(new NearbyPosition[0]);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<NearbyPosition[]> findPositionsWithinRadius(Position center, double radius, int maxResults) {
+            ByteBuffer buffer = SomeIpHeader.allocate(36);
+            (center != null ? center : new Position()).writeTo(buffer);
+            buffer.putDouble(radius);
+            buffer.putInt(maxResults);
+            return client.call(SERVICE_ID, METHOD_FIND_POSITIONS_WITHIN_RADIUS, INTERFACE_VERSION, buffer, Proxy::findPositionsWithinRadiusReply);
+        }
+        
+        private static NearbyPosition[] findPositionsWithinRadiusReply(ByteBuffer buffer) {
+            NearbyPosition[] result;
+            int end0 = SomeIpCodec.readSectionEnd(buffer);
+            java.util.List<NearbyPosition> list0 = new java.util.ArrayList<>();
+            while (buffer.position() < end0) {
+                NearbyPosition element0;
+                element0 = new NearbyPosition();
+                element0.readFrom(buffer);
+                list0.add(element0);
+            }
+            result = list0.toArray(new NearbyPosition[0]);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<StatusLevel> getCurrentStatus() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_CURRENT_STATUS, INTERFACE_VERSION, buffer, Proxy::getCurrentStatusReply);
+        }
+        
+        private static StatusLevel getCurrentStatusReply(ByteBuffer buffer) {
+            StatusLevel result = StatusLevel.fromValue(buffer.get() & 0xFF);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Long> getUptime() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_UPTIME, INTERFACE_VERSION, buffer, Proxy::getUptimeReply);
+        }
+        
+        private static Long getUptimeReply(ByteBuffer buffer) {
+            long result = buffer.getLong();
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> getDebugMode() {
+            ByteBuffer buffer = SomeIpHeader.allocate(0);
+            return client.call(SERVICE_ID, METHOD_GET_DEBUG_MODE, INTERFACE_VERSION, buffer, Proxy::getDebugModeReply);
+        }
+        
+        private static Boolean getDebugModeReply(ByteBuffer buffer) {
+            boolean result = SomeIpCodec.readBoolean(buffer);
+            return result;
+        }
+        
+        @Override
+        public CompletableFuture<Void> setDebugMode(boolean debugMode) {
+            ByteBuffer buffer = SomeIpHeader.allocate(1);
+            SomeIpCodec.writeBoolean(buffer, debugMode);
+            return client.call(SERVICE_ID, METHOD_SET_DEBUG_MODE, INTERFACE_VERSION, buffer, ignored -> null);
+        }
+        
+        @Override
+        public EventBus<StatusChangedEvent> statusChangedEvents() {
+            return statusChangedEvents;
+        }
+        
+        @Override
+        public EventBus<ConfigurationUpdatedEvent> configurationUpdatedEvents() {
+            return configurationUpdatedEvents;
+        }
+        
+        @Override
+        public EventBus<StatusLevel> currentStatusChanges() {
+            return currentStatusChanges;
+        }
+        
+        @Override
+        public EventBus<Long> uptimeChanges() {
+            return uptimeChanges;
+        }
+        
+        @Override
+        public EventBus<Boolean> debugModeChanges() {
+            return debugModeChanges;
+        }
+        
+        private void onNotification(int eventId, ByteBuffer payload) {
+            switch (eventId) {
+                case EVENT_STATUS_CHANGED: {
+                    if (statusChangedEvents.hasSubscribers()) {
+                        StatusChangedEvent event = new StatusChangedEvent();
+                        event.readFrom(payload);
+                        statusChangedEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_CONFIGURATION_UPDATED: {
+                    if (configurationUpdatedEvents.hasSubscribers()) {
+                        ConfigurationUpdatedEvent event = new ConfigurationUpdatedEvent();
+                        event.readFrom(payload);
+                        configurationUpdatedEvents.publish(event);
+                    }
+                    break;
+                }
+                case EVENT_CURRENT_STATUS_CHANGED:
+                    if (currentStatusChanges.hasSubscribers()) {
+                        currentStatusChanges.publish(getCurrentStatusReply(payload));
+                    }
+                    break;
+                case EVENT_UPTIME_CHANGED:
+                    if (uptimeChanges.hasSubscribers()) {
+                        uptimeChanges.publish(getUptimeReply(payload));
+                    }
+                    break;
+                case EVENT_DEBUG_MODE_CHANGED:
+                    if (debugModeChanges.hasSubscribers()) {
+                        debugModeChanges.publish(getDebugModeReply(payload));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package org.example.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.example.common.CommonService.NearbyPosition;
+import org.example.common.CommonService.Position;
+import org.example.common.CommonService.ProcessPositionsReply;
+import org.example.common.CommonService.ValidationResult;
+
+public class CommonServiceTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running CommonService Tests...");
+        testRules();
+        testRuleErrors();
+        testCompiledRulesAreCached();
+        testAllocationFreeChecks();
+        testBatch();
+        testPositions();
+        testParallelAndStreamingPositions();
+        testPositionIndex();
+        testConcurrentTracking();
+        testUptimeTicks();
+        System.out.println("All CommonService tests passed");
+    }
+
+    private static void testRules() {
+        CommonServiceImpl service = new CommonServiceImpl();
+        String[] rules = {"required", "min_length:5", "max_length:50"};
+        check(service.validateData("Hello World!", rules).join().isValid, "valid input");
+        ValidationResult shortInput = service.validateData("Hi", rules).join();
+        check(!shortInput.isValid && shortInput.errors.length == 1
+            && shortInput.errors[0].equals("Data must be at least 5 characters"), "too short");
+        ValidationResult empty = service.validateData(null, rules).join();
+        check(!empty.isValid && empty.errors.length == 2 && empty.errors[0].equals("Data cannot be null or empty"),
+            "every failed rule is reported in rule order");
+        check(!service.validateData("x".repeat(51), rules).join().isValid, "too long");
+        check(!service.validateData("   ", null).join().isValid && service.validateData("a", new String[0]).join()
+            .isValid, "no rules means required");
+
+        ValidationRules numeric = ValidationRules.compile(new String[] {"numeric"});
+        check(numeric.isValid("-12.5") && numeric.isValid("7") && !numeric.isValid("1.2.3") && !numeric.isValid("-")
+            && !numeric.isValid("12a"), "numeric");
+        ValidationRules pattern = ValidationRules.compile(new String[] {"pattern:[A-Z]{2}-\\d+:\\d"});
+        check(pattern.isValid("AB-12:3") && !pattern.isValid("AB-12") && !pattern.isValid("xAB-12:3"),
+            "pattern with a colon matches the whole input");
+        check(ValidationRules.compile(new String[] {" max_length: 3 "}).isValid("abc"), "whitespace around rules");
+    }
+
+    private static void testRuleErrors() {
+        CommonServiceImpl service = new CommonServiceImpl();
+        String[][] invalid = {{"unknown"}, {"min_length"}, {"min_length:-1"}, {"max_length:x"}, {"required:1"},
+            {"pattern:("}, {null}};
+        for (String[] rules : invalid) {
+            try {
+                service.validateData("data", rules).join();
+                throw new AssertionError("rule must be rejected: " + rules[0]);
+            } catch (CompletionException e) {
+                check(e.getCause() instanceof IllegalArgumentException, "rejected " + rules[0]);
+            }
+        }
+    }
+
+    private static void testCompiledRulesAreCached() {
+        ValidationRules first = ValidationRules.compile(new String[] {"required", "min_length:3"});
+        check(ValidationRules.compile(new String[] {"required", "min_length:3"}) == first, "same rules, same pipeline");
+        check(ValidationRules.compile(new String[] {"required", "min_length:4"}) != first, "other rules compiled");
+        String[] mutable = {"max_length:2"};
+        ValidationRules compiled = ValidationRules.compile(mutable);
+        mutable[0] = "max_length:100";
+        check(!compiled.isValid("abc") && ValidationRules.compile(mutable).isValid("abc"),
+            "changing the array does not change the cached rules");
+    }
+
+    private static void testAllocationFreeChecks() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] rules = {"required", "min_length:5", "max_length:50", "pattern:[a-z ]+"};
+        String[] inputs = {"hello world", "hi", "toolong".repeat(10), "Upper case"};
+        int valid = 0;
+        for (int i = 0; i < 100_000; i++) {
+            valid += ValidationRules.compile(rules).isValid(inputs[i & 3]) ? 1 : 0;
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 1_000_000; i++) {
+            valid += ValidationRules.compile(rules).isValid(inputs[i & 3]) ? 1 : 0;
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        check(valid == 275_000, "valid inputs counted, got " + valid);
+        check(allocated < 64 * 1024, "cached compile and check allocate nothing, got " + allocated + " bytes");
+    }
+
+    private static void testBatch() {
+        CommonServiceImpl service = new CommonServiceImpl();
+        String[] data = new String[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 10 == 0 ? "" : "item-" + i;
+        }
+        ValidationResult[] results = service.validateDataBatch(data, new String[] {"required", "max_length:8"}).join();
+        check(results.length == data.length, "one result per input");
+        int invalid = 0;
+        for (int i = 0; i < results.length; i++) {
+            check(results[i].isValid == (i % 10 != 0 && data[i].length() <= 8), "result " + i);
+            invalid += results[i].isValid ? 0 : 1;
+        }
+        check(invalid == 9_100, "empty and long inputs are invalid, got " + invalid);
+        check(service.validateDataBatch(null, null).join().length == 0, "no inputs");
+    }
+
+    private static void testPositions() {
+        CommonServiceImpl service = new CommonServiceImpl();
+        // A quarter of the equator in 90 one-degree steps
+        Position[] equator = new Position[91];
+        for (int i = 0; i < equator.length; i++) {
+            equator[i] = new Position(0, i, 10 * i);
+        }
+        ProcessPositionsReply reply = service.processPositions(equator).join();
+        double quarter = Math.PI / 2 * PositionAccumulator.EARTH_RADIUS_METERS;
+        check(Math.abs(reply.totalDistance - quarter) < 1e-6, "path length " + reply.totalDistance);
+        check(Math.abs(reply.averagePosition.latitude) < 1e-9 && Math.abs(reply.averagePosition.longitude - 45) < 1e-9
+            && reply.averagePosition.altitude == 450, "center " + reply.averagePosition.longitude);
+
+        ProcessPositionsReply antimeridian = service.processPositions(new Position[] {new Position(10, 179, 0),
+            new Position(10, -179, 0)}).join();
+        check(Math.abs(Math.abs(antimeridian.averagePosition.longitude) - 180) < 1e-9
+            && Math.abs(antimeridian.totalDistance - 2 * Math.toRadians(1) * Math.cos(Math.toRadians(10))
+                * PositionAccumulator.EARTH_RADIUS_METERS) < 50, "crossing the antimeridian");
+        ProcessPositionsReply single = service.processPositions(new Position[] {new Position(48.1, 11.6, 520)})
+            .join();
+        check(single.totalDistance == 0 && Math.abs(single.averagePosition.latitude - 48.1) < 1e-9, "one position");
+
+        Position[][] invalid = {null, {}, {new Position(91, 0, 0)}, {new Position(0, Double.NaN, 0)}};
+        for (Position[] positions : invalid) {
+            try {
+                service.processPositions(positions).join();
+                throw new AssertionError("positions must be rejected");
+            } catch (CompletionException e) {
+                check(e.getCause() instanceof IllegalArgumentException, "rejected with IllegalArgumentException");
+            }
+        }
+    }
+
+    private static void testParallelAndStreamingPositions() {
+        int count = 5 * PositionAccumulator.PARALLEL_THRESHOLD + 123;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        double[] altitudes = new double[count];
+        Random random = new Random(3);
+        double latitude = 52;
+        double longitude = 13;
+        for (int i = 0; i < count; i++) {
+            latitude += random.nextGaussian() * 1e-4;
+            longitude += random.nextGaussian() * 1e-4;
+            latitudes[i] = latitude;
+            longitudes[i] = longitude;
+            altitudes[i] = 30 + random.nextDouble();
+        }
+        PositionAccumulator sequential = new PositionAccumulator().add(latitudes, longitudes, altitudes, 0, count);
+        PositionAccumulator parallel = PositionAccumulator.of(latitudes, longitudes, altitudes);
+        int[] next = {0};
+        PositionAccumulator streamed = PositionAccumulator.read((lat, lon, alt) -> {
+            int read = Math.min(lat.length, count - next[0]);
+            if (read == 0) {
+                return -1;
+            }
+            System.arraycopy(latitudes, next[0], lat, 0, read);
+            System.arraycopy(longitudes, next[0], lon, 0, read);
+            System.arraycopy(altitudes, next[0], alt, 0, read);
+            next[0] += read;
+            return read;
+        }, 10_000);
+        for (PositionAccumulator result : new PositionAccumulator[] {parallel, streamed}) {
+            check(result.getCount() == count, "all positions counted");
+            check(Math.abs(result.getTotalDistance() - sequential.getTotalDistance())
+                < 1e-9 * sequential.getTotalDistance(), "same distance as sequential");
+            Position center = result.getAveragePosition();
+            Position expected = sequential.getAveragePosition();
+            check(Math.abs(center.latitude - expected.latitude) < 1e-9
+                && Math.abs(center.longitude - expected.longitude) < 1e-9
+                && Math.abs(center.altitude - expected.altitude) < 1e-9, "same center as sequential");
+        }
+    }
+
+    private static void testPositionIndex() {
+        CommonServiceImpl service = new CommonServiceImpl();
+        Random random = new Random(11);
+        int count = 20_000;
+        Position[] positions = new Position[count];
+        for (int i = 0; i < count; i++) {
+            // A dense city, the antimeridian, the poles and the rest of the globe
+            switch (i % 4) {
+                case 0:
+                    positions[i] = new Position(48 + random.nextDouble() * 0.2, 11 + random.nextDouble() * 0.3, 0);
+                    break;
+                case 1:
+                    positions[i] = new Position(random.nextDouble() * 10 - 5, random.nextBoolean()
+                        ? 179 + random.nextDouble() : -180 + random.nextDouble(), 0);
+                    break;
+                case 2:
+                    positions[i] = new Position(89 + random.nextDouble(), random.nextDouble() * 360 - 180, 0);
+                    break;
+                default:
+                    positions[i] = new Position(Math.toDegrees(Math.asin(random.nextDouble() * 2 - 1)),
+                        random.nextDouble() * 360 - 180, 0);
+            }
+            check(service.updateTrackedPosition("car" + i, positions[i]).join(), "added " + i);
+        }
+        check(!service.updateTrackedPosition("car0", positions[0]).join(), "known id is updated, not added");
+
+        Position[] centers = {new Position(48.1, 11.15, 0), new Position(0, 180, 0), new Position(-2, -179.9, 0),
+            new Position(90, 0, 0), new Position(89.5, 45, 0), new Position(-60, 20, 0), new Position(30, -40, 0)};
+        for (Position center : centers) {
+            for (int k : new int[] {1, 7, 100}) {
+                NearbyPosition[] nearest = service.findNearestPositions(center, k).join();
+                double[] expected = bruteForce(positions, center);
+                check(nearest.length == k, "k results");
+                for (int i = 0; i < k; i++) {
+                    check(Math.abs(nearest[i].distance - expected[i]) < 1e-3, "nearest " + i + " around "
+                        + center.latitude + "," + center.longitude);
+                    check(Math.abs(distance(center, nearest[i].position) - nearest[i].distance) < 1e-3,
+                        "reported distance");
+                }
+            }
+            for (double radius : new double[] {500, 20_000, 300_000, 25_000_000}) {
+                NearbyPosition[] within = service.findPositionsWithinRadius(center, radius, Integer.MAX_VALUE).join();
+                double[] expected = bruteForce(positions, center);
+                int inside = 0;
+                while (inside < expected.length && expected[inside] <= radius) {
+                    inside++;
+                }
+                // Points right at the boundary may fall either way by rounding
+                check(Math.abs(within.length - inside) <= 1, "within " + radius + " m: " + within.length
+                    + " vs " + inside);
+                for (int i = 1; i < within.length; i++) {
+                    check(within[i - 1].distance <= within[i].distance, "nearest first");
+                }
+            }
+        }
+        check(service.findPositionsWithinRadius(centers[0], 25_000_000, 3).join().length == 3, "limited results");
+
+        check(service.removeTrackedPosition("car0").join() && !service.removeTrackedPosition("car0").join(),
+            "removed once");
+        check(service.getTrackedPositions().size() == count - 1 && service.getTrackedPositions().get("car0") == null,
+            "removed from the index");
+        service.updateTrackedPosition("car1", new Position(-33.9, 18.4, 5)).join();
+        NearbyPosition moved = service.findNearestPositions(new Position(-33.9, 18.4, 0), 1).join()[0];
+        check(moved.id.equals("car1") && moved.distance < 1e-6 && moved.position.altitude == 5, "moved entity");
+
+        PositionIndex empty = new PositionIndex();
+        check(empty.nearest(0, 0, 5).length == 0 && empty.withinRadius(0, 0, 1e7, 5).length == 0, "empty index");
+        PositionIndex sparse = new PositionIndex(10);
+        sparse.update("only", -45, 170, 0);
+        check(sparse.nearest(45, -10, 3)[0].id.equals("only"), "far away in a sparse index");
+
+        // A query far from a dense cluster falls back to scanning the occupied cells
+        PositionIndex cluster = new PositionIndex(100);
+        Position[] clustered = new Position[1000];
+        for (int i = 0; i < clustered.length; i++) {
+            clustered[i] = new Position(48 + random.nextDouble() * 0.1, 11 + random.nextDouble() * 0.1, 0);
+            cluster.update("c" + i, clustered[i].latitude, clustered[i].longitude, 0);
+        }
+        Position antipode = new Position(-48.05, -168.95, 0);
+        NearbyPosition[] far = cluster.nearest(antipode.latitude, antipode.longitude, 5);
+        double[] expected = bruteForce(clustered, antipode);
+        for (int i = 0; i < 5; i++) {
+            check(Math.abs(far[i].distance - expected[i]) < 1e-3, "nearest " + i + " far from the cluster");
+        }
+    }
+
+    private static double[] bruteForce(Position[] positions, Position center) {
+        return Arrays.stream(positions).mapToDouble(p -> distance(center, p)).sorted().toArray();
+    }
+
+    private static double distance(Position a, Position b) {
+        double phi1 = Math.toRadians(a.latitude);
+        double phi2 = Math.toRadians(b.latitude);
+        double dPhi = phi2 - phi1;
+        double dLambda = Math.toRadians(b.longitude - a.longitude);
+        double h = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+            + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * PositionAccumulator.EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static void testUptimeTicks() throws Exception {
+        CommonServiceImpl service = new CommonServiceImpl();
+        CountDownLatch ticked = new CountDownLatch(1);
+        service.uptimeChanges().subscribe(seconds -> {
+            if (seconds >= 1) {
+                ticked.countDown();
+            }
+        });
+        // Nobody reads the attribute, so only the timer can produce the notification
+        check(ticked.await(5, TimeUnit.SECONDS), "uptime notifies without being read");
+    }
+
+    private static void testConcurrentTracking() throws Exception {
+        PositionIndex index = new PositionIndex(500);
+        int vehicles = 2_000;
+        for (int i = 0; i < vehicles; i++) {
+            index.update("v" + i, 52 + i * 1e-4, 13, 0);
+        }
+        int writers = 3;
+        CountDownLatch done = new CountDownLatch(writers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int w = 0; w < writers; w++) {
+            Random random = new Random(w);
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50_000; i++) {
+                        index.update("v" + random.nextInt(vehicles), 52 + random.nextDouble() * 0.2,
+                            13 + random.nextDouble() * 0.3, 0);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        while (!done.await(0, TimeUnit.MILLISECONDS)) {
+            NearbyPosition[] nearest = index.nearest(52.1, 13.15, 50);
+            check(Arrays.stream(nearest).map(p -> p.id).distinct().count() == nearest.length, "no duplicates");
+            for (int i = 1; i < nearest.length; i++) {
+                check(nearest[i - 1].distance <= nearest[i].distance, "sorted while updating");
+            }
+        }
+        check(failure.get() == null, "writers failed: " + failure.get());
+        check(index.size() == vehicles, "every vehicle tracked once");
+        check(index.withinRadius(52.1, 13.15, 100_000, Integer.MAX_VALUE).length == vehicles,
+            "every vehicle in exactly one cell");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
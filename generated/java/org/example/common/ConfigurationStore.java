@@ -0,0 +1,100 @@
+package org.example.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import org.example.common.CommonService.ConfigItem;
+import org.example.runtime.PersistentHashMap;
+
+/**
+ * Versioned configuration, held in a {@link PersistentHashMap} and published as immutable snapshots.
+ * <p>
+ * Readers take the current snapshot from a volatile field without locking and can iterate it while it is
+ * being updated; a key lookup costs the same with ten or a hundred thousand items. An update applies all of
+ * its items or none, as one new version, and returns only the items that changed, which is what
+ * configurationUpdated broadcasts. Writers synchronize on the store.
+ */
+public final class ConfigurationStore {
+
+    private volatile Snapshot current = new Snapshot(0, PersistentHashMap.empty());
+
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public ConfigItem get(String key) {
+        return current.get(key);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    public long getVersion() {
+        return current.getVersion();
+    }
+
+    /**
+     * Applies {@code items} as one version. Items equal to the current ones are left out; if none is left the
+     * version does not change.
+     *
+     * @return the changed items, in the order of {@code items}
+     * @throws IllegalArgumentException if a key or item is null; nothing is applied then
+     */
+    public synchronized Map<String, ConfigItem> update(Map<String, ConfigItem> items) {
+        Snapshot snapshot = current;
+        PersistentHashMap<String, ConfigItem> updated = snapshot.items;
+        Map<String, ConfigItem> delta = new LinkedHashMap<>();
+        for (Map.Entry<String, ConfigItem> entry : items.entrySet()) {
+            String key = entry.getKey();
+            ConfigItem item = entry.getValue();
+            if (key == null || item == null) {
+                throw new IllegalArgumentException("Configuration key and item are required, got " + key);
+            }
+            if (!same(updated.get(key), item)) {
+                updated = updated.plus(key, item);
+                delta.put(key, item);
+            }
+        }
+        if (!delta.isEmpty()) {
+            current = new Snapshot(snapshot.version + 1, updated);
+        }
+        return delta;
+    }
+
+    private static boolean same(ConfigItem current, ConfigItem item) {
+        return current != null && Objects.equals(current.key, item.key) && Objects.equals(current.value, item.value)
+            && Objects.equals(current.description, item.description);
+    }
+
+    /**
+     * The configuration at one version
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final PersistentHashMap<String, ConfigItem> items;
+
+        private Snapshot(long version, PersistentHashMap<String, ConfigItem> items) {
+            this.version = version;
+            this.items = items;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public ConfigItem get(String key) {
+            return items.get(key);
+        }
+
+        public int size() {
+            return items.size();
+        }
+
+        public void forEach(BiConsumer<? super String, ? super ConfigItem> action) {
+            items.forEach(action);
+        }
+    }
+}
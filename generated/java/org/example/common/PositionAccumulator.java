@@ -0,0 +1,262 @@
+package org.example.common;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.example.common.CommonService.Position;
+import org.example.common.CommonService.ProcessPositionsReply;
+
+/**
+ * Streaming aggregate of a track of positions: its geographic center, mean altitude and path length.
+ * <p>
+ * Each position is turned into a unit vector on the sphere. The center is the direction of the vectors' sum,
+ * which stays correct across the antimeridian and near the poles. Consecutive positions are a great-circle
+ * segment of {@code 2R asin(c / 2)}, with {@code c} the chord between their vectors; this is the haversine
+ * distance, computed without further trigonometry. Altitude does not add to the distance.
+ * <p>
+ * Accumulators of consecutive parts of a track {@link #merge} into the accumulator of the whole track, which
+ * {@link #of(double[], double[], double[])} uses to reduce large structure-of-arrays input with fork/join and
+ * {@link #read} to aggregate a track chunk by chunk without holding all of it. Not thread-safe.
+ */
+public final class PositionAccumulator {
+
+    /** Mean earth radius (IUGG) */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    /** Inputs with at least this many positions are reduced in parallel */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int LEAF_SIZE = 1 << 14;
+
+    private long count;
+    private double sumX;
+    private double sumY;
+    private double sumZ;
+    private double sumAltitude;
+    // Radians on the unit sphere; multiplied by the radius when read
+    private double angle;
+    private double firstX;
+    private double firstY;
+    private double firstZ;
+    private double lastX;
+    private double lastY;
+    private double lastZ;
+
+    /**
+     * Source of a track in chunks, read into the caller's arrays
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * Fills the arrays from index 0 with the next positions, in degrees and meters
+         *
+         * @return number of positions read, at most the arrays' length; -1 at the end of the track
+         */
+        int read(double[] latitudes, double[] longitudes, double[] altitudes);
+    }
+
+    /**
+     * @param latitude degrees, -90 to 90
+     * @param longitude degrees
+     * @param altitude meters
+     */
+    public PositionAccumulator add(double latitude, double longitude, double altitude) {
+        if (!(Math.abs(latitude) <= 90) || !Double.isFinite(longitude) || !Double.isFinite(altitude)) {
+            throw new IllegalArgumentException("Invalid position " + latitude + ", " + longitude + ", " + altitude);
+        }
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        double x = cosPhi * Math.cos(lambda);
+        double y = cosPhi * Math.sin(lambda);
+        double z = Math.sin(phi);
+        if (count == 0) {
+            firstX = x;
+            firstY = y;
+            firstZ = z;
+        } else {
+            angle += arc(lastX, lastY, lastZ, x, y, z);
+        }
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+        sumX += x;
+        sumY += y;
+        sumZ += z;
+        sumAltitude += altitude;
+        count++;
+        return this;
+    }
+
+    public PositionAccumulator add(double[] latitudes, double[] longitudes, double[] altitudes, int offset,
+                                   int length) {
+        for (int i = offset; i < offset + length; i++) {
+            add(latitudes[i], longitudes[i], altitudes[i]);
+        }
+        return this;
+    }
+
+    public PositionAccumulator add(Position position) {
+        return add(position.latitude, position.longitude, position.altitude);
+    }
+
+    /**
+     * Appends the track of {@code following}, which starts where this one ends
+     */
+    public PositionAccumulator merge(PositionAccumulator following) {
+        if (following.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            firstX = following.firstX;
+            firstY = following.firstY;
+            firstZ = following.firstZ;
+        } else {
+            angle += arc(lastX, lastY, lastZ, following.firstX, following.firstY, following.firstZ);
+        }
+        angle += following.angle;
+        lastX = following.lastX;
+        lastY = following.lastY;
+        lastZ = following.lastZ;
+        sumX += following.sumX;
+        sumY += following.sumY;
+        sumZ += following.sumZ;
+        sumAltitude += following.sumAltitude;
+        count += following.count;
+        return this;
+    }
+
+    private static double arc(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double dz = z2 - z1;
+        double chord = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return 2 * Math.asin(Math.min(1, chord / 2));
+    }
+
+    /**
+     * Aggregate of the track in {@code latitudes}, {@code longitudes} and {@code altitudes}, reduced on the
+     * common fork/join pool from {@link #PARALLEL_THRESHOLD} positions on
+     */
+    public static PositionAccumulator of(double[] latitudes, double[] longitudes, double[] altitudes) {
+        if (longitudes.length != latitudes.length || altitudes.length != latitudes.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        if (latitudes.length < PARALLEL_THRESHOLD) {
+            return new PositionAccumulator().add(latitudes, longitudes, altitudes, 0, latitudes.length);
+        }
+        return ForkJoinPool.commonPool().invoke(new Reduction(latitudes, longitudes, altitudes, 0,
+            latitudes.length));
+    }
+
+    public static PositionAccumulator of(Position[] positions) {
+        if (positions.length < PARALLEL_THRESHOLD) {
+            PositionAccumulator accumulator = new PositionAccumulator();
+            for (Position position : positions) {
+                accumulator.add(position);
+            }
+            return accumulator;
+        }
+        double[] latitudes = new double[positions.length];
+        double[] longitudes = new double[positions.length];
+        double[] altitudes = new double[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            latitudes[i] = positions[i].latitude;
+            longitudes[i] = positions[i].longitude;
+            altitudes[i] = positions[i].altitude;
+        }
+        return of(latitudes, longitudes, altitudes);
+    }
+
+    /**
+     * Aggregates {@code source} chunk by chunk; only one chunk of {@code chunkSize} positions is held at a time
+     */
+    public static PositionAccumulator read(Source source, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1, got " + chunkSize);
+        }
+        double[] latitudes = new double[chunkSize];
+        double[] longitudes = new double[chunkSize];
+        double[] altitudes = new double[chunkSize];
+        PositionAccumulator accumulator = new PositionAccumulator();
+        int read;
+        while ((read = source.read(latitudes, longitudes, altitudes)) >= 0) {
+            if (read > chunkSize) {
+                throw new IllegalStateException("Source read " + read + " positions into " + chunkSize);
+            }
+            if (read >= PARALLEL_THRESHOLD) {
+                Reduction reduction = new Reduction(latitudes, longitudes, altitudes, 0, read);
+                accumulator.merge(ForkJoinPool.commonPool().invoke(reduction));
+            } else {
+                accumulator.add(latitudes, longitudes, altitudes, 0, read);
+            }
+        }
+        return accumulator;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Path length in meters along great circles between consecutive positions
+     */
+    public double getTotalDistance() {
+        return angle * EARTH_RADIUS_METERS;
+    }
+
+    /**
+     * Geographic center and mean altitude; latitude and longitude are 0 if the positions cancel out, e.g. two
+     * antipodes
+     *
+     * @throws IllegalStateException if no position was added
+     */
+    public Position getAveragePosition() {
+        if (count == 0) {
+            throw new IllegalStateException("No positions to average");
+        }
+        double horizontal = Math.hypot(sumX, sumY);
+        if (horizontal + Math.abs(sumZ) < 1e-9 * count) {
+            return new Position(0, 0, sumAltitude / count);
+        }
+        return new Position(Math.toDegrees(Math.atan2(sumZ, horizontal)), Math.toDegrees(Math.atan2(sumY, sumX)),
+            sumAltitude / count);
+    }
+
+    public ProcessPositionsReply toReply() {
+        return new ProcessPositionsReply(getAveragePosition(), getTotalDistance());
+    }
+
+    /**
+     * Splits a range in halves until it is small enough to add sequentially, then merges left to right
+     */
+    private static final class Reduction extends RecursiveTask<PositionAccumulator> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] altitudes;
+        private final int offset;
+        private final int length;
+
+        Reduction(double[] latitudes, double[] longitudes, double[] altitudes, int offset, int length) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.altitudes = altitudes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected PositionAccumulator compute() {
+            if (length <= LEAF_SIZE) {
+                return new PositionAccumulator().add(latitudes, longitudes, altitudes, offset, length);
+            }
+            int half = length >>> 1;
+            Reduction left = new Reduction(latitudes, longitudes, altitudes, offset, half);
+            Reduction right = new Reduction(latitudes, longitudes, altitudes, offset + half, length - half);
+            right.fork();
+            PositionAccumulator result = left.compute();
+            return result.merge(right.join());
+        }
+    }
+}
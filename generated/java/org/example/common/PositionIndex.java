@@ -0,0 +1,411 @@
+package org.example.common;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.common.CommonService.NearbyPosition;
+import org.example.common.CommonService.Position;
+
+/**
+ * Spatial index of tracked positions answering nearest-neighbour and radius queries.
+ * <p>
+ * Positions are stored as unit vectors on the sphere, bucketed in a hash grid of cubes of
+ * {@code cellMeters} edge, as in {@link PositionAccumulator}. Straight-line (chord) distance between unit
+ * vectors orders points exactly like great-circle distance, so the grid has no distortion at the poles or the
+ * antimeridian and a query only visits cells that can hold a closer point: nearest queries search shells of
+ * cells around the center until no unvisited shell can beat the k-th best point, radius queries visit the
+ * cells overlapping the radius. Only cells touching the sphere are looked up. When a query would visit more
+ * cells than are occupied, whether they touch the sphere or not, it scans the occupied cells instead, so sparse
+ * indexes and queries far from every point stay fast too.
+ * <p>
+ * Updates and removals of different entities run concurrently. Each cell is an immutable array replaced on
+ * every change, so queries take no locks. A query running while an entity moves to another cell may find it
+ * at its old or its new position or miss it, but reports it at most once.
+ */
+public final class PositionIndex {
+
+    public static final double DEFAULT_CELL_METERS = 1000;
+
+    private static final int AXIS_BITS = 21;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    // Cell edge on the unit sphere
+    private final double cellSize;
+    private final int cellsPerAxis;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry[]> cells = new ConcurrentHashMap<>();
+
+    public PositionIndex() {
+        this(DEFAULT_CELL_METERS);
+    }
+
+    /**
+     * @param cellMeters grid cell edge; about the typical query radius or distance between neighbours works
+     *                   best
+     */
+    public PositionIndex(double cellMeters) {
+        double size = cellMeters / PositionAccumulator.EARTH_RADIUS_METERS;
+        if (!(size >= 2.0 / (1 << AXIS_BITS)) || size > 2) {
+            throw new IllegalArgumentException("Cell size out of range: " + cellMeters + " m");
+        }
+        this.cellSize = size;
+        this.cellsPerAxis = (int) Math.ceil(2 / size);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Current position of {@code id}, or null if it is not tracked
+     */
+    public Position get(String id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : copy(entry.position);
+    }
+
+    /**
+     * Tracks {@code id} at the given position, replacing its previous one
+     *
+     * @return true if {@code id} was not tracked before
+     */
+    public boolean update(String id, double latitude, double longitude, double altitude) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id is required");
+        }
+        if (!(Math.abs(latitude) <= 90) || !Double.isFinite(longitude) || !Double.isFinite(altitude)) {
+            throw new IllegalArgumentException("Invalid position " + latitude + ", " + longitude + ", " + altitude);
+        }
+        Entry entry = new Entry(id, latitude, longitude, altitude);
+        boolean[] added = {false};
+        // compute serializes the updates of one id, so its cell membership stays consistent
+        entries.compute(id, (key, previous) -> {
+            if (previous == null) {
+                added[0] = true;
+                cells.compute(entry.cell, (cell, members) -> with(members, entry));
+            } else if (previous.cell == entry.cell) {
+                cells.compute(entry.cell, (cell, members) -> replaced(members, previous, entry));
+            } else {
+                cells.computeIfPresent(previous.cell, (cell, members) -> without(members, previous));
+                cells.compute(entry.cell, (cell, members) -> with(members, entry));
+            }
+            return entry;
+        });
+        return added[0];
+    }
+
+    /**
+     * @return true if {@code id} was tracked
+     */
+    public boolean remove(String id) {
+        boolean[] removed = {false};
+        if (id != null) {
+            entries.computeIfPresent(id, (key, previous) -> {
+                cells.computeIfPresent(previous.cell, (cell, members) -> without(members, previous));
+                removed[0] = true;
+                return null;
+            });
+        }
+        return removed[0];
+    }
+
+    private long key(int i, int j, int k) {
+        return ((long) i << (2 * AXIS_BITS)) | ((long) j << AXIS_BITS) | k;
+    }
+
+    private int index(double coordinate) {
+        return Math.min(cellsPerAxis - 1, Math.max(0, (int) ((coordinate + 1) / cellSize)));
+    }
+
+    /**
+     * Up to {@code maxResults} tracked positions nearest to the center, nearest first
+     */
+    public NearbyPosition[] nearest(double latitude, double longitude, int maxResults) {
+        Collector collector = collector(maxResults, Double.POSITIVE_INFINITY, true);
+        Vector center = new Vector(latitude, longitude);
+        int ci = index(center.x);
+        int cj = index(center.y);
+        int ck = index(center.z);
+        long budget = cells.size();
+        long visited = 0;
+        for (int r = 0; r <= cellsPerAxis; r++) {
+            // Every point in shell r is at least r - 1 cells away along some axis
+            if (collector.isFull() && collector.worst() <= square((r - 1) * cellSize)) {
+                break;
+            }
+            // Cells off the sphere are skipped cheaply but still iterated, so they count against the budget
+            visited += shellCells(r);
+            if (visited > budget) {
+                collector.clear();
+                scanAll(center, collector);
+                break;
+            }
+            probeShell(center, ci, cj, ck, r, collector);
+        }
+        return collector.results();
+    }
+
+    /**
+     * Up to {@code maxResults} tracked positions within {@code radiusMeters} (great circle) of the center,
+     * nearest first
+     */
+    public NearbyPosition[] withinRadius(double latitude, double longitude, double radiusMeters, int maxResults) {
+        if (!(radiusMeters >= 0)) {
+            throw new IllegalArgumentException("Radius must not be negative, got " + radiusMeters);
+        }
+        double angle = Math.min(Math.PI, radiusMeters / PositionAccumulator.EARTH_RADIUS_METERS);
+        double chord = 2 * Math.sin(angle / 2);
+        Collector collector = collector(maxResults, chord * chord, false);
+        Vector center = new Vector(latitude, longitude);
+        int i0 = index(center.x - chord);
+        int i1 = index(center.x + chord);
+        int j0 = index(center.y - chord);
+        int j1 = index(center.y + chord);
+        int k0 = index(center.z - chord);
+        int k1 = index(center.z + chord);
+        if ((double) (i1 - i0 + 1) * (j1 - j0 + 1) * (k1 - k0 + 1) > cells.size()) {
+            scanAll(center, collector);
+            return collector.results();
+        }
+        for (int i = i0; i <= i1; i++) {
+            for (int j = j0; j <= j1; j++) {
+                for (int k = k0; k <= k1; k++) {
+                    probe(center, i, j, k, collector);
+                }
+            }
+        }
+        return collector.results();
+    }
+
+    private Collector collector(int maxResults, double limit, boolean ranked) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("maxResults must be at least 1, got " + maxResults);
+        }
+        return new Collector(Math.max(1, Math.min(maxResults, entries.size())), limit, ranked);
+    }
+
+    /**
+     * Cells exactly {@code r} cells away from the center cell along their farthest axis
+     */
+    private static long shellCells(int r) {
+        long outer = 2L * r + 1;
+        long inner = Math.max(0, 2L * r - 1);
+        return outer * outer * outer - inner * inner * inner;
+    }
+
+    /**
+     * Probes the cells exactly {@code r} cells away from the center cell along their farthest axis
+     */
+    private void probeShell(Vector center, int ci, int cj, int ck, int r, Collector collector) {
+        for (int di = -r; di <= r; di++) {
+            for (int dj = -r; dj <= r; dj++) {
+                boolean edge = Math.abs(di) == r || Math.abs(dj) == r;
+                for (int dk = -r; dk <= r; dk += edge || r == 0 ? 1 : 2 * r) {
+                    probe(center, ci + di, cj + dj, ck + dk, collector);
+                }
+            }
+        }
+    }
+
+    private void probe(Vector center, int i, int j, int k, Collector collector) {
+        if (i < 0 || j < 0 || k < 0 || i >= cellsPerAxis || j >= cellsPerAxis || k >= cellsPerAxis
+            || !touchesSphere(i, j, k)) {
+            return;
+        }
+        Entry[] members = cells.get(key(i, j, k));
+        if (members != null) {
+            for (Entry entry : members) {
+                collector.offer(entry, center.chordSquared(entry));
+            }
+        }
+    }
+
+    private void scanAll(Vector center, Collector collector) {
+        for (Entry[] members : cells.values()) {
+            for (Entry entry : members) {
+                collector.offer(entry, center.chordSquared(entry));
+            }
+        }
+    }
+
+    private boolean touchesSphere(int i, int j, int k) {
+        double near = 0;
+        double far = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            double low = (axis == 0 ? i : axis == 1 ? j : k) * cellSize - 1;
+            double high = low + cellSize;
+            double nearest = low > 0 ? low : high < 0 ? -high : 0;
+            double farthest = Math.max(Math.abs(low), Math.abs(high));
+            near += nearest * nearest;
+            far += farthest * farthest;
+        }
+        return near <= 1 && far >= 1;
+    }
+
+    private static double square(double value) {
+        return value < 0 ? 0 : value * value;
+    }
+
+    private static Entry[] with(Entry[] members, Entry entry) {
+        if (members == null) {
+            return new Entry[] {entry};
+        }
+        Entry[] updated = Arrays.copyOf(members, members.length + 1);
+        updated[members.length] = entry;
+        return updated;
+    }
+
+    private static Entry[] replaced(Entry[] members, Entry previous, Entry entry) {
+        Entry[] updated = members.clone();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == previous) {
+                updated[i] = entry;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * @return null if no member is left, which removes the cell
+     */
+    private static Entry[] without(Entry[] members, Entry entry) {
+        if (members.length == 1) {
+            return members[0] == entry ? null : members;
+        }
+        Entry[] updated = NO_ENTRIES;
+        for (int i = 0; i < members.length; i++) {
+            if (members[i] == entry) {
+                updated = new Entry[members.length - 1];
+                System.arraycopy(members, 0, updated, 0, i);
+                System.arraycopy(members, i + 1, updated, i, members.length - i - 1);
+                break;
+            }
+        }
+        return updated.length == 0 ? members : updated;
+    }
+
+    private static Position copy(Position position) {
+        return new Position(position.latitude, position.longitude, position.altitude);
+    }
+
+    private static class Vector {
+        final double x;
+        final double y;
+        final double z;
+
+        Vector(double latitude, double longitude) {
+            if (!(Math.abs(latitude) <= 90) || !Double.isFinite(longitude)) {
+                throw new IllegalArgumentException("Invalid position " + latitude + ", " + longitude);
+            }
+            double phi = Math.toRadians(latitude);
+            double lambda = Math.toRadians(longitude);
+            double cosPhi = Math.cos(phi);
+            this.x = cosPhi * Math.cos(lambda);
+            this.y = cosPhi * Math.sin(lambda);
+            this.z = Math.sin(phi);
+        }
+
+        double chordSquared(Vector other) {
+            double dx = other.x - x;
+            double dy = other.y - y;
+            double dz = other.z - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    private final class Entry extends Vector {
+        final String id;
+        final Position position;
+        final long cell;
+
+        Entry(String id, double latitude, double longitude, double altitude) {
+            super(latitude, longitude);
+            this.id = id;
+            this.position = new Position(latitude, longitude, altitude);
+            this.cell = key(index(x), index(y), index(z));
+        }
+    }
+
+    /**
+     * Entries with a squared chord of at most {@code limit}. A ranked collector keeps the best
+     * {@code maxResults} sorted as they arrive, which nearest queries need to know when to stop; otherwise all
+     * entries are kept and sorted once at the end.
+     */
+    private static final class Collector {
+        final int maxResults;
+        final double limit;
+        final boolean ranked;
+        Entry[] entries;
+        double[] chords;
+        int size;
+
+        Collector(int maxResults, double limit, boolean ranked) {
+            this.maxResults = maxResults;
+            this.limit = limit;
+            this.ranked = ranked;
+            int capacity = ranked ? maxResults : Math.min(maxResults, 16);
+            this.entries = new Entry[capacity];
+            this.chords = new double[capacity];
+        }
+
+        boolean isFull() {
+            return size == maxResults;
+        }
+
+        double worst() {
+            return chords[size - 1];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void offer(Entry entry, double chord) {
+            if (chord > limit) {
+                return;
+            }
+            if (!ranked) {
+                if (size == entries.length) {
+                    entries = Arrays.copyOf(entries, size * 2);
+                    chords = Arrays.copyOf(chords, size * 2);
+                }
+                entries[size] = entry;
+                chords[size++] = chord;
+                return;
+            }
+            if (isFull() && chord >= worst()) {
+                return;
+            }
+            int i = isFull() ? size - 1 : size++;
+            for (; i > 0 && chords[i - 1] > chord; i--) {
+                chords[i] = chords[i - 1];
+                entries[i] = entries[i - 1];
+            }
+            chords[i] = chord;
+            entries[i] = entry;
+        }
+
+        NearbyPosition[] results() {
+            NearbyPosition[] results = new NearbyPosition[size];
+            for (int i = 0; i < size; i++) {
+                double distance = 2 * Math.asin(Math.min(1, Math.sqrt(chords[i]) / 2));
+                results[i] = new NearbyPosition(entries[i].id, copy(entries[i].position),
+                    distance * PositionAccumulator.EARTH_RADIUS_METERS);
+            }
+            if (!ranked) {
+                Arrays.sort(results, (a, b) -> Double.compare(a.distance, b.distance));
+            }
+            // A concurrently moved entity can be seen in both its cells; keep the nearer sighting
+            Set<String> seen = new HashSet<>();
+            int kept = 0;
+            for (NearbyPosition result : results) {
+                if (kept < maxResults && seen.add(result.id)) {
+                    results[kept++] = result;
+                }
+            }
+            return kept == results.length ? results : Arrays.copyOf(results, kept);
+        }
+    }
+}
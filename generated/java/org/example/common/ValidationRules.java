@@ -0,0 +1,195 @@
+package org.example.common;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.example.common.CommonService.ValidationResult;
+
+/**
+ * Rules for validateData, compiled once into a pipeline of predicates.
+ * <p>
+ * A rule is a name with an optional argument after the first colon:
+ * <ul>
+ * <li>{@code required}: not null and not blank</li>
+ * <li>{@code min_length:N} and {@code max_length:N}: length in chars</li>
+ * <li>{@code numeric}: an optionally signed decimal number</li>
+ * <li>{@code pattern:REGEX}: the whole input matches the regular expression</li>
+ * </ul>
+ * Null input is checked as an empty string. {@link #compile} caches compiled rule arrays by content, so repeated
+ * calls with the same rules skip parsing. Checking an input allocates nothing; the error messages are built at
+ * compile time, and patterns reuse one matcher per thread.
+ */
+public final class ValidationRules {
+
+    private static final int CACHE_SIZE = 256;
+    // Direct-mapped by the rules' hash; a collision just replaces the entry
+    private static final AtomicReferenceArray<ValidationRules> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+    private static final String[] NONE = new String[0];
+    private static final String[] REQUIRED = {"required"};
+
+    private final String[] source;
+    private final int hash;
+    private final Rule[] rules;
+
+    private ValidationRules(String[] source, int hash, Rule[] rules) {
+        this.source = source;
+        this.hash = hash;
+        this.rules = rules;
+    }
+
+    /**
+     * Compiled form of {@code rules}, from the cache if the same rules were compiled before. No rules at all
+     * means {@code required}.
+     *
+     * @throws IllegalArgumentException for an unknown rule or an invalid argument
+     */
+    public static ValidationRules compile(String[] rules) {
+        if (rules == null || rules.length == 0) {
+            rules = REQUIRED;
+        }
+        int hash = Arrays.hashCode(rules);
+        int index = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        ValidationRules cached = CACHE.get(index);
+        if (cached != null && cached.hash == hash && Arrays.equals(cached.source, rules)) {
+            return cached;
+        }
+        String[] source = rules.clone();
+        Rule[] compiled = new Rule[source.length];
+        for (int i = 0; i < source.length; i++) {
+            compiled[i] = parse(source[i]);
+        }
+        ValidationRules result = new ValidationRules(source, hash, compiled);
+        CACHE.set(index, result);
+        return result;
+    }
+
+    private static Rule parse(String rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule is null");
+        }
+        int colon = rule.indexOf(':');
+        String name = (colon < 0 ? rule : rule.substring(0, colon)).trim();
+        String argument = colon < 0 ? null : rule.substring(colon + 1);
+        switch (name) {
+            case "required":
+                noArgument(rule, argument);
+                return new Rule(data -> !data.isBlank(), "Data cannot be null or empty");
+            case "min_length": {
+                int minimum = length(rule, argument);
+                return new Rule(data -> data.length() >= minimum, "Data must be at least " + minimum + " characters");
+            }
+            case "max_length": {
+                int maximum = length(rule, argument);
+                return new Rule(data -> data.length() <= maximum, "Data must be at most " + maximum + " characters");
+            }
+            case "numeric":
+                noArgument(rule, argument);
+                return new Rule(ValidationRules::isNumeric, "Data must be numeric");
+            case "pattern":
+                return patternRule(rule, argument);
+            default:
+                throw new IllegalArgumentException("Unknown validation rule: " + rule);
+        }
+    }
+
+    private static void noArgument(String rule, String argument) {
+        if (argument != null) {
+            throw new IllegalArgumentException("Rule takes no argument: " + rule);
+        }
+    }
+
+    private static int length(String rule, String argument) {
+        try {
+            int length = Integer.parseInt(argument == null ? "" : argument.trim());
+            if (length >= 0) {
+                return length;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Rule needs a length that is not negative: " + rule);
+    }
+
+    private static Rule patternRule(String rule, String argument) {
+        if (argument == null || argument.isEmpty()) {
+            throw new IllegalArgumentException("Rule needs a regular expression: " + rule);
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(argument);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regular expression in rule " + rule + ": "
+                + e.getDescription());
+        }
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return new Rule(data -> matchers.get().reset(data).matches(), "Data must match " + argument);
+    }
+
+    private static boolean isNumeric(String data) {
+        int length = data.length();
+        int i = length > 0 && (data.charAt(0) == '-' || data.charAt(0) == '+') ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+        for (; i < length; i++) {
+            char c = data.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+
+    public boolean isValid(String data) {
+        String input = data == null ? "" : data;
+        for (Rule rule : rules) {
+            if (!rule.predicate.test(input)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks every rule and reports each failed one, in rule order
+     */
+    public ValidationResult validate(String data) {
+        String input = data == null ? "" : data;
+        int failed = 0;
+        String[] errors = NONE;
+        for (int i = 0; i < rules.length; i++) {
+            if (!rules[i].predicate.test(input)) {
+                if (failed == errors.length) {
+                    errors = Arrays.copyOf(errors, rules.length - i);
+                }
+                errors[failed++] = rules[i].message;
+            }
+        }
+        return new ValidationResult(failed == 0, failed == errors.length ? errors : Arrays.copyOf(errors, failed),
+            NONE);
+    }
+
+    /**
+     * Rules as compiled, one per rule
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    private static final class Rule {
+        final Predicate<String> predicate;
+        final String message;
+
+        Rule(Predicate<String> predicate, String message) {
+            this.predicate = predicate;
+            this.message = message;
+        }
+    }
+}
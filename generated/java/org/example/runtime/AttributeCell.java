@@ -0,0 +1,79 @@
+package org.example.runtime;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Current value of a FIDL attribute and the number of times it changed, backing the generated
+ * {@code get<Attribute>}, {@code set<Attribute>} and {@code <attribute>Changes()} methods.
+ * <p>
+ * {@link #get} is a single volatile load. Writers are serialized: a value equal to the current one (arrays by
+ * content) is ignored, any other value bumps the version and is published on {@link #changes()} before the
+ * next write, so subscribers only hear of real changes and in version order. Like events, values must not be
+ * modified once set.
+ */
+public final class AttributeCell<T> {
+
+    private final EventBus<T> changes;
+    private volatile T value;
+    // Written only while holding the cell's lock
+    private volatile long version;
+
+    public AttributeCell(String name, T initial) {
+        this.changes = new EventBus<>(name);
+        this.value = requireValue(initial);
+    }
+
+    public String getName() {
+        return changes.getName();
+    }
+
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Number of changes since construction; unchanged by writes of an equal value
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return false if {@code newValue} equals the current value, which then stays in place
+     */
+    public synchronized boolean set(T newValue) {
+        requireValue(newValue);
+        if (Objects.deepEquals(value, newValue)) {
+            return false;
+        }
+        value = newValue;
+        version++;
+        changes.publish(newValue);
+        return true;
+    }
+
+    /**
+     * Sets the result of {@code function} applied to the current value, atomically with respect to other writes
+     *
+     * @return the value after the update
+     */
+    public synchronized T update(UnaryOperator<T> function) {
+        set(function.apply(value));
+        return value;
+    }
+
+    /**
+     * Values the attribute changed to
+     */
+    public EventBus<T> changes() {
+        return changes;
+    }
+
+    private T requireValue(T candidate) {
+        if (candidate == null) {
+            throw new IllegalArgumentException("Attribute " + getName() + " must not be null");
+        }
+        return candidate;
+    }
+}
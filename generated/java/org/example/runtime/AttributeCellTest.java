@@ -0,0 +1,104 @@
+package org.example.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.example.calculator.CalculatorImpl;
+import org.example.common.CommonService.StatusLevel;
+import org.example.common.CommonServiceImpl;
+
+public class AttributeCellTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running AttributeCell Tests...");
+        testChanges();
+        testConcurrentWriters();
+        testServiceAttributes();
+        System.out.println("All AttributeCell tests passed");
+    }
+
+    private static void testChanges() throws Exception {
+        AttributeCell<String> cell = new AttributeCell<>("Test.mode", "basic");
+        List<String> seen = new ArrayList<>();
+        EventBus.Subscription<String> subscription = cell.changes().subscribe(seen::add, 16,
+            EventBus.Backpressure.BLOCK);
+        check(cell.get().equals("basic") && cell.getVersion() == 0, "initial value");
+        check(cell.set("scientific") && cell.getVersion() == 1, "change bumps the version");
+        check(!cell.set(new String("scientific")) && cell.getVersion() == 1, "equal value is ignored");
+        check(cell.update(mode -> mode + "!").equals("scientific!") && cell.getVersion() == 2, "update");
+        try {
+            cell.set(null);
+            throw new AssertionError("null must be rejected");
+        } catch (IllegalArgumentException expected) {
+            check(cell.get().equals("scientific!"), "rejected value leaves the cell alone");
+        }
+        check(subscription.awaitIdle(5, TimeUnit.SECONDS), "delivered");
+        check(seen.equals(List.of("scientific", "scientific!")), "only changes are notified: " + seen);
+
+        AttributeCell<byte[]> bytes = new AttributeCell<>("Test.bytes", new byte[] {1, 2});
+        check(!bytes.set(new byte[] {1, 2}) && bytes.set(new byte[] {1, 3}), "arrays compare by content");
+    }
+
+    private static void testConcurrentWriters() throws Exception {
+        AttributeCell<Long> cell = new AttributeCell<>("Test.counter", 0L);
+        List<Long> seen = new ArrayList<>();
+        cell.changes().subscribe(seen::add, 1024, EventBus.Backpressure.BLOCK);
+        int threads = 4;
+        int increments = 10_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < increments; i++) {
+                    cell.update(value -> value + 1);
+                    // Writes of the current value must neither notify nor count
+                    cell.update(value -> value);
+                }
+                done.countDown();
+            }).start();
+        }
+        check(done.await(30, TimeUnit.SECONDS), "writers finished");
+        long total = (long) threads * increments;
+        check(cell.get() == total && cell.getVersion() == total, "every update applied once");
+        check(cell.changes().awaitIdle(5, TimeUnit.SECONDS), "delivered");
+        check(seen.size() == total, "one notification per change, got " + seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            check(seen.get(i) == i + 1, "notifications in version order at " + i);
+        }
+    }
+
+    private static void testServiceAttributes() throws Exception {
+        CalculatorImpl calculator = new CalculatorImpl();
+        List<Byte> precisions = new ArrayList<>();
+        EventBus.Subscription<Byte> subscription = calculator.precisionChanges().subscribe(precisions::add, 16,
+            EventBus.Backpressure.BLOCK);
+        check(calculator.getPrecision().join() == 2, "default precision");
+        check(calculator.setPrecision((byte) 4).join() && calculator.getPrecision().join() == 4,
+            "setPrecision changes the attribute");
+        calculator.setPrecision((byte) 4).join();
+        check(!calculator.setPrecision((byte) 20).join(), "out of range precision");
+        check(subscription.awaitIdle(5, TimeUnit.SECONDS), "delivered");
+        check(precisions.equals(List.of((byte) 4)), "precision notified once: " + precisions);
+        check(calculator.setMode("abacus").isCompletedExceptionally(), "unknown mode rejected");
+        check(calculator.getMaxValue().join() == Double.MAX_VALUE, "readonly maximum");
+
+        CommonServiceImpl common = new CommonServiceImpl();
+        List<StatusLevel> statuses = new ArrayList<>();
+        EventBus.Subscription<StatusLevel> statusSubscription = common.currentStatusChanges().subscribe(
+            statuses::add, 16, EventBus.Backpressure.BLOCK);
+        common.simulateStatusChange(StatusLevel.WARNING, "test");
+        common.simulateStatusChange(StatusLevel.WARNING, "again");
+        common.simulateStatusChange(StatusLevel.OK, "recovered");
+        check(statusSubscription.awaitIdle(5, TimeUnit.SECONDS), "delivered");
+        check(statuses.equals(List.of(StatusLevel.WARNING, StatusLevel.OK)), "status changes: " + statuses);
+        check(common.getSystemStatus().join().status == StatusLevel.OK, "system status reads the attribute");
+        common.setDebugMode(true).join();
+        check(common.getDebugMode().join() && common.getUptime().join() >= 0, "debug mode and uptime");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
+import org.example.calculator.Calculator.Operation;
+import org.example.calculator.CalculatorImpl;
+
+/**
+ * Element throughput of {@link CalculatorImpl#calculateBatch} against one {@code calculate()} call per element.
+ * <p>
+ * Usage: {@code CalculatorBatchBenchmark [elements] [rounds]}. Prints elements per second for every operation
+ * on the scalar path, the batch path over arrays and the batch path over direct buffers.
+ */
+public class CalculatorBatchBenchmark {
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Random random = new Random(1);
+        double[] left = new double[elements];
+        double[] right = new double[elements];
+        for (int i = 0; i < elements; i++) {
+            left[i] = random.nextDouble() * 100;
+            right[i] = random.nextDouble() * 4 + 0.5;
+        }
+        DoubleBuffer directLeft = ByteBuffer.allocateDirect(elements * 8).asDoubleBuffer().put(left);
+        DoubleBuffer directRight = ByteBuffer.allocateDirect(elements * 8).asDoubleBuffer().put(right);
+        DoubleBuffer directResults = ByteBuffer.allocateDirect(elements * 8).asDoubleBuffer();
+        directLeft.flip();
+        directRight.flip();
+        double[] results = new double[elements];
+        long[] bitmap = new long[(elements + 63) / 64];
+        CalculatorImpl calculator = new CalculatorImpl();
+
+        System.out.println("=== Calculator batch throughput (" + elements + " elements, " + rounds + " rounds) ===");
+        System.out.printf("%-10s %16s %16s %16s%n", "operation", "scalar el/s", "array el/s", "direct el/s");
+        for (Operation operation : Operation.values()) {
+            // Scalar calls allocate a future and a result per element, so run fewer rounds
+            int scalarRounds = Math.max(1, rounds / 20);
+            Runnable scalar = () -> {
+                for (int i = 0; i < elements; i++) {
+                    calculator.calculate(left[i], right[i], operation).join();
+                }
+            };
+            Runnable array = () -> calculator.calculateBatch(operation, left, right, results, bitmap);
+            Runnable direct = () -> calculator.calculateBatch(operation, directLeft, directRight, directResults, bitmap);
+            double scalarRate = measure(scalar, scalarRounds, elements);
+            double arrayRate = measure(array, rounds, elements);
+            double directRate = measure(direct, rounds, elements);
+            System.out.printf("%-10s %16.0f %16.0f %16.0f%n", operation, scalarRate, arrayRate, directRate);
+        }
+    }
+
+    private static double measure(Runnable round, int rounds, int elements) {
+        for (int i = 0; i < rounds; i++) {
+            round.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            round.run();
+        }
+        return (double) rounds * elements / ((System.nanoTime() - begin) / 1e9);
+    }
+}
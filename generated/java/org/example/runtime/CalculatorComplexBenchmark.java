@@ -0,0 +1,67 @@
+package org.example.runtime;
+
+import java.util.Random;
+
+import org.example.calculator.Calculator.ComplexNumber;
+import org.example.calculator.Calculator.Operation;
+import org.example.calculator.CalculatorBatch;
+import org.example.calculator.CalculatorImpl;
+
+/**
+ * Element throughput of {@link CalculatorImpl#calculateComplexBatch} on structure-of-arrays operands against
+ * one {@code calculateComplex()} call per element.
+ * <p>
+ * Usage: {@code CalculatorComplexBenchmark [elements] [rounds]}. Prints elements per second for every operation.
+ */
+public class CalculatorComplexBenchmark {
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Random random = new Random(1);
+        double[] leftReal = new double[elements];
+        double[] leftImaginary = new double[elements];
+        double[] rightReal = new double[elements];
+        double[] rightImaginary = new double[elements];
+        ComplexNumber[] left = new ComplexNumber[elements];
+        ComplexNumber[] right = new ComplexNumber[elements];
+        for (int i = 0; i < elements; i++) {
+            leftReal[i] = random.nextDouble() * 4 - 2;
+            leftImaginary[i] = random.nextDouble() * 4 - 2;
+            rightReal[i] = random.nextDouble() * 4 - 2;
+            rightImaginary[i] = random.nextDouble() * 4 - 2;
+            left[i] = new ComplexNumber(leftReal[i], leftImaginary[i]);
+            right[i] = new ComplexNumber(rightReal[i], rightImaginary[i]);
+        }
+        double[] resultReal = new double[elements];
+        double[] resultImaginary = new double[elements];
+        long[] bitmap = new long[CalculatorBatch.bitmapLength(elements)];
+        CalculatorImpl calculator = new CalculatorImpl();
+
+        System.out.println("=== Complex calculator throughput (" + elements + " elements, " + rounds + " rounds) ===");
+        System.out.printf("%-10s %16s %16s%n", "operation", "scalar el/s", "SoA batch el/s");
+        for (Operation operation : Operation.values()) {
+            Runnable scalar = () -> {
+                for (int i = 0; i < elements; i++) {
+                    calculator.calculateComplex(left[i], right[i], operation).join();
+                }
+            };
+            Runnable batch = () -> calculator.calculateComplexBatch(operation, leftReal, leftImaginary,
+                rightReal, rightImaginary, resultReal, resultImaginary, bitmap);
+            double scalarRate = measure(scalar, Math.max(1, rounds / 20), elements);
+            double batchRate = measure(batch, rounds, elements);
+            System.out.printf("%-10s %16.0f %16.0f%n", operation, scalarRate, batchRate);
+        }
+    }
+
+    private static double measure(Runnable round, int rounds, int elements) {
+        for (int i = 0; i < rounds; i++) {
+            round.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            round.run();
+        }
+        return (double) rounds * elements / ((System.nanoTime() - begin) / 1e9);
+    }
+}
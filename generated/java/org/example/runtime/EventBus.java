@@ -0,0 +1,692 @@
+package org.example.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Publish/subscribe channel of one broadcast, delivering events off the publishing thread.
+ * <p>
+ * Every subscriber owns a bounded ring buffer that is drained by at most one delivery task at a time, so it
+ * sees events in publication order and a slow subscriber only delays itself. When a subscriber's buffer is
+ * full, its {@link Backpressure} policy decides what happens to the new event, and a subscriber can cap its
+ * delivery rate with {@link #subscribe(Consumer, long, TimeUnit)}. All subscribers receive the same event
+ * instance and must treat it as read-only.
+ * <p>
+ * {@link #setListener} keeps the single-listener semantics of the generated {@code set<Broadcast>Listener}
+ * methods: it replaces the subscription made by its previous call and leaves other subscribers alone.
+ * <p>
+ * A pooled bus ({@link #EventBus(String, int, Supplier)}) preallocates its events in a ring of {@link Slot}s.
+ * Publishers {@link #claim} a slot, fill its event and {@link #publish(Slot)} it; the slot is reused once every
+ * subscriber has returned from its listener or dropped the event, so listeners must not keep the event.
+ * Each subscriber of a pooled bus is served by its own delivery thread that parks while the queue is empty,
+ * which keeps both publishing and delivery free of allocations. At most {@link #MAX_DELIVERY_THREADS} such
+ * threads exist across all buses; further pooled subscribers are served by the shared dispatcher, whose
+ * hand-offs allocate.
+ */
+public final class EventBus<E> {
+
+    public enum Backpressure {
+        /** Discard the oldest queued event to make room; the publisher never waits */
+        DROP_OLDEST,
+        /** Wait until the subscriber has made room; a publisher interrupted while waiting drops the event */
+        BLOCK,
+        /** Replace the newest queued event, so the subscriber catches up with the latest state */
+        COALESCE
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Limit on the dedicated delivery threads of pooled subscribers, so subscribing cannot exhaust threads
+     */
+    public static final int MAX_DELIVERY_THREADS = 64;
+
+    private static final AtomicInteger DISPATCHER_THREADS = new AtomicInteger();
+    private static final AtomicInteger DELIVERY_THREADS = new AtomicInteger();
+
+    /**
+     * Resumes rate-limited subscribers once their interval has elapsed, so waiting never holds a dispatcher
+     * thread
+     */
+    private static final ScheduledExecutorService DELAYED_DISPATCH = Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+            Thread thread = new Thread(runnable, "event-delayed-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    /**
+     * Shared by all unpooled buses that are not given a dispatcher; threads are created on demand and retire
+     * when idle
+     */
+    private static final ExecutorService DEFAULT_DISPATCHER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "event-dispatch-" + DISPATCHER_THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final Executor dispatcher;
+    private final Supplier<E> factory;
+    private final Slot<E>[] pool;
+    private final AtomicInteger claimCursor = new AtomicInteger();
+    private final LongAdder poolMisses = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private volatile Subscription<?>[] subscriptions = new Subscription<?>[0];
+    private Subscription<E> listenerSubscription;
+
+    public EventBus(String name) {
+        this(name, DEFAULT_DISPATCHER);
+    }
+
+    /**
+     * @param dispatcher runs the delivery tasks; an inline executor delivers on the publishing thread
+     */
+    public EventBus(String name, Executor dispatcher) {
+        this(name, dispatcher, null, 0);
+    }
+
+    /**
+     * Bus whose events come from {@code factory}. With a positive {@code poolSize} that many events are
+     * created up front and recycled; it should exceed the largest subscriber capacity, since claims beyond the
+     * pool fall back to fresh events (see {@link #getPoolMisses}). With a {@code poolSize} of 0 every
+     * {@link #claim} creates a fresh event and delivery runs on the shared dispatcher.
+     */
+    public EventBus(String name, int poolSize, Supplier<E> factory) {
+        this(name, poolSize > 0 ? null : DEFAULT_DISPATCHER, factory, poolSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EventBus(String name, Executor dispatcher, Supplier<E> factory, int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("Pool size must not be negative, got " + poolSize);
+        }
+        this.name = name;
+        this.dispatcher = dispatcher;
+        this.factory = factory;
+        this.pool = poolSize > 0 ? (Slot<E>[]) new Slot<?>[poolSize] : null;
+        for (int i = 0; i < poolSize; i++) {
+            pool[i] = new Slot<>(factory.get());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    /**
+     * Dedicated delivery threads currently running
+     */
+    static int getDeliveryThreads() {
+        return DELIVERY_THREADS.get();
+    }
+
+    public Subscription<E> subscribe(Consumer<? super E> listener) {
+        return subscribe(listener, DEFAULT_CAPACITY, Backpressure.DROP_OLDEST);
+    }
+
+    public Subscription<E> subscribe(Consumer<? super E> listener, int capacity, Backpressure policy) {
+        if (listener == null || policy == null) {
+            throw new IllegalArgumentException("Listener and policy are required");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, got " + capacity);
+        }
+        return add(new Subscription<>(this, nextId.getAndIncrement(), listener, capacity, policy, 0));
+    }
+
+    /**
+     * Delivers at most one event per {@code interval}, always the latest: events published while the
+     * subscriber waits for its next turn replace the pending one and count as coalesced. The pending event is
+     * delivered once the interval has elapsed, so the subscriber ends up with the final state.
+     */
+    public Subscription<E> subscribe(Consumer<? super E> listener, long interval, TimeUnit unit) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener is required");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive, got " + interval);
+        }
+        return add(new Subscription<>(this, nextId.getAndIncrement(), listener, 1, Backpressure.COALESCE,
+            unit.toNanos(interval)));
+    }
+
+    private synchronized Subscription<E> add(Subscription<E> subscription) {
+        Subscription<?>[] current = subscriptions;
+        Subscription<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        return subscription;
+    }
+
+    /**
+     * Replaces the listener registered by the previous call; {@code null} only removes it
+     */
+    public synchronized void setListener(Consumer<? super E> listener) {
+        if (listenerSubscription != null) {
+            listenerSubscription.close();
+            listenerSubscription = null;
+        }
+        if (listener != null) {
+            listenerSubscription = subscribe(listener);
+        }
+    }
+
+    /**
+     * Queues {@code event} for every current subscriber. Returns immediately unless a subscriber with the
+     * {@link Backpressure#BLOCK} policy is full.
+     */
+    public void publish(E event) {
+        published.increment();
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Takes an event to fill and pass to {@link #publish(Slot)}. Never blocks: when every pooled slot is still
+     * referenced by a subscriber, a fresh event is created instead.
+     *
+     * @throws IllegalStateException if the bus was created without an event factory
+     */
+    public Slot<E> claim() {
+        if (factory == null) {
+            throw new IllegalStateException("Event bus " + name + " has no event factory");
+        }
+        if (pool != null) {
+            int start = claimCursor.getAndIncrement();
+            for (int i = 0; i < pool.length; i++) {
+                Slot<E> slot = pool[Math.floorMod(start + i, pool.length)];
+                if (slot.references.get() == 0 && slot.references.compareAndSet(0, 1)) {
+                    return slot;
+                }
+            }
+            poolMisses.increment();
+        }
+        Slot<E> slot = new Slot<>(factory.get());
+        slot.references.set(1);
+        return slot;
+    }
+
+    /**
+     * Queues a claimed event like {@link #publish(Object)}; the slot returns to the pool after the last
+     * subscriber is done with it
+     */
+    public void publish(Slot<E> slot) {
+        published.increment();
+        Subscription<?>[] current = subscriptions;
+        // Hold the claim's reference until every subscriber has its own, so no early release recycles the slot
+        slot.references.addAndGet(current.length);
+        for (Subscription<?> subscription : current) {
+            subscription.offer(slot);
+        }
+        slot.release();
+    }
+
+    /**
+     * Lets publishers skip building events nobody receives
+     */
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    /**
+     * Claims that found every pooled slot in use and created a fresh event
+     */
+    public long getPoolMisses() {
+        return poolMisses.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Subscription<E>> getSubscriptions() {
+        List<Subscription<E>> list = new ArrayList<>();
+        for (Subscription<?> subscription : subscriptions) {
+            list.add((Subscription<E>) subscription);
+        }
+        return list;
+    }
+
+    /**
+     * Events queued across all subscribers
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Subscription<?> subscription : subscriptions) {
+            depth += subscription.getQueueDepth();
+        }
+        return depth;
+    }
+
+    /**
+     * Events current subscribers lost to {@link Backpressure#DROP_OLDEST}, interrupted publishers or closing
+     */
+    public long getDropped() {
+        long dropped = 0;
+        for (Subscription<?> subscription : subscriptions) {
+            dropped += subscription.getDropped();
+        }
+        return dropped;
+    }
+
+    /**
+     * Waits until every current subscriber has processed its queued events, e.g. before shutting down
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Subscription<?> subscription : subscriptions) {
+            if (!subscription.awaitIdle(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prometheus text format, one series per subscriber and metric
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        out.append("someip_event_published_total{event=\"").append(name).append("\"} ")
+           .append(getPublished()).append('\n');
+        if (pool != null) {
+            out.append("someip_event_pool_misses_total{event=\"").append(name).append("\"} ")
+               .append(getPoolMisses()).append('\n');
+        }
+        for (Subscription<?> subscription : subscriptions) {
+            String labels = "event=\"" + name + "\",subscriber=\"" + subscription.getId() + "\"";
+            out.append("someip_event_queue_depth{").append(labels).append("} ")
+               .append(subscription.getQueueDepth()).append('\n');
+            out.append("someip_event_queue_depth_max{").append(labels).append("} ")
+               .append(subscription.getMaxQueueDepth()).append('\n');
+            out.append("someip_event_delivered_total{").append(labels).append("} ")
+               .append(subscription.getDelivered()).append('\n');
+            out.append("someip_event_dropped_total{").append(labels).append("} ")
+               .append(subscription.getDropped()).append('\n');
+            out.append("someip_event_coalesced_total{").append(labels).append("} ")
+               .append(subscription.getCoalesced()).append('\n');
+            out.append("someip_event_failed_total{").append(labels).append("} ")
+               .append(subscription.getFailed()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private synchronized void remove(Subscription<?> subscription) {
+        Subscription<?>[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription<?>[] updated = new Subscription<?>[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * A claimed event together with the number of subscribers that have yet to finish with it
+     */
+    public static final class Slot<E> {
+        private final E event;
+        private final AtomicInteger references = new AtomicInteger();
+
+        Slot(E event) {
+            this.event = event;
+        }
+
+        public E get() {
+            return event;
+        }
+
+        void release() {
+            references.decrementAndGet();
+        }
+    }
+
+    /**
+     * One subscriber's ring buffer and delivery state. Closing it discards the events still queued.
+     */
+    public static final class Subscription<E> implements AutoCloseable {
+        private final EventBus<E> bus;
+        private final int id;
+        private final Consumer<? super E> listener;
+        private final Backpressure policy;
+        private final Object[] ring;
+        private final Object lock = new Object();
+        private final Runnable drainTask = this::drain;
+        private final Runnable dispatchTask = this::dispatch;
+        private final Thread worker;
+        private final Executor executor;
+        private final long minIntervalNanos;
+
+        // Guarded by lock; delivery is scheduled or running whenever size > 0
+        private int head;
+        private int size;
+        private boolean scheduled;
+        private boolean closed;
+        private int waiters;
+        private int maxDepth;
+        private long dropped;
+        private long coalesced;
+        private long nextDelivery;
+
+        // Written only by the single active delivery task
+        private volatile long delivered;
+        private volatile long failed;
+
+        Subscription(EventBus<E> bus, int id, Consumer<? super E> listener, int capacity, Backpressure policy,
+                     long minIntervalNanos) {
+            this.bus = bus;
+            this.id = id;
+            this.listener = listener;
+            this.policy = policy;
+            this.ring = new Object[capacity];
+            this.minIntervalNanos = minIntervalNanos;
+            this.nextDelivery = System.nanoTime();
+            this.executor = bus.dispatcher != null ? bus.dispatcher : DEFAULT_DISPATCHER;
+            this.worker = bus.dispatcher == null ? startWorker() : null;
+        }
+
+        /**
+         * @return null when {@link #MAX_DELIVERY_THREADS} are already running
+         */
+        private Thread startWorker() {
+            if (DELIVERY_THREADS.incrementAndGet() > MAX_DELIVERY_THREADS) {
+                DELIVERY_THREADS.decrementAndGet();
+                return null;
+            }
+            Thread thread = new Thread(this::runWorker, "event-" + bus.name + "-" + id);
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+
+        /**
+         * @param item an event, or a {@link Slot} whose reference for this subscriber has been taken
+         */
+        void offer(Object item) {
+            boolean schedule;
+            synchronized (lock) {
+                if (closed) {
+                    release(item);
+                    return;
+                }
+                if (size == ring.length) {
+                    switch (policy) {
+                        case DROP_OLDEST:
+                            release(ring[head]);
+                            ring[head] = null;
+                            head = (head + 1) % ring.length;
+                            size--;
+                            dropped++;
+                            break;
+                        case COALESCE:
+                            int newest = (head + size - 1) % ring.length;
+                            release(ring[newest]);
+                            ring[newest] = item;
+                            coalesced++;
+                            return;
+                        case BLOCK:
+                            if (!awaitRoom()) {
+                                dropped++;
+                                release(item);
+                                return;
+                            }
+                            break;
+                        default:
+                            throw new IllegalStateException("Unknown policy " + policy);
+                    }
+                }
+                ring[(head + size) % ring.length] = item;
+                size++;
+                maxDepth = Math.max(maxDepth, size);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                dispatch();
+            }
+        }
+
+        /**
+         * Called holding the lock
+         *
+         * @return false if the subscription was closed or the publisher interrupted while waiting
+         */
+        private boolean awaitRoom() {
+            waiters++;
+            try {
+                while (size == ring.length && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+                return !closed;
+            } finally {
+                waiters--;
+            }
+        }
+
+        private void dispatch() {
+            if (worker != null) {
+                LockSupport.unpark(worker);
+                return;
+            }
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                // Keep the events; the next publish retries the hand-off
+                synchronized (lock) {
+                    scheduled = false;
+                }
+            }
+        }
+
+        private void runWorker() {
+            try {
+                while (true) {
+                    drain();
+                    while (true) {
+                        synchronized (lock) {
+                            if (closed) {
+                                return;
+                            }
+                            if (scheduled) {
+                                break;
+                            }
+                        }
+                        // A publish between the check and park leaves a permit, so park returns at once
+                        LockSupport.park(this);
+                    }
+                }
+            } finally {
+                DELIVERY_THREADS.decrementAndGet();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            while (true) {
+                Object item = null;
+                long wait = 0;
+                synchronized (lock) {
+                    if (size == 0 || closed) {
+                        scheduled = false;
+                        if (waiters > 0) {
+                            lock.notifyAll();
+                        }
+                        return;
+                    }
+                    if (minIntervalNanos > 0) {
+                        long now = System.nanoTime();
+                        wait = nextDelivery - now;
+                        if (wait <= 0) {
+                            nextDelivery = now + minIntervalNanos;
+                        }
+                    }
+                    if (wait <= 0) {
+                        item = ring[head];
+                        ring[head] = null;
+                        head = (head + 1) % ring.length;
+                        size--;
+                        if (waiters > 0) {
+                            lock.notifyAll();
+                        }
+                    }
+                }
+                if (wait > 0) {
+                    // Publications meanwhile coalesce into the pending event
+                    if (worker != null) {
+                        LockSupport.parkNanos(this, wait);
+                        continue;
+                    }
+                    // Give the dispatcher thread back; scheduled stays set, so publishing starts no other drain
+                    DELAYED_DISPATCH.schedule(dispatchTask, wait, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                try {
+                    listener.accept(item instanceof Slot ? ((Slot<E>) item).get() : (E) item);
+                    delivered++;
+                } catch (RuntimeException e) {
+                    // A failing listener must not stop delivery to itself or stall the dispatcher
+                    failed++;
+                } finally {
+                    release(item);
+                }
+            }
+        }
+
+        private static void release(Object item) {
+            if (item instanceof Slot) {
+                ((Slot<?>) item).release();
+            }
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public Backpressure getPolicy() {
+            return policy;
+        }
+
+        public int getCapacity() {
+            return ring.length;
+        }
+
+        public int getQueueDepth() {
+            synchronized (lock) {
+                return size;
+            }
+        }
+
+        /**
+         * Highest queue depth seen since subscribing
+         */
+        public int getMaxQueueDepth() {
+            synchronized (lock) {
+                return maxDepth;
+            }
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        public long getDropped() {
+            synchronized (lock) {
+                return dropped;
+            }
+        }
+
+        public long getCoalesced() {
+            synchronized (lock) {
+                return coalesced;
+            }
+        }
+
+        /**
+         * Events whose listener threw
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * Waits until the queue is empty and the last event has been handed to the listener
+         *
+         * @return false if the timeout elapsed first
+         */
+        public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (lock) {
+                waiters++;
+                try {
+                    while (scheduled && !closed) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return false;
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    }
+                    return true;
+                } finally {
+                    waiters--;
+                }
+            }
+        }
+
+        public boolean isClosed() {
+            synchronized (lock) {
+                return closed;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                dropped += size;
+                for (int i = 0; i < size; i++) {
+                    release(ring[(head + i) % ring.length]);
+                }
+                Arrays.fill(ring, null);
+                size = 0;
+                lock.notifyAll();
+            }
+            if (worker != null) {
+                LockSupport.unpark(worker);
+            }
+            bus.remove(this);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package org.example.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorImpl;
+import org.example.common.CommonService;
+import org.example.common.CommonServiceImpl;
+
+public class EventBusTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running EventBus Tests...");
+        testFanOut();
+        testDropOldest();
+        testCoalesce();
+        testBlock();
+        testListenerReplacementAndClose();
+        testFailingListener();
+        testThrottle();
+        testSlowListenerDoesNotStallCalculator();
+        testPooledReuse();
+        testPooledZeroAllocation();
+        testPooledServices();
+        testDeliveryThreadLimit();
+        System.out.println("All EventBus tests passed");
+    }
+
+    private static void testFanOut() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.fanOut");
+        check(!bus.hasSubscribers(), "no subscribers yet");
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Integer> a = bus.subscribe(event -> {
+            threads.add(Thread.currentThread());
+            first.add(event);
+        });
+        EventBus.Subscription<Integer> b = bus.subscribe(second::add);
+        for (int i = 0; i < 1000; i++) {
+            bus.publish(i);
+        }
+        awaitDelivered(a, 1000);
+        awaitDelivered(b, 1000);
+        for (int i = 0; i < 1000; i++) {
+            check(first.get(i) == i && second.get(i) == i, "every subscriber gets every event in order");
+        }
+        check(!threads.contains(Thread.currentThread()), "delivered off the publishing thread");
+        for (int i = 0; i < 100; i++) {
+            bus.publish(i);
+        }
+        check(bus.awaitIdle(5, TimeUnit.SECONDS) && a.getDelivered() == 1100 && b.getDelivered() == 1100,
+            "awaitIdle waits for delivery");
+        check(bus.getPublished() == 1100 && bus.getDropped() == 0, "bus counters");
+    }
+
+    private static void testDropOldest() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.dropOldest");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> slow = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Integer> blocked = bus.subscribe(blockingListener(release, slow), 10,
+            EventBus.Backpressure.DROP_OLDEST);
+        EventBus.Subscription<Integer> fast = bus.subscribe(event -> { }, 1000, EventBus.Backpressure.DROP_OLDEST);
+
+        bus.publish(0);
+        awaitQueueDepth(blocked, 0);
+        long start = System.nanoTime();
+        for (int i = 1; i <= 100; i++) {
+            bus.publish(i);
+        }
+        check(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "publisher not stalled by a slow subscriber");
+        awaitDelivered(fast, 101);
+        check(blocked.getQueueDepth() == 10 && blocked.getMaxQueueDepth() == 10, "queue bounded");
+        check(blocked.getDropped() == 90 && fast.getDropped() == 0, "drops counted per subscriber");
+
+        release.countDown();
+        awaitDelivered(blocked, 11);
+        check(slow.get(0) == 0 && slow.get(1) == 91 && slow.get(10) == 100, "oldest events dropped");
+        String scrape = bus.scrape();
+        check(scrape.contains("someip_event_dropped_total{event=\"test.dropOldest\",subscriber=\"0\"} 90"),
+            "scrape reports drops");
+        check(scrape.contains("someip_event_queue_depth_max{event=\"test.dropOldest\",subscriber=\"0\"} 10"),
+            "scrape reports queue depth");
+    }
+
+    private static void testCoalesce() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.coalesce");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Integer> subscription = bus.subscribe(blockingListener(release, received), 4,
+            EventBus.Backpressure.COALESCE);
+        bus.publish(0);
+        awaitQueueDepth(subscription, 0);
+        for (int i = 1; i <= 50; i++) {
+            bus.publish(i);
+        }
+        release.countDown();
+        awaitDelivered(subscription, 5);
+        check(received.get(4) == 50, "latest state delivered last");
+        check(subscription.getCoalesced() == 46 && subscription.getDropped() == 0, "coalesced count");
+    }
+
+    private static void testBlock() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.block");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Integer> subscription = bus.subscribe(blockingListener(release, received), 2,
+            EventBus.Backpressure.BLOCK);
+        bus.publish(0);
+        awaitQueueDepth(subscription, 0);
+        bus.publish(1);
+        bus.publish(2);
+        Thread publisher = new Thread(() -> bus.publish(3));
+        publisher.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (publisher.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(publisher.getState() == Thread.State.WAITING, "publisher waits for room");
+        release.countDown();
+        publisher.join(5000);
+        awaitDelivered(subscription, 4);
+        check(received.equals(List.of(0, 1, 2, 3)) && subscription.getDropped() == 0, "nothing lost when blocking");
+    }
+
+    private static void testListenerReplacementAndClose() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.listener");
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Integer> other = bus.subscribe(event -> { });
+        bus.setListener(first::add);
+        bus.setListener(second::add);
+        check(bus.getSubscriptions().size() == 2, "setListener replaces only its own subscription");
+        bus.publish(1);
+        awaitDelivered(other, 1);
+        for (EventBus.Subscription<Integer> subscription : bus.getSubscriptions()) {
+            awaitDelivered(subscription, 1);
+        }
+        bus.setListener(null);
+        other.close();
+        check(!bus.hasSubscribers() && other.isClosed(), "closed subscriptions removed");
+        bus.publish(2);
+        Thread.sleep(20);
+        check(first.isEmpty() && second.equals(List.of(1)), "replaced listener receives nothing");
+    }
+
+    private static void testFailingListener() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.failing");
+        EventBus.Subscription<Integer> subscription = bus.subscribe(event -> {
+            if (event % 2 == 0) {
+                throw new IllegalStateException("listener bug");
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            bus.publish(i);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscription.getDelivered() + subscription.getFailed() < 10 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(subscription.getDelivered() == 5 && subscription.getFailed() == 5, "failures counted, delivery goes on");
+    }
+
+    private static void testThrottle() throws Exception {
+        EventBus<Integer> bus = new EventBus<>("test.throttle");
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Integer> subscription = bus.subscribe(received::add, 50, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            bus.publish(i);
+        }
+        check(bus.awaitIdle(5, TimeUnit.SECONDS), "throttled subscriber catches up");
+        long elapsed = System.nanoTime() - start;
+        check(received.size() <= 3 && received.get(received.size() - 1) == 99, "latest event delivered " + received);
+        check(received.size() == 1 || elapsed >= TimeUnit.MILLISECONDS.toNanos(50), "interval respected");
+        check(subscription.getDelivered() + subscription.getCoalesced() == 100 && subscription.getDropped() == 0,
+            "skipped events counted as coalesced");
+
+        // Waiting for the next turn must not hold the dispatcher's only thread
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            EventBus<Integer> shared = new EventBus<>("test.throttleShared", single);
+            shared.subscribe(value -> { }, 1, TimeUnit.SECONDS);
+            List<Integer> other = Collections.synchronizedList(new ArrayList<>());
+            EventBus.Subscription<Integer> unthrottled = shared.subscribe(other::add);
+            shared.publish(1);
+            check(shared.awaitIdle(5, TimeUnit.SECONDS), "first event delivered at once");
+            long secondPublished = System.nanoTime();
+            shared.publish(2);
+            awaitDelivered(unthrottled, 2);
+            check(System.nanoTime() - secondPublished < TimeUnit.MILLISECONDS.toNanos(500),
+                "throttled subscriber held the dispatcher's thread");
+        } finally {
+            single.shutdownNow();
+        }
+        try {
+            bus.subscribe(received::add, 0, TimeUnit.MILLISECONDS);
+            check(false, "zero interval accepted");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static void testSlowListenerDoesNotStallCalculator() throws Exception {
+        CalculatorImpl calculator = new CalculatorImpl();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Double> slow = Collections.synchronizedList(new ArrayList<>());
+        calculator.calculationCompletedEvents().subscribe(event -> {
+            await(release);
+            slow.add(event.result.result);
+        }, 16, EventBus.Backpressure.DROP_OLDEST);
+        List<Double> all = Collections.synchronizedList(new ArrayList<>());
+        calculator.setCalculationCompletedListener(event -> all.add(event.result.result));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            calculator.calculate(i, 1, Calculator.Operation.ADD).join();
+        }
+        check(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "calculate not stalled by a slow listener");
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((all.size() < 1000 || slow.size() < 17) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(all.size() == 1000 && all.get(999) == 1000.0, "listener set through the interface gets everything");
+        check(slow.size() == 17 && slow.get(16) == 1000.0, "slow subscriber keeps the newest events");
+    }
+
+    private static void testPooledReuse() throws Exception {
+        EventBus<Sample> bus = new EventBus<>("test.pooledReuse", 4, Sample::new);
+        check(bus.isPooled(), "pooled bus");
+        EventBus.Slot<Sample> unsubscribed = bus.claim();
+        bus.publish(unsubscribed);
+        EventBus.Slot<Sample> next = bus.claim();
+        check(next.get() != unsubscribed.get(), "claims rotate through the pool");
+        bus.publish(next);
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Sample> subscription = bus.subscribe(event -> {
+            await(release);
+            received.add(event.value);
+        }, 8, EventBus.Backpressure.DROP_OLDEST);
+        for (int i = 0; i < 6; i++) {
+            EventBus.Slot<Sample> slot = bus.claim();
+            slot.get().value = i;
+            bus.publish(slot);
+        }
+        check(bus.getPoolMisses() == 2, "claims beyond the pool create fresh events, got " + bus.getPoolMisses());
+        release.countDown();
+        awaitDelivered(subscription, 6);
+        check(received.equals(List.of(0L, 1L, 2L, 3L, 4L, 5L)), "values survive until delivered");
+
+        subscription.close();
+
+        // Every slot is free again, so four claims held at once are served by the pool
+        for (int i = 0; i < 4; i++) {
+            bus.claim();
+        }
+        check(bus.getPoolMisses() == 2, "delivered slots return to the pool");
+        check(bus.scrape().contains("someip_event_pool_misses_total{event=\"test.pooledReuse\"} 2"),
+            "scrape reports pool misses");
+
+        try {
+            new EventBus<Sample>("test.unpooled").claim();
+            check(false, "claim without a factory");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    private static void testPooledZeroAllocation() throws Exception {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        EventBus<Sample> bus = new EventBus<>("test.pooledAllocation", 64, Sample::new);
+        SequenceChecker first = new SequenceChecker();
+        SequenceChecker second = new SequenceChecker();
+        EventBus.Subscription<Sample> a = bus.subscribe(first, 16, EventBus.Backpressure.BLOCK);
+        EventBus.Subscription<Sample> b = bus.subscribe(second, 16, EventBus.Backpressure.BLOCK);
+
+        int warmUp = 200_000;
+        publishSequence(bus, 0, warmUp);
+        check(bus.awaitIdle(10, TimeUnit.SECONDS), "warm-up delivered");
+
+        int events = 1_000_000;
+        long publisher = Thread.currentThread().getId();
+        long publisherBefore = threads.getThreadAllocatedBytes(publisher);
+        long firstBefore = threads.getThreadAllocatedBytes(first.threadId);
+        long secondBefore = threads.getThreadAllocatedBytes(second.threadId);
+        publishSequence(bus, warmUp, events);
+        long publisherBytes = threads.getThreadAllocatedBytes(publisher) - publisherBefore;
+        check(bus.awaitIdle(10, TimeUnit.SECONDS), "events delivered");
+        long deliveryBytes = threads.getThreadAllocatedBytes(first.threadId) - firstBefore
+            + threads.getThreadAllocatedBytes(second.threadId) - secondBefore;
+
+        check(a.getDelivered() == warmUp + events && b.getDelivered() == warmUp + events, "all delivered");
+        check(first.outOfOrder == 0 && second.outOfOrder == 0, "pooled events delivered intact and in order");
+        check(bus.getPoolMisses() == 0, "pool large enough for BLOCK subscribers, misses " + bus.getPoolMisses());
+        // A few hundred bytes of slack for safepoint and profiling bookkeeping, far below one byte per event
+        check(publisherBytes < 1024, "publisher allocated " + publisherBytes + " bytes for " + events + " events");
+        check(deliveryBytes < 1024, "delivery allocated " + deliveryBytes + " bytes for " + events + " events");
+        a.close();
+        b.close();
+    }
+
+    private static void testPooledServices() throws Exception {
+        CalculatorImpl calculator = new CalculatorImpl(ServiceExecutor.inline(), 64);
+        List<Double> results = Collections.synchronizedList(new ArrayList<>());
+        EventBus.Subscription<Calculator.CalculationCompletedEvent> completed = calculator.calculationCompletedEvents()
+            .subscribe(event -> results.add(event.result.result), 16, EventBus.Backpressure.BLOCK);
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        calculator.setErrorOccurredListener(event -> errors.add(event.errorMessage));
+        for (int i = 0; i < 10_000; i++) {
+            calculator.calculate(i, 1, Calculator.Operation.ADD).join();
+        }
+        calculator.calculate(1, 0, Calculator.Operation.DIVIDE).join();
+        awaitDelivered(completed, 10_000);
+        check(calculator.errorOccurredEvents().awaitIdle(5, TimeUnit.SECONDS), "error delivered");
+        boolean inOrder = true;
+        for (int i = 0; i < 10_000; i++) {
+            inOrder &= results.get(i) == i + 1;
+        }
+        check(inOrder && calculator.calculationCompletedEvents().getPoolMisses() == 0, "pooled calculator events");
+        check(errors.equals(List.of("Division by zero")), "pooled error event");
+
+        CommonServiceImpl service = new CommonServiceImpl(ServiceExecutor.inline(), 8);
+        List<String> statuses = Collections.synchronizedList(new ArrayList<>());
+        service.setStatusChangedListener(event ->
+            statuses.add(event.newStatus + " " + event.reason + " " + (event.timestamp.isoFormat != null)));
+        service.simulateStatusChange(CommonService.StatusLevel.WARNING, "hot");
+        service.simulateStatusChange(CommonService.StatusLevel.OK, "cool");
+        check(service.statusChangedEvents().awaitIdle(5, TimeUnit.SECONDS), "status events delivered");
+        check(statuses.equals(List.of("WARNING hot true", "OK cool true")), "pooled status events " + statuses);
+    }
+
+    private static void testDeliveryThreadLimit() throws Exception {
+        int before = EventBus.getDeliveryThreads();
+        EventBus<Sample> bus = new EventBus<>("test.deliveryThreads", 4, Sample::new);
+        List<EventBus.Subscription<Sample>> subscriptions = new ArrayList<>();
+        for (int i = 0; i < EventBus.MAX_DELIVERY_THREADS + 4; i++) {
+            subscriptions.add(bus.subscribe(event -> { }, 4, EventBus.Backpressure.BLOCK));
+        }
+        check(EventBus.getDeliveryThreads() == EventBus.MAX_DELIVERY_THREADS, "delivery threads capped, got "
+            + EventBus.getDeliveryThreads());
+        for (int i = 0; i < 10; i++) {
+            bus.publish(bus.claim());
+        }
+        for (EventBus.Subscription<Sample> subscription : subscriptions) {
+            awaitDelivered(subscription, 10);
+            subscription.close();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (EventBus.getDeliveryThreads() > before && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(EventBus.getDeliveryThreads() <= before, "closed subscriptions release their delivery threads");
+    }
+
+    private static void publishSequence(EventBus<Sample> bus, long from, int count) {
+        for (long i = from; i < from + count; i++) {
+            EventBus.Slot<Sample> slot = bus.claim();
+            slot.get().value = i;
+            bus.publish(slot);
+        }
+    }
+
+    private static final class Sample {
+        long value;
+    }
+
+    /**
+     * Allocation-free listener that counts events not following their predecessor
+     */
+    private static final class SequenceChecker implements Consumer<Sample> {
+        volatile long threadId;
+        long next;
+        long outOfOrder;
+
+        @Override
+        public void accept(Sample event) {
+            if (next == 0) {
+                threadId = Thread.currentThread().getId();
+            }
+            if (event.value != next) {
+                outOfOrder++;
+            }
+            next = event.value + 1;
+        }
+    }
+
+    private static Consumer<Integer> blockingListener(CountDownLatch release, List<Integer> received) {
+        return event -> {
+            await(release);
+            received.add(event);
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitDelivered(EventBus.Subscription<?> subscription, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscription.getDelivered() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(subscription.getDelivered() == count, "delivered " + subscription.getDelivered() + " of " + count);
+    }
+
+    private static void awaitQueueDepth(EventBus.Subscription<?> subscription, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscription.getQueueDepth() != depth && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        check(subscription.getQueueDepth() == depth, "queue depth " + subscription.getQueueDepth());
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.runtime;
+
+import java.util.Random;
+
+import org.example.automotive.FuelEstimator;
+import org.example.automotive.TelemetryBatch;
+import org.example.automotive.VehicleDashboard.FuelConsumption;
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+import org.example.automotive.VehicleDashboardImpl;
+
+/**
+ * Replays a drive log through {@link FuelEstimator} alone and through {@link VehicleDashboardImpl#ingest}.
+ * <p>
+ * The log is synthesized up front at 100 Hz: alternating city and highway stretches, a consumption model with
+ * an idle flow and a speed-dependent part, refuelling below 8 % and a fuel sensor with noise and half-percent
+ * quantization. The estimate at the end of the replay is printed next to the model's true consumption.
+ * <p>
+ * Usage: {@code FuelEstimatorBenchmark [samples]}; the default is 10 million samples (28 hours of driving).
+ */
+public class FuelEstimatorBenchmark {
+
+    private static final double TANK_LITERS = FuelEstimator.DEFAULT_TANK_LITERS;
+
+    public static void main(String[] args) {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        long[] times = new long[samples];
+        float[] speeds = new float[samples];
+        float[] levels = new float[samples];
+        double trueConsumption = synthesize(times, speeds, levels);
+
+        System.out.println("=== Fuel estimator replay (" + samples + " samples at 100 Hz) ===");
+        FuelEstimator estimator = new FuelEstimator();
+        int alerts = 0;
+        long begin = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            alerts += estimator.update(times[i], speeds[i], levels[i]) ? 1 : 0;
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("estimator only   %12.0f samples/s %8.1f ns/sample%n", samples / seconds,
+            seconds * 1e9 / samples);
+        System.out.printf("average          %12.2f L/100km (model %.2f), %d critical alerts%n",
+            estimator.getAverageConsumption(), trueConsumption, alerts);
+
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        TelemetryBatch batch = new TelemetryBatch(2);
+        begin = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            batch.clear();
+            batch.add(VehicleSignal.SPEED, speeds[i]).add(VehicleSignal.FUEL_LEVEL, levels[i]);
+            dashboard.ingest(batch, times[i]);
+        }
+        seconds = (System.nanoTime() - begin) / 1e9;
+        FuelConsumption consumption = dashboard.getFuelConsumption().join();
+        System.out.printf("dashboard ingest %12.0f samples/s %8.1f ns/sample%n", samples / seconds,
+            seconds * 1e9 / samples);
+        System.out.printf("dashboard        %12.2f L/100km average, %.0f km range, %d mL this trip%n",
+            consumption.averageConsumption, consumption.rangeEstimate, consumption.fuelUsedTrip);
+    }
+
+    /**
+     * Fills the log and returns the model's overall consumption in L/100km
+     */
+    private static double synthesize(long[] times, float[] speeds, float[] levels) {
+        Random random = new Random(42);
+        double level = 90;
+        double speed = 0;
+        double target = 0;
+        double distance = 0;
+        double burned = 0;
+        for (int i = 0; i < times.length; i++) {
+            // Ten-minute stretches alternate between city traffic and the highway
+            boolean highway = (i / 60_000) % 2 == 1;
+            if (i % 1_500 == 0) {
+                if (highway) {
+                    target = 110 + random.nextDouble() * 20;
+                } else {
+                    target = random.nextDouble() < 0.3 ? 0 : 20 + random.nextDouble() * 35;
+                }
+            }
+            speed += (target - speed) * 0.002;
+            // Litres per hour: idle flow plus a part growing with speed and its square
+            double flow = 0.8 + 0.045 * speed + 0.0004 * speed * speed;
+            double liters = flow / 360_000;
+            level -= liters / TANK_LITERS * 100;
+            burned += liters;
+            distance += speed / 360_000;
+            if (level < 8) {
+                level = 95;
+            }
+            times[i] = i * 10L;
+            speeds[i] = (float) Math.max(0, speed + random.nextGaussian() * 0.5);
+            levels[i] = (float) (Math.round((level + random.nextGaussian() * 0.3) * 2) / 2.0);
+        }
+        return burned / distance * 100;
+    }
+}
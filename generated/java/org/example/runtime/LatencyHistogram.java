@@ -0,0 +1,168 @@
+package org.example.runtime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-bucketed latency histogram in the style of HdrHistogram, recording nanoseconds.
+ * <p>
+ * Values below 64 ns get exact buckets; above that every power of two is split into 64 linear
+ * sub-buckets, so any recorded value is reported within 1/64 (about 1.6%) of its true value. Values
+ * from 2^36 ns (about 69 s) upwards share the top bucket. {@link #record} is lock-free and
+ * allocation-free: one index computation and one atomic increment.
+ * <p>
+ * Counts are never cleared while writers may be active. {@link #reset} and {@link #intervalSnapshot}
+ * instead remember the cumulative counts as a baseline and later report the difference, so every
+ * recorded value lands in exactly one interval no matter how recording and scraping interleave.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+
+    // Guarded by this; only readers touch the baselines
+    private long[] resetBaseline = new long[BUCKET_COUNT];
+    private long resetTotalNanos;
+    private long[] intervalBaseline = new long[BUCKET_COUNT];
+    private long intervalTotalNanos;
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.getAndIncrement(bucketIndex(value));
+        totalNanos.add(value);
+    }
+
+    /**
+     * Everything recorded since construction or the last {@link #reset}
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(difference(readCounts(), resetBaseline), totalNanos.sum() - resetTotalNanos);
+    }
+
+    public synchronized void reset() {
+        resetBaseline = readCounts();
+        resetTotalNanos = totalNanos.sum();
+    }
+
+    /**
+     * Everything recorded since the previous call, for periodic scraping; independent of {@link #reset}
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long[] current = readCounts();
+        long currentTotal = totalNanos.sum();
+        Snapshot interval = new Snapshot(difference(current, intervalBaseline), currentTotal - intervalTotalNanos);
+        intervalBaseline = current;
+        intervalTotalNanos = currentTotal;
+        return interval;
+    }
+
+    private long[] readCounts() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    private static long[] difference(long[] current, long[] baseline) {
+        long[] result = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            result[i] = current[i] - baseline[i];
+        }
+        return result;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Largest value that maps to bucket {@code index}
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) >>> SUB_BUCKET_BITS;
+        long subBucket = (index - SUB_BUCKETS) & (SUB_BUCKETS - 1);
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Immutable copy of the bucket counts of one histogram or interval
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        Snapshot(long[] counts, long totalNanos) {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+            long sum = 0;
+            for (long bucket : counts) {
+                sum += bucket;
+            }
+            this.count = sum;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Upper bound of the bucket holding the value at {@code percentile} (0..100), 0 when empty
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return getMaxNanos();
+        }
+
+        public long getMaxNanos() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus", count,
+                getValueAtPercentile(50) / 1000.0, getValueAtPercentile(99) / 1000.0,
+                getValueAtPercentile(99.9) / 1000.0, getMaxNanos() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorImpl;
+import org.example.calculator.CalculatorSomeIp;
+
+public class LatencyHistogramTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running LatencyHistogram Tests...");
+        testBucketPrecision();
+        testPercentiles();
+        testIntervalsAndReset();
+        testAllocationFree();
+        testGeneratedSkeleton();
+        System.out.println("All LatencyHistogram tests passed");
+    }
+
+    private static void testBucketPrecision() {
+        int previous = -1;
+        for (long value = 0; value < (1L << 40); value = value < 200 ? value + 1 : value + value / 37) {
+            int index = LatencyHistogram.bucketIndex(value);
+            check(index >= previous && index < LatencyHistogram.BUCKET_COUNT, "monotonic index for " + value);
+            previous = index;
+            if (index < LatencyHistogram.BUCKET_COUNT - 1) {
+                long upper = LatencyHistogram.bucketUpperBound(index);
+                check(upper >= value && upper - value <= value / 64, "bucket precision for " + value);
+            }
+        }
+        check(LatencyHistogram.bucketIndex(Long.MAX_VALUE) == LatencyHistogram.BUCKET_COUNT - 1, "overflow bucket");
+    }
+
+    private static void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        check(snapshot.getCount() == 10_000, "count");
+        checkNear(snapshot.getValueAtPercentile(50), 5_000_000, "p50");
+        checkNear(snapshot.getValueAtPercentile(99), 9_900_000, "p99");
+        checkNear(snapshot.getValueAtPercentile(99.9), 9_990_000, "p99.9");
+        checkNear(snapshot.getMaxNanos(), 10_000_000, "max");
+        checkNear((long) snapshot.getMeanNanos(), 5_000_500, "mean");
+        check(new LatencyHistogram().snapshot().getValueAtPercentile(99) == 0, "empty histogram");
+    }
+
+    private static void testIntervalsAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(200);
+        check(histogram.intervalSnapshot().getCount() == 2, "first interval");
+        histogram.record(300);
+        LatencyHistogram.Snapshot second = histogram.intervalSnapshot();
+        check(second.getCount() == 1 && second.getMaxNanos() / 10 == 30, "second interval only has new values");
+        check(histogram.intervalSnapshot().getCount() == 0, "empty interval");
+
+        histogram.reset();
+        histogram.record(400);
+        check(histogram.snapshot().getCount() == 1, "reset");
+        check(histogram.intervalSnapshot().getCount() == 1, "intervals independent of reset");
+    }
+
+    private static void testAllocationFree() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record(i);
+        }
+        long thread = Thread.currentThread().getId();
+        // A deoptimization while the JIT settles can allocate on this thread, so keep the quietest round
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            recordMillion(histogram);
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(thread) - before);
+        }
+        check(allocated < 1024, "record allocated " + allocated + " bytes");
+    }
+
+    private static void recordMillion(LatencyHistogram histogram) {
+        for (int i = 0; i < 1_000_000; i++) {
+            histogram.record(i * 31L);
+        }
+    }
+
+    private static void testGeneratedSkeleton() {
+        SomeIpService skeleton = CalculatorSomeIp.skeleton(new CalculatorImpl());
+        for (int i = 0; i < 10; i++) {
+            ByteBuffer payload = ByteBuffer.allocate(17);
+            payload.putDouble(i).putDouble(2).put((byte) Calculator.Operation.ADD.getValue()).flip();
+            skeleton.invoke(CalculatorSomeIp.METHOD_CALCULATE, payload).join();
+        }
+        skeleton.invoke(CalculatorSomeIp.METHOD_GET_STATISTICS, ByteBuffer.allocate(0)).join();
+
+        Map<String, LatencyHistogram.Snapshot> snapshots = skeleton.getMetrics().snapshot();
+        check(snapshots.get("calculate").getCount() == 10, "calculate latencies recorded");
+        check(snapshots.get("getStatistics").getCount() == 1, "getStatistics latency recorded");
+        check(snapshots.get("reset").getCount() == 0, "uncalled method stays empty");
+
+        String scrape = skeleton.getMetrics().scrape();
+        check(scrape.contains("someip_method_latency_us_count{service=\"Calculator\",method=\"calculate\"} 10"),
+            "scrape output");
+        check(scrape.contains("# TYPE someip_method_latency_us summary\n")
+            && scrape.contains("someip_method_latency_us_sum{service=\"Calculator\",method=\"calculate\"} ")
+            && scrape.contains("# TYPE someip_method_latency_max_us gauge\n")
+            && scrape.indexOf("# TYPE") == scrape.lastIndexOf("# TYPE someip_method_latency_us"),
+            "summary and max gauge families:\n" + scrape);
+
+        String combined = ServiceMetrics.scrape(List.of(skeleton.getMetrics(), new ServiceMetrics("Other", "run")));
+        String summaryHeader = "# TYPE someip_method_latency_us summary";
+        check(combined.indexOf(summaryHeader) == combined.lastIndexOf(summaryHeader)
+            && combined.contains("someip_method_latency_max_us{service=\"Other\",method=\"run\"} "),
+            "families announced once across services");
+        check(combined.contains("someip_method_latency_us_count{service=\"Calculator\",method=\"calculate\"} 10")
+            && combined.contains("someip_method_latency_max_us{service=\"Calculator\",method=\"calculate\"} 0.000"),
+            "sum and count stay cumulative while the interval maximum restarts:\n" + combined);
+        check(skeleton.getMetrics().intervalSnapshot().get("calculate").getCount() == 0, "scrape starts an interval");
+    }
+
+    private static void checkNear(long actual, long expected, String message) {
+        check(Math.abs(actual - expected) <= expected / 50, message + ": " + actual + " vs " + expected);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package org.example.runtime;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map that shares structure between versions: a hash array mapped trie.
+ * <p>
+ * Keys are spread over a tree of nodes indexed by five hash bits per level; each node stores only the
+ * branches that exist, located through a 32-bit bitmap. A lookup visits at most seven levels regardless of
+ * the map's size, and {@link #plus} and {@link #minus} copy only the nodes on the key's path, leaving the
+ * previous version intact and shared with the new one. Versions can therefore be published through a single
+ * volatile field and read without locking. Keys with equal hashes share a collision node.
+ * <p>
+ * Null keys and values are not supported.
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return key == null ? null : (V) root.find(key, hash(key), 0);
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map with {@code key} mapped to {@code value}; this map if it already was
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        }
+        Change change = new Change();
+        Node updated = root.put(key, value, hash(key), 0, change);
+        return updated == root ? this : new PersistentHashMap<>(updated, change.sizeChanged ? size + 1 : size);
+    }
+
+    /**
+     * Map without {@code key}; this map if it had no mapping for it
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (key == null) {
+            return this;
+        }
+        Node updated = root.remove(key, hash(key), 0);
+        if (updated == root) {
+            return this;
+        }
+        return updated == null ? empty() : new PersistentHashMap<>(updated, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Change {
+        boolean sizeChanged;
+    }
+
+    private abstract static class Node {
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node put(Object key, Object value, int hash, int shift, Change change);
+
+        /**
+         * @return the node without the key, this node if it had no such key, or null if it is left empty
+         */
+        abstract Node remove(Object key, int hash, int shift);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Branches for the hash bits present, in bit order. Entry i is at {@code 2 * i}: a key and its value, or
+     * null and the child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = index(bit);
+            Object entryKey = array[index];
+            if (entryKey == null) {
+                return ((Node) array[index + 1]).find(key, hash, shift + BITS);
+            }
+            return key.equals(entryKey) ? array[index + 1] : null;
+        }
+
+        @Override
+        Node put(Object key, Object value, int hash, int shift, Change change) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] inserted = new Object[array.length + 2];
+                System.arraycopy(array, 0, inserted, 0, index);
+                inserted[index] = key;
+                inserted[index + 1] = value;
+                System.arraycopy(array, index, inserted, index + 2, array.length - index);
+                change.sizeChanged = true;
+                return new BitmapNode(bitmap | bit, inserted);
+            }
+            Object entryKey = array[index];
+            Object entryValue = array[index + 1];
+            if (entryKey == null) {
+                Node child = (Node) entryValue;
+                Node updated = child.put(key, value, hash, shift + BITS, change);
+                return updated == child ? this : with(index + 1, updated);
+            }
+            if (key.equals(entryKey)) {
+                return entryValue == value ? this : with(index + 1, value);
+            }
+            change.sizeChanged = true;
+            Node child = pair(entryKey, entryValue, hash(entryKey), key, value, hash, shift + BITS);
+            Object[] replaced = array.clone();
+            replaced[index] = null;
+            replaced[index + 1] = child;
+            return new BitmapNode(bitmap, replaced);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object entryKey = array[index];
+            if (entryKey == null) {
+                Node child = (Node) array[index + 1];
+                Node updated = child.remove(key, hash, shift + BITS);
+                if (updated == child) {
+                    return this;
+                }
+                return updated == null ? without(bit, index) : with(index + 1, updated);
+            }
+            return key.equals(entryKey) ? without(bit, index) : this;
+        }
+
+        private BitmapNode with(int index, Object element) {
+            Object[] replaced = array.clone();
+            replaced[index] = element;
+            return new BitmapNode(bitmap, replaced);
+        }
+
+        private BitmapNode without(int bit, int index) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] removed = new Object[array.length - 2];
+            System.arraycopy(array, 0, removed, 0, index);
+            System.arraycopy(array, index + 2, removed, index, array.length - index - 2);
+            return new BitmapNode(bitmap & ~bit, removed);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keys whose full hashes are equal, as key-value pairs
+     */
+    private static final class CollisionNode extends Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(Object key, Object value, int hash, int shift, Change change) {
+            if (hash != this.hash) {
+                // Move this node one level down, next to the new key
+                Node branch = new BitmapNode(1 << ((this.hash >>> shift) & MASK), new Object[] {null, this});
+                return branch.put(key, value, hash, shift, change);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] replaced = array.clone();
+                replaced[index + 1] = value;
+                return new CollisionNode(hash, replaced);
+            }
+            Object[] appended = Arrays.copyOf(array, array.length + 2);
+            appended[array.length] = key;
+            appended[array.length + 1] = value;
+            change.sizeChanged = true;
+            return new CollisionNode(hash, appended);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] removed = new Object[array.length - 2];
+            System.arraycopy(array, 0, removed, 0, index);
+            System.arraycopy(array, index + 2, removed, index, array.length - index - 2);
+            return new CollisionNode(hash, removed);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Node at {@code shift} holding two different keys
+     */
+    private static Node pair(Object key1, Object value1, int hash1, Object key2, Object value2, int hash2,
+                             int shift) {
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        Change ignored = new Change();
+        return BitmapNode.EMPTY.put(key1, value1, hash1, shift, ignored).put(key2, value2, hash2, shift, ignored);
+    }
+}
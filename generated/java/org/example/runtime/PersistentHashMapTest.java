@@ -0,0 +1,200 @@
+package org.example.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.example.common.CommonService.ConfigItem;
+import org.example.common.CommonService.ConfigurationUpdatedEvent;
+import org.example.common.CommonService.Response;
+import org.example.common.CommonServiceImpl;
+import org.example.common.ConfigurationStore;
+
+public class PersistentHashMapTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running PersistentHashMap Tests...");
+        testAgainstHashMap();
+        testCollisions();
+        testPersistence();
+        testConfigurationDeltas();
+        testConcurrentConfiguration();
+        System.out.println("All PersistentHashMap tests passed");
+    }
+
+    private static void testAgainstHashMap() {
+        Random random = new Random(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 200_000; i++) {
+            // Wide keys spread over every level, small ones collide in the low bits
+            int key = random.nextBoolean() ? random.nextInt() : random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map = map.minus(key);
+                expected.remove(key);
+            } else {
+                map = map.plus(key, i);
+                expected.put(key, i);
+            }
+        }
+        check(map.size() == expected.size(), "size " + map.size() + " vs " + expected.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            check(entry.getValue().equals(map.get(entry.getKey())), "value of " + entry.getKey());
+        }
+        Map<Integer, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        check(iterated.equals(expected), "forEach visits every mapping once");
+        check(map.get(null) == null && !map.containsKey(-1 - 5_000_000), "missing keys");
+
+        for (Integer key : expected.keySet()) {
+            map = map.minus(key);
+        }
+        check(map.isEmpty() && map == PersistentHashMap.<Integer, Integer>empty(), "all removed");
+    }
+
+    private static void testCollisions() {
+        PersistentHashMap<Colliding, String> map = PersistentHashMap.empty();
+        for (int i = 0; i < 100; i++) {
+            map = map.plus(new Colliding(i, i % 3), "v" + i);
+        }
+        check(map.size() == 100, "colliding keys are kept apart");
+        for (int i = 0; i < 100; i++) {
+            check(("v" + i).equals(map.get(new Colliding(i, i % 3))), "colliding lookup " + i);
+        }
+        map = map.plus(new Colliding(7, 1), "replaced");
+        check(map.size() == 100 && map.get(new Colliding(7, 1)).equals("replaced"), "colliding replace");
+        for (int i = 0; i < 100; i += 2) {
+            map = map.minus(new Colliding(i, i % 3));
+        }
+        check(map.size() == 50 && map.get(new Colliding(4, 1)) == null && map.get(new Colliding(5, 2)) != null,
+            "colliding removal");
+    }
+
+    private static void testPersistence() {
+        PersistentHashMap<String, String> first = PersistentHashMap.<String, String>empty().plus("a", "1");
+        PersistentHashMap<String, String> second = first.plus("b", "2");
+        PersistentHashMap<String, String> third = second.plus("a", "3").minus("b");
+        check(first.size() == 1 && first.get("a").equals("1") && first.get("b") == null, "first version intact");
+        check(second.size() == 2 && second.get("a").equals("1"), "second version intact");
+        check(third.size() == 1 && third.get("a").equals("3"), "third version");
+        check(second.plus("b", second.get("b")) == second && second.minus("c") == second, "no-op returns the map");
+        try {
+            first.plus("c", null);
+            check(false, "null value rejected");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    private static void testConfigurationDeltas() throws Exception {
+        CommonServiceImpl service = new CommonServiceImpl();
+        ConfigurationStore store = service.getConfiguration();
+        List<ConfigurationUpdatedEvent> events = Collections.synchronizedList(new ArrayList<>());
+        service.setConfigurationUpdatedListener(events::add);
+        Map<String, ConfigItem> bulk = new LinkedHashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            bulk.put("key" + i, new ConfigItem("key" + i, String.valueOf(i), "item " + i));
+        }
+        check(service.updateConfiguration(bulk).join().success, "bulk update");
+        long version = store.getVersion();
+        ConfigurationStore.Snapshot before = store.snapshot();
+
+        Map<String, ConfigItem> change = new LinkedHashMap<>();
+        change.put("key7", new ConfigItem("key7", "seven", "item 7"));
+        change.put("key8", new ConfigItem("key8", "8", "item 8"));
+        change.put("added", new ConfigItem("added", "yes", "new item"));
+        check(service.updateConfiguration(change).join().success, "small update");
+        check(store.getVersion() == version + 1 && store.size() == 50_002, "one version per update");
+        check(store.get("key7").value.equals("seven") && before.get("key7").value.equals("7"),
+            "old snapshot unchanged");
+        check(service.updateConfiguration(Map.of("key9", new ConfigItem("key9", "9", "item 9"))).join().success
+            && store.getVersion() == version + 1, "unchanged item adds no version");
+
+        Map<String, ConfigItem> invalid = new HashMap<>();
+        invalid.put("key1", new ConfigItem("key1", "changed", "item 1"));
+        invalid.put("key2", null);
+        Response rejected = service.updateConfiguration(invalid).join();
+        check(!rejected.success && store.get("key1").value.equals("1"), "invalid update applies nothing");
+
+        check(service.configurationUpdatedEvents().awaitIdle(5, TimeUnit.SECONDS), "events delivered");
+        check(events.size() == 2 && events.get(0).updatedConfig.size() == 50_000, "only changes are broadcast");
+        check(events.get(1).updatedConfig.keySet().equals(Set.of("key7", "added")), "event carries the delta");
+        String status = service.getSystemStatus().join().statusDetails.get("configurationItems");
+        check(status.equals("50002"), "status counts items");
+    }
+
+    private static void testConcurrentConfiguration() throws Exception {
+        CommonServiceImpl service = new CommonServiceImpl();
+        ConfigurationStore store = service.getConfiguration();
+        int writers = 3;
+        int updates = 2_000;
+        CountDownLatch done = new CountDownLatch(writers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            new Thread(() -> {
+                try {
+                    for (int i = 1; i <= updates; i++) {
+                        // Both keys change together, so readers must never see them differ
+                        Map<String, ConfigItem> pair = new HashMap<>();
+                        String value = writer + ":" + i;
+                        pair.put("left", new ConfigItem("left", value, ""));
+                        pair.put("right", new ConfigItem("right", value, ""));
+                        pair.put("writer" + writer, new ConfigItem("writer" + writer, value, ""));
+                        service.updateConfiguration(pair).join();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        long reads = 0;
+        while (done.getCount() > 0) {
+            ConfigurationStore.Snapshot snapshot = store.snapshot();
+            ConfigItem left = snapshot.get("left");
+            check(left == null || left.value.equals(snapshot.get("right").value), "atomic multi-key update");
+            int[] counted = {0};
+            snapshot.forEach((key, item) -> counted[0]++);
+            check(counted[0] == snapshot.size(), "iteration during updates");
+            reads++;
+        }
+        check(failure.get() == null, "writers failed: " + failure.get());
+        check(store.size() == 1 + 2 + writers && store.getVersion() == 1 + writers * updates,
+            "every update is one version after " + reads + " reads");
+    }
+
+    private static final class Colliding {
+        final int id;
+        final int hash;
+
+        Colliding(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Colliding && ((Colliding) other).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.runtime;
+
+import java.util.Random;
+
+import org.example.common.CommonService.NearbyPosition;
+import org.example.common.PositionIndex;
+
+/**
+ * Tracks a fleet in a {@link PositionIndex} and times updates, nearest-neighbour and radius queries, with a
+ * linear scan over all positions for comparison. Nearest queries are also timed far from the fleet, where the
+ * index falls back to scanning its occupied cells.
+ * <p>
+ * Usage: {@code PositionIndexBenchmark [points] [cellMeters]}; the default is 1 million vehicles spread over
+ * central Europe (45-55 N, 0-15 E) in 1 km cells.
+ */
+public class PositionIndexBenchmark {
+
+    public static void main(String[] args) {
+        int points = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double cellMeters = args.length > 1 ? Double.parseDouble(args[1]) : PositionIndex.DEFAULT_CELL_METERS;
+        Random random = new Random(13);
+        double[] latitudes = new double[points];
+        double[] longitudes = new double[points];
+        String[] ids = new String[points];
+        for (int i = 0; i < points; i++) {
+            latitudes[i] = 45 + random.nextDouble() * 10;
+            longitudes[i] = random.nextDouble() * 15;
+            ids[i] = "vehicle-" + i;
+        }
+        System.out.println("=== Position index (" + points + " points, " + cellMeters + " m cells) ===");
+
+        PositionIndex index = new PositionIndex(cellMeters);
+        long begin = System.nanoTime();
+        for (int i = 0; i < points; i++) {
+            index.update(ids[i], latitudes[i], longitudes[i], 0);
+        }
+        report("insert", points, System.nanoTime() - begin);
+
+        int moves = Math.min(points, 1_000_000);
+        begin = System.nanoTime();
+        for (int i = 0; i < moves; i++) {
+            // A few hundred meters per update, as from a GPS fix every few seconds
+            int vehicle = random.nextInt(points);
+            latitudes[vehicle] += (random.nextDouble() - 0.5) * 0.005;
+            longitudes[vehicle] += (random.nextDouble() - 0.5) * 0.005;
+            index.update(ids[vehicle], latitudes[vehicle], longitudes[vehicle], 0);
+        }
+        report("move", moves, System.nanoTime() - begin);
+
+        int queries = 100_000;
+        double[] centers = new double[2 * queries];
+        for (int i = 0; i < centers.length; i += 2) {
+            centers[i] = 45.5 + random.nextDouble() * 9;
+            centers[i + 1] = 0.5 + random.nextDouble() * 14;
+        }
+        long found = 0;
+        for (int k : new int[] {1, 10, 100}) {
+            begin = System.nanoTime();
+            for (int i = 0; i < centers.length; i += 2) {
+                found += index.nearest(centers[i], centers[i + 1], k).length;
+            }
+            report("nearest " + k, queries, System.nanoTime() - begin);
+        }
+        // Far from every vehicle, e.g. a query from another continent: the shells around the center stay empty
+        int farQueries = 1_000;
+        begin = System.nanoTime();
+        for (int i = 0; i < 2 * farQueries; i += 2) {
+            found += index.nearest(-centers[i], centers[i + 1] + 140, 10).length;
+        }
+        report("nearest far", farQueries, System.nanoTime() - begin);
+        for (double radius : new double[] {1_000, 5_000}) {
+            begin = System.nanoTime();
+            for (int i = 0; i < centers.length; i += 2) {
+                found += index.withinRadius(centers[i], centers[i + 1], radius, Integer.MAX_VALUE).length;
+            }
+            report("within " + (int) radius + " m", queries, System.nanoTime() - begin);
+        }
+
+        int scans = 20;
+        begin = System.nanoTime();
+        for (int q = 0; q < scans; q++) {
+            found += linearNearest(latitudes, longitudes, centers[2 * q], centers[2 * q + 1]);
+        }
+        report("linear scan", scans, System.nanoTime() - begin);
+        NearbyPosition check = index.nearest(centers[0], centers[1], 1)[0];
+        System.out.printf("first query: %s at %.0f m (%d results in total)%n", check.id, check.distance, found);
+    }
+
+    private static int linearNearest(double[] latitudes, double[] longitudes, double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double best = Double.MAX_VALUE;
+        int nearest = -1;
+        for (int i = 0; i < latitudes.length; i++) {
+            double phi2 = Math.toRadians(latitudes[i]);
+            double sinPhi = Math.sin((phi2 - phi) / 2);
+            double sinLambda = Math.sin(Math.toRadians(longitudes[i] - longitude) / 2);
+            double h = sinPhi * sinPhi + Math.cos(phi) * Math.cos(phi2) * sinLambda * sinLambda;
+            if (h < best) {
+                best = h;
+                nearest = i;
+            }
+        }
+        return nearest >= 0 ? 1 : 0;
+    }
+
+    private static void report(String name, int operations, long nanos) {
+        System.out.printf("%-16s %12.0f ops/s %10.2f us/op%n", name, operations / (nanos / 1e9),
+            nanos / 1e3 / operations);
+    }
+}
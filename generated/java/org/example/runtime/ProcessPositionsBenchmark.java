@@ -0,0 +1,79 @@
+package org.example.runtime;
+
+import java.util.Random;
+
+import org.example.common.CommonService.Position;
+import org.example.common.CommonServiceImpl;
+import org.example.common.PositionAccumulator;
+
+/**
+ * Times processPositions over a long random-walk track: from a {@code Position[]}, from coordinate arrays
+ * with fork/join and streamed in chunks.
+ * <p>
+ * Usage: {@code ProcessPositionsBenchmark [positions] [chunkSize]}; the default is 5 million positions in
+ * chunks of 64K.
+ */
+public class ProcessPositionsBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 16;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        double[] altitudes = new double[count];
+        Random random = new Random(7);
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = (i == 0 ? 48 : latitudes[i - 1]) + random.nextGaussian() * 1e-4;
+            longitudes[i] = (i == 0 ? 11 : longitudes[i - 1]) + random.nextGaussian() * 1e-4;
+            altitudes[i] = 500 + random.nextDouble() * 10;
+        }
+        Position[] positions = new Position[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = new Position(latitudes[i], longitudes[i], altitudes[i]);
+        }
+        CommonServiceImpl service = new CommonServiceImpl();
+        System.out.println("=== processPositions (" + count + " positions, "
+            + Runtime.getRuntime().availableProcessors() + " CPUs) ===");
+
+        measure("Position[]", count, () -> service.processPositions(positions).join().totalDistance);
+        measure("arrays, fork/join", count,
+            () -> PositionAccumulator.of(latitudes, longitudes, altitudes).getTotalDistance());
+        measure("arrays, sequential", count,
+            () -> new PositionAccumulator().add(latitudes, longitudes, altitudes, 0, count).getTotalDistance());
+        measure("streamed chunks", count, () -> PositionAccumulator.read(new PositionAccumulator.Source() {
+            private int next;
+
+            @Override
+            public int read(double[] lat, double[] lon, double[] alt) {
+                int read = Math.min(lat.length, count - next);
+                if (read == 0) {
+                    return -1;
+                }
+                System.arraycopy(latitudes, next, lat, 0, read);
+                System.arraycopy(longitudes, next, lon, 0, read);
+                System.arraycopy(altitudes, next, alt, 0, read);
+                next += read;
+                return read;
+            }
+        }, chunkSize).getTotalDistance());
+    }
+
+    private interface Run {
+        double distance();
+    }
+
+    private static void measure(String name, int count, Run run) {
+        double distance = 0;
+        for (int i = 0; i < 3; i++) {
+            distance = run.distance();
+        }
+        int rounds = 5;
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            distance = run.distance();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9 / rounds;
+        System.out.printf("%-20s %8.1f ms %12.0f positions/s  (%.1f km)%n", name, seconds * 1e3, count / seconds,
+            distance / 1000);
+    }
+}
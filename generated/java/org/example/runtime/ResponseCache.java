@@ -0,0 +1,434 @@
+package org.example.runtime;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Replies of the idempotent methods of one service, kept by the generated {@code <Interface>CachingProxy}.
+ * <p>
+ * The first caller to miss claims the entry with a pending reply before making the call, so concurrent callers
+ * share that one call in flight. A reply is dropped when it fails, when its method's time to live has passed or
+ * when one of the events its method is invalidated by arrives or the proxy invalidates it after a call that
+ * may have changed it, including while it is still in flight. Methods
+ * without arguments have one slot each that is read without locking; replies of methods with arguments are
+ * keyed by the arguments' values (arrays by content, copied when cached; structs by identity) and share
+ * {@link Policy#withMaxEntries} entries, evicting the least recently used one when full.
+ * <p>
+ * Callers get their own future of a shared reply, which they must not modify.
+ */
+public final class ResponseCache {
+
+    public static final long DEFAULT_TTL_MS = 1000;
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final String serviceName;
+    private final List<String> methodNames;
+    private final long[] ttlNanos;
+    private final Map<String, int[]> methodsByEvent;
+    private final int maxEntries;
+    private final AtomicReferenceArray<Entry> slots;
+    private final Map<Key, Entry> keyed;
+    private final LongAdder[] hits;
+    private final LongAdder[] misses;
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Caching settings: a time to live per method, the events invalidating each method and the number of
+     * replies kept for methods with arguments
+     */
+    public static final class Policy {
+        private final long defaultTtlNanos;
+        private final Map<String, Long> ttlNanos;
+        private final Map<String, List<String>> invalidations;
+        private final int maxEntries;
+
+        private Policy(long defaultTtlNanos, Map<String, Long> ttlNanos, Map<String, List<String>> invalidations,
+                       int maxEntries) {
+            this.defaultTtlNanos = defaultTtlNanos;
+            this.ttlNanos = ttlNanos;
+            this.invalidations = invalidations;
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * {@link #DEFAULT_TTL_MS}, {@link #DEFAULT_MAX_ENTRIES} and the generated invalidation events
+         */
+        public static Policy defaults() {
+            return new Policy(TimeUnit.MILLISECONDS.toNanos(DEFAULT_TTL_MS), Map.of(), Map.of(),
+                DEFAULT_MAX_ENTRIES);
+        }
+
+        /**
+         * Time to live of the methods without one of their own; 0 disables caching
+         */
+        public Policy withTtl(long ttl, TimeUnit unit) {
+            return new Policy(checkTtl(ttl, unit), ttlNanos, invalidations, maxEntries);
+        }
+
+        public Policy withTtl(String method, long ttl, TimeUnit unit) {
+            Map<String, Long> updated = new HashMap<>(ttlNanos);
+            updated.put(method, checkTtl(ttl, unit));
+            return new Policy(defaultTtlNanos, Collections.unmodifiableMap(updated), invalidations, maxEntries);
+        }
+
+        /**
+         * Replaces the generated invalidation events of {@code method}: broadcast names, or attribute names for
+         * their change notifications. Without events the method's replies only expire or are dropped by the
+         * proxy's own calls that may change them.
+         */
+        public Policy withInvalidation(String method, String... events) {
+            Map<String, List<String>> updated = new HashMap<>(invalidations);
+            updated.put(method, List.of(events));
+            return new Policy(defaultTtlNanos, ttlNanos, Collections.unmodifiableMap(updated), maxEntries);
+        }
+
+        public Policy withMaxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("Max entries must be at least 1, got " + maxEntries);
+            }
+            return new Policy(defaultTtlNanos, ttlNanos, invalidations, maxEntries);
+        }
+
+        private static long checkTtl(long ttl, TimeUnit unit) {
+            if (ttl < 0) {
+                throw new IllegalArgumentException("Time to live must not be negative, got " + ttl);
+            }
+            return unit.toNanos(ttl);
+        }
+    }
+
+    /**
+     * @param invalidatedBy per method, the events dropping its replies unless the policy replaces them
+     * @throws IllegalArgumentException if the policy names a method the service does not cache
+     */
+    public ResponseCache(String serviceName, String[] methodNames, String[][] invalidatedBy, Policy policy) {
+        this.serviceName = serviceName;
+        this.methodNames = List.of(methodNames);
+        for (String method : policy.ttlNanos.keySet()) {
+            checkMethod(method);
+        }
+        for (String method : policy.invalidations.keySet()) {
+            checkMethod(method);
+        }
+        int count = methodNames.length;
+        this.ttlNanos = new long[count];
+        Map<String, int[]> byEvent = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            ttlNanos[i] = policy.ttlNanos.getOrDefault(methodNames[i], policy.defaultTtlNanos);
+            List<String> events = policy.invalidations.get(methodNames[i]);
+            for (String event : events != null ? events : List.of(invalidatedBy[i])) {
+                int[] methods = byEvent.getOrDefault(event, new int[0]);
+                methods = Arrays.copyOf(methods, methods.length + 1);
+                methods[methods.length - 1] = i;
+                byEvent.put(event, methods);
+            }
+        }
+        this.methodsByEvent = byEvent;
+        this.maxEntries = policy.maxEntries;
+        this.slots = new AtomicReferenceArray<>(count);
+        this.keyed = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new LongAdder[count];
+        this.misses = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            hits[i] = new LongAdder();
+            misses[i] = new LongAdder();
+        }
+    }
+
+    private void checkMethod(String method) {
+        if (!methodNames.contains(method)) {
+            throw new IllegalArgumentException(serviceName + " does not cache " + method);
+        }
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public List<String> getMethodNames() {
+        return methodNames;
+    }
+
+    /**
+     * Cached reply of a method without arguments, or the reply of {@code call} made now
+     */
+    public <T> CompletableFuture<T> get(int method, Supplier<CompletableFuture<T>> call) {
+        long ttl = ttlNanos[method];
+        if (ttl == 0) {
+            misses[method].increment();
+            return call.get();
+        }
+        while (true) {
+            long now = System.nanoTime();
+            Entry cached = slots.get(method);
+            if (cached != null && cached.isFresh(now)) {
+                hits[method].increment();
+                return cached.reply();
+            }
+            Entry entry = new Entry(method, now + ttl);
+            // Losing the race means another caller's call is in flight, which the next round shares
+            if (slots.compareAndSet(method, cached, entry)) {
+                misses[method].increment();
+                return load(entry, call, () -> slots.compareAndSet(method, entry, null));
+            }
+        }
+    }
+
+    /**
+     * Cached reply of a method called with {@code arguments}, or the reply of {@code call} made now
+     */
+    public <T> CompletableFuture<T> get(int method, Supplier<CompletableFuture<T>> call, Object... arguments) {
+        long ttl = ttlNanos[method];
+        if (ttl == 0) {
+            misses[method].increment();
+            return call.get();
+        }
+        long now = System.nanoTime();
+        Key key = new Key(method, arguments);
+        Entry cached;
+        Entry entry = null;
+        synchronized (keyed) {
+            cached = keyed.get(key);
+            if (cached != null && !cached.isFresh(now)) {
+                keyed.remove(key);
+                cached = null;
+            }
+            if (cached == null) {
+                entry = new Entry(method, now + ttl);
+                // The caller may reuse its argument arrays, so the cached key keeps copies
+                keyed.put(key.detached(), entry);
+                if (keyed.size() > maxEntries) {
+                    Iterator<Entry> eldest = keyed.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        if (cached != null) {
+            hits[method].increment();
+            return cached.reply();
+        }
+        misses[method].increment();
+        Entry claimed = entry;
+        return load(entry, call, () -> {
+            synchronized (keyed) {
+                keyed.remove(key, claimed);
+            }
+        });
+    }
+
+    /**
+     * Makes the call for a claimed entry and completes the entry's reply with its outcome. On failure the entry
+     * is dropped before the callers sharing it see the failure, so their retries make a new call.
+     */
+    private static <T> CompletableFuture<T> load(Entry entry, Supplier<CompletableFuture<T>> call, Runnable drop) {
+        CompletableFuture<T> reply;
+        try {
+            reply = call.get();
+        } catch (RuntimeException e) {
+            drop.run();
+            entry.reply.completeExceptionally(e);
+            throw e;
+        }
+        reply.whenComplete((value, error) -> {
+            if (error != null) {
+                drop.run();
+                entry.reply.completeExceptionally(error);
+            } else {
+                entry.reply.complete(value);
+            }
+        });
+        return entry.reply();
+    }
+
+    /**
+     * Drops the replies of every method invalidated by {@code event}
+     */
+    public void invalidate(String event) {
+        int[] methods = methodsByEvent.get(event);
+        if (methods == null) {
+            return;
+        }
+        invalidations.increment();
+        for (int method : methods) {
+            invalidate(method);
+        }
+    }
+
+    /**
+     * Drops the replies of {@code method}; a call still in flight completes for its callers but is not cached
+     */
+    public void invalidate(int method) {
+        slots.set(method, null);
+        synchronized (keyed) {
+            keyed.values().removeIf(entry -> entry.method == method);
+        }
+    }
+
+    public void invalidateAll() {
+        for (int method = 0; method < slots.length(); method++) {
+            invalidate(method);
+        }
+    }
+
+    /**
+     * Lets the proxy skip subscribing to events that invalidate nothing
+     */
+    public boolean isInvalidatedBy(String event) {
+        return methodsByEvent.containsKey(event);
+    }
+
+    /**
+     * Replies currently cached, including expired ones not yet dropped
+     */
+    public int size() {
+        int size = 0;
+        for (int method = 0; method < slots.length(); method++) {
+            if (slots.get(method) != null) {
+                size++;
+            }
+        }
+        synchronized (keyed) {
+            return size + keyed.size();
+        }
+    }
+
+    public long getHits(String method) {
+        return hits[indexOf(method)].sum();
+    }
+
+    public long getMisses(String method) {
+        return misses[indexOf(method)].sum();
+    }
+
+    /**
+     * Replies dropped to stay within the maximum number of entries
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Events received that invalidated at least one method
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private int indexOf(String method) {
+        int index = methodNames.indexOf(method);
+        if (index < 0) {
+            throw new IllegalArgumentException(serviceName + " does not cache " + method);
+        }
+        return index;
+    }
+
+    /**
+     * Prometheus text format, hits and misses per method
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        String service = "service=\"" + serviceName + "\"";
+        for (int i = 0; i < methodNames.size(); i++) {
+            String labels = service + ",method=\"" + methodNames.get(i) + "\"";
+            out.append("someip_cache_hits_total{").append(labels).append("} ").append(hits[i].sum()).append('\n');
+            out.append("someip_cache_misses_total{").append(labels).append("} ").append(misses[i].sum())
+               .append('\n');
+        }
+        out.append("someip_cache_entries{").append(service).append("} ").append(size()).append('\n');
+        out.append("someip_cache_evictions_total{").append(service).append("} ").append(getEvictions())
+           .append('\n');
+        out.append("someip_cache_invalidations_total{").append(service).append("} ").append(getInvalidations())
+           .append('\n');
+        return out.toString();
+    }
+
+    private static final class Entry {
+        final int method;
+        // Completed by the caller that claimed the entry
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final long expiresAt;
+
+        Entry(int method, long expiresAt) {
+            this.method = method;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> CompletableFuture<T> reply() {
+            // A copy, so callers completing their future cannot change the cached reply
+            return (CompletableFuture<T>) reply.copy();
+        }
+    }
+
+    private static final class Key {
+        private final int method;
+        private final Object[] arguments;
+        private final int hash;
+
+        Key(int method, Object[] arguments) {
+            this(method, arguments, 31 * method + Arrays.deepHashCode(arguments));
+        }
+
+        private Key(int method, Object[] arguments, int hash) {
+            this.method = method;
+            this.arguments = arguments;
+            this.hash = hash;
+        }
+
+        /**
+         * An equal key that shares no arrays with the caller
+         */
+        Key detached() {
+            return new Key(method, (Object[]) copy(arguments), hash);
+        }
+
+        private static Object copy(Object value) {
+            if (value instanceof Object[]) {
+                Object[] array = ((Object[]) value).clone();
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = copy(array[i]);
+                }
+                return array;
+            }
+            if (value != null && value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                Object array = Array.newInstance(value.getClass().getComponentType(), length);
+                System.arraycopy(value, 0, array, 0, length);
+                return array;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return method == key.method && Arrays.deepEquals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package org.example.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.automotive.TelemetryBatch;
+import org.example.automotive.VehicleDashboard;
+import org.example.automotive.VehicleDashboardCachingProxy;
+import org.example.automotive.VehicleDashboardImpl;
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorCachingProxy;
+import org.example.calculator.CalculatorImpl;
+import org.example.common.CommonService;
+import org.example.common.CommonServiceCachingProxy;
+import org.example.common.CommonServiceImpl;
+
+public class ResponseCacheTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running ResponseCache Tests...");
+        testHitsAndExpiry();
+        testFailuresAndInFlightInvalidation();
+        testEviction();
+        testSingleFlight();
+        testBroadcastInvalidation();
+        testAttributeInvalidation();
+        testReadOwnWrites();
+        System.out.println("All ResponseCache tests passed");
+    }
+
+    private static ResponseCache cache(ResponseCache.Policy policy) {
+        return new ResponseCache("Test", new String[] {"getValue", "getKeyed"},
+            new String[][] {{"changed"}, {"changed"}}, policy);
+    }
+
+    private static void testHitsAndExpiry() throws Exception {
+        ResponseCache cache = cache(ResponseCache.Policy.defaults().withTtl("getValue", 50, TimeUnit.MILLISECONDS));
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            int value = cache.get(0, () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join();
+            check(value == 1, "cached reply");
+        }
+        check(cache.getHits("getValue") == 9 && cache.getMisses("getValue") == 1, "hits and misses counted");
+        CompletableFuture<Integer> reply = cache.get(0, () -> CompletableFuture.completedFuture(-1));
+        reply.obtrudeValue(42);
+        check(cache.get(0, () -> CompletableFuture.completedFuture(-1)).join() == 1, "callers get copies");
+
+        Thread.sleep(80);
+        check(cache.get(0, () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join() == 2,
+            "expired reply is fetched again");
+        cache.invalidate("changed");
+        check(cache.get(0, () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join() == 3,
+            "invalidated reply is fetched again");
+        check(cache.getInvalidations() == 1, "invalidation counted");
+        cache.invalidate("unrelated");
+        check(cache.getInvalidations() == 1 && !cache.isInvalidatedBy("unrelated"), "unrelated event ignored");
+
+        ResponseCache uncached = cache(ResponseCache.Policy.defaults().withTtl(0, TimeUnit.SECONDS));
+        uncached.get(0, () -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        check(uncached.get(0, () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join() == 5,
+            "zero time to live disables caching");
+        try {
+            cache(ResponseCache.Policy.defaults().withInvalidation("getNothing"));
+            throw new AssertionError("unknown method must be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static void testFailuresAndInFlightInvalidation() {
+        ResponseCache cache = cache(ResponseCache.Policy.defaults());
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> first = cache.get(0, () -> pending);
+        CompletableFuture<Integer> shared = cache.get(0, () -> CompletableFuture.completedFuture(-1));
+        check(!shared.isDone() && cache.getHits("getValue") == 1, "call in flight is shared");
+        pending.completeExceptionally(new IllegalStateException("unavailable"));
+        check(first.isCompletedExceptionally() && shared.isCompletedExceptionally(), "failure reaches callers");
+        check(cache.get(0, () -> CompletableFuture.completedFuture(7)).join() == 7, "failure is not cached");
+
+        CompletableFuture<Integer> stale = new CompletableFuture<>();
+        cache.invalidate("changed");
+        cache.get(1, () -> stale, "key");
+        // The event arrives while the reply is in flight, so the reply must not be served afterwards
+        cache.invalidate("changed");
+        stale.complete(1);
+        check(cache.get(1, () -> CompletableFuture.completedFuture(2), "key").join() == 2,
+            "reply requested before an invalidation is dropped");
+    }
+
+    private static void testEviction() {
+        ResponseCache cache = cache(ResponseCache.Policy.defaults().withMaxEntries(3));
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            cache.get(1, () -> CompletableFuture.completedFuture(value), "key", i);
+        }
+        // Touch key 0, so key 1 is the least recently used
+        cache.get(1, () -> CompletableFuture.completedFuture(-1), "key", 0);
+        cache.get(1, () -> CompletableFuture.completedFuture(3), "key", 3);
+        check(cache.getEvictions() == 1 && cache.size() == 3, "bounded size");
+        check(cache.get(1, () -> CompletableFuture.completedFuture(-1), "key", 0).join() == 0, "recent entry kept");
+        check(cache.get(1, () -> CompletableFuture.completedFuture(-1), "key", 1).join() == -1, "eldest evicted");
+        check(cache.get(1, () -> CompletableFuture.completedFuture(-1), "key", 3).join() == 3, "new entry cached");
+        check(cache.get(1, () -> CompletableFuture.completedFuture(9), new Object[] {new int[] {1, 2}}).join() == 9
+            && cache.get(1, () -> CompletableFuture.completedFuture(-1), new Object[] {new int[] {1, 2}}).join() == 9,
+            "array arguments compare by content");
+        String scrape = cache.scrape();
+        check(scrape.contains("someip_cache_hits_total{service=\"Test\",method=\"getKeyed\"} 4")
+            && scrape.contains("someip_cache_evictions_total{service=\"Test\"} 3"), "scrape:\n" + scrape);
+
+        int[] reused = {5, 6};
+        cache.get(1, () -> CompletableFuture.completedFuture(56), new Object[] {reused});
+        reused[0] = 7;
+        check(cache.get(1, () -> CompletableFuture.completedFuture(-1), new Object[] {new int[] {5, 6}}).join() == 56
+            && cache.get(1, () -> CompletableFuture.completedFuture(76), new Object[] {reused}).join() == 76,
+            "cached keys keep copies of array arguments");
+    }
+
+    private static void testSingleFlight() throws Exception {
+        ResponseCache cache = cache(ResponseCache.Policy.defaults());
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> replies = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                replies.add(cache.get(1, () -> {
+                    calls.incrementAndGet();
+                    return pending;
+                }, "key"));
+                replies.add(cache.get(0, () -> {
+                    calls.incrementAndGet();
+                    return pending;
+                }));
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        start.countDown();
+        for (Thread caller : callers) {
+            caller.join(5_000);
+        }
+        check(calls.get() == 2, "simultaneous misses make one call per entry, got " + calls.get());
+        pending.complete(42);
+        for (CompletableFuture<Integer> reply : replies) {
+            check(reply.join() == 42, "every caller gets the shared reply");
+        }
+        check(cache.getMisses("getValue") == 1 && cache.getHits("getValue") == threads - 1, "one miss per entry");
+    }
+
+    private static void testBroadcastInvalidation() throws Exception {
+        CommonServiceImpl service = new CommonServiceImpl();
+        try (CommonServiceCachingProxy proxy = new CommonServiceCachingProxy(service,
+                ResponseCache.Policy.defaults().withTtl(1, TimeUnit.HOURS))) {
+            CommonService.GetSystemStatusReply first = proxy.getSystemStatus().join();
+            check(proxy.getSystemStatus().join() == first, "cached system status");
+            service.simulateStatusChange(CommonService.StatusLevel.WARNING, "test");
+            CommonService.GetSystemStatusReply changed = await(() -> proxy.getSystemStatus().join(),
+                reply -> reply != first);
+            check(changed.status == CommonService.StatusLevel.WARNING, "statusChanged invalidates");
+            check(proxy.getCache().getHits("getSystemStatus") >= 1, "hits recorded");
+            check(proxy.getVersion().join() == proxy.getVersion().join(), "version cached");
+        }
+    }
+
+    private static void testAttributeInvalidation() throws Exception {
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        try (VehicleDashboardCachingProxy proxy = new VehicleDashboardCachingProxy(dashboard,
+                ResponseCache.Policy.defaults().withTtl(1, TimeUnit.HOURS))) {
+            check(proxy.getDisplayBrightness().join() == 80, "initial brightness");
+            proxy.setDisplayBrightness((byte) 40).join();
+            check(proxy.getDisplayBrightness().join() == 40, "setter invalidates its getter at once");
+            dashboard.setDisplayBrightness((byte) 60).join();
+            check(await(() -> proxy.getDisplayBrightness().join(), value -> value == 60) == 60,
+                "change notification invalidates");
+
+            VehicleDashboard.HistoryBucket[] buckets = proxy.getVehicleHistory(VehicleDashboard.VehicleSignal.SPEED,
+                0, Long.MAX_VALUE, 10).join();
+            check(proxy.getVehicleHistory(VehicleDashboard.VehicleSignal.SPEED, 0, Long.MAX_VALUE, 10).join()
+                == buckets, "keyed reply cached");
+            check(proxy.getVehicleHistory(VehicleDashboard.VehicleSignal.SPEED, 0, Long.MAX_VALUE, 5).join()
+                != buckets, "other arguments are another entry");
+        }
+    }
+
+    private static void testReadOwnWrites() throws Exception {
+        // No broadcast invalidation, so only the proxy's own calls can drop the cached statistics
+        try (CalculatorCachingProxy proxy = new CalculatorCachingProxy(new CalculatorImpl(),
+                ResponseCache.Policy.defaults().withTtl(1, TimeUnit.HOURS).withInvalidation("getStatistics"))) {
+            check(proxy.getStatistics().join().totalOperations == 0, "no operations yet");
+            proxy.calculate(2, 3, Calculator.Operation.ADD).join();
+            check(proxy.getStatistics().join().totalOperations == 1, "calculate drops the cached statistics");
+            proxy.calculateBatch(new double[] {1, 2}, new double[] {3, 4}, Calculator.Operation.MULTIPLY).join();
+            check(proxy.getStatistics().join().totalOperations == 3, "calculateBatch drops the cached statistics");
+            proxy.reset().join();
+            check(proxy.getStatistics().join().totalOperations == 0, "reset drops the cached statistics");
+            check(proxy.getStatistics().join() == proxy.getStatistics().join(), "reads are still cached");
+        }
+
+        VehicleDashboardImpl dashboard = new VehicleDashboardImpl();
+        try (VehicleDashboardCachingProxy proxy = new VehicleDashboardCachingProxy(dashboard,
+                ResponseCache.Policy.defaults().withTtl(1, TimeUnit.HOURS).withInvalidation("getVehicleData"))) {
+            dashboard.ingest(new TelemetryBatch(1).add(VehicleDashboard.VehicleSignal.ODOMETER, 12400));
+            check(proxy.getVehicleData().join().tripMeter == 55, "trip before the reset");
+            proxy.resetTripMeter().join();
+            check(proxy.getVehicleData().join().tripMeter == 0, "resetTripMeter drops the cached vehicle data");
+        }
+    }
+
+    private interface Read<T> {
+        T read();
+    }
+
+    private interface Condition<T> {
+        boolean test(T value);
+    }
+
+    /**
+     * Invalidation is delivered asynchronously; reads until the condition holds
+     */
+    private static <T> T await(Read<T> read, Condition<T> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            T value = read.read();
+            if (condition.test(value)) {
+                return value;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met, last value " + value);
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.runtime;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Execution strategy of a service implementation's asynchronous methods.
+ * <ul>
+ *   <li>{@link Mode#INLINE}: the method body runs on the calling thread and returns a completed future.
+ *       Best for cheap CPU-bound calls, where a thread hand-off costs more than the work itself.</li>
+ *   <li>{@link Mode#BOUNDED_POOL}: a dedicated pool with a bounded queue; when the queue is full the
+ *       caller runs the task itself, which throttles producers instead of growing the queue.</li>
+ *   <li>{@link Mode#VIRTUAL_THREADS}: one virtual thread per call (JDK 21+), for bodies that block.</li>
+ * </ul>
+ * Implementations use {@link #supply} instead of {@code CompletableFuture.supplyAsync}, so no call ends up
+ * on the shared {@code ForkJoinPool.commonPool()}.
+ */
+public final class ServiceExecutor implements Executor, AutoCloseable {
+
+    public enum Mode {
+        INLINE, BOUNDED_POOL, VIRTUAL_THREADS
+    }
+
+    private static final ServiceExecutor INLINE = new ServiceExecutor(Mode.INLINE, null);
+
+    private final Mode mode;
+    private final ExecutorService executor;
+
+    private ServiceExecutor(Mode mode, ExecutorService executor) {
+        this.mode = mode;
+        this.executor = executor;
+    }
+
+    public static ServiceExecutor inline() {
+        return INLINE;
+    }
+
+    public static ServiceExecutor boundedPool(String name, int threads, int queueDepth) {
+        if (threads < 1 || queueDepth < 1) {
+            throw new IllegalArgumentException("Pool needs at least one thread and one queue slot");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueDepth), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, ServiceExecutor::runOnCaller);
+        return new ServiceExecutor(Mode.BOUNDED_POOL, pool);
+    }
+
+    /**
+     * Caller-runs throttling while the pool is open; unlike {@code CallerRunsPolicy}, rejects tasks after
+     * {@link #close} instead of dropping them, which would leave their futures pending forever
+     */
+    private static void runOnCaller(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Service executor is closed");
+        }
+        task.run();
+    }
+
+    /**
+     * @throws UnsupportedOperationException before JDK 21; check {@link #isVirtualThreadsAvailable} first
+     */
+    public static ServiceExecutor virtualThreads() {
+        ExecutorService executor = newVirtualThreadExecutor();
+        if (executor == null) {
+            throw new UnsupportedOperationException(
+                "Virtual threads require JDK 21+, running on " + System.getProperty("java.version"));
+        }
+        return new ServiceExecutor(Mode.VIRTUAL_THREADS, executor);
+    }
+
+    public static boolean isVirtualThreadsAvailable() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Runs {@code task} according to the mode; exceptions complete the future exceptionally, and so does
+     * a {@link RejectedExecutionException} once the executor is closed
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                // Same shape as supplyAsync so callers see one failure type for every mode
+                return CompletableFuture.failedFuture(new CompletionException(e));
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (executor == null) {
+            command.run();
+        } else {
+            executor.execute(command);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    // Looked up reflectively so the runtime still compiles and runs on JDK 11
+    private static final Method VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+
+    private static Method findVirtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Preview-only builds (JDK 19/20 without --enable-preview) refuse to create virtual threads
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorImpl;
+
+/**
+ * Per-call overhead of the {@link ServiceExecutor} modes on {@code CalculatorImpl.calculate}, in process.
+ * <p>
+ * Usage: {@code ServiceExecutorBenchmark [calls] [window]}. "sequential" waits for every call before
+ * issuing the next; "burst" issues {@code window} calls and then waits for all of them. The common-pool
+ * row reproduces the former {@code supplyAsync} behaviour for comparison. Virtual threads are skipped
+ * on JDKs before 21.
+ */
+public class ServiceExecutorBenchmark {
+
+    private interface Call {
+        CompletableFuture<Calculator.CalculationResult> invoke(double operand);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=== ServiceExecutor per-call overhead (" + calls + " calls, window " + window
+            + ", " + threads + " pool threads) ===");
+        System.out.printf("%-28s %14s %14s%n", "mode", "sequential ns", "burst ns");
+
+        Calculator inline = new CalculatorImpl(ServiceExecutor.inline());
+        bench("common pool (supplyAsync)", operand -> CompletableFuture.supplyAsync(
+            () -> inline.calculate(operand, 2, Calculator.Operation.MULTIPLY).join()), calls, window);
+        bench("inline", operand -> inline.calculate(operand, 2, Calculator.Operation.MULTIPLY), calls, window);
+
+        try (ServiceExecutor pool = ServiceExecutor.boundedPool("calculator", threads, 4 * window)) {
+            Calculator pooled = new CalculatorImpl(pool);
+            bench("bounded pool", operand -> pooled.calculate(operand, 2, Calculator.Operation.MULTIPLY),
+                calls, window);
+        }
+
+        if (ServiceExecutor.isVirtualThreadsAvailable()) {
+            try (ServiceExecutor virtualThreads = ServiceExecutor.virtualThreads()) {
+                Calculator virtual = new CalculatorImpl(virtualThreads);
+                bench("virtual threads", operand -> virtual.calculate(operand, 2, Calculator.Operation.MULTIPLY),
+                    calls, window);
+            }
+        } else {
+            System.out.printf("%-28s %14s %14s%n", "virtual threads", "n/a (JDK < 21)", "");
+        }
+    }
+
+    private static void bench(String mode, Call call, int calls, int window) {
+        // Warm up JIT and pool threads
+        sequential(call, Math.min(calls, 100_000));
+        burst(call, Math.min(calls, 100_000), window);
+
+        double sequentialNanos = sequential(call, calls);
+        double burstNanos = burst(call, calls, window);
+        System.out.printf("%-28s %14.1f %14.1f%n", mode, sequentialNanos, burstNanos);
+    }
+
+    private static double sequential(Call call, int calls) {
+        double checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            checksum += call.invoke(i).join().result;
+        }
+        return consume(checksum, System.nanoTime() - start) / (double) calls;
+    }
+
+    private static double burst(Call call, int calls, int window) {
+        List<CompletableFuture<Calculator.CalculationResult>> futures = new ArrayList<>(window);
+        double checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i += window) {
+            int count = Math.min(window, calls - i);
+            for (int j = 0; j < count; j++) {
+                futures.add(call.invoke(i + j));
+            }
+            for (CompletableFuture<Calculator.CalculationResult> future : futures) {
+                checksum += future.join().result;
+            }
+            futures.clear();
+        }
+        return consume(checksum, System.nanoTime() - start) / (double) calls;
+    }
+
+    /**
+     * Keeps the results observable so the calls cannot be optimised away
+     */
+    private static long consume(double checksum, long elapsedNanos) {
+        if (checksum == Double.MIN_VALUE) {
+            System.out.println(checksum);
+        }
+        return elapsedNanos;
+    }
+}
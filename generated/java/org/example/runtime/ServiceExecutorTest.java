@@ -0,0 +1,118 @@
+package org.example.runtime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorImpl;
+
+public class ServiceExecutorTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running ServiceExecutor Tests...");
+        testInline();
+        testBoundedPool();
+        testVirtualThreads();
+        testClosed();
+        System.out.println("All ServiceExecutor tests passed");
+    }
+
+    private static void testInline() throws Exception {
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> ranOn = ServiceExecutor.inline().supply(Thread::currentThread);
+        check(ranOn.isDone() && ranOn.get() == caller, "inline runs on the caller and completes immediately");
+
+        CompletableFuture<Object> failed = ServiceExecutor.inline().supply(() -> {
+            throw new IllegalStateException("boom");
+        });
+        try {
+            failed.get();
+            throw new AssertionError("failure must be reported");
+        } catch (ExecutionException e) {
+            check(e.getCause() instanceof IllegalStateException, "inline failure unwraps like supplyAsync");
+        }
+
+        Calculator calculator = new CalculatorImpl();
+        CompletableFuture<Calculator.CalculationResult> sum = calculator.calculate(2, 3, Calculator.Operation.ADD);
+        check(sum.isDone() && sum.get().result == 5.0, "CalculatorImpl completes inline by default");
+    }
+
+    private static void testBoundedPool() throws Exception {
+        try (ServiceExecutor pool = ServiceExecutor.boundedPool("test-pool", 1, 1)) {
+            check(pool.supply(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS)
+                .startsWith("test-pool-"), "pool thread runs the task");
+
+            // Occupy the worker and the single queue slot; the next task runs on the caller
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<Boolean> busy = pool.supply(() -> {
+                started.countDown();
+                return await(release);
+            });
+            check(started.await(5, TimeUnit.SECONDS), "worker picked up the first task");
+            CompletableFuture<Boolean> queued = pool.supply(() -> await(release));
+            Thread caller = Thread.currentThread();
+            CompletableFuture<Thread> overflow = pool.supply(Thread::currentThread);
+            check(overflow.get() == caller, "full queue runs the task on the caller");
+            release.countDown();
+            check(busy.get(5, TimeUnit.SECONDS) && queued.get(5, TimeUnit.SECONDS), "queued tasks still run");
+
+            Calculator calculator = new CalculatorImpl(pool);
+            check(calculator.calculate(6, 7, Calculator.Operation.MULTIPLY).get(5, TimeUnit.SECONDS).result == 42.0,
+                "CalculatorImpl on a dedicated pool");
+        }
+    }
+
+    private static void testClosed() throws Exception {
+        ServiceExecutor pool = ServiceExecutor.boundedPool("closed-pool", 1, 1);
+        pool.close();
+        CompletableFuture<Integer> rejected = pool.supply(() -> 42);
+        check(rejected.isDone(), "supply after close completes immediately instead of hanging");
+        try {
+            rejected.get(2, TimeUnit.SECONDS);
+            throw new AssertionError("task submitted after close must fail");
+        } catch (ExecutionException e) {
+            check(e.getCause() instanceof RejectedExecutionException, "closed pool rejects the task");
+        }
+        try {
+            pool.execute(() -> { });
+            throw new AssertionError("execute after close must throw");
+        } catch (RejectedExecutionException expected) {
+            // not silently dropped
+        }
+    }
+
+    private static void testVirtualThreads() throws Exception {
+        if (!ServiceExecutor.isVirtualThreadsAvailable()) {
+            try {
+                ServiceExecutor.virtualThreads();
+                throw new AssertionError("virtual threads must be rejected before JDK 21");
+            } catch (UnsupportedOperationException e) {
+                check(e.getMessage().contains("JDK 21"), "explains the JDK requirement");
+            }
+            return;
+        }
+        try (ServiceExecutor virtualThreads = ServiceExecutor.virtualThreads()) {
+            Calculator calculator = new CalculatorImpl(virtualThreads);
+            check(calculator.calculate(1, 1, Calculator.Operation.ADD).get(5, TimeUnit.SECONDS).result == 2.0,
+                "CalculatorImpl on virtual threads");
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
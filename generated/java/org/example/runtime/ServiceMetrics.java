@@ -0,0 +1,141 @@
+package org.example.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per-method latency histograms of one service, created by the generated skeletons.
+ * <p>
+ * The latency of a call runs from the start of request decoding until the implementation's future
+ * completes. Calls that complete synchronously are recorded without attaching a callback.
+ */
+public final class ServiceMetrics {
+
+    private static final double[] SCRAPE_QUANTILES = {0.5, 0.99, 0.999};
+
+    private final String serviceName;
+    private final List<String> methodNames;
+    private final LatencyHistogram[] histograms;
+
+    public ServiceMetrics(String serviceName, String... methodNames) {
+        this.serviceName = serviceName;
+        this.methodNames = Collections.unmodifiableList(Arrays.asList(methodNames.clone()));
+        this.histograms = new LatencyHistogram[methodNames.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public List<String> getMethodNames() {
+        return methodNames;
+    }
+
+    public LatencyHistogram histogram(int methodIndex) {
+        return histograms[methodIndex];
+    }
+
+    public LatencyHistogram histogram(String methodName) {
+        int index = methodNames.indexOf(methodName);
+        if (index < 0) {
+            throw new IllegalArgumentException(serviceName + " has no method " + methodName);
+        }
+        return histograms[index];
+    }
+
+    /**
+     * Records the latency of {@code reply} once it completes and returns it unchanged
+     */
+    public <T> CompletableFuture<T> record(int methodIndex, long startNanos, CompletableFuture<T> reply) {
+        LatencyHistogram histogram = histograms[methodIndex];
+        if (reply.isDone()) {
+            histogram.record(System.nanoTime() - startNanos);
+        } else {
+            reply.whenComplete((result, failure) -> histogram.record(System.nanoTime() - startNanos));
+        }
+        return reply;
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> snapshot() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new LinkedHashMap<>();
+        for (int i = 0; i < histograms.length; i++) {
+            snapshots.put(methodNames.get(i), histograms[i].snapshot());
+        }
+        return snapshots;
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> intervalSnapshot() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new LinkedHashMap<>();
+        for (int i = 0; i < histograms.length; i++) {
+            snapshots.put(methodNames.get(i), histograms[i].intervalSnapshot());
+        }
+        return snapshots;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Renders the Prometheus text format (microseconds); see {@link #scrape(List)}
+     */
+    public String scrape() {
+        return scrape(List.of(this));
+    }
+
+    /**
+     * Renders every service as one Prometheus exposition, so each metric family is announced once. {@code _sum} and
+     * {@code _count} are cumulative as Prometheus expects of counters; the quantiles and the maximum gauge cover the
+     * interval since the last scrape, which this call starts anew
+     */
+    public static String scrape(List<ServiceMetrics> services) {
+        List<String> labels = new ArrayList<>();
+        List<LatencyHistogram.Snapshot> totals = new ArrayList<>();
+        List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+        for (ServiceMetrics metrics : services) {
+            Map<String, LatencyHistogram.Snapshot> cumulative = metrics.snapshot();
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : metrics.intervalSnapshot().entrySet()) {
+                labels.add("service=\"" + metrics.serviceName + "\",method=\"" + entry.getKey() + "\"");
+                totals.add(cumulative.get(entry.getKey()));
+                snapshots.add(entry.getValue());
+            }
+        }
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP someip_method_latency_us Method call latency in microseconds; "
+                + "quantiles since the last scrape, sum and count since start\n")
+           .append("# TYPE someip_method_latency_us summary\n");
+        for (int i = 0; i < snapshots.size(); i++) {
+            LatencyHistogram.Snapshot snapshot = snapshots.get(i);
+            for (double quantile : SCRAPE_QUANTILES) {
+                out.append("someip_method_latency_us{").append(labels.get(i)).append(",quantile=\"").append(quantile)
+                   .append("\"} ").append(micros(snapshot.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            out.append("someip_method_latency_us_sum{").append(labels.get(i)).append("} ")
+               .append(micros(totals.get(i).getTotalNanos())).append('\n');
+            out.append("someip_method_latency_us_count{").append(labels.get(i)).append("} ")
+               .append(totals.get(i).getCount()).append('\n');
+        }
+        out.append("# HELP someip_method_latency_max_us Longest method call in microseconds since the last scrape\n")
+           .append("# TYPE someip_method_latency_max_us gauge\n");
+        for (int i = 0; i < snapshots.size(); i++) {
+            out.append("someip_method_latency_max_us{").append(labels.get(i)).append("} ")
+               .append(micros(snapshots.get(i).getMaxNanos())).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+}
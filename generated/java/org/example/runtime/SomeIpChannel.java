@@ -0,0 +1,131 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SOME/IP TCP connection: frames incoming bytes into messages and queues outgoing messages.
+ * <p>
+ * Reading and flushing happen on the I/O thread only; {@link #enqueue} may be called from any thread.
+ * Queued messages are written with one gathering write, so pipelined responses share a syscall.
+ */
+final class SomeIpChannel {
+
+    static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    private static final int INITIAL_READ_BUFFER = 64 * 1024;
+
+    interface FrameHandler {
+        /**
+         * Handles one complete message; {@code frame} is only valid until the handler returns
+         */
+        void onFrame(SomeIpChannel channel, ByteBuffer frame);
+    }
+
+    final SocketChannel socket;
+    final AtomicBoolean flushScheduled = new AtomicBoolean();
+    SelectionKey key;
+
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER);
+    private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer[] gather;
+
+    /**
+     * @param batchSize maximum number of messages per gathering write
+     */
+    SomeIpChannel(SocketChannel socket, int batchSize) {
+        this.socket = socket;
+        this.gather = new ByteBuffer[batchSize];
+    }
+
+    boolean isOpen() {
+        return socket.isOpen();
+    }
+
+    /**
+     * Reads available bytes and passes every complete message to {@code handler}
+     *
+     * @return false when the peer closed the connection
+     */
+    boolean read(FrameHandler handler) throws IOException {
+        if (socket.read(readBuffer) < 0) {
+            return false;
+        }
+        readBuffer.flip();
+        int required = 0;
+        while (readBuffer.remaining() >= SomeIpHeader.LENGTH_PREFIX_SIZE) {
+            int start = readBuffer.position();
+            long length = readBuffer.getInt(start + 4) & 0xFFFFFFFFL;
+            if (length < SomeIpHeader.HEADER_SIZE - SomeIpHeader.LENGTH_PREFIX_SIZE
+                    || length + SomeIpHeader.LENGTH_PREFIX_SIZE > MAX_MESSAGE_SIZE) {
+                throw new IOException("Invalid SOME/IP length field " + length);
+            }
+            int frameSize = (int) length + SomeIpHeader.LENGTH_PREFIX_SIZE;
+            if (readBuffer.remaining() < frameSize) {
+                required = frameSize;
+                break;
+            }
+            ByteBuffer frame = readBuffer.duplicate();
+            frame.limit(start + frameSize);
+            readBuffer.position(start + frameSize);
+            handler.onFrame(this, frame);
+        }
+        if (required > readBuffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(required, readBuffer.capacity() * 2));
+            larger.put(readBuffer);
+            readBuffer = larger;
+        } else {
+            readBuffer.compact();
+        }
+        return true;
+    }
+
+    void enqueue(ByteBuffer message) {
+        writeQueue.add(message);
+    }
+
+    /**
+     * Writes queued messages until the queue is empty or the socket buffer is full
+     *
+     * @return true when everything queued was written
+     */
+    boolean flush() throws IOException {
+        while (true) {
+            int count = 0;
+            for (ByteBuffer message : writeQueue) {
+                gather[count++] = message;
+                if (count == gather.length) {
+                    break;
+                }
+            }
+            if (count == 0) {
+                return true;
+            }
+            socket.write(gather, 0, count);
+            int written = 0;
+            while (written < count && !gather[written].hasRemaining()) {
+                writeQueue.poll();
+                written++;
+            }
+            Arrays.fill(gather, 0, count, null);
+            if (written < count) {
+                return false;
+            }
+        }
+    }
+
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closing; nothing to report
+        }
+        writeQueue.clear();
+    }
+}
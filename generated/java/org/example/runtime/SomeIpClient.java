@@ -0,0 +1,231 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Non-blocking SOME/IP client connection used by the generated {@code <Interface>SomeIp.proxy(...)} classes.
+ * <p>
+ * Calls are pipelined: every request gets a session ID and is written without waiting for earlier
+ * responses. Pending calls live in a table indexed by session ID, so correlating a response is a single
+ * array access. Responses are decoded and their futures completed on the I/O thread; dependent stages
+ * that block should use the {@code *Async} variants.
+ */
+public final class SomeIpClient extends SomeIpEndpoint {
+
+    /**
+     * Receives the notifications of one service on the I/O thread
+     */
+    public interface NotificationHandler {
+        /**
+         * @param payload only valid until the handler returns
+         */
+        void onNotification(int eventId, ByteBuffer payload);
+    }
+
+    private static final int SESSION_COUNT = 1 << 16;
+
+    private static final class PendingCall<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Function<ByteBuffer, T> replyReader;
+
+        PendingCall(Function<ByteBuffer, T> replyReader) {
+            this.replyReader = replyReader;
+        }
+
+        void complete(ByteBuffer payload) {
+            try {
+                future.complete(replyReader.apply(payload));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(
+                    new SomeIpException(SomeIpHeader.E_MALFORMED_MESSAGE, "Malformed response: " + e));
+            }
+        }
+    }
+
+    private final SomeIpChannel channel;
+    private final int clientId;
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+    private final AtomicReferenceArray<PendingCall<?>> pendingCalls = new AtomicReferenceArray<>(SESSION_COUNT);
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private volatile NotificationHandler[] notificationHandlers = new NotificationHandler[0];
+    private volatile int[] notificationServices = new int[0];
+    private volatile boolean closed;
+
+    private SomeIpClient(SocketChannel socket, int clientId, int batchSize) throws IOException {
+        super(batchSize);
+        this.clientId = clientId & 0xFFFF;
+        this.channel = register(socket);
+        startIoThread("someip-client-" + socket.getLocalAddress());
+    }
+
+    public static SomeIpClient connect(InetSocketAddress address) throws IOException {
+        return connect(address, 0x0001);
+    }
+
+    public static SomeIpClient connect(InetSocketAddress address, int clientId) throws IOException {
+        return new SomeIpClient(SocketChannel.open(address), clientId, SomeIpDeployment.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Connects to the endpoint of a deployed service instance using its batch size
+     */
+    public static SomeIpClient connect(SomeIpDeployment deployment) throws IOException {
+        return new SomeIpClient(SocketChannel.open(deployment.getSocketAddress()), 0x0001, deployment.getBatchSize());
+    }
+
+    /**
+     * Sends a request and decodes the response payload with {@code replyReader}
+     *
+     * @param message a message from {@link SomeIpHeader#allocate} positioned at the end of its payload
+     */
+    public <T> CompletableFuture<T> call(int serviceId, int methodId, int interfaceVersion, ByteBuffer message,
+                                         Function<ByteBuffer, T> replyReader) {
+        PendingCall<T> call = new PendingCall<>(replyReader);
+        if (closed) {
+            call.future.completeExceptionally(closedException());
+            return call.future;
+        }
+        int session = reserveSession(call);
+        if (session < 0) {
+            call.future.completeExceptionally(
+                new SomeIpException(SomeIpHeader.E_NOT_READY, "Too many outstanding calls"));
+            return call.future;
+        }
+        SomeIpHeader.finish(message, serviceId, methodId, (clientId << 16) | session, interfaceVersion,
+            SomeIpHeader.REQUEST, SomeIpHeader.E_OK);
+        send(channel, message);
+        if (closed && pendingCalls.compareAndSet(session, call, null)) {
+            // Lost a race with close(); make sure the caller is not left waiting
+            pendingCount.decrementAndGet();
+            call.future.completeExceptionally(closedException());
+        }
+        return call.future;
+    }
+
+    /**
+     * Sends a fire-and-forget request; the future completes once the request is queued
+     */
+    public CompletableFuture<Void> send(int serviceId, int methodId, int interfaceVersion, ByteBuffer message) {
+        if (closed) {
+            return CompletableFuture.failedFuture(closedException());
+        }
+        SomeIpHeader.finish(message, serviceId, methodId, clientId << 16, interfaceVersion,
+            SomeIpHeader.REQUEST_NO_RETURN, SomeIpHeader.E_OK);
+        send(channel, message);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public synchronized void setNotificationHandler(int serviceId, NotificationHandler handler) {
+        int[] services = notificationServices;
+        NotificationHandler[] handlers = notificationHandlers;
+        for (int i = 0; i < services.length; i++) {
+            if (services[i] == serviceId) {
+                NotificationHandler[] replaced = handlers.clone();
+                replaced[i] = handler;
+                notificationHandlers = replaced;
+                return;
+            }
+        }
+        int[] extendedServices = new int[services.length + 1];
+        NotificationHandler[] extendedHandlers = new NotificationHandler[handlers.length + 1];
+        System.arraycopy(services, 0, extendedServices, 0, services.length);
+        System.arraycopy(handlers, 0, extendedHandlers, 0, handlers.length);
+        extendedServices[services.length] = serviceId;
+        extendedHandlers[handlers.length] = handler;
+        notificationHandlers = extendedHandlers;
+        notificationServices = extendedServices;
+    }
+
+    public int getPendingCalls() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Claims a free session ID (1..65535) for {@code call}, or returns -1 if all are in use
+     */
+    private int reserveSession(PendingCall<?> call) {
+        for (int attempt = 1; attempt < SESSION_COUNT; attempt++) {
+            int session = sessionCounter.incrementAndGet() & 0xFFFF;
+            if (session != 0 && pendingCalls.compareAndSet(session, null, call)) {
+                pendingCount.incrementAndGet();
+                return session;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected void onFrame(SomeIpChannel channel, ByteBuffer frame) {
+        byte messageType = SomeIpHeader.messageType(frame);
+        if (messageType == SomeIpHeader.NOTIFICATION) {
+            dispatchNotification(frame);
+            return;
+        }
+        if (messageType != SomeIpHeader.RESPONSE && messageType != SomeIpHeader.ERROR) {
+            return;
+        }
+        int session = SomeIpHeader.requestId(frame) & 0xFFFF;
+        PendingCall<?> call = pendingCalls.getAndSet(session, null);
+        if (call == null) {
+            return;
+        }
+        pendingCount.decrementAndGet();
+        byte returnCode = SomeIpHeader.returnCode(frame);
+        frame.position(frame.position() + SomeIpHeader.HEADER_SIZE);
+        if (messageType == SomeIpHeader.ERROR || returnCode != SomeIpHeader.E_OK) {
+            String reason = frame.hasRemaining() ? SomeIpCodec.readString(frame) : "Error " + returnCode;
+            call.future.completeExceptionally(new SomeIpException(returnCode, reason));
+        } else {
+            call.complete(frame);
+        }
+    }
+
+    private void dispatchNotification(ByteBuffer frame) {
+        int serviceId = SomeIpHeader.serviceId(frame);
+        int eventId = SomeIpHeader.methodId(frame);
+        int[] services = notificationServices;
+        NotificationHandler[] handlers = notificationHandlers;
+        for (int i = 0; i < services.length && i < handlers.length; i++) {
+            if (services[i] == serviceId) {
+                frame.position(frame.position() + SomeIpHeader.HEADER_SIZE);
+                handlers[i].onNotification(eventId, frame);
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected void onChannelClosed(SomeIpChannel channel) {
+        closed = true;
+        failPendingCalls();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        closeChannel(channel);
+        super.close();
+        failPendingCalls();
+    }
+
+    private void failPendingCalls() {
+        for (int session = 0; session < SESSION_COUNT; session++) {
+            PendingCall<?> call = pendingCalls.getAndSet(session, null);
+            if (call != null) {
+                pendingCount.decrementAndGet();
+                call.future.completeExceptionally(closedException());
+            }
+        }
+    }
+
+    private static SomeIpException closedException() {
+        return new SomeIpException(SomeIpHeader.E_NOT_REACHABLE, "Connection closed");
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire-format helpers shared by the generated SOME/IP struct codecs.
+ * <p>
+ * Encoding follows the SOME/IP default serialization: big-endian primitives, booleans as one byte,
+ * enumerations as their backing integer, strings as a 32-bit byte length followed by a UTF-8 BOM,
+ * the UTF-8 bytes and a terminating NUL, and dynamic arrays/maps as a 32-bit byte length followed by
+ * the elements. Writing never allocates; strings are UTF-8 encoded in place, with unpaired surrogates
+ * replaced by '?'.
+ */
+public final class SomeIpCodec {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /** Byte order required by SOME/IP; buffers are big-endian by default */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+
+    private SomeIpCodec() {}
+
+    // Length-prefixed sections
+
+    /**
+     * Reserves a 32-bit length field and returns its position for {@link #endLength}
+     */
+    public static int beginLength(ByteBuffer buffer) {
+        int lengthPosition = buffer.position();
+        buffer.putInt(0);
+        return lengthPosition;
+    }
+
+    /**
+     * Back-patches the length field reserved by {@link #beginLength} with the number of bytes written since
+     */
+    public static void endLength(ByteBuffer buffer, int lengthPosition) {
+        buffer.putInt(lengthPosition, buffer.position() - lengthPosition - 4);
+    }
+
+    /**
+     * Reads a 32-bit length field and returns the absolute end position of the section it prefixes
+     */
+    public static int readSectionEnd(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length field " + length + " with "
+                + buffer.remaining() + " bytes remaining");
+        }
+        return buffer.position() + length;
+    }
+
+    // Strings
+
+    public static void writeString(ByteBuffer buffer, String value) {
+        int lengthPosition = beginLength(buffer);
+        buffer.put(UTF8_BOM);
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | (c >> 6)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogates are not encodable; replaced like String.getBytes(UTF_8) does
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | (c >> 12)));
+                    buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+        }
+        buffer.put((byte) 0);
+        endLength(buffer, lengthPosition);
+    }
+
+    public static String readString(ByteBuffer buffer) {
+        int end = readSectionEnd(buffer);
+        int start = buffer.position();
+        if (end - start >= 3 && buffer.get(start) == UTF8_BOM[0] && buffer.get(start + 1) == UTF8_BOM[1]
+                && buffer.get(start + 2) == UTF8_BOM[2]) {
+            start += 3;
+        }
+        int contentEnd = end > start && buffer.get(end - 1) == 0 ? end - 1 : end;
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + start, contentEnd - start, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[contentEnd - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(end);
+        return value;
+    }
+
+    /**
+     * Serialized size of a string including length field, BOM and NUL terminator
+     */
+    public static int stringSize(String value) {
+        int size = 4 + UTF8_BOM.length + 1;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    size += 1;
+                } else if (c < 0x800) {
+                    size += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    size += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    size += 1;
+                } else {
+                    size += 3;
+                }
+            }
+        }
+        return size;
+    }
+
+    // Byte buffers
+
+    public static void writeBytes(ByteBuffer buffer, byte[] value) {
+        buffer.putInt(value == null ? 0 : value.length);
+        if (value != null) {
+            buffer.put(value);
+        }
+    }
+
+    public static byte[] readBytes(ByteBuffer buffer, byte[] reuse) {
+        int end = readSectionEnd(buffer);
+        int length = end - buffer.position();
+        byte[] value = reuse != null && reuse.length == length ? reuse : new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    // Primitive arrays
+
+    /**
+     * Writes a length-prefixed Double array with absolute puts, which neither allocate a view buffer nor move
+     * the position per element
+     */
+    public static void writeDoubles(ByteBuffer buffer, double[] value) {
+        int count = value == null ? 0 : value.length;
+        buffer.putInt(count * Double.BYTES);
+        int position = buffer.position();
+        for (int i = 0; i < count; i++) {
+            buffer.putDouble(position + i * Double.BYTES, value[i]);
+        }
+        buffer.position(position + count * Double.BYTES);
+    }
+
+    public static double[] readDoubles(ByteBuffer buffer, double[] reuse) {
+        int end = readSectionEnd(buffer);
+        int count = (end - buffer.position()) / Double.BYTES;
+        double[] value = reuse != null && reuse.length == count ? reuse : new double[count];
+        buffer.asDoubleBuffer().get(value);
+        buffer.position(end);
+        return value;
+    }
+
+    public static void writeLongs(ByteBuffer buffer, long[] value) {
+        int count = value == null ? 0 : value.length;
+        buffer.putInt(count * Long.BYTES);
+        int position = buffer.position();
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(position + i * Long.BYTES, value[i]);
+        }
+        buffer.position(position + count * Long.BYTES);
+    }
+
+    public static long[] readLongs(ByteBuffer buffer, long[] reuse) {
+        int end = readSectionEnd(buffer);
+        int count = (end - buffer.position()) / Long.BYTES;
+        long[] value = reuse != null && reuse.length == count ? reuse : new long[count];
+        buffer.asLongBuffer().get(value);
+        buffer.position(end);
+        return value;
+    }
+
+    // Booleans
+
+    public static void writeBoolean(ByteBuffer buffer, boolean value) {
+        buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    public static boolean readBoolean(ByteBuffer buffer) {
+        return buffer.get() != 0;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.example.automotive.VehicleDashboard;
+import org.example.calculator.Calculator;
+import org.example.common.CommonService;
+
+public class SomeIpCodecTest {
+    public static void main(String[] args) {
+        System.out.println("Running SOME/IP Codec Tests...");
+        testCalculationResult();
+        testVehicleData();
+        testPosition();
+        testValidationResult();
+        testStringEncoding();
+        testBufferReuse();
+        System.out.println("All SOME/IP codec tests passed");
+    }
+
+    private static void testCalculationResult() {
+        Calculator.CalculationResult original =
+            new Calculator.CalculationResult(42.5, "Überlauf ⚠ 🚗", true, 1700000000123L);
+        ByteBuffer buffer = encode(original.serializedSize(), original::writeTo);
+        Calculator.CalculationResult decoded = new Calculator.CalculationResult();
+        decoded.readFrom(buffer);
+        check(!buffer.hasRemaining(), "all bytes consumed");
+        check(decoded.result == original.result, "result");
+        check(original.errorMessage.equals(decoded.errorMessage), "errorMessage");
+        check(decoded.isValid == original.isValid, "isValid");
+        check(decoded.timestamp == original.timestamp, "timestamp");
+    }
+
+    private static void testVehicleData() {
+        VehicleDashboard.VehicleData original = new VehicleDashboard.VehicleData(88.5f, 2500f, 63.2f, 90.1f, 3.4f,
+            123456, 789, VehicleDashboard.TransmissionState.DRIVE, VehicleDashboard.EngineState.RUNNING);
+        check(original.serializedSize() == 30, "VehicleData is fixed-size");
+        VehicleDashboard.VehicleData decoded = new VehicleDashboard.VehicleData();
+        decoded.readFrom(encode(30, original::writeTo));
+        check(decoded.speed == original.speed, "speed");
+        check(decoded.engineRPM == original.engineRPM, "engineRPM");
+        check(decoded.odometer == original.odometer, "odometer");
+        check(decoded.transmission == original.transmission, "transmission");
+        check(decoded.engineState == original.engineState, "engineState");
+
+        original.transmission = null;
+        try {
+            original.writeTo(ByteBuffer.allocate(30));
+            throw new AssertionError("a null enumeration must not be sent as the first enumerator");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static void testPosition() {
+        CommonService.Position original = new CommonService.Position(52.52, 13.405, 34.0);
+        ByteBuffer buffer = ByteBuffer.allocate(original.serializedSize());
+        original.writeTo(buffer);
+        // Big-endian IEEE 754 latitude first
+        check(buffer.get(0) == (byte) 0x40, "big-endian double");
+        buffer.flip();
+        CommonService.Position decoded = new CommonService.Position();
+        decoded.readFrom(buffer);
+        check(decoded.latitude == original.latitude && decoded.longitude == original.longitude
+            && decoded.altitude == original.altitude, "position");
+    }
+
+    private static void testValidationResult() {
+        CommonService.ValidationResult original = new CommonService.ValidationResult(false,
+            new String[] {"missing key", "bad value"}, new String[0]);
+        ByteBuffer buffer = encode(original.serializedSize(), original::writeTo);
+        CommonService.ValidationResult decoded = new CommonService.ValidationResult();
+        decoded.readFrom(buffer);
+        check(!buffer.hasRemaining(), "all bytes consumed");
+        check(!decoded.isValid, "isValid");
+        check(Arrays.equals(original.errors, decoded.errors), "errors");
+        check(decoded.warnings.length == 0, "warnings");
+    }
+
+    private static void testStringEncoding() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        SomeIpCodec.writeString(buffer, "ab");
+        // length, BOM, 'a', 'b', NUL
+        check(buffer.position() == 4 + 3 + 2 + 1, "string size");
+        check(buffer.getInt(0) == 6, "string length field");
+        check(SomeIpCodec.stringSize("ab") == buffer.position(), "stringSize");
+        check(SomeIpCodec.stringSize("ä€🚗") == 4 + 3 + 2 + 3 + 4 + 1, "multi-byte stringSize");
+        buffer.flip();
+        check("ab".equals(SomeIpCodec.readString(buffer)), "readString");
+
+        for (String unpaired : new String[] {"a\uD83Db", "\uDC97", "x\uD83D"}) {
+            ByteBuffer encoded = ByteBuffer.allocate(SomeIpCodec.stringSize(unpaired));
+            SomeIpCodec.writeString(encoded, unpaired);
+            check(!encoded.hasRemaining(), "stringSize of unpaired surrogates");
+            byte[] expected = unpaired.getBytes(StandardCharsets.UTF_8);
+            check(Arrays.equals(Arrays.copyOfRange(encoded.array(), 7, 7 + expected.length), expected),
+                "unpaired surrogates encoded like String.getBytes");
+        }
+
+        ByteBuffer invalid = ByteBuffer.allocate(8);
+        invalid.putInt(100).flip();
+        try {
+            SomeIpCodec.readString(invalid);
+            throw new AssertionError("length beyond buffer must be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static void testBufferReuse() {
+        CommonService.ValidationResult original = new CommonService.ValidationResult(true,
+            new String[] {"x"}, new String[] {"y"});
+        ByteBuffer direct = ByteBuffer.allocateDirect(original.serializedSize());
+        original.writeTo(direct);
+        direct.flip();
+        CommonService.ValidationResult target = new CommonService.ValidationResult();
+        target.readFrom(direct);
+        check(target.isValid && "x".equals(target.errors[0]) && "y".equals(target.warnings[0]), "direct buffer");
+
+        Calculator.ComplexNumber reused = new Calculator.ComplexNumber();
+        for (int i = 0; i < 3; i++) {
+            Calculator.ComplexNumber value = new Calculator.ComplexNumber(i, -i);
+            reused.readFrom(encode(value.serializedSize(), value::writeTo));
+            check(reused.real == i && reused.imaginary == -i, "reused target " + i);
+        }
+    }
+
+    private static ByteBuffer encode(int size, Consumer<ByteBuffer> writer) {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        writer.accept(buffer);
+        check(!buffer.hasRemaining(), "serializedSize matches bytes written");
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
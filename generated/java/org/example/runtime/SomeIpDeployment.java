@@ -0,0 +1,84 @@
+package org.example.runtime;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Deployment settings of one SOME/IP service instance, generated from an fdepl file.
+ * <ul>
+ *   <li>{@code workerThreads}: threads running service implementations; 0 dispatches on the I/O thread</li>
+ *   <li>{@code queueDepth}: requests waiting for a worker before new ones are rejected with E_NOT_READY</li>
+ *   <li>{@code batchSize}: maximum messages written per gathering write</li>
+ *   <li>{@code eventCoalescingIntervalMs}: notifications of the same event within this interval are
+ *       coalesced into the latest one; 0 sends every notification</li>
+ * </ul>
+ */
+public final class SomeIpDeployment {
+
+    public static final int DEFAULT_WORKER_THREADS = 0;
+    public static final int DEFAULT_QUEUE_DEPTH = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_EVENT_COALESCING_INTERVAL_MS = 0;
+
+    private final String instanceName;
+    private final String interfaceName;
+    private final String address;
+    private final int port;
+    private final int workerThreads;
+    private final int queueDepth;
+    private final int batchSize;
+    private final int eventCoalescingIntervalMs;
+
+    public SomeIpDeployment(String instanceName, String interfaceName, String address, int port,
+                            int workerThreads, int queueDepth, int batchSize, int eventCoalescingIntervalMs) {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid port " + port + " for " + instanceName);
+        }
+        if (workerThreads < 0 || queueDepth < 1 || batchSize < 1 || eventCoalescingIntervalMs < 0) {
+            throw new IllegalArgumentException("Invalid performance settings for " + instanceName);
+        }
+        this.instanceName = instanceName;
+        this.interfaceName = interfaceName;
+        this.address = address;
+        this.port = port;
+        this.workerThreads = workerThreads;
+        this.queueDepth = queueDepth;
+        this.batchSize = batchSize;
+        this.eventCoalescingIntervalMs = eventCoalescingIntervalMs;
+    }
+
+    /**
+     * Default settings for an endpoint that has no deployment model
+     */
+    public static SomeIpDeployment defaults(InetSocketAddress endpoint) {
+        return new SomeIpDeployment("default", "", endpoint.getHostString(), endpoint.getPort(),
+            DEFAULT_WORKER_THREADS, DEFAULT_QUEUE_DEPTH, DEFAULT_BATCH_SIZE, DEFAULT_EVENT_COALESCING_INTERVAL_MS);
+    }
+
+    /**
+     * Same settings on another endpoint, e.g. loopback for local testing
+     */
+    public SomeIpDeployment withEndpoint(String address, int port) {
+        return new SomeIpDeployment(instanceName, interfaceName, address, port,
+            workerThreads, queueDepth, batchSize, eventCoalescingIntervalMs);
+    }
+
+    public String getInstanceName() { return instanceName; }
+    public String getInterfaceName() { return interfaceName; }
+    public String getAddress() { return address; }
+    public int getPort() { return port; }
+    public int getWorkerThreads() { return workerThreads; }
+    public int getQueueDepth() { return queueDepth; }
+    public int getBatchSize() { return batchSize; }
+    public int getEventCoalescingIntervalMs() { return eventCoalescingIntervalMs; }
+
+    public InetSocketAddress getSocketAddress() {
+        return new InetSocketAddress(address, port);
+    }
+
+    @Override
+    public String toString() {
+        return instanceName + " of " + interfaceName + " at " + address + ":" + port
+            + " (workers=" + workerThreads + ", queue=" + queueDepth + ", batch=" + batchSize
+            + ", coalescing=" + eventCoalescingIntervalMs + "ms)";
+    }
+}
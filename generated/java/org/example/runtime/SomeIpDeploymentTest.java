@@ -0,0 +1,163 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorDeployment;
+import org.example.calculator.CalculatorImpl;
+import org.example.calculator.CalculatorSomeIp;
+
+public class SomeIpDeploymentTest {
+
+    private static final int TEST_SERVICE = 0x4321;
+    private static final int TEST_EVENT = 0x8001;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running SOME/IP Deployment Tests...");
+        testGeneratedDeployment();
+        testQueueFull();
+        testEventCoalescing();
+        System.out.println("All SOME/IP deployment tests passed");
+    }
+
+    private static void testGeneratedDeployment() throws Exception {
+        SomeIpDeployment deployment = CalculatorDeployment.CALCULATOR_SERVICE;
+        check(deployment.getPort() == 30500 && "192.168.1.100".equals(deployment.getAddress()), "endpoint from fdepl");
+        check(deployment.getWorkerThreads() == 4 && deployment.getQueueDepth() == 256
+            && deployment.getBatchSize() == 32, "performance settings from fdepl");
+
+        SomeIpDeployment local = deployment.withEndpoint("127.0.0.1", 0);
+        try (SomeIpServer server = CalculatorDeployment.startCalculatorService(new CalculatorImpl(), local);
+             SomeIpClient client = SomeIpClient.connect(local.withEndpoint("127.0.0.1",
+                 server.getLocalAddress().getPort()))) {
+            Calculator calculator = CalculatorSomeIp.proxy(client);
+            List<CompletableFuture<Calculator.CalculationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(calculator.calculate(i, 1, Calculator.Operation.ADD));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                check(await(futures.get(i)).result == i + 1, "worker pool result " + i);
+            }
+            check(server.getRejectedRequests() == 0, "no rejections below queue depth");
+        }
+    }
+
+    private static void testQueueFull() throws Exception {
+        // One busy worker and room for one queued request: everything beyond that is rejected
+        CountDownLatch release = new CountDownLatch(1);
+        SomeIpService blocking = new TestService() {
+            @Override
+            public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return CompletableFuture.completedFuture(SomeIpHeader.allocate(0));
+            }
+        };
+        SomeIpDeployment deployment = new SomeIpDeployment("blocking", "test", "127.0.0.1", 0, 1, 1, 8, 0);
+        try (SomeIpServer server = new SomeIpServer(deployment).register(blocking).start();
+             SomeIpClient client = SomeIpClient.connect(server.getLocalAddress())) {
+            List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(client.call(TEST_SERVICE, 1, 1, SomeIpHeader.allocate(0), buffer -> null));
+            }
+            for (int i = 2; i < futures.size(); i++) {
+                try {
+                    await(futures.get(i));
+                    throw new AssertionError("request " + i + " must be rejected");
+                } catch (ExecutionException e) {
+                    check(((SomeIpException) e.getCause()).getReturnCode() == SomeIpHeader.E_NOT_READY,
+                        "E_NOT_READY when the queue is full");
+                }
+            }
+            release.countDown();
+            await(futures.get(0));
+            await(futures.get(1));
+            check(server.getRejectedRequests() == 3, "rejections counted");
+        }
+    }
+
+    private static void testEventCoalescing() throws Exception {
+        TestService events = new TestService();
+        SomeIpDeployment deployment = new SomeIpDeployment("events", "test", "127.0.0.1", 0, 0, 16, 8, 50);
+        try (SomeIpServer server = new SomeIpServer(deployment).register(events).start();
+             SomeIpClient client = SomeIpClient.connect(server.getLocalAddress())) {
+            AtomicInteger received = new AtomicInteger();
+            AtomicInteger last = new AtomicInteger(-1);
+            CountDownLatch latest = new CountDownLatch(1);
+            client.setNotificationHandler(TEST_SERVICE, (eventId, payload) -> {
+                int value = payload.getInt();
+                received.incrementAndGet();
+                last.set(value);
+                if (value == 999) {
+                    latest.countDown();
+                }
+            });
+            waitForConnection(server);
+            for (int i = 0; i < 1000; i++) {
+                ByteBuffer message = SomeIpHeader.allocate(4);
+                message.putInt(i);
+                events.notifier.notify(TEST_SERVICE, TEST_EVENT, 1, message);
+            }
+            check(latest.await(5, TimeUnit.SECONDS), "latest value delivered");
+            check(received.get() < 1000, "notifications coalesced");
+            check(server.getCoalescedNotifications() + received.get() == 1000, "every notification accounted for");
+        }
+    }
+
+    private static void waitForConnection(SomeIpServer server) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.channels.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static class TestService implements SomeIpService {
+        final ServiceMetrics metrics = new ServiceMetrics("Test", "method");
+        volatile Notifier notifier;
+
+        @Override
+        public int getServiceId() {
+            return TEST_SERVICE;
+        }
+
+        @Override
+        public int getInterfaceVersion() {
+            return 1;
+        }
+
+        @Override
+        public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {
+            return CompletableFuture.completedFuture(SomeIpHeader.allocate(0));
+        }
+
+        @Override
+        public ServiceMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public void bindEvents(Notifier notifier) {
+            this.notifier = notifier;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
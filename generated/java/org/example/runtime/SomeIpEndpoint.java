@@ -0,0 +1,153 @@
+package org.example.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Selector loop shared by {@link SomeIpServer} and {@link SomeIpClient}.
+ * <p>
+ * A single I/O thread owns the selector and every channel. Messages sent from other threads are queued
+ * on their channel and the selector is woken up once per burst; messages sent from the I/O thread itself
+ * (e.g. synchronously completed responses) are flushed at the end of the current selector pass.
+ */
+abstract class SomeIpEndpoint implements Closeable {
+
+    protected final Selector selector;
+    protected final Set<SomeIpChannel> channels = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+
+    private final Queue<SomeIpChannel> pendingFlushes = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private Thread ioThread;
+
+    SomeIpEndpoint(int batchSize) throws IOException {
+        this.selector = Selector.open();
+        this.batchSize = batchSize;
+    }
+
+    void startIoThread(String name) {
+        ioThread = new Thread(this::run, name);
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    SomeIpChannel register(SocketChannel socket) throws IOException {
+        socket.configureBlocking(false);
+        socket.socket().setTcpNoDelay(true);
+        SomeIpChannel channel = new SomeIpChannel(socket, batchSize);
+        channel.key = socket.register(selector, SelectionKey.OP_READ, channel);
+        channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * Queues a finished message on {@code channel}; callable from any thread
+     */
+    void send(SomeIpChannel channel, ByteBuffer message) {
+        channel.enqueue(message);
+        if (channel.flushScheduled.compareAndSet(false, true)) {
+            pendingFlushes.add(channel);
+            if (Thread.currentThread() != ioThread) {
+                selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Handles one complete message on the I/O thread
+     */
+    protected abstract void onFrame(SomeIpChannel channel, ByteBuffer frame);
+
+    protected void onAccept(ServerSocketChannel server) throws IOException {
+        throw new IllegalStateException("Endpoint does not accept connections");
+    }
+
+    protected void onChannelClosed(SomeIpChannel channel) {
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        onAccept((ServerSocketChannel) key.channel());
+                        continue;
+                    }
+                    SomeIpChannel channel = (SomeIpChannel) key.attachment();
+                    try {
+                        if (key.isReadable() && !channel.read(this::onFrame)) {
+                            closeChannel(channel);
+                            continue;
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(channel);
+                        }
+                    } catch (IOException e) {
+                        closeChannel(channel);
+                    }
+                }
+                SomeIpChannel channel;
+                while ((channel = pendingFlushes.poll()) != null) {
+                    channel.flushScheduled.set(false);
+                    if (!channel.isOpen()) {
+                        continue;
+                    }
+                    try {
+                        flush(channel);
+                    } catch (IOException e) {
+                        closeChannel(channel);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("SOME/IP I/O loop failed: " + e.getMessage());
+        } finally {
+            for (SomeIpChannel channel : channels) {
+                closeChannel(channel);
+            }
+        }
+    }
+
+    private void flush(SomeIpChannel channel) throws IOException {
+        boolean complete = channel.flush();
+        channel.key.interestOps(complete ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    void closeChannel(SomeIpChannel channel) {
+        if (channels.remove(channel)) {
+            channel.close();
+            onChannelClosed(channel);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (ioThread != null && ioThread != Thread.currentThread()) {
+            try {
+                ioThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        selector.close();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.runtime;
+
+/**
+ * Failure reported by a SOME/IP peer, or raised locally when a call cannot be delivered
+ */
+public class SomeIpException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte returnCode;
+
+    public SomeIpException(byte returnCode, String message) {
+        super(message);
+        this.returnCode = returnCode;
+    }
+
+    /**
+     * One of the {@code SomeIpHeader.E_*} return codes
+     */
+    public byte getReturnCode() {
+        return returnCode;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+
+/**
+ * SOME/IP message header layout, message types and return codes.
+ * <p>
+ * Header (16 bytes, big-endian): service ID (16), method/event ID (16), length (32, counts everything after
+ * the length field), client ID (16), session ID (16), protocol version (8), interface version (8),
+ * message type (8), return code (8). Accessors take a frame whose position is the start of the header.
+ */
+public final class SomeIpHeader {
+
+    public static final int HEADER_SIZE = 16;
+
+    /** Bytes before and including the length field; the length field counts everything after them */
+    static final int LENGTH_PREFIX_SIZE = 8;
+
+    public static final int PROTOCOL_VERSION = 0x01;
+
+    // Message types
+    public static final byte REQUEST = 0x00;
+    public static final byte REQUEST_NO_RETURN = 0x01;
+    public static final byte NOTIFICATION = 0x02;
+    public static final byte RESPONSE = (byte) 0x80;
+    public static final byte ERROR = (byte) 0x81;
+
+    // Return codes
+    public static final byte E_OK = 0x00;
+    public static final byte E_NOT_OK = 0x01;
+    public static final byte E_UNKNOWN_SERVICE = 0x02;
+    public static final byte E_UNKNOWN_METHOD = 0x03;
+    public static final byte E_NOT_READY = 0x04;
+    public static final byte E_NOT_REACHABLE = 0x05;
+    public static final byte E_TIMEOUT = 0x06;
+    public static final byte E_WRONG_PROTOCOL_VERSION = 0x07;
+    public static final byte E_WRONG_INTERFACE_VERSION = 0x08;
+    public static final byte E_MALFORMED_MESSAGE = 0x09;
+    public static final byte E_WRONG_MESSAGE_TYPE = 0x0A;
+
+    private SomeIpHeader() {}
+
+    /**
+     * Allocates a message for a payload of exactly {@code payloadSize} bytes, positioned after the header
+     */
+    public static ByteBuffer allocate(int payloadSize) {
+        ByteBuffer message = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        message.position(HEADER_SIZE);
+        return message;
+    }
+
+    /**
+     * Fills in the header of a message whose payload ends at the current position and flips it for sending
+     */
+    static void finish(ByteBuffer message, int serviceId, int methodId, int requestId, int interfaceVersion,
+                       byte messageType, byte returnCode) {
+        message.putShort(0, (short) serviceId);
+        message.putShort(2, (short) methodId);
+        message.putInt(4, message.position() - LENGTH_PREFIX_SIZE);
+        message.putInt(8, requestId);
+        message.put(12, (byte) PROTOCOL_VERSION);
+        message.put(13, (byte) interfaceVersion);
+        message.put(14, messageType);
+        message.put(15, returnCode);
+        message.flip();
+    }
+
+    // Accessors
+
+    public static int serviceId(ByteBuffer frame) {
+        return frame.getShort(frame.position()) & 0xFFFF;
+    }
+
+    public static int methodId(ByteBuffer frame) {
+        return frame.getShort(frame.position() + 2) & 0xFFFF;
+    }
+
+    public static int requestId(ByteBuffer frame) {
+        return frame.getInt(frame.position() + 8);
+    }
+
+    public static int protocolVersion(ByteBuffer frame) {
+        return frame.get(frame.position() + 12) & 0xFF;
+    }
+
+    public static int interfaceVersion(ByteBuffer frame) {
+        return frame.get(frame.position() + 13) & 0xFF;
+    }
+
+    public static byte messageType(ByteBuffer frame) {
+        return frame.get(frame.position() + 14);
+    }
+
+    public static byte returnCode(ByteBuffer frame) {
+        return frame.get(frame.position() + 15);
+    }
+}
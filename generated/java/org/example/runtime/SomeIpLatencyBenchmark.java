@@ -0,0 +1,105 @@
+package org.example.runtime;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.example.automotive.VehicleDashboard;
+import org.example.automotive.VehicleDashboardImpl;
+import org.example.automotive.VehicleDashboardSomeIp;
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorImpl;
+import org.example.calculator.CalculatorSomeIp;
+
+/**
+ * Loopback round-trip latency of the SOME/IP transport.
+ * <p>
+ * Usage: {@code SomeIpLatencyBenchmark [calls] [window]}. Runs every scenario once sequentially
+ * (one call in flight) and once pipelined ({@code window} calls in flight), printing latency percentiles
+ * and throughput.
+ */
+public class SomeIpLatencyBenchmark {
+
+    private interface Call {
+        CompletableFuture<?> invoke();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        try (SomeIpServer server = new SomeIpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                .register(CalculatorSomeIp.skeleton(new CalculatorImpl()))
+                .register(VehicleDashboardSomeIp.skeleton(new VehicleDashboardImpl()))
+                .start();
+             SomeIpClient client = SomeIpClient.connect(server.getLocalAddress())) {
+
+            Calculator calculator = CalculatorSomeIp.proxy(client);
+            VehicleDashboard dashboard = VehicleDashboardSomeIp.proxy(client);
+            Call getVehicleData = dashboard::getVehicleData;
+            Call calculate = () -> calculator.calculate(6, 7, Calculator.Operation.MULTIPLY);
+
+            System.out.println("=== SOME/IP loopback latency (" + calls + " calls, window " + window + ") ===");
+            System.out.printf("%-34s %9s %9s %9s %9s %9s %12s%n",
+                "scenario", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "calls/s");
+
+            // Warm up JIT and connection buffers
+            run(getVehicleData, Math.min(calls, 20_000), window);
+            run(calculate, Math.min(calls, 20_000), window);
+
+            report("getVehicleData sequential", run(getVehicleData, calls, 1));
+            report("getVehicleData pipelined", run(getVehicleData, calls, window));
+            report("calculate sequential", run(calculate, calls, 1));
+            report("calculate pipelined", run(calculate, calls, window));
+        }
+    }
+
+    private static final class Run {
+        final long[] latencies;
+        final long elapsedNanos;
+
+        Run(long[] latencies, long elapsedNanos) {
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * Issues {@code calls} calls keeping at most {@code window} outstanding and records each round trip
+     */
+    private static Run run(Call call, int calls, int window) throws Exception {
+        long[] latencies = new long[calls];
+        Semaphore inFlight = new Semaphore(window);
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            call.invoke().whenComplete((result, failure) -> {
+                latencies[index] = System.nanoTime() - sent;
+                inFlight.release();
+            });
+        }
+        if (!inFlight.tryAcquire(window, 30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Calls did not complete");
+        }
+        return new Run(latencies, System.nanoTime() - start);
+    }
+
+    private static void report(String scenario, Run run) {
+        long[] sorted = run.latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-34s %9.1f %9.1f %9.1f %9.1f %9.1f %12.0f%n", scenario,
+            percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+            percentile(sorted, 0.999), sorted[sorted.length - 1] / 1000.0,
+            sorted.length / (run.elapsedNanos / 1e9));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+}
@@ -0,0 +1,294 @@
+package org.example.runtime;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking SOME/IP server exposing generated service skeletons over TCP.
+ * <p>
+ * Requests are decoded on the I/O thread and handed to the implementation; responses are sent whenever
+ * the returned future completes, so a connection may have any number of calls in flight and responses
+ * may arrive out of order (clients correlate them by request ID). Broadcasts of every registered service
+ * are sent as notifications to all connected clients.
+ * <p>
+ * Threading, queueing, write batching and event coalescing follow the {@link SomeIpDeployment}. With
+ * worker threads, requests are copied off the read buffer and queued for the worker pool; a full queue
+ * is answered with E_NOT_READY instead of stalling the I/O thread.
+ */
+public final class SomeIpServer extends SomeIpEndpoint {
+
+    private final SomeIpDeployment deployment;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor eventTimer;
+    private final ConcurrentHashMap<Integer, ByteBuffer> coalescedEvents = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+    private final AtomicLong coalescedNotifications = new AtomicLong();
+    private SomeIpService[] services = new SomeIpService[0];
+    private ServerSocketChannel serverSocket;
+
+    public SomeIpServer(InetSocketAddress bindAddress) throws IOException {
+        this(SomeIpDeployment.defaults(bindAddress));
+    }
+
+    public SomeIpServer(SomeIpDeployment deployment) throws IOException {
+        super(deployment.getBatchSize());
+        this.deployment = deployment;
+        String name = deployment.getInstanceName();
+        this.workers = deployment.getWorkerThreads() == 0 ? null : new ThreadPoolExecutor(
+            deployment.getWorkerThreads(), deployment.getWorkerThreads(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(deployment.getQueueDepth()), daemonThreads("someip-worker-" + name));
+        this.eventTimer = deployment.getEventCoalescingIntervalMs() == 0 ? null
+            : new ScheduledThreadPoolExecutor(1, daemonThreads("someip-events-" + name));
+    }
+
+    /**
+     * Registers a service; must be called before {@link #start}
+     */
+    public SomeIpServer register(SomeIpService service) {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Services must be registered before the server starts");
+        }
+        if (findService(service.getServiceId()) != null) {
+            throw new IllegalArgumentException("Service ID " + service.getServiceId() + " registered twice");
+        }
+        SomeIpService[] extended = new SomeIpService[services.length + 1];
+        System.arraycopy(services, 0, extended, 0, services.length);
+        extended[services.length] = service;
+        services = extended;
+        service.bindEvents(this::broadcast);
+        return this;
+    }
+
+    public SomeIpServer start() throws IOException {
+        serverSocket = ServerSocketChannel.open();
+        serverSocket.bind(deployment.getSocketAddress());
+        serverSocket.configureBlocking(false);
+        serverSocket.register(selector, SelectionKey.OP_ACCEPT);
+        startIoThread("someip-server-" + getLocalAddress().getPort());
+        return this;
+    }
+
+    public InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) serverSocket.getLocalAddress();
+    }
+
+    public SomeIpDeployment getDeployment() {
+        return deployment;
+    }
+
+    /**
+     * Method latencies of every registered service
+     */
+    public List<ServiceMetrics> getMetrics() {
+        List<ServiceMetrics> metrics = new ArrayList<>();
+        for (SomeIpService service : services) {
+            metrics.add(service.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Interval latencies of every registered service in the Prometheus text format
+     */
+    public String scrapeMetrics() {
+        return ServiceMetrics.scrape(getMetrics());
+    }
+
+    /**
+     * Requests answered with E_NOT_READY because the worker queue was full
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    /**
+     * Notifications replaced by a newer one of the same event within the coalescing interval
+     */
+    public long getCoalescedNotifications() {
+        return coalescedNotifications.get();
+    }
+
+    @Override
+    protected void onAccept(ServerSocketChannel server) throws IOException {
+        SocketChannel socket;
+        while ((socket = server.accept()) != null) {
+            register(socket);
+        }
+    }
+
+    @Override
+    protected void onFrame(SomeIpChannel channel, ByteBuffer frame) {
+        int serviceId = SomeIpHeader.serviceId(frame);
+        int methodId = SomeIpHeader.methodId(frame);
+        int requestId = SomeIpHeader.requestId(frame);
+        int interfaceVersion = SomeIpHeader.interfaceVersion(frame);
+        byte messageType = SomeIpHeader.messageType(frame);
+        boolean expectsResponse = messageType == SomeIpHeader.REQUEST;
+
+        if (!expectsResponse && messageType != SomeIpHeader.REQUEST_NO_RETURN) {
+            return;
+        }
+        if (SomeIpHeader.protocolVersion(frame) != SomeIpHeader.PROTOCOL_VERSION) {
+            sendError(channel, serviceId, methodId, requestId, interfaceVersion, expectsResponse,
+                SomeIpHeader.E_WRONG_PROTOCOL_VERSION, "Unsupported protocol version");
+            return;
+        }
+        SomeIpService service = findService(serviceId);
+        if (service == null) {
+            sendError(channel, serviceId, methodId, requestId, interfaceVersion, expectsResponse,
+                SomeIpHeader.E_UNKNOWN_SERVICE, "Unknown service " + serviceId);
+            return;
+        }
+        if (interfaceVersion != service.getInterfaceVersion()) {
+            sendError(channel, serviceId, methodId, requestId, interfaceVersion, expectsResponse,
+                SomeIpHeader.E_WRONG_INTERFACE_VERSION, "Interface version " + interfaceVersion + " not supported");
+            return;
+        }
+
+        if (workers == null) {
+            dispatch(channel, service, frame);
+            return;
+        }
+        // The frame only lives until this handler returns, so queued requests need their own copy
+        ByteBuffer copy = ByteBuffer.allocate(frame.remaining());
+        copy.put(frame).flip();
+        try {
+            workers.execute(() -> dispatch(channel, service, copy));
+        } catch (RejectedExecutionException e) {
+            rejectedRequests.incrementAndGet();
+            sendError(channel, serviceId, methodId, requestId, interfaceVersion, expectsResponse,
+                SomeIpHeader.E_NOT_READY, "Request queue full");
+        }
+    }
+
+    private void dispatch(SomeIpChannel channel, SomeIpService service, ByteBuffer frame) {
+        int serviceId = SomeIpHeader.serviceId(frame);
+        int methodId = SomeIpHeader.methodId(frame);
+        int requestId = SomeIpHeader.requestId(frame);
+        int interfaceVersion = SomeIpHeader.interfaceVersion(frame);
+        boolean expectsResponse = SomeIpHeader.messageType(frame) == SomeIpHeader.REQUEST;
+
+        frame.position(frame.position() + SomeIpHeader.HEADER_SIZE);
+        CompletableFuture<ByteBuffer> reply;
+        try {
+            reply = service.invoke(methodId, frame);
+        } catch (RuntimeException e) {
+            sendError(channel, serviceId, methodId, requestId, interfaceVersion, expectsResponse,
+                SomeIpHeader.E_MALFORMED_MESSAGE, "Malformed request: " + e);
+            return;
+        }
+        if (reply == null) {
+            sendError(channel, serviceId, methodId, requestId, interfaceVersion, expectsResponse,
+                SomeIpHeader.E_UNKNOWN_METHOD, "Unknown method " + methodId);
+            return;
+        }
+        if (!expectsResponse) {
+            return;
+        }
+        reply.whenComplete((message, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                sendError(channel, serviceId, methodId, requestId, interfaceVersion, true,
+                    SomeIpHeader.E_NOT_OK, String.valueOf(cause.getMessage()));
+                return;
+            }
+            if (message == null) {
+                // Fire-and-forget methods have no response; a REQUEST for one must still be answered
+                sendError(channel, serviceId, methodId, requestId, interfaceVersion, true,
+                    SomeIpHeader.E_WRONG_MESSAGE_TYPE, "Method " + methodId + " is fire-and-forget");
+                return;
+            }
+            SomeIpHeader.finish(message, serviceId, methodId, requestId, interfaceVersion,
+                SomeIpHeader.RESPONSE, SomeIpHeader.E_OK);
+            send(channel, message);
+        });
+    }
+
+    private void sendError(SomeIpChannel channel, int serviceId, int methodId, int requestId, int interfaceVersion,
+                           boolean expectsResponse, byte returnCode, String reason) {
+        if (!expectsResponse) {
+            return;
+        }
+        ByteBuffer message = SomeIpHeader.allocate(SomeIpCodec.stringSize(reason));
+        SomeIpCodec.writeString(message, reason);
+        SomeIpHeader.finish(message, serviceId, methodId, requestId, interfaceVersion, SomeIpHeader.ERROR, returnCode);
+        send(channel, message);
+    }
+
+    private void broadcast(int serviceId, int eventId, int interfaceVersion, ByteBuffer message) {
+        SomeIpHeader.finish(message, serviceId, eventId, 0, interfaceVersion,
+            SomeIpHeader.NOTIFICATION, SomeIpHeader.E_OK);
+        if (eventTimer == null) {
+            sendToAll(message);
+            return;
+        }
+        // Latest value wins: the first notification of an interval schedules the send, later ones replace it
+        int key = (serviceId << 16) | eventId;
+        if (coalescedEvents.put(key, message) == null) {
+            eventTimer.schedule(() -> {
+                ByteBuffer latest = coalescedEvents.remove(key);
+                if (latest != null) {
+                    sendToAll(latest);
+                }
+            }, deployment.getEventCoalescingIntervalMs(), TimeUnit.MILLISECONDS);
+        } else {
+            coalescedNotifications.incrementAndGet();
+        }
+    }
+
+    private void sendToAll(ByteBuffer message) {
+        for (SomeIpChannel channel : channels) {
+            send(channel, message.duplicate());
+        }
+    }
+
+    private SomeIpService findService(int serviceId) {
+        for (SomeIpService service : services) {
+            if (service.getServiceId() == serviceId) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+        if (eventTimer != null) {
+            eventTimer.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
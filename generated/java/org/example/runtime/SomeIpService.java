@@ -0,0 +1,42 @@
+package org.example.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Server-side dispatcher for one service, generated as {@code <Interface>SomeIp.skeleton(...)}
+ */
+public interface SomeIpService {
+
+    /**
+     * Sends notifications of a service to its subscribers
+     */
+    interface Notifier {
+        /**
+         * @param message a message from {@link SomeIpHeader#allocate} positioned at the end of its payload
+         */
+        void notify(int serviceId, int eventId, int interfaceVersion, ByteBuffer message);
+    }
+
+    int getServiceId();
+
+    int getInterfaceVersion();
+
+    /**
+     * Decodes the arguments from {@code payload} before returning and invokes the method.
+     *
+     * @return the response message from {@link SomeIpHeader#allocate} positioned at the end of its payload,
+     *         a future of {@code null} for fire-and-forget methods, or {@code null} for an unknown method
+     */
+    CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload);
+
+    /**
+     * Latency histograms of the service's methods, as measured by {@link #invoke}
+     */
+    ServiceMetrics getMetrics();
+
+    /**
+     * Forwards the broadcasts of the implementation to {@code notifier}
+     */
+    void bindEvents(Notifier notifier);
+}
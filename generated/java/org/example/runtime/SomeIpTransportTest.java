@@ -0,0 +1,253 @@
+package org.example.runtime;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.example.automotive.VehicleDashboard;
+import org.example.automotive.VehicleDashboardImpl;
+import org.example.automotive.VehicleDashboardSomeIp;
+import org.example.automotive.TelemetryBatch;
+import org.example.calculator.Calculator;
+import org.example.calculator.CalculatorImpl;
+import org.example.calculator.CalculatorSomeIp;
+import org.example.common.CommonService;
+import org.example.common.CommonServiceImpl;
+import org.example.common.CommonServiceSomeIp;
+
+public class SomeIpTransportTest {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running SOME/IP Transport Tests...");
+        VehicleDashboardImpl dashboardImpl = new VehicleDashboardImpl();
+        for (int i = 1; i <= 3; i++) {
+            dashboardImpl.ingest(new TelemetryBatch(1).add(VehicleDashboard.VehicleSignal.SPEED, i * 10), 1000 + i);
+        }
+        try (SomeIpServer server = new SomeIpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                .register(CalculatorSomeIp.skeleton(new CalculatorImpl()))
+                .register(VehicleDashboardSomeIp.skeleton(dashboardImpl))
+                .register(CommonServiceSomeIp.skeleton(new CommonServiceImpl()))
+                .register(new FireAndForgetService())
+                .start();
+             SomeIpClient client = SomeIpClient.connect(server.getLocalAddress())) {
+
+            Calculator calculator = CalculatorSomeIp.proxy(client);
+            VehicleDashboard dashboard = VehicleDashboardSomeIp.proxy(client);
+            CommonService common = CommonServiceSomeIp.proxy(client);
+
+            testCalls(calculator, dashboard, common);
+            testPipelining(calculator);
+            testErrors(common, client);
+            testNotifications(calculator, dashboard, dashboardImpl);
+            testAttributes(calculator, dashboard, common);
+            check(client.getPendingCalls() == 0, "no calls left pending");
+        }
+        System.out.println("All SOME/IP transport tests passed");
+    }
+
+    private static void testCalls(Calculator calculator, VehicleDashboard dashboard, CommonService common)
+            throws Exception {
+        Calculator.CalculationResult sum = await(calculator.calculate(2, 3, Calculator.Operation.ADD));
+        check(sum.isValid && sum.result == 5.0, "remote calculate");
+
+        Calculator.CalculationResult divide = await(calculator.calculate(1, 0, Calculator.Operation.DIVIDE));
+        check(!divide.isValid && "Division by zero".equals(divide.errorMessage), "remote error result");
+
+        Calculator.CalculateBatchReply batch = await(calculator.calculateBatch(
+            new double[] {1, 2, 3}, new double[] {1, 0, 2}, Calculator.Operation.DIVIDE));
+        check(batch.results[0] == 1 && batch.results[2] == 1.5 && batch.errorBitmap[0] == 2L, "remote batch");
+
+        VehicleDashboard.VehicleData data = await(dashboard.getVehicleData());
+        check(data.odometer == 12345 && data.transmission == VehicleDashboard.TransmissionState.PARK, "vehicle data");
+        check(await(dashboard.getActiveWarnings()).length == 0, "empty struct array");
+        VehicleDashboard.HistoryBucket[] history = await(dashboard.getVehicleHistory(
+            VehicleDashboard.VehicleSignal.SPEED, 0, 2000, 1));
+        check(history.length == 1 && history[0].samples == 3 && history[0].average == 20f
+            && history[0].startTime == 1001 && history[0].endTime == 1003, "remote history");
+        check(await(dashboard.setDisplayUnits(false)), "boolean argument and reply");
+
+        CommonService.ValidationResult validation = await(common.validateData("", new String[] {"required"}));
+        check(!validation.isValid && validation.errors.length == 1, "string array argument");
+        CommonService.ValidationResult[] validations = await(common.validateDataBatch(
+            new String[] {"12345", "123", null}, new String[] {"required", "min_length:4"}));
+        check(validations.length == 3 && validations[0].isValid && !validations[1].isValid
+            && validations[2].errors.length == 2, "struct array reply");
+
+        Map<String, CommonService.ConfigItem> config = new LinkedHashMap<>();
+        config.put("mode", new CommonService.ConfigItem("mode", "eco", "Drive mode"));
+        CommonService.Response response = await(common.updateConfiguration(config));
+        check(response.success, "map argument");
+
+        CommonService.ProcessPositionsReply track = await(common.processPositions(new CommonService.Position[] {
+            new CommonService.Position(0, 0, 100), new CommonService.Position(0, 2, 300)}));
+        check(Math.abs(track.averagePosition.longitude - 1) < 1e-9 && track.averagePosition.altitude == 200
+            && Math.abs(track.totalDistance - 222_390) < 1, "struct array argument and reply class");
+
+        check(await(common.updateTrackedPosition("bus-7", new CommonService.Position(52.52, 13.40, 34)))
+            && await(common.updateTrackedPosition("bus-9", new CommonService.Position(52.50, 13.45, 40))),
+            "struct argument");
+        CommonService.NearbyPosition[] nearby = await(common.findPositionsWithinRadius(
+            new CommonService.Position(52.52, 13.41, 0), 2_000, 10));
+        check(nearby.length == 1 && "bus-7".equals(nearby[0].id) && nearby[0].position.altitude == 34
+            && nearby[0].distance > 600 && nearby[0].distance < 700, "nested struct array reply");
+        check(await(common.findNearestPositions(new CommonService.Position(52.5, 13.45, 0), 1))[0].id.equals("bus-9")
+            && await(common.removeTrackedPosition("bus-9")), "nearest and remove");
+
+        CommonService.GetSystemStatusReply status = await(common.getSystemStatus());
+        check(status.status != null && status.statusDetails.containsKey("configurationItems"), "reply class with map");
+    }
+
+    private static void testPipelining(Calculator calculator) throws Exception {
+        int calls = 2000;
+        List<CompletableFuture<Calculator.CalculationResult>> futures = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            futures.add(calculator.calculate(i, 2, Calculator.Operation.MULTIPLY));
+        }
+        for (int i = 0; i < calls; i++) {
+            check(await(futures.get(i)).result == i * 2.0, "pipelined call " + i + " correlated");
+        }
+    }
+
+    private static void testErrors(CommonService common, SomeIpClient client) throws Exception {
+        try {
+            await(common.processPositions(new CommonService.Position[0]));
+            throw new AssertionError("failed future must be reported");
+        } catch (ExecutionException e) {
+            SomeIpException error = (SomeIpException) e.getCause();
+            check(error.getReturnCode() == SomeIpHeader.E_NOT_OK, "E_NOT_OK return code");
+            check("No positions to process".equals(error.getMessage()), "error message transported");
+        }
+        try {
+            await(client.call(0x7777, 1, 1, SomeIpHeader.allocate(0), buffer -> null));
+            throw new AssertionError("unknown service must be rejected");
+        } catch (ExecutionException e) {
+            check(((SomeIpException) e.getCause()).getReturnCode() == SomeIpHeader.E_UNKNOWN_SERVICE,
+                "E_UNKNOWN_SERVICE return code");
+        }
+        try {
+            await(client.call(CommonServiceSomeIp.SERVICE_ID, 0x7FFF, CommonServiceSomeIp.INTERFACE_VERSION,
+                SomeIpHeader.allocate(0), buffer -> null));
+            throw new AssertionError("unknown method must be rejected");
+        } catch (ExecutionException e) {
+            check(((SomeIpException) e.getCause()).getReturnCode() == SomeIpHeader.E_UNKNOWN_METHOD,
+                "E_UNKNOWN_METHOD return code");
+        }
+        try {
+            await(client.call(FireAndForgetService.SERVICE_ID, 1, 1, SomeIpHeader.allocate(0), buffer -> null));
+            throw new AssertionError("a request for a fire-and-forget method must be rejected");
+        } catch (ExecutionException e) {
+            check(((SomeIpException) e.getCause()).getReturnCode() == SomeIpHeader.E_WRONG_MESSAGE_TYPE,
+                "E_WRONG_MESSAGE_TYPE return code");
+        }
+    }
+
+    /**
+     * A service whose only method is fire-and-forget, as generated skeletons dispatch one
+     */
+    private static final class FireAndForgetService implements SomeIpService {
+        static final int SERVICE_ID = 0x7778;
+
+        private final ServiceMetrics metrics = new ServiceMetrics("FireAndForget", "notify");
+
+        @Override
+        public int getServiceId() {
+            return SERVICE_ID;
+        }
+
+        @Override
+        public int getInterfaceVersion() {
+            return 1;
+        }
+
+        @Override
+        public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {
+            return methodId == 1 ? CompletableFuture.completedFuture(null) : null;
+        }
+
+        @Override
+        public ServiceMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public void bindEvents(Notifier notifier) {
+            // no broadcasts
+        }
+    }
+
+    private static void testNotifications(Calculator calculator, VehicleDashboard dashboard,
+                                          VehicleDashboardImpl dashboardImpl) throws Exception {
+        CountDownLatch completed = new CountDownLatch(1);
+        calculator.setCalculationCompletedListener(event -> {
+            if (event.result.result == 42.0) {
+                completed.countDown();
+            }
+        });
+        await(calculator.calculate(40, 2, Calculator.Operation.ADD));
+        check(completed.await(5, TimeUnit.SECONDS), "calculationCompleted notification");
+
+        AtomicReference<VehicleDashboard.FuelLevelCriticalEvent> critical = new AtomicReference<>();
+        CountDownLatch fuel = new CountDownLatch(1);
+        dashboard.setFuelLevelCriticalListener(event -> {
+            critical.set(event);
+            fuel.countDown();
+        });
+        dashboardImpl.simulateFuelLevelCritical();
+        check(fuel.await(5, TimeUnit.SECONDS), "fuelLevelCritical notification");
+        check(critical.get().remainingFuel == 50.0f, "notification payload");
+    }
+
+    private static void testAttributes(Calculator calculator, VehicleDashboard dashboard, CommonService common)
+            throws Exception {
+        check(await(calculator.getPrecision()) == 2, "remote readonly attribute");
+        await(calculator.setMode("scientific"));
+        check("scientific".equals(await(calculator.getMode())), "remote attribute set");
+        try {
+            await(calculator.setMode("abacus"));
+            throw new AssertionError("invalid mode must be rejected");
+        } catch (ExecutionException e) {
+            check(((SomeIpException) e.getCause()).getReturnCode() == SomeIpHeader.E_NOT_OK, "setter failure");
+        }
+        check(await(dashboard.getCurrentSpeed()) == 30f, "attribute follows ingested data");
+        check(await(common.getCurrentStatus()) == CommonService.StatusLevel.OK, "enumeration attribute");
+        check(await(common.getUptime()) >= 0, "derived attribute");
+
+        List<Byte> changes = new ArrayList<>();
+        CountDownLatch brightness = new CountDownLatch(1);
+        dashboard.displayBrightnessChanges().subscribe(value -> {
+            synchronized (changes) {
+                changes.add(value);
+            }
+            if (value == 31) {
+                brightness.countDown();
+            }
+        }, 16, EventBus.Backpressure.BLOCK);
+        await(dashboard.setDisplayBrightness((byte) 30));
+        await(dashboard.setDisplayBrightness((byte) 30));
+        check(await(dashboard.getDisplayBrightness()) == 30, "remote attribute round trip");
+        await(dashboard.setDisplayBrightness((byte) 31));
+        // Changes are notified in order, so a notification of the repeated value would arrive before 31
+        check(brightness.await(5, TimeUnit.SECONDS), "attribute change notification");
+        synchronized (changes) {
+            check(changes.equals(List.of((byte) 30, (byte) 31)), "notified only on change: " + changes);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.runtime;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free success/error/time counters of a service, keyed by an operation enum.
+ * <p>
+ * Every counter is a {@link LongAdder}, so concurrent callers update separate cells instead of fighting
+ * over one cache line. Totals are never stored: a snapshot derives them from the per-operation counters
+ * it read, so {@code total == successful + errors} and the per-operation counts add up to the totals in
+ * every snapshot. {@link #reset} swaps in a fresh set of counters rather than zeroing them in place.
+ */
+public final class StatsRecorder<E extends Enum<E>> {
+
+    private static final class Counters {
+        final LongAdder[] successes;
+        final LongAdder[] errors;
+        final LongAdder elapsedNanos = new LongAdder();
+
+        Counters(int slots) {
+            successes = new LongAdder[slots];
+            errors = new LongAdder[slots];
+            for (int i = 0; i < slots; i++) {
+                successes[i] = new LongAdder();
+                errors[i] = new LongAdder();
+            }
+        }
+    }
+
+    private final E[] keys;
+    private volatile Counters counters;
+
+    public StatsRecorder(Class<E> keyType) {
+        this.keys = keyType.getEnumConstants();
+        // One extra slot counts calls without a valid key (e.g. a null operation)
+        this.counters = new Counters(keys.length + 1);
+    }
+
+    public void recordSuccess(E key, long elapsedNanos) {
+        Counters current = counters;
+        current.successes[slot(key)].increment();
+        current.elapsedNanos.add(elapsedNanos);
+    }
+
+    public void recordError(E key, long elapsedNanos) {
+        Counters current = counters;
+        current.errors[slot(key)].increment();
+        current.elapsedNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Records a batch of calls of one operation that took {@code elapsedNanos} altogether
+     */
+    public void recordBatch(E key, long successes, long errors, long elapsedNanos) {
+        Counters current = counters;
+        int slot = slot(key);
+        current.successes[slot].add(successes);
+        current.errors[slot].add(errors);
+        current.elapsedNanos.add(elapsedNanos);
+    }
+
+    public Snapshot<E> snapshot() {
+        return read(counters);
+    }
+
+    public void reset() {
+        counters = new Counters(keys.length + 1);
+    }
+
+    private int slot(E key) {
+        return key == null ? keys.length : key.ordinal();
+    }
+
+    private Snapshot<E> read(Counters source) {
+        int slots = keys.length + 1;
+        long[] successes = new long[slots];
+        long[] errors = new long[slots];
+        for (int i = 0; i < slots; i++) {
+            successes[i] = source.successes[i].sum();
+            errors[i] = source.errors[i].sum();
+        }
+        return new Snapshot<>(keys, successes, errors, source.elapsedNanos.sum());
+    }
+
+    /**
+     * Immutable view of the counters at one point in time
+     */
+    public static final class Snapshot<E extends Enum<E>> {
+        private final E[] keys;
+        private final long[] successes;
+        private final long[] errors;
+        private final long successful;
+        private final long errorCount;
+        private final long elapsedNanos;
+
+        Snapshot(E[] keys, long[] successes, long[] errors, long elapsedNanos) {
+            this.keys = keys;
+            this.successes = successes;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            long successSum = 0;
+            long errorSum = 0;
+            for (int i = 0; i < successes.length; i++) {
+                successSum += successes[i];
+                errorSum += errors[i];
+            }
+            this.successful = successSum;
+            this.errorCount = errorSum;
+        }
+
+        public long getTotal() { return successful + errorCount; }
+        public long getSuccessful() { return successful; }
+        public long getErrors() { return errorCount; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public long getSuccessful(E key) {
+            return successes[key.ordinal()];
+        }
+
+        public long getErrors(E key) {
+            return errors[key.ordinal()];
+        }
+
+        public long getTotal(E key) {
+            return successes[key.ordinal()] + errors[key.ordinal()];
+        }
+
+        /**
+         * Mean time per call in microseconds, 0 when nothing was recorded
+         */
+        public double getAverageMicros() {
+            long total = getTotal();
+            return total == 0 ? 0.0 : elapsedNanos / 1000.0 / total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append("total=").append(getTotal()).append(", successful=").append(successful)
+               .append(", errors=").append(errorCount)
+               .append(String.format(", average=%.3fus", getAverageMicros()));
+            for (E key : keys) {
+                if (getTotal(key) > 0) {
+                    out.append(", ").append(key.name()).append('=').append(getTotal(key));
+                }
+            }
+            return out.toString();
+        }
+    }
+}
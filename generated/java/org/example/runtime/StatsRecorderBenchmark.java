@@ -0,0 +1,74 @@
+package org.example.runtime;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.example.calculator.Calculator.Operation;
+
+/**
+ * Recording throughput of {@link StatsRecorder} against a single lock, for 1 to 64 concurrent callers.
+ * <p>
+ * Usage: {@code StatsRecorderBenchmark [recordsPerThread]}. Prints aggregate records per second;
+ * the striped recorder should grow with the thread count up to the number of cores.
+ */
+public class StatsRecorderBenchmark {
+
+    private interface Recorder {
+        void record(Operation operation, long nanos);
+    }
+
+    /**
+     * The former approach made thread-safe: one monitor around every update
+     */
+    private static final class LockedStats {
+        private long total;
+        private long successful;
+        private double averageNanos;
+
+        synchronized void record(long nanos) {
+            total++;
+            successful++;
+            averageNanos += (nanos - averageNanos) / total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        System.out.println("=== StatsRecorder throughput (" + records + " records per thread, "
+            + Runtime.getRuntime().availableProcessors() + " cores) ===");
+        System.out.printf("%-8s %18s %18s%n", "threads", "locked rec/s", "striped rec/s");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            LockedStats locked = new LockedStats();
+            StatsRecorder<Operation> striped = new StatsRecorder<>(Operation.class);
+            run((operation, nanos) -> locked.record(nanos), 1, records / 10);
+            run(striped::recordSuccess, 1, records / 10);
+            double lockedRate = run((operation, nanos) -> locked.record(nanos), threads, records);
+            double stripedRate = run(striped::recordSuccess, threads, records);
+            System.out.printf("%-8d %18.0f %18.0f%n", threads, lockedRate, stripedRate);
+        }
+    }
+
+    private static double run(Recorder recorder, int threads, int records) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Operation operation = Operation.values()[t % Operation.values().length];
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < records; i++) {
+                    recorder.record(operation, i & 1023);
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) threads * records / ((System.nanoTime() - begin) / 1e9);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.automotive.VehicleDashboard.HistoryBucket;
+import org.example.automotive.VehicleDashboard.VehicleData;
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+import org.example.automotive.VehicleHistory;
+
+/**
+ * Fills a {@link VehicleHistory} with a full retention window and times appends and downsampling queries.
+ * <p>
+ * Usage: {@code VehicleHistoryBenchmark [hours] [rateHz] [buckets]}. The default of 24 h at 100 Hz allocates
+ * about 280 MB of direct memory.
+ */
+public class VehicleHistoryBenchmark {
+
+    public static void main(String[] args) {
+        int hours = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int buckets = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        VehicleHistory history = VehicleHistory.forRetention(hours, TimeUnit.HOURS, rate);
+        int samples = history.getCapacity();
+        System.out.println("=== Vehicle history (" + hours + " h at " + rate + " Hz, " + samples + " samples, "
+            + VehicleHistory.bytesFor(samples) / (1024 * 1024) + " MB off-heap) ===");
+
+        VehicleData data = new VehicleData();
+        long begin = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            data.speed = (float) (60 + 40 * Math.sin(i * 1e-4));
+            data.odometer = 12345 + i / 36_000;
+            history.append(i * 1000L / rate, data);
+        }
+        double appendSeconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("append           %12.0f samples/s%n", samples / appendSeconds);
+
+        long end = (samples - 1) * 1000L / rate;
+        for (int i = 0; i < 5; i++) {
+            history.downsample(VehicleSignal.SPEED, 0, end, buckets);
+        }
+        int rounds = 10;
+        begin = System.nanoTime();
+        HistoryBucket[] result = null;
+        for (int i = 0; i < rounds; i++) {
+            result = history.downsample(VehicleSignal.SPEED, 0, end, buckets);
+        }
+        double queryMillis = (System.nanoTime() - begin) / 1e6 / rounds;
+        System.out.printf("full downsample  %12.1f ms into %d buckets (%.0f samples/s)%n", queryMillis,
+            result.length, samples / (queryMillis / 1e3));
+
+        long hourStart = end - TimeUnit.HOURS.toMillis(1);
+        begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            history.downsample(VehicleSignal.SPEED, hourStart, end, 60);
+        }
+        System.out.printf("last hour        %12.1f ms into 60 buckets%n", (System.nanoTime() - begin) / 1e6 / rounds);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.automotive;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.automotive.VehicleDashboard.FuelConsumption;
+import org.example.automotive.VehicleDashboard.StatusLevel;
+import org.example.automotive.VehicleDashboard.VehicleData;
+import org.example.automotive.VehicleDashboard.VehicleSignal;
+import org.example.automotive.VehicleDashboard.WarningLight;
+import org.example.automotive.VehicleDashboard.WarningStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Dashboard getters read by several threads at once, alone and while telemetry is being ingested
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class VehicleDashboardBenchmark {
+
+    private VehicleDashboardImpl dashboard;
+
+    @Setup
+    public void setUp() {
+        dashboard = new VehicleDashboardImpl();
+        dashboard.activateWarning(WarningLight.OIL_PRESSURE, "benchmark", StatusLevel.WARNING);
+    }
+
+    /**
+     * Telemetry of the single writer; ingestion does not allow concurrent writers
+     */
+    @State(Scope.Thread)
+    public static class Telemetry {
+        TelemetryBatch batch = new TelemetryBatch(3);
+        double speed;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public VehicleData getVehicleData() {
+        return dashboard.getVehicleData().join();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Float getCurrentSpeed() {
+        return dashboard.getCurrentSpeed().join();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public WarningStatus[] getActiveWarnings() {
+        return dashboard.getActiveWarnings().join();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public FuelConsumption getFuelConsumption() {
+        return dashboard.getFuelConsumption().join();
+    }
+
+    @Benchmark
+    @Group("readWhileIngesting")
+    @GroupThreads(3)
+    public void read(Blackhole blackhole) {
+        blackhole.consume(dashboard.getVehicleData().join());
+        blackhole.consume(dashboard.getCurrentSpeed().join());
+        blackhole.consume(dashboard.getFuelConsumption().join());
+    }
+
+    @Benchmark
+    @Group("readWhileIngesting")
+    @GroupThreads(1)
+    public int ingest(Telemetry telemetry) {
+        telemetry.speed = telemetry.speed >= 200 ? 0 : telemetry.speed + 0.5;
+        telemetry.batch.clear();
+        telemetry.batch.add(VehicleSignal.SPEED, telemetry.speed)
+            .add(VehicleSignal.ENGINE_RPM, 800 + telemetry.speed * 20)
+            .add(VehicleSignal.FUEL_LEVEL, 50);
+        return dashboard.ingest(telemetry.batch);
+    }
+}
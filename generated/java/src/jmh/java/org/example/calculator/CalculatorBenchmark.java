@@ -0,0 +1,57 @@
+package org.example.calculator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.calculator.Calculator.CalculationResult;
+import org.example.calculator.Calculator.ComplexNumber;
+import org.example.calculator.Calculator.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of one calculation on the inline executor, per operation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CalculatorBenchmark {
+
+    @Param({"ADD", "SUBTRACT", "MULTIPLY", "DIVIDE", "POWER", "SQRT"})
+    public Operation operation;
+
+    // Fields rather than constants, so the JIT cannot fold the operands away
+    private double left = 12.5;
+    private double right = 3.25;
+    private ComplexNumber complexLeft;
+    private ComplexNumber complexRight;
+    private CalculatorImpl calculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new CalculatorImpl();
+        complexLeft = new ComplexNumber(left, -right);
+        complexRight = new ComplexNumber(right, left);
+    }
+
+    @Benchmark
+    public CalculationResult calculate() {
+        return calculator.calculate(left, right, operation).join();
+    }
+
+    @Benchmark
+    public ComplexNumber calculateComplex() {
+        return calculator.calculateComplex(complexLeft, complexRight, operation).join();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.common.CommonService.ConfigItem;
+import org.example.common.CommonService.Response;
+import org.example.common.CommonService.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Configuration updates, which only publish what changed, and rule validation of one input
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CommonServiceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Configuration {
+        @Param({"1", "64"})
+        public int size;
+
+        /**
+         * Whether consecutive updates alternate between two values or repeat the stored ones
+         */
+        @Param({"false", "true"})
+        public boolean changing;
+
+        CommonServiceImpl service;
+        Map<String, ConfigItem> first;
+        Map<String, ConfigItem> second;
+        boolean flip;
+
+        @Setup
+        public void setUp() {
+            service = new CommonServiceImpl();
+            // Changes are published to a subscriber, as in a running service
+            service.configurationUpdatedEvents().subscribe(event -> { });
+            first = config("a");
+            second = changing ? config("b") : first;
+            service.updateConfiguration(first).join();
+        }
+
+        private Map<String, ConfigItem> config(String value) {
+            Map<String, ConfigItem> config = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                String key = "key" + i;
+                config.put(key, new ConfigItem(key, value + i, "benchmark setting " + i));
+            }
+            return config;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Validation {
+        @Param({"12", "4096"})
+        public int length;
+
+        final String[] rules = {"required", "min_length:5", "max_length:8192", "pattern:[a-z]+"};
+        CommonServiceImpl service;
+        String data;
+
+        @Setup
+        public void setUp() {
+            service = new CommonServiceImpl();
+            data = "x".repeat(length);
+        }
+    }
+
+    @Benchmark
+    public Response updateConfiguration(Configuration state) {
+        state.flip = !state.flip;
+        return state.service.updateConfiguration(state.flip ? state.second : state.first).join();
+    }
+
+    @Benchmark
+    public ValidationResult validateData(Validation state) {
+        return state.service.validateData(state.data, state.rules).join();
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One run of {@code EnhancedCodeGenerator} over the project's FIDL and deployment files into a scratch directory.
+ * A forced run parses and emits everything; an incremental run finds every FIDL file up to date in the generation
+ * cache. The project root is taken from {@code -Dfranca.root}, which the Gradle build sets.
+ * <p>
+ * JMH does not accept benchmarks in the default package, where the generator lives, and a named package cannot
+ * import from it; the generator is therefore called reflectively. A failed run fails the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(2)
+public class GeneratorBenchmark {
+
+    @Param({"true", "false"})
+    public boolean force;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Path outputDir;
+    private String[] args;
+    private PrintStream console;
+    private Method generator;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path root = Paths.get(System.getProperty("franca.root", "../..")).toAbsolutePath().normalize();
+        outputDir = Files.createTempDirectory("franca-generator-benchmark");
+        List<String> options = new ArrayList<>(List.of("--input=" + root.resolve("interfaces"),
+            "--deployments=" + root.resolve("deployments"), "--output=" + outputDir, "--threads=" + threads));
+        if (force) {
+            options.add("--force");
+        }
+        args = options.toArray(new String[0]);
+        generator = Class.forName("EnhancedCodeGenerator").getMethod("run", String[].class);
+        // The generator reports progress on System.out, which would drown the benchmark output
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        generate();
+        if (!Files.exists(outputDir.resolve("java/org/example/calculator/Calculator.java"))) {
+            throw new IllegalStateException("Code generation from " + root + " wrote no Calculator interface");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(console);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(outputDir)) {
+            files = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public void generate() throws Exception {
+        try {
+            generator.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            // The generator's own failure rather than the reflection wrapper
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+}
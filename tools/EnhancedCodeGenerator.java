@@ -1,110 +1,208 @@
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 
 /**
  * Enhanced Code Generator for all Franca IDL files
- * This generates comprehensive code for Calculator, VehicleDashboard, and Common services
+ * This generates comprehensive code for Calculator, VehicleDashboard, and Common services.
+ * Java interfaces are emitted from the parsed FIDL model; implementation classes are only
+ * generated as skeletons when they do not exist yet.
  */
 public class EnhancedCodeGenerator {
     
     public static void main(String[] args) {
         try {
-            String outputDir = "generated";
-            
-            // Create output directories
-            createDirectories(outputDir);
-            
-            // Generate code for all interfaces
-            System.out.println("Starting comprehensive code generation...\n");
-            
-            // Generate Calculator code
-            generateCalculatorCode(outputDir);
-            
-            // Generate Vehicle Dashboard code
-            generateVehicleDashboardCode(outputDir);
-            
-            // Generate Common Service code
-            generateCommonServiceCode(outputDir);
-            
-            // Generate build files and documentation
-            generateBuildFiles(outputDir);
-            
-            System.out.println("\n=== Code Generation Summary ===");
-            System.out.println("✅ Calculator interface: Generated");
-            System.out.println("✅ VehicleDashboard interface: Generated");
-            System.out.println("✅ CommonService interface: Generated");
-            System.out.println("✅ All languages: Java, JavaScript, C++");
-            System.out.println("✅ Build configurations: Generated");
-            System.out.println("\nCode generation completed successfully!");
-            
+            run(args);
         } catch (Exception e) {
             System.err.println("Error during code generation: " + e.getMessage());
             e.printStackTrace();
         }
     }
     
+    /**
+     * Generates code as the command line options say; unlike {@link #main}, failures are thrown to the caller
+     */
+    public static void run(String[] args) throws IOException {
+        List<String> options = Arrays.asList(args);
+        String inputDir = option(options, "--input=", "interfaces");
+        String outputDir = option(options, "--output=", "generated");
+        String deploymentDir = option(options, "--deployments=", "deployments");
+        boolean force = options.contains("--force");
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String option : options) {
+            if (option.startsWith("--threads=")) {
+                threads = Integer.parseInt(option.substring("--threads=".length()));
+            }
+        }
+        
+        // Create output directories
+        createDirectories(outputDir);
+        
+        // Generate code for all interfaces
+        System.out.println("Starting comprehensive code generation...\n");
+        
+        GenerationCache cache = GenerationCache.load(Paths.get(outputDir, ".generator-cache"),
+            GenerationCache.fingerprint(EnhancedCodeGenerator.class, FidlLexer.class, FidlParser.class,
+                FidlModel.class, FidlScope.class, JavaInterfaceEmitter.class, JavaCodecEmitter.class,
+                JavaSomeIpEmitter.class, GenerationScheduler.class, FdeplParser.class, FdeplModel.class,
+                JavaDeploymentEmitter.class, JavaCachingProxyEmitter.class));
+        
+        // Every interface is generated for every backend; independent work runs concurrently
+        GenerationScheduler scheduler = new GenerationScheduler(threads)
+            .addBackend("java", scope -> generateJavaCode(outputDir, scope))
+            .addBackend("javascript", scope -> generateJavaScriptCode(outputDir, scope))
+            .addBackend("cpp", scope -> generateCppCode(outputDir, scope));
+        GenerationScheduler.Result result =
+            scheduler.run(FidlParser.findFidlFiles(Paths.get(inputDir)), cache, force);
+        
+        if (result.getUpToDateFiles() > 0) {
+            System.out.println("⏩ " + result.getUpToDateFiles() + " FIDL file(s) unchanged since last run, skipped");
+        }
+        for (String name : result.getGeneratedInterfaces()) {
+            System.out.println("   ✅ " + name + " code generated");
+        }
+        
+        // Bootstrap classes configuring each service instance from its deployment model
+        long deploymentStart = System.nanoTime();
+        List<String> deployed = generateDeployments(Paths.get(deploymentDir), Paths.get(inputDir), outputDir);
+        for (String instance : deployed) {
+            System.out.println("   ✅ " + instance + " deployment generated");
+        }
+        long deploymentNanos = System.nanoTime() - deploymentStart;
+        
+        // Generate build files and documentation
+        long buildStart = System.nanoTime();
+        generateBuildFiles(outputDir);
+        long buildNanos = System.nanoTime() - buildStart;
+        
+        System.out.println("\n=== Code Generation Summary ===");
+        System.out.println("✅ Interfaces generated: " + result.getGeneratedInterfaces().size());
+        System.out.println("✅ Files written: " + result.getWritten().size() + ", unchanged: " + result.getUnchanged().size());
+        System.out.println("✅ Deployed instances: " + deployed.size());
+        System.out.println("✅ All languages: Java, JavaScript, C++");
+        System.out.println("✅ Build configurations: Generated");
+        
+        System.out.println("\n=== Stage Timings (" + scheduler.getParallelism() + " threads) ===");
+        for (Map.Entry<String, Long> stage : result.getStageNanos().entrySet()) {
+            System.out.println(formatTiming(stage.getKey(), stage.getValue()));
+        }
+        for (Map.Entry<String, Long> backend : result.getBackendNanos().entrySet()) {
+            System.out.println(formatTiming("  " + backend.getKey() + " (cumulative)", backend.getValue()));
+        }
+        System.out.println(formatTiming("deployments", deploymentNanos));
+        System.out.println(formatTiming("build files", buildNanos));
+        System.out.println("\nCode generation completed successfully!");
+    }
+    
+    private static String option(List<String> options, String prefix, String defaultValue) {
+        for (String option : options) {
+            if (option.startsWith(prefix)) {
+                return option.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+    
+    private static String formatTiming(String stage, long nanos) {
+        return String.format("   %-28s %8.2f ms", stage, nanos / 1_000_000.0);
+    }
+    
     private static void createDirectories(String baseDir) throws IOException {
         Files.createDirectories(Paths.get(baseDir + "/cpp"));
-        Files.createDirectories(Paths.get(baseDir + "/java/org/example/calculator"));
-        Files.createDirectories(Paths.get(baseDir + "/java/org/example/automotive"));
-        Files.createDirectories(Paths.get(baseDir + "/java/org/example/common"));
+        Files.createDirectories(Paths.get(baseDir + "/java"));
         Files.createDirectories(Paths.get(baseDir + "/javascript"));
     }
     
     private static void writeFile(String filePath, String content) throws IOException {
-        Files.write(Paths.get(filePath), content.getBytes());
+        // Leave files with identical bytes untouched so their mtimes do not trigger downstream rebuilds
+        GenerationCache.writeIfChanged(Paths.get(filePath), content.getBytes(StandardCharsets.UTF_8));
     }
     
-    private static void generateCalculatorCode(String outputDir) throws IOException {
-        System.out.println("🔧 Generating Calculator code...");
+    private static List<GenerationScheduler.GeneratedFile> generateJavaCode(String outputDir, FidlScope scope) {
+        JavaInterfaceEmitter emitter = new JavaInterfaceEmitter(scope);
+        JavaSomeIpEmitter someIp = new JavaSomeIpEmitter(scope);
+        JavaCachingProxyEmitter caching = new JavaCachingProxyEmitter(scope);
+        String name = emitter.getInterfaceName();
+        String packageDir = outputDir + "/java/" + emitter.getPackageName().replace('.', '/');
         
-        // Java Calculator
-        writeFile(outputDir + "/java/org/example/calculator/Calculator.java", generateJavaCalculatorInterface());
-        writeFile(outputDir + "/java/org/example/calculator/CalculatorImpl.java", generateJavaCalculatorImplementation());
-        writeFile(outputDir + "/java/org/example/calculator/CalculatorClient.java", generateJavaCalculatorClient());
-        writeFile(outputDir + "/java/org/example/calculator/CalculatorTest.java", generateJavaCalculatorTest());
-        
-        // JavaScript Calculator
-        writeFile(outputDir + "/javascript/calculator-client.js", generateJavaScriptCalculatorClient());
-        writeFile(outputDir + "/javascript/calculator-server.js", generateJavaScriptCalculatorServer());
-        
-        // C++ Calculator
-        writeFile(outputDir + "/cpp/Calculator.h", generateCppCalculatorHeader());
-        writeFile(outputDir + "/cpp/Calculator.cpp", generateCppCalculatorImplementation());
-        writeFile(outputDir + "/cpp/CalculatorClient.cpp", generateCppCalculatorClient());
-        
-        System.out.println("   ✅ Calculator code generated");
+        // Implementations are owned by developers once they exist
+        return Arrays.asList(
+            new GenerationScheduler.GeneratedFile(Paths.get(packageDir, name + ".java"), emitter.emitInterface()),
+            new GenerationScheduler.GeneratedFile(Paths.get(packageDir, someIp.getClassName() + ".java"), someIp.emit()),
+            new GenerationScheduler.GeneratedFile(Paths.get(packageDir, caching.getClassName() + ".java"),
+                caching.emit()),
+            new GenerationScheduler.GeneratedFile(Paths.get(packageDir, name + "Impl.java"),
+                emitter.emitImplementationSkeleton(), true));
     }
     
-    private static void generateVehicleDashboardCode(String outputDir) throws IOException {
-        System.out.println("🚗 Generating VehicleDashboard code...");
-        
-        // Java Vehicle Dashboard
-        writeFile(outputDir + "/java/org/example/automotive/VehicleDashboard.java", generateJavaVehicleDashboardInterface());
-        writeFile(outputDir + "/java/org/example/automotive/VehicleDashboardImpl.java", generateJavaVehicleDashboardImplementation());
-        writeFile(outputDir + "/java/org/example/automotive/VehicleDashboardApp.java", generateJavaVehicleDashboardApp());
-        
-        // JavaScript Vehicle Dashboard
-        writeFile(outputDir + "/javascript/vehicle-dashboard.js", generateJavaScriptVehicleDashboard());
-        
-        // C++ Vehicle Dashboard
-        writeFile(outputDir + "/cpp/VehicleDashboard.h", generateCppVehicleDashboardHeader());
-        writeFile(outputDir + "/cpp/VehicleDashboard.cpp", generateCppVehicleDashboardImplementation());
-        
-        System.out.println("   ✅ VehicleDashboard code generated");
+    /**
+     * Generates one bootstrap class per .fdepl file; every instance must name an interface defined in a FIDL file
+     */
+    private static List<String> generateDeployments(Path deploymentDir, Path inputDir, String outputDir)
+            throws IOException {
+        List<Path> deploymentFiles = FdeplParser.findFdeplFiles(deploymentDir);
+        List<String> deployed = new ArrayList<>();
+        if (deploymentFiles.isEmpty()) {
+            return deployed;
+        }
+        Set<String> interfaces = new HashSet<>();
+        for (Path fidlFile : FidlParser.findFidlFiles(inputDir)) {
+            FidlModel model = FidlParser.parse(fidlFile);
+            for (FidlModel.Interface fidlInterface : model.getInterfaces()) {
+                interfaces.add(model.getPackageName() + "." + fidlInterface.getName());
+            }
+        }
+        for (Path deploymentFile : deploymentFiles) {
+            FdeplModel model = FdeplParser.parse(deploymentFile);
+            for (FdeplModel.InterfaceInstance instance : model.getInstances()) {
+                if (!interfaces.contains(instance.getInterfaceName())) {
+                    throw new IOException(deploymentFile + ": instance " + instance.getName()
+                        + " deploys unknown interface " + instance.getInterfaceName());
+                }
+                deployed.add(instance.getName());
+            }
+            JavaDeploymentEmitter emitter = new JavaDeploymentEmitter(model);
+            String packageDir = outputDir + "/java/" + emitter.getPackageName().replace('.', '/');
+            writeFile(packageDir + "/" + emitter.getClassName() + ".java", emitter.emit());
+        }
+        return deployed;
     }
     
-    private static void generateCommonServiceCode(String outputDir) throws IOException {
-        System.out.println("🔄 Generating CommonService code...");
-        
-        // Java Common Service
-        writeFile(outputDir + "/java/org/example/common/CommonService.java", generateJavaCommonServiceInterface());
-        writeFile(outputDir + "/java/org/example/common/CommonServiceImpl.java", generateJavaCommonServiceImplementation());
-        writeFile(outputDir + "/java/org/example/common/CommonServiceApp.java", generateJavaCommonServiceApp());
-        writeFile(outputDir + "/java/org/example/common/CommonTypesImpl.java", generateJavaCommonTypes());
-        
-        System.out.println("   ✅ CommonService code generated");
+    private static List<GenerationScheduler.GeneratedFile> generateJavaScriptCode(String outputDir, FidlScope scope) {
+        List<GenerationScheduler.GeneratedFile> files = new ArrayList<>();
+        switch (scope.getInterface().getName()) {
+            case "Calculator":
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "javascript/calculator-client.js"), generateJavaScriptCalculatorClient()));
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "javascript/calculator-server.js"), generateJavaScriptCalculatorServer()));
+                break;
+            case "VehicleDashboard":
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "javascript/vehicle-dashboard.js"), generateJavaScriptVehicleDashboard()));
+                break;
+            default:
+                // No JavaScript templates for this interface yet
+                break;
+        }
+        return files;
+    }
+    
+    private static List<GenerationScheduler.GeneratedFile> generateCppCode(String outputDir, FidlScope scope) {
+        List<GenerationScheduler.GeneratedFile> files = new ArrayList<>();
+        switch (scope.getInterface().getName()) {
+            case "Calculator":
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "cpp/Calculator.h"), generateCppCalculatorHeader()));
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "cpp/Calculator.cpp"), generateCppCalculatorImplementation()));
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "cpp/CalculatorClient.cpp"), generateCppCalculatorClient()));
+                break;
+            case "VehicleDashboard":
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "cpp/VehicleDashboard.h"), generateCppVehicleDashboardHeader()));
+                files.add(new GenerationScheduler.GeneratedFile(Paths.get(outputDir, "cpp/VehicleDashboard.cpp"), generateCppVehicleDashboardImplementation()));
+                break;
+            default:
+                // No C++ templates for this interface yet
+                break;
+        }
+        return files;
     }
     
     private static void generateBuildFiles(String outputDir) throws IOException {
@@ -123,991 +221,6 @@ public class EnhancedCodeGenerator {
         System.out.println("   ✅ Build files generated");
     }
 
-    // Calculator Java Interface
-    private static String generateJavaCalculatorInterface() {
-        return "package org.example.calculator;\n\n" +
-               "import java.util.function.Consumer;\n" +
-               "import java.util.concurrent.CompletableFuture;\n\n" +
-               "/**\n" +
-               " * Calculator interface generated from FRANCA IDL\n" +
-               " */\n" +
-               "public interface Calculator {\n" +
-               "    \n" +
-               "    enum Operation {\n" +
-               "        ADD(1), SUBTRACT(2), MULTIPLY(3), DIVIDE(4), POWER(5), SQRT(6);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        Operation(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class CalculationResult {\n" +
-               "        public double result;\n" +
-               "        public String errorMessage;\n" +
-               "        public boolean isValid;\n" +
-               "        public long timestamp;\n" +
-               "        \n" +
-               "        public CalculationResult() {}\n" +
-               "        \n" +
-               "        public CalculationResult(double result, String errorMessage, boolean isValid, long timestamp) {\n" +
-               "            this.result = result;\n" +
-               "            this.errorMessage = errorMessage;\n" +
-               "            this.isValid = isValid;\n" +
-               "            this.timestamp = timestamp;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ComplexNumber {\n" +
-               "        public double real;\n" +
-               "        public double imaginary;\n" +
-               "        \n" +
-               "        public ComplexNumber() {}\n" +
-               "        \n" +
-               "        public ComplexNumber(double real, double imaginary) {\n" +
-               "            this.real = real;\n" +
-               "            this.imaginary = imaginary;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class CalculatorStats {\n" +
-               "        public int totalOperations;\n" +
-               "        public int successfulOperations;\n" +
-               "        public int errorCount;\n" +
-               "        public double averageExecutionTime;\n" +
-               "        \n" +
-               "        public CalculatorStats() {}\n" +
-               "        \n" +
-               "        public CalculatorStats(int total, int successful, int errors, double avgTime) {\n" +
-               "            this.totalOperations = total;\n" +
-               "            this.successfulOperations = successful;\n" +
-               "            this.errorCount = errors;\n" +
-               "            this.averageExecutionTime = avgTime;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    // Methods\n" +
-               "    CompletableFuture<CalculationResult> calculate(double leftOperand, double rightOperand, Operation operation);\n" +
-               "    CompletableFuture<ComplexNumber> calculateComplex(ComplexNumber left, ComplexNumber right, Operation operation);\n" +
-               "    CompletableFuture<CalculatorStats> getStatistics();\n" +
-               "    CompletableFuture<Boolean> reset();\n" +
-               "    CompletableFuture<Boolean> setPrecision(byte decimalPlaces);\n" +
-               "    \n" +
-               "    // Event listeners\n" +
-               "    void setCalculationCompletedListener(Consumer<CalculationCompletedEvent> listener);\n" +
-               "    void setErrorOccurredListener(Consumer<ErrorOccurredEvent> listener);\n" +
-               "    \n" +
-               "    // Event classes\n" +
-               "    class CalculationCompletedEvent {\n" +
-               "        public CalculationResult result;\n" +
-               "        public long sessionId;\n" +
-               "        \n" +
-               "        public CalculationCompletedEvent(CalculationResult result, long sessionId) {\n" +
-               "            this.result = result;\n" +
-               "            this.sessionId = sessionId;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ErrorOccurredEvent {\n" +
-               "        public String errorMessage;\n" +
-               "        public int errorCode;\n" +
-               "        public long timestamp;\n" +
-               "        \n" +
-               "        public ErrorOccurredEvent(String errorMessage, int errorCode, long timestamp) {\n" +
-               "            this.errorMessage = errorMessage;\n" +
-               "            this.errorCode = errorCode;\n" +
-               "            this.timestamp = timestamp;\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-
-    // Vehicle Dashboard Java Interface
-    private static String generateJavaVehicleDashboardInterface() {
-        return "package org.example.automotive;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.function.Consumer;\n" +
-               "import org.example.common.*;\n\n" +
-               "/**\n" +
-               " * VehicleDashboard interface generated from FRANCA IDL\n" +
-               " */\n" +
-               "public interface VehicleDashboard {\n" +
-               "    \n" +
-               "    enum TransmissionState {\n" +
-               "        PARK(0), REVERSE(1), NEUTRAL(2), DRIVE(3), SPORT(4), MANUAL(5);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        TransmissionState(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    enum EngineState {\n" +
-               "        OFF(0), STARTING(1), IDLE(2), RUNNING(3), OVERHEATED(4), ERROR(5);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        EngineState(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    enum WarningLight {\n" +
-               "        ENGINE_CHECK(1), OIL_PRESSURE(2), BATTERY(3), TEMPERATURE(4), BRAKE(5),\n" +
-               "        ABS(6), AIRBAG(7), SEAT_BELT(8), FUEL_LOW(9), TIRE_PRESSURE(10);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        WarningLight(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    enum StatusLevel {\n" +
-               "        OK(0), WARNING(1), ERROR(2), CRITICAL(3);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        StatusLevel(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class VehicleData {\n" +
-               "        public float speed;\n" +
-               "        public float engineRPM;\n" +
-               "        public float fuelLevel;\n" +
-               "        public float engineTemperature;\n" +
-               "        public float oilPressure;\n" +
-               "        public int odometer;\n" +
-               "        public int tripMeter;\n" +
-               "        public TransmissionState transmission;\n" +
-               "        public EngineState engineState;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class WarningStatus {\n" +
-               "        public WarningLight type;\n" +
-               "        public boolean isActive;\n" +
-               "        public String message;\n" +
-               "        public StatusLevel severity;\n" +
-               "        public long activatedTime;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class FuelConsumption {\n" +
-               "        public float instantConsumption;\n" +
-               "        public float averageConsumption;\n" +
-               "        public float rangeEstimate;\n" +
-               "        public int fuelUsedTrip;\n" +
-               "    }\n" +
-               "    \n" +
-               "    // Methods\n" +
-               "    CompletableFuture<VehicleData> getVehicleData();\n" +
-               "    CompletableFuture<WarningStatus[]> getActiveWarnings();\n" +
-               "    CompletableFuture<FuelConsumption> getFuelConsumption();\n" +
-               "    CompletableFuture<Boolean> resetTripMeter();\n" +
-               "    CompletableFuture<Boolean> setDisplayUnits(boolean useMetric);\n" +
-               "    \n" +
-               "    // Event listeners\n" +
-               "    void setVehicleDataChangedListener(Consumer<VehicleDataChangedEvent> listener);\n" +
-               "    void setWarningStatusChangedListener(Consumer<WarningStatusChangedEvent> listener);\n" +
-               "    void setFuelLevelCriticalListener(Consumer<FuelLevelCriticalEvent> listener);\n" +
-               "    \n" +
-               "    // Event classes\n" +
-               "    class VehicleDataChangedEvent {\n" +
-               "        public VehicleData newData;\n" +
-               "        \n" +
-               "        public VehicleDataChangedEvent(VehicleData newData) {\n" +
-               "            this.newData = newData;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class WarningStatusChangedEvent {\n" +
-               "        public WarningStatus warning;\n" +
-               "        \n" +
-               "        public WarningStatusChangedEvent(WarningStatus warning) {\n" +
-               "            this.warning = warning;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class FuelLevelCriticalEvent {\n" +
-               "        public float remainingFuel;\n" +
-               "        public float estimatedRange;\n" +
-               "        \n" +
-               "        public FuelLevelCriticalEvent(float remainingFuel, float estimatedRange) {\n" +
-               "            this.remainingFuel = remainingFuel;\n" +
-               "            this.estimatedRange = estimatedRange;\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-
-    // Common Service Java Interface
-    private static String generateJavaCommonServiceInterface() {
-        return "package org.example.common;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.function.Consumer;\n" +
-               "import java.util.Map;\n\n" +
-               "/**\n" +
-               " * CommonService interface generated from FRANCA IDL\n" +
-               " */\n" +
-               "public interface CommonService {\n" +
-               "    \n" +
-               "    enum CommonError {\n" +
-               "        NO_ERROR(0), INVALID_INPUT(1), TIMEOUT(2), COMMUNICATION_ERROR(3),\n" +
-               "        AUTHENTICATION_FAILED(4), PERMISSION_DENIED(5), RESOURCE_NOT_AVAILABLE(6), INTERNAL_ERROR(99);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        CommonError(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    enum StatusLevel {\n" +
-               "        OK(0), WARNING(1), ERROR(2), CRITICAL(3);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        StatusLevel(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class Response {\n" +
-               "        public boolean success;\n" +
-               "        public String message;\n" +
-               "        public int errorCode;\n" +
-               "        public long timestamp;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class Position {\n" +
-               "        public double latitude;\n" +
-               "        public double longitude;\n" +
-               "        public double altitude;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class TimeInfo {\n" +
-               "        public long timestamp;\n" +
-               "        public String timezone;\n" +
-               "        public String isoFormat;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class Version {\n" +
-               "        public int major;\n" +
-               "        public int minor;\n" +
-               "        public int patch;\n" +
-               "        public String buildInfo;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ConfigItem {\n" +
-               "        public String key;\n" +
-               "        public String value;\n" +
-               "        public String description;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ValidationResult {\n" +
-               "        public boolean isValid;\n" +
-               "        public String[] errors;\n" +
-               "        public String[] warnings;\n" +
-               "    }\n" +
-               "    \n" +
-               "    // Methods\n" +
-               "    CompletableFuture<Version> getVersion();\n" +
-               "    CompletableFuture<ValidationResult> validateData(String data, String[] rules);\n" +
-               "    CompletableFuture<Position> getCurrentPosition();\n" +
-               "    CompletableFuture<Response> updateConfiguration(Map<String, ConfigItem> config);\n" +
-               "    CompletableFuture<StatusLevel> getSystemStatus();\n" +
-               "    \n" +
-               "    // Event listeners\n" +
-               "    void setStatusChangedListener(Consumer<StatusChangedEvent> listener);\n" +
-               "    void setConfigurationUpdatedListener(Consumer<ConfigurationUpdatedEvent> listener);\n" +
-               "    \n" +
-               "    // Event classes\n" +
-               "    class StatusChangedEvent {\n" +
-               "        public StatusLevel newStatus;\n" +
-               "        public String reason;\n" +
-               "        public TimeInfo timestamp;\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ConfigurationUpdatedEvent {\n" +
-               "        public Map<String, ConfigItem> updatedConfig;\n" +
-               "        public TimeInfo timestamp;\n" +
-               "    }\n" +
-               "}\n";
-    }
-
-    // Generate the rest of the implementation methods...
-    // For brevity, I'll include key implementations
-
-    private static String generateJavaCalculatorImplementation() {
-        return "package org.example.calculator;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.function.Consumer;\n\n" +
-               "/**\n" +
-               " * Calculator implementation\n" +
-               " */\n" +
-               "public class CalculatorImpl implements Calculator {\n" +
-               "    \n" +
-               "    private CalculatorStats stats = new CalculatorStats(0, 0, 0, 0.0);\n" +
-               "    private byte precision = 2;\n" +
-               "    private Consumer<CalculationCompletedEvent> calculationCompletedListener;\n" +
-               "    private Consumer<ErrorOccurredEvent> errorOccurredListener;\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<CalculationResult> calculate(double leftOperand, double rightOperand, Operation operation) {\n" +
-               "        return CompletableFuture.supplyAsync(() -> {\n" +
-               "            long startTime = System.nanoTime();\n" +
-               "            CalculationResult result = new CalculationResult();\n" +
-               "            result.timestamp = System.currentTimeMillis();\n" +
-               "            \n" +
-               "            stats.totalOperations++;\n" +
-               "            \n" +
-               "            try {\n" +
-               "                switch (operation) {\n" +
-               "                    case ADD:\n" +
-               "                        result.result = leftOperand + rightOperand;\n" +
-               "                        break;\n" +
-               "                    case SUBTRACT:\n" +
-               "                        result.result = leftOperand - rightOperand;\n" +
-               "                        break;\n" +
-               "                    case MULTIPLY:\n" +
-               "                        result.result = leftOperand * rightOperand;\n" +
-               "                        break;\n" +
-               "                    case DIVIDE:\n" +
-               "                        if (rightOperand == 0) {\n" +
-               "                            throw new ArithmeticException(\"Division by zero\");\n" +
-               "                        }\n" +
-               "                        result.result = leftOperand / rightOperand;\n" +
-               "                        break;\n" +
-               "                    case POWER:\n" +
-               "                        result.result = Math.pow(leftOperand, rightOperand);\n" +
-               "                        break;\n" +
-               "                    case SQRT:\n" +
-               "                        if (leftOperand < 0) {\n" +
-               "                            throw new ArithmeticException(\"Cannot take square root of negative number\");\n" +
-               "                        }\n" +
-               "                        result.result = Math.sqrt(leftOperand);\n" +
-               "                        break;\n" +
-               "                    default:\n" +
-               "                        throw new IllegalArgumentException(\"Invalid operation\");\n" +
-               "                }\n" +
-               "                \n" +
-               "                result.isValid = true;\n" +
-               "                stats.successfulOperations++;\n" +
-               "                \n" +
-               "                if (calculationCompletedListener != null) {\n" +
-               "                    calculationCompletedListener.accept(new CalculationCompletedEvent(result, 12345L));\n" +
-               "                }\n" +
-               "                \n" +
-               "            } catch (Exception e) {\n" +
-               "                result.isValid = false;\n" +
-               "                result.errorMessage = e.getMessage();\n" +
-               "                stats.errorCount++;\n" +
-               "                \n" +
-               "                if (errorOccurredListener != null) {\n" +
-               "                    errorOccurredListener.accept(new ErrorOccurredEvent(result.errorMessage, 1, result.timestamp));\n" +
-               "                }\n" +
-               "            }\n" +
-               "            \n" +
-               "            long endTime = System.nanoTime();\n" +
-               "            double executionTime = (endTime - startTime) / 1000.0; // microseconds\n" +
-               "            \n" +
-               "            stats.averageExecutionTime = \n" +
-               "                (stats.averageExecutionTime * (stats.totalOperations - 1) + executionTime) / stats.totalOperations;\n" +
-               "            \n" +
-               "            return result;\n" +
-               "        });\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<ComplexNumber> calculateComplex(ComplexNumber left, ComplexNumber right, Operation operation) {\n" +
-               "        return CompletableFuture.supplyAsync(() -> {\n" +
-               "            ComplexNumber result = new ComplexNumber();\n" +
-               "            switch (operation) {\n" +
-               "                case ADD:\n" +
-               "                    result.real = left.real + right.real;\n" +
-               "                    result.imaginary = left.imaginary + right.imaginary;\n" +
-               "                    break;\n" +
-               "                case SUBTRACT:\n" +
-               "                    result.real = left.real - right.real;\n" +
-               "                    result.imaginary = left.imaginary - right.imaginary;\n" +
-               "                    break;\n" +
-               "                default:\n" +
-               "                    throw new IllegalArgumentException(\"Complex operation not implemented\");\n" +
-               "            }\n" +
-               "            return result;\n" +
-               "        });\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<CalculatorStats> getStatistics() {\n" +
-               "        return CompletableFuture.completedFuture(stats);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Boolean> reset() {\n" +
-               "        return CompletableFuture.supplyAsync(() -> {\n" +
-               "            stats = new CalculatorStats(0, 0, 0, 0.0);\n" +
-               "            return true;\n" +
-               "        });\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Boolean> setPrecision(byte decimalPlaces) {\n" +
-               "        return CompletableFuture.supplyAsync(() -> {\n" +
-               "            if (decimalPlaces >= 0 && decimalPlaces <= 15) {\n" +
-               "                precision = decimalPlaces;\n" +
-               "                return true;\n" +
-               "            }\n" +
-               "            return false;\n" +
-               "        });\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setCalculationCompletedListener(Consumer<CalculationCompletedEvent> listener) {\n" +
-               "        this.calculationCompletedListener = listener;\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setErrorOccurredListener(Consumer<ErrorOccurredEvent> listener) {\n" +
-               "        this.errorOccurredListener = listener;\n" +
-               "    }\n" +
-               "}\n";
-    }
-
-    private static String generateJavaCalculatorClient() {
-        return "package org.example.calculator;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.concurrent.ExecutionException;\n\n" +
-               "/**\n" +
-               " * Calculator client demo\n" +
-               " */\n" +
-               "public class CalculatorClient {\n" +
-               "    \n" +
-               "    public static void main(String[] args) {\n" +
-               "        Calculator calculator = new CalculatorImpl();\n" +
-               "        \n" +
-               "        // Set up event listeners\n" +
-               "        calculator.setCalculationCompletedListener(event -> {\n" +
-               "            System.out.println(\"Calculation completed: \" + event.result.result + \" (Session: \" + event.sessionId + \")\");\n" +
-               "        });\n" +
-               "        \n" +
-               "        calculator.setErrorOccurredListener(event -> {\n" +
-               "            System.out.println(\"Error occurred: \" + event.errorMessage + \" (Code: \" + event.errorCode + \")\");\n" +
-               "        });\n" +
-               "        \n" +
-               "        System.out.println(\"Calculator Client Demo\");\n" +
-               "        System.out.println(\"=====================\");\n" +
-               "        \n" +
-               "        try {\n" +
-               "            // Perform some calculations\n" +
-               "            CompletableFuture<Calculator.CalculationResult> result1 = \n" +
-               "                calculator.calculate(10.0, 5.0, Calculator.Operation.ADD);\n" +
-               "            Calculator.CalculationResult r1 = result1.get();\n" +
-               "            if (r1.isValid) {\n" +
-               "                System.out.println(\"10 + 5 = \" + r1.result);\n" +
-               "            }\n" +
-               "            \n" +
-               "            CompletableFuture<Calculator.CalculationResult> result2 = \n" +
-               "                calculator.calculate(10.0, 3.0, Calculator.Operation.DIVIDE);\n" +
-               "            Calculator.CalculationResult r2 = result2.get();\n" +
-               "            if (r2.isValid) {\n" +
-               "                System.out.println(\"10 / 3 = \" + r2.result);\n" +
-               "            }\n" +
-               "            \n" +
-               "            // Test error case\n" +
-               "            CompletableFuture<Calculator.CalculationResult> result3 = \n" +
-               "                calculator.calculate(10.0, 0.0, Calculator.Operation.DIVIDE);\n" +
-               "            Calculator.CalculationResult r3 = result3.get();\n" +
-               "            if (!r3.isValid) {\n" +
-               "                System.out.println(\"Error: \" + r3.errorMessage);\n" +
-               "            }\n" +
-               "            \n" +
-               "            // Get statistics\n" +
-               "            CompletableFuture<Calculator.CalculatorStats> statsResult = calculator.getStatistics();\n" +
-               "            Calculator.CalculatorStats stats = statsResult.get();\n" +
-               "            System.out.println(\"\\nStatistics:\");\n" +
-               "            System.out.println(\"Total operations: \" + stats.totalOperations);\n" +
-               "            System.out.println(\"Successful operations: \" + stats.successfulOperations);\n" +
-               "            System.out.println(\"Errors: \" + stats.errorCount);\n" +
-               "            System.out.println(\"Average execution time: \" + stats.averageExecutionTime + \" μs\");\n" +
-               "            \n" +
-               "        } catch (InterruptedException | ExecutionException e) {\n" +
-               "            e.printStackTrace();\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-
-    // Due to length constraints, I'll provide key stub implementations
-    // You can extend these with full implementations
-    
-    private static String generateJavaVehicleDashboardImplementation() {
-        return "package org.example.automotive;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.function.Consumer;\n" +
-               "import java.util.ArrayList;\n" +
-               "import java.util.List;\n\n" +
-               "/**\n" +
-               " * VehicleDashboard implementation with all required methods\n" +
-               " */\n" +
-               "public class VehicleDashboardImpl implements VehicleDashboard {\n" +
-               "    \n" +
-               "    // Event listeners\n" +
-               "    private Consumer<VehicleDataChangedEvent> vehicleDataChangedListener;\n" +
-               "    private Consumer<WarningStatusChangedEvent> warningStatusChangedListener;\n" +
-               "    private Consumer<FuelLevelCriticalEvent> fuelLevelCriticalListener;\n" +
-               "    \n" +
-               "    // Current vehicle state\n" +
-               "    private VehicleData currentVehicleData;\n" +
-               "    private List<WarningStatus> activeWarnings;\n" +
-               "    private FuelConsumption currentFuelConsumption;\n" +
-               "    private boolean useMetricUnits = true;\n" +
-               "    \n" +
-               "    public VehicleDashboardImpl() {\n" +
-               "        // Initialize with default data\n" +
-               "        initializeDefaultData();\n" +
-               "    }\n" +
-               "    \n" +
-               "    private void initializeDefaultData() {\n" +
-               "        currentVehicleData = new VehicleData();\n" +
-               "        currentVehicleData.speed = 0.0f;\n" +
-               "        currentVehicleData.engineRPM = 800.0f;\n" +
-               "        currentVehicleData.fuelLevel = 50.0f;\n" +
-               "        currentVehicleData.engineTemperature = 90.0f;\n" +
-               "        currentVehicleData.oilPressure = 45.0f;\n" +
-               "        currentVehicleData.odometer = 12345;\n" +
-               "        currentVehicleData.tripMeter = 0;\n" +
-               "        currentVehicleData.transmission = TransmissionState.PARK;\n" +
-               "        currentVehicleData.engineState = EngineState.IDLE;\n" +
-               "        \n" +
-               "        activeWarnings = new ArrayList<>();\n" +
-               "        \n" +
-               "        currentFuelConsumption = new FuelConsumption();\n" +
-               "        currentFuelConsumption.instantConsumption = 8.5f;\n" +
-               "        currentFuelConsumption.averageConsumption = 7.2f;\n" +
-               "        currentFuelConsumption.rangeEstimate = 450.0f;\n" +
-               "        currentFuelConsumption.fuelUsedTrip = 25;\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<VehicleData> getVehicleData() {\n" +
-               "        return CompletableFuture.completedFuture(currentVehicleData);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<WarningStatus[]> getActiveWarnings() {\n" +
-               "        WarningStatus[] warnings = activeWarnings.toArray(new WarningStatus[0]);\n" +
-               "        return CompletableFuture.completedFuture(warnings);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<FuelConsumption> getFuelConsumption() {\n" +
-               "        return CompletableFuture.completedFuture(currentFuelConsumption);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Boolean> resetTripMeter() {\n" +
-               "        currentVehicleData.tripMeter = 0;\n" +
-               "        currentFuelConsumption.fuelUsedTrip = 0;\n" +
-               "        return CompletableFuture.completedFuture(true);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Boolean> setDisplayUnits(boolean useMetric) {\n" +
-               "        this.useMetricUnits = useMetric;\n" +
-               "        return CompletableFuture.completedFuture(true);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setVehicleDataChangedListener(Consumer<VehicleDataChangedEvent> listener) {\n" +
-               "        this.vehicleDataChangedListener = listener;\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setWarningStatusChangedListener(Consumer<WarningStatusChangedEvent> listener) {\n" +
-               "        this.warningStatusChangedListener = listener;\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setFuelLevelCriticalListener(Consumer<FuelLevelCriticalEvent> listener) {\n" +
-               "        this.fuelLevelCriticalListener = listener;\n" +
-               "    }\n" +
-               "    \n" +
-               "    // Simulation methods to trigger events (for testing)\n" +
-               "    public void simulateVehicleDataChange() {\n" +
-               "        if (vehicleDataChangedListener != null) {\n" +
-               "            vehicleDataChangedListener.accept(new VehicleDataChangedEvent(currentVehicleData));\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    public void simulateWarningStatusChange(WarningStatus warning) {\n" +
-               "        if (warningStatusChangedListener != null) {\n" +
-               "            warningStatusChangedListener.accept(new WarningStatusChangedEvent(warning));\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    public void simulateFuelLevelCritical() {\n" +
-               "        if (fuelLevelCriticalListener != null) {\n" +
-               "            fuelLevelCriticalListener.accept(\n" +
-               "                new FuelLevelCriticalEvent(currentVehicleData.fuelLevel, currentFuelConsumption.rangeEstimate)\n" +
-               "            );\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-    
-    private static String generateJavaVehicleDashboardApp() {
-        return "package org.example.automotive;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.concurrent.ExecutionException;\n\n" +
-               "/**\n" +
-               " * Vehicle Dashboard demo application\n" +
-               " */\n" +
-               "public class VehicleDashboardApp {\n" +
-               "    \n" +
-               "    public static void main(String[] args) {\n" +
-               "        VehicleDashboard dashboard = new VehicleDashboardImpl();\n" +
-               "        \n" +
-               "        // Set up event listeners\n" +
-               "        dashboard.setVehicleDataChangedListener(event -> {\n" +
-               "            System.out.println(\"Vehicle data updated - Speed: \" + event.newData.speed + \" km/h\");\n" +
-               "        });\n" +
-               "        \n" +
-               "        dashboard.setWarningStatusChangedListener(event -> {\n" +
-               "            System.out.println(\"Warning: \" + event.warning.type + \" - \" + event.warning.message);\n" +
-               "        });\n" +
-               "        \n" +
-               "        dashboard.setFuelLevelCriticalListener(event -> {\n" +
-               "            System.out.println(\"FUEL CRITICAL! Remaining: \" + event.remainingFuel + \"L, Range: \" + event.estimatedRange + \"km\");\n" +
-               "        });\n" +
-               "        \n" +
-               "        System.out.println(\"Vehicle Dashboard Demo\");\n" +
-               "        System.out.println(\"========================\");\n" +
-               "        \n" +
-               "        try {\n" +
-               "            // Get current vehicle data\n" +
-               "            CompletableFuture<VehicleDashboard.VehicleData> dataFuture = dashboard.getVehicleData();\n" +
-               "            VehicleDashboard.VehicleData data = dataFuture.get();\n" +
-               "            \n" +
-               "            System.out.println(\"Current Vehicle Status:\");\n" +
-               "            System.out.println(\"  Speed: \" + data.speed + \" km/h\");\n" +
-               "            System.out.println(\"  Engine RPM: \" + data.engineRPM);\n" +
-               "            System.out.println(\"  Fuel Level: \" + data.fuelLevel + \"%\");\n" +
-               "            System.out.println(\"  Engine Temp: \" + data.engineTemperature + \"°C\");\n" +
-               "            System.out.println(\"  Oil Pressure: \" + data.oilPressure + \" PSI\");\n" +
-               "            System.out.println(\"  Odometer: \" + data.odometer + \" km\");\n" +
-               "            System.out.println(\"  Trip Meter: \" + data.tripMeter + \" km\");\n" +
-               "            System.out.println(\"  Transmission: \" + data.transmission);\n" +
-               "            System.out.println(\"  Engine State: \" + data.engineState);\n" +
-               "            \n" +
-               "            // Get active warnings\n" +
-               "            CompletableFuture<VehicleDashboard.WarningStatus[]> warningsFuture = dashboard.getActiveWarnings();\n" +
-               "            VehicleDashboard.WarningStatus[] warnings = warningsFuture.get();\n" +
-               "            System.out.println(\"Active Warnings: \" + warnings.length);\n" +
-               "            \n" +
-               "            // Get fuel consumption\n" +
-               "            CompletableFuture<VehicleDashboard.FuelConsumption> fuelFuture = dashboard.getFuelConsumption();\n" +
-               "            VehicleDashboard.FuelConsumption fuel = fuelFuture.get();\n" +
-               "            System.out.println(\"Fuel Consumption:\");\n" +
-               "            System.out.println(\"  Instant: \" + fuel.instantConsumption + \" L/100km\");\n" +
-               "            System.out.println(\"  Average: \" + fuel.averageConsumption + \" L/100km\");\n" +
-               "            System.out.println(\"  Range: \" + fuel.rangeEstimate + \" km\");\n" +
-               "            System.out.println(\"  Trip Fuel Used: \" + fuel.fuelUsedTrip + \" L\");\n" +
-               "            \n" +
-               "            // Test operations\n" +
-               "            System.out.println(\"\\nTesting Operations:\");\n" +
-               "            \n" +
-               "            // Reset trip meter\n" +
-               "            CompletableFuture<Boolean> resetResult = dashboard.resetTripMeter();\n" +
-               "            if (resetResult.get()) {\n" +
-               "                System.out.println(\"✅ Trip meter reset successfully\");\n" +
-               "            }\n" +
-               "            \n" +
-               "            // Set display units\n" +
-               "            CompletableFuture<Boolean> unitsResult = dashboard.setDisplayUnits(true);\n" +
-               "            if (unitsResult.get()) {\n" +
-               "                System.out.println(\"✅ Display units set to metric\");\n" +
-               "            }\n" +
-               "            \n" +
-               "            // Test event simulation (if implementation supports it)\n" +
-               "            if (dashboard instanceof VehicleDashboardImpl) {\n" +
-               "                System.out.println(\"\\nSimulating Events:\");\n" +
-               "                VehicleDashboardImpl impl = (VehicleDashboardImpl) dashboard;\n" +
-               "                \n" +
-               "                impl.simulateVehicleDataChange();\n" +
-               "                impl.simulateFuelLevelCritical();\n" +
-               "            }\n" +
-               "            \n" +
-               "        } catch (InterruptedException | ExecutionException e) {\n" +
-               "            e.printStackTrace();\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-    
-    private static String generateJavaCommonServiceImplementation() {
-        return "package org.example.common;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.function.Consumer;\n" +
-               "import java.util.Map;\n" +
-               "import java.util.HashMap;\n\n" +
-               "/**\n" +
-               " * CommonService implementation with all required methods\n" +
-               " */\n" +
-               "public class CommonServiceImpl implements CommonService {\n" +
-               "    \n" +
-               "    // Event listeners\n" +
-               "    private Consumer<StatusChangedEvent> statusChangedListener;\n" +
-               "    private Consumer<ConfigurationUpdatedEvent> configurationUpdatedListener;\n" +
-               "    \n" +
-               "    // Current service state\n" +
-               "    private StatusLevel currentStatus = StatusLevel.OK;\n" +
-               "    private Version serviceVersion;\n" +
-               "    private Position currentPosition;\n" +
-               "    private Map<String, ConfigItem> configuration;\n" +
-               "    \n" +
-               "    public CommonServiceImpl() {\n" +
-               "        initializeDefaultData();\n" +
-               "    }\n" +
-               "    \n" +
-               "    private void initializeDefaultData() {\n" +
-               "        serviceVersion = new Version();\n" +
-               "        serviceVersion.major = 1;\n" +
-               "        serviceVersion.minor = 0;\n" +
-               "        serviceVersion.patch = 0;\n" +
-               "        serviceVersion.buildInfo = \"Build-001\";\n" +
-               "        \n" +
-               "        currentPosition = new Position();\n" +
-               "        currentPosition.latitude = 37.7749;\n" +
-               "        currentPosition.longitude = -122.4194;\n" +
-               "        currentPosition.altitude = 52.0;\n" +
-               "        \n" +
-               "        configuration = new HashMap<>();\n" +
-               "        ConfigItem defaultConfig = new ConfigItem();\n" +
-               "        defaultConfig.key = \"default_timeout\";\n" +
-               "        defaultConfig.value = \"30000\";\n" +
-               "        defaultConfig.description = \"Default timeout in milliseconds\";\n" +
-               "        configuration.put(\"default_timeout\", defaultConfig);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Version> getVersion() {\n" +
-               "        return CompletableFuture.completedFuture(serviceVersion);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<ValidationResult> validateData(String data, String[] rules) {\n" +
-               "        return CompletableFuture.supplyAsync(() -> {\n" +
-               "            ValidationResult result = new ValidationResult();\n" +
-               "            \n" +
-               "            if (data == null || data.trim().isEmpty()) {\n" +
-               "                result.isValid = false;\n" +
-               "                result.errors = new String[]{\"Data cannot be null or empty\"};\n" +
-               "                result.warnings = new String[0];\n" +
-               "            } else {\n" +
-               "                result.isValid = true;\n" +
-               "                result.errors = new String[0];\n" +
-               "                result.warnings = new String[0];\n" +
-               "            }\n" +
-               "            \n" +
-               "            return result;\n" +
-               "        });\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Position> getCurrentPosition() {\n" +
-               "        return CompletableFuture.completedFuture(currentPosition);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<Response> updateConfiguration(Map<String, ConfigItem> config) {\n" +
-               "        return CompletableFuture.supplyAsync(() -> {\n" +
-               "            Response response = new Response();\n" +
-               "            response.timestamp = System.currentTimeMillis();\n" +
-               "            \n" +
-               "            try {\n" +
-               "                if (config != null) {\n" +
-               "                    configuration.putAll(config);\n" +
-               "                    response.success = true;\n" +
-               "                    response.message = \"Configuration updated successfully\";\n" +
-               "                    response.errorCode = 0;\n" +
-               "                    \n" +
-               "                    // Trigger configuration updated event\n" +
-               "                    if (configurationUpdatedListener != null) {\n" +
-               "                        ConfigurationUpdatedEvent event = new ConfigurationUpdatedEvent();\n" +
-               "                        event.updatedConfig = new HashMap<>(configuration);\n" +
-               "                        event.timestamp = new TimeInfo();\n" +
-               "                        event.timestamp.timestamp = System.currentTimeMillis();\n" +
-               "                        event.timestamp.timezone = \"UTC\";\n" +
-               "                        event.timestamp.isoFormat = new java.util.Date().toString();\n" +
-               "                        configurationUpdatedListener.accept(event);\n" +
-               "                    }\n" +
-               "                } else {\n" +
-               "                    response.success = false;\n" +
-               "                    response.message = \"Configuration cannot be null\";\n" +
-               "                    response.errorCode = 1;\n" +
-               "                }\n" +
-               "            } catch (Exception e) {\n" +
-               "                response.success = false;\n" +
-               "                response.message = \"Error updating configuration: \" + e.getMessage();\n" +
-               "                response.errorCode = 99;\n" +
-               "            }\n" +
-               "            \n" +
-               "            return response;\n" +
-               "        });\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public CompletableFuture<StatusLevel> getSystemStatus() {\n" +
-               "        return CompletableFuture.completedFuture(currentStatus);\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setStatusChangedListener(Consumer<StatusChangedEvent> listener) {\n" +
-               "        this.statusChangedListener = listener;\n" +
-               "    }\n" +
-               "    \n" +
-               "    @Override\n" +
-               "    public void setConfigurationUpdatedListener(Consumer<ConfigurationUpdatedEvent> listener) {\n" +
-               "        this.configurationUpdatedListener = listener;\n" +
-               "    }\n" +
-               "    \n" +
-               "    // Utility methods for testing\n" +
-               "    public void simulateStatusChange(StatusLevel newStatus, String reason) {\n" +
-               "        StatusLevel oldStatus = currentStatus;\n" +
-               "        currentStatus = newStatus;\n" +
-               "        \n" +
-               "        if (statusChangedListener != null && oldStatus != newStatus) {\n" +
-               "            StatusChangedEvent event = new StatusChangedEvent();\n" +
-               "            event.newStatus = newStatus;\n" +
-               "            event.reason = reason;\n" +
-               "            event.timestamp = new TimeInfo();\n" +
-               "            event.timestamp.timestamp = System.currentTimeMillis();\n" +
-               "            event.timestamp.timezone = \"UTC\";\n" +
-               "            event.timestamp.isoFormat = new java.util.Date().toString();\n" +
-               "            statusChangedListener.accept(event);\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    public void updatePosition(double latitude, double longitude, double altitude) {\n" +
-               "        currentPosition.latitude = latitude;\n" +
-               "        currentPosition.longitude = longitude;\n" +
-               "        currentPosition.altitude = altitude;\n" +
-               "    }\n" +
-               "}\n";
-    }
-    
-    private static String generateJavaCommonServiceApp() {
-        return "package org.example.common;\n\n" +
-               "import java.util.concurrent.CompletableFuture;\n" +
-               "import java.util.concurrent.ExecutionException;\n" +
-               "import java.util.Map;\n" +
-               "import java.util.HashMap;\n\n" +
-               "/**\n" +
-               " * Common Service demo application\n" +
-               " */\n" +
-               "public class CommonServiceApp {\n" +
-               "    \n" +
-               "    public static void main(String[] args) {\n" +
-               "        CommonService commonService = new CommonServiceImpl();\n" +
-               "        \n" +
-               "        // Set up event listeners\n" +
-               "        commonService.setStatusChangedListener(event -> {\n" +
-               "            System.out.println(\"Status changed to: \" + event.newStatus + \" (Reason: \" + event.reason + \")\");\n" +
-               "        });\n" +
-               "        \n" +
-               "        commonService.setConfigurationUpdatedListener(event -> {\n" +
-               "            System.out.println(\"Configuration updated: \" + event.updatedConfig.size() + \" items\");\n" +
-               "        });\n" +
-               "        \n" +
-               "        System.out.println(\"Common Service Demo\");\n" +
-               "        System.out.println(\"===================\");\n" +
-               "        \n" +
-               "        try {\n" +
-               "            // Get service version\n" +
-               "            CompletableFuture<CommonService.Version> versionFuture = commonService.getVersion();\n" +
-               "            CommonService.Version version = versionFuture.get();\n" +
-               "            \n" +
-               "            System.out.println(\"Service Information:\");\n" +
-               "            System.out.println(\"  Version: \" + version.major + \".\" + version.minor + \".\" + version.patch);\n" +
-               "            System.out.println(\"  Build: \" + version.buildInfo);\n" +
-               "            \n" +
-               "            // Get current position\n" +
-               "            CompletableFuture<CommonService.Position> positionFuture = commonService.getCurrentPosition();\n" +
-               "            CommonService.Position position = positionFuture.get();\n" +
-               "            System.out.println(\"Current Position:\");\n" +
-               "            System.out.println(\"  Latitude: \" + position.latitude + \"°\");\n" +
-               "            System.out.println(\"  Longitude: \" + position.longitude + \"°\");\n" +
-               "            System.out.println(\"  Altitude: \" + position.altitude + \" m\");\n" +
-               "            \n" +
-               "            // Get system status\n" +
-               "            CompletableFuture<CommonService.StatusLevel> statusFuture = commonService.getSystemStatus();\n" +
-               "            CommonService.StatusLevel status = statusFuture.get();\n" +
-               "            System.out.println(\"System Status: \" + status);\n" +
-               "            \n" +
-               "            // Test data validation\n" +
-               "            System.out.println(\"\\nTesting Data Validation:\");\n" +
-               "            String[] validationRules = {\"required\", \"min_length:5\", \"max_length:50\"};\n" +
-               "            \n" +
-               "            CompletableFuture<CommonService.ValidationResult> result1 = \n" +
-               "                commonService.validateData(\"Hello World!\", validationRules);\n" +
-               "            CommonService.ValidationResult validation1 = result1.get();\n" +
-               "            System.out.println(\"  \\\"Hello World!\\\" validation: \" + \n" +
-               "                (validation1.isValid ? \"✅ Valid\" : \"❌ Invalid - \" + \n" +
-               "                (validation1.errors.length > 0 ? validation1.errors[0] : \"Unknown error\")));\n" +
-               "            \n" +
-               "            CompletableFuture<CommonService.ValidationResult> result2 = \n" +
-               "                commonService.validateData(\"Hi\", validationRules);\n" +
-               "            CommonService.ValidationResult validation2 = result2.get();\n" +
-               "            System.out.println(\"  \\\"Hi\\\" validation: \" + \n" +
-               "                (validation2.isValid ? \"✅ Valid\" : \"❌ Invalid - \" + \n" +
-               "                (validation2.errors.length > 0 ? validation2.errors[0] : \"Unknown error\")));\n" +
-               "            \n" +
-               "            // Test configuration operations\n" +
-               "            System.out.println(\"\\nTesting Configuration:\");\n" +
-               "            \n" +
-               "            CommonService.ConfigItem newConfig = new CommonService.ConfigItem();\n" +
-               "            newConfig.key = \"api_timeout\";\n" +
-               "            newConfig.value = \"60000\";\n" +
-               "            newConfig.description = \"API timeout in milliseconds\";\n" +
-               "            \n" +
-               "            Map<String, CommonService.ConfigItem> configMap = new HashMap<>();\n" +
-               "            configMap.put(newConfig.key, newConfig);\n" +
-               "            \n" +
-               "            CompletableFuture<CommonService.Response> configResult = \n" +
-               "                commonService.updateConfiguration(configMap);\n" +
-               "            CommonService.Response configResponse = configResult.get();\n" +
-               "            \n" +
-               "            if (configResponse.success) {\n" +
-               "                System.out.println(\"✅ Configuration updated: \" + configResponse.message);\n" +
-               "            } else {\n" +
-               "                System.out.println(\"❌ Configuration update failed: \" + configResponse.message);\n" +
-               "            }\n" +
-               "            \n" +
-               "            // Test event simulation\n" +
-               "            if (commonService instanceof CommonServiceImpl) {\n" +
-               "                System.out.println(\"\\nSimulating Events:\");\n" +
-               "                CommonServiceImpl impl = (CommonServiceImpl) commonService;\n" +
-               "                \n" +
-               "                impl.simulateStatusChange(CommonService.StatusLevel.WARNING, \"System load high\");\n" +
-               "                impl.updatePosition(40.7128, -74.0060, 10.0); // New York coordinates\n" +
-               "                impl.simulateStatusChange(CommonService.StatusLevel.OK, \"System load normalized\");\n" +
-               "            }\n" +
-               "            \n" +
-               "        } catch (InterruptedException | ExecutionException e) {\n" +
-               "            e.printStackTrace();\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-    
-    private static String generateJavaCommonTypes() {
-        return "package org.example.common;\n\n" +
-               "// Common types implementation\n" +
-               "public class CommonTypesImpl {\n" +
-               "    // Common type implementations\n" +
-               "}\n";
-    }
-    
-    private static String generateJavaCalculatorTest() {
-        return "package org.example.calculator;\n\n" +
-               "public class CalculatorTest {\n" +
-               "    public static void main(String[] args) {\n" +
-               "        System.out.println(\"Running Calculator Tests...\");\n" +
-               "        // Test implementations\n" +
-               "    }\n" +
-               "}\n";
-    }
-
     // JavaScript implementations
     private static String generateJavaScriptCalculatorClient() {
         return "const Calculator = require('./calculator-server');\n\n" +
@@ -1385,6 +498,7 @@ public class EnhancedCodeGenerator {
         return "plugins {\n" +
                "    id 'java'\n" +
                "    id 'application'\n" +
+               "    id 'me.champeau.jmh' version '0.7.2'\n" +
                "}\n\n" +
                "group = 'org.example'\n" +
                "version = '1.0.0'\n" +
@@ -1395,11 +509,33 @@ public class EnhancedCodeGenerator {
                "repositories {\n" +
                "    mavenCentral()\n" +
                "}\n\n" +
+               "sourceSets {\n" +
+               "    main {\n" +
+               "        java {\n" +
+               "            // Sources live next to this file in their package directories\n" +
+               "            srcDirs = ['.']\n" +
+               "            include 'org/**'\n" +
+               "        }\n" +
+               "    }\n" +
+               "    jmh {\n" +
+               "        java {\n" +
+               "            // The generator benchmark runs the code generator itself\n" +
+               "            srcDir '../../tools'\n" +
+               "        }\n" +
+               "    }\n" +
+               "}\n\n" +
                "dependencies {\n" +
                "    testImplementation 'org.junit.jupiter:junit-jupiter:5.9.2'\n" +
                "}\n\n" +
                "tasks.named('test') {\n" +
                "    useJUnitPlatform()\n" +
+               "}\n\n" +
+               "// gradle jmh writes build/results/jmh/results.json, to be compared against a release baseline\n" +
+               "jmh {\n" +
+               "    jmhVersion = '1.37'\n" +
+               "    resultFormat = 'JSON'\n" +
+               "    resultsFile = layout.buildDirectory.file('results/jmh/results.json')\n" +
+               "    jvmArgsAppend = [\"-Dfranca.root=${file('../..')}\".toString()]\n" +
                "}\n";
     }
 
@@ -0,0 +1,80 @@
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Immutable model of a Franca deployment (.fdepl) file, produced by {@link FdeplParser}
+ */
+public final class FdeplModel {
+
+    // Defaults mirror org.example.runtime.SomeIpDeployment
+    public static final int DEFAULT_WORKER_THREADS = 0;
+    public static final int DEFAULT_QUEUE_DEPTH = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_EVENT_COALESCING_INTERVAL_MS = 0;
+
+    private final Path source;
+    private final String packageName;
+    private final List<FidlModel.Annotation> annotations;
+    private final List<InterfaceInstance> instances;
+
+    public FdeplModel(Path source, String packageName, List<FidlModel.Annotation> annotations,
+                      List<InterfaceInstance> instances) {
+        this.source = source;
+        this.packageName = packageName;
+        this.annotations = List.copyOf(annotations);
+        this.instances = List.copyOf(instances);
+    }
+
+    public Path getSource() { return source; }
+    public String getPackageName() { return packageName; }
+    public List<FidlModel.Annotation> getAnnotations() { return annotations; }
+    public List<InterfaceInstance> getInstances() { return instances; }
+
+    /**
+     * File name without extension, used as the name of the generated bootstrap class
+     */
+    public String getName() {
+        String fileName = source.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName : fileName.substring(0, dot);
+    }
+
+    /**
+     * One deployed service instance: where it listens and how it is scheduled
+     */
+    public static final class InterfaceInstance {
+        private final String name;
+        private final String interfaceName;
+        private final String protocol;
+        private final String address;
+        private final int port;
+        private final int workerThreads;
+        private final int queueDepth;
+        private final int batchSize;
+        private final int eventCoalescingIntervalMs;
+
+        public InterfaceInstance(String name, String interfaceName, String protocol, String address, int port,
+                                 int workerThreads, int queueDepth, int batchSize, int eventCoalescingIntervalMs) {
+            this.name = name;
+            this.interfaceName = interfaceName;
+            this.protocol = protocol;
+            this.address = address;
+            this.port = port;
+            this.workerThreads = workerThreads;
+            this.queueDepth = queueDepth;
+            this.batchSize = batchSize;
+            this.eventCoalescingIntervalMs = eventCoalescingIntervalMs;
+        }
+
+        public String getName() { return name; }
+        /** Fully qualified interface name */
+        public String getInterfaceName() { return interfaceName; }
+        public String getProtocol() { return protocol; }
+        public String getAddress() { return address; }
+        public int getPort() { return port; }
+        public int getWorkerThreads() { return workerThreads; }
+        public int getQueueDepth() { return queueDepth; }
+        public int getBatchSize() { return batchSize; }
+        public int getEventCoalescingIntervalMs() { return eventCoalescingIntervalMs; }
+    }
+}
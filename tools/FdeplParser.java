@@ -0,0 +1,194 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recursive-descent parser for Franca deployment files, sharing the {@link FidlLexer}.
+ * <pre>
+ * package org.example.calculator
+ * &lt;** @description: ... **&gt;
+ * deployment {
+ *     interfaceInstance calculatorService of Calculator {
+ *         protocol: SOME/IP
+ *         address: "192.168.1.100"
+ *         port: 30500
+ *         workerThreads: 4
+ *         queueDepth: 256
+ *         batchSize: 32
+ *         eventCoalescingInterval: 0
+ *     }
+ * }
+ * </pre>
+ * protocol, address and port are required; the scheduling properties default to the runtime defaults.
+ * Unknown or repeated properties are reported as errors rather than ignored.
+ */
+public class FdeplParser {
+
+    private static final String SOME_IP = "SOME/IP";
+
+    private final FidlLexer lexer;
+
+    private FdeplParser(FidlLexer lexer) {
+        this.lexer = lexer;
+    }
+
+    public static FdeplModel parse(Path file) throws IOException {
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        return parse(file, content);
+    }
+
+    public static FdeplModel parse(Path source, String content) throws FidlParseException {
+        return new FdeplParser(new FidlLexer(source.toString(), content)).parseModel(source);
+    }
+
+    /**
+     * Lists all .fdepl files below a directory in a stable (sorted) order; none if it does not exist
+     */
+    public static List<Path> findFdeplFiles(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(path -> path.toString().endsWith(".fdepl"))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    // Grammar
+
+    private FdeplModel parseModel(Path source) throws FidlParseException {
+        List<FidlModel.Annotation> annotations = new ArrayList<>();
+        parseAnnotations(annotations);
+        expectKeyword("package");
+        String packageName = expect(FidlLexer.Kind.IDENTIFIER);
+        parseAnnotations(annotations);
+
+        List<FdeplModel.InterfaceInstance> instances = new ArrayList<>();
+        while (!lexer.is(FidlLexer.Kind.EOF)) {
+            expectKeyword("deployment");
+            expect(FidlLexer.Kind.LBRACE);
+            while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+                expectKeyword("interfaceInstance");
+                instances.add(parseInstance(packageName));
+            }
+            lexer.advance();
+            parseAnnotations(annotations);
+        }
+        return new FdeplModel(source, packageName, annotations, instances);
+    }
+
+    private FdeplModel.InterfaceInstance parseInstance(String packageName) throws FidlParseException {
+        String name = expect(FidlLexer.Kind.IDENTIFIER);
+        expectKeyword("of");
+        String interfaceName = expect(FidlLexer.Kind.IDENTIFIER);
+        if (interfaceName.indexOf('.') < 0) {
+            interfaceName = packageName + "." + interfaceName;
+        }
+        expect(FidlLexer.Kind.LBRACE);
+
+        String protocol = null;
+        String address = null;
+        int port = -1;
+        int workerThreads = FdeplModel.DEFAULT_WORKER_THREADS;
+        int queueDepth = FdeplModel.DEFAULT_QUEUE_DEPTH;
+        int batchSize = FdeplModel.DEFAULT_BATCH_SIZE;
+        int eventCoalescingInterval = FdeplModel.DEFAULT_EVENT_COALESCING_INTERVAL_MS;
+        Set<String> seen = new HashSet<>();
+
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            if (!lexer.is(FidlLexer.Kind.IDENTIFIER)) {
+                throw lexer.error("Expected deployment property but found '" + lexer.text() + "'");
+            }
+            String key = lexer.text();
+            if (!seen.add(key)) {
+                throw lexer.error("Property '" + key + "' set twice for instance " + name);
+            }
+            lexer.advance();
+            expect(FidlLexer.Kind.COLON);
+            switch (key) {
+                case "protocol": protocol = parseProtocol(); break;
+                case "address": address = expect(FidlLexer.Kind.STRING); break;
+                case "port": port = parseInt(0, 0xFFFF); break;
+                case "workerThreads": workerThreads = parseInt(0, 1024); break;
+                case "queueDepth": queueDepth = parseInt(1, Integer.MAX_VALUE); break;
+                case "batchSize": batchSize = parseInt(1, 1024); break;
+                case "eventCoalescingInterval": eventCoalescingInterval = parseInt(0, 60_000); break;
+                default:
+                    throw lexer.error("Unknown deployment property '" + key + "'");
+            }
+        }
+        lexer.advance();
+
+        if (protocol == null || address == null || port < 0) {
+            throw lexer.error("Instance " + name + " must define protocol, address and port");
+        }
+        return new FdeplModel.InterfaceInstance(name, interfaceName, protocol, address, port,
+            workerThreads, queueDepth, batchSize, eventCoalescingInterval);
+    }
+
+    private String parseProtocol() throws FidlParseException {
+        // SOME/IP lexes as IDENTIFIER SLASH IDENTIFIER
+        StringBuilder protocol = new StringBuilder(expect(FidlLexer.Kind.IDENTIFIER));
+        while (lexer.is(FidlLexer.Kind.SLASH)) {
+            lexer.advance();
+            protocol.append('/').append(expect(FidlLexer.Kind.IDENTIFIER));
+        }
+        if (!protocol.toString().equals(SOME_IP)) {
+            throw lexer.error("Unsupported protocol '" + protocol + "', only " + SOME_IP + " is generated");
+        }
+        return protocol.toString();
+    }
+
+    private void parseAnnotations(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        while (lexer.is(FidlLexer.Kind.ANNOTATION)) {
+            FidlParser.parseAnnotationBlock(lexer.text(), annotations);
+            lexer.advance();
+        }
+    }
+
+    // Token helpers
+
+    private String expect(FidlLexer.Kind kind) throws FidlParseException {
+        if (!lexer.is(kind)) {
+            throw lexer.error("Expected " + kind + " but found '" + lexer.text() + "'");
+        }
+        String text = lexer.text();
+        lexer.advance();
+        return text;
+    }
+
+    private void expectKeyword(String keyword) throws FidlParseException {
+        if (!lexer.isKeyword(keyword)) {
+            throw lexer.error("Expected '" + keyword + "' but found '" + lexer.text() + "'");
+        }
+        lexer.advance();
+    }
+
+    private int parseInt(int min, int max) throws FidlParseException {
+        if (!lexer.is(FidlLexer.Kind.NUMBER)) {
+            throw lexer.error("Expected NUMBER but found '" + lexer.text() + "'");
+        }
+        String text = lexer.text();
+        long value;
+        try {
+            value = text.startsWith("0x") || text.startsWith("0X")
+                ? Long.parseLong(text.substring(2), 16)
+                : Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw lexer.error("Invalid integer literal '" + text + "'");
+        }
+        if (value < min || value > max) {
+            throw lexer.error("Value " + text + " out of range [" + min + ", " + max + "]");
+        }
+        lexer.advance();
+        return (int) value;
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Single-pass streaming lexer for Franca IDL and deployment files.
+ * The lexer keeps exactly one token of state; {@link #advance()} moves to the next one.
+ */
+public class FidlLexer {
+
+    public enum Kind {
+        IDENTIFIER, NUMBER, STRING, ANNOTATION,
+        LBRACE, RBRACE, LBRACKET, RBRACKET, EQUALS, COLON, COMMA, SLASH, STAR,
+        EOF
+    }
+
+    private final String source;
+    private final char[] buffer;
+    private final int length;
+    private int position;
+    private int line = 1;
+    private int lineStart;
+
+    private Kind kind;
+    private String text;
+    private int tokenLine;
+    private int tokenColumn;
+
+    public FidlLexer(String source, String content) throws FidlParseException {
+        this.source = source;
+        this.buffer = content.toCharArray();
+        this.length = buffer.length;
+        advance();
+    }
+
+    public Kind kind() { return kind; }
+    public String text() { return text; }
+    public int line() { return tokenLine; }
+    public int column() { return tokenColumn; }
+    public String source() { return source; }
+
+    public boolean is(Kind expected) {
+        return kind == expected;
+    }
+
+    public boolean isKeyword(String keyword) {
+        return kind == Kind.IDENTIFIER && text.equals(keyword);
+    }
+
+    public FidlParseException error(String message) {
+        return new FidlParseException(source, tokenLine, tokenColumn, message);
+    }
+
+    public void advance() throws FidlParseException {
+        skipWhitespaceAndComments();
+        tokenLine = line;
+        tokenColumn = position - lineStart + 1;
+        if (position >= length) {
+            kind = Kind.EOF;
+            text = "<eof>";
+            return;
+        }
+
+        char c = buffer[position];
+        if (isIdentifierStart(c)) {
+            readIdentifier();
+        } else if (isDigit(c) || (c == '-' && position + 1 < length && isDigit(buffer[position + 1]))) {
+            readNumber();
+        } else if (c == '"') {
+            readString();
+        } else if (c == '<' && position + 2 < length && buffer[position + 1] == '*' && buffer[position + 2] == '*') {
+            readAnnotation();
+        } else {
+            position++;
+            switch (c) {
+                case '{': single(Kind.LBRACE, "{"); break;
+                case '}': single(Kind.RBRACE, "}"); break;
+                case '[': single(Kind.LBRACKET, "["); break;
+                case ']': single(Kind.RBRACKET, "]"); break;
+                case '=': single(Kind.EQUALS, "="); break;
+                case ':': single(Kind.COLON, ":"); break;
+                case ',': single(Kind.COMMA, ","); break;
+                case '/': single(Kind.SLASH, "/"); break;
+                case '*': single(Kind.STAR, "*"); break;
+                default:
+                    throw error("Unexpected character '" + c + "'");
+            }
+        }
+    }
+
+    private void single(Kind singleKind, String singleText) {
+        kind = singleKind;
+        text = singleText;
+    }
+
+    private void skipWhitespaceAndComments() throws FidlParseException {
+        while (position < length) {
+            char c = buffer[position];
+            if (c == '\n') {
+                position++;
+                line++;
+                lineStart = position;
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\f' || c == '\uFEFF') {
+                position++;
+            } else if (c == '/' && position + 1 < length && buffer[position + 1] == '/') {
+                while (position < length && buffer[position] != '\n') {
+                    position++;
+                }
+            } else if (c == '/' && position + 1 < length && buffer[position + 1] == '*') {
+                int startLine = line;
+                int startColumn = position - lineStart + 1;
+                position += 2;
+                while (position + 1 < length && !(buffer[position] == '*' && buffer[position + 1] == '/')) {
+                    newlineAware();
+                }
+                if (position + 1 >= length) {
+                    throw new FidlParseException(source, startLine, startColumn, "Unterminated block comment");
+                }
+                position += 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void readIdentifier() {
+        int start = position;
+        while (position < length) {
+            char c = buffer[position];
+            if (isIdentifierPart(c)) {
+                position++;
+            } else if (c == '.' && position + 1 < length
+                    && (isIdentifierStart(buffer[position + 1]) || buffer[position + 1] == '*')) {
+                // Qualified names and import wildcards (org.example.common.*) form a single token
+                position += 2;
+            } else {
+                break;
+            }
+        }
+        kind = Kind.IDENTIFIER;
+        text = new String(buffer, start, position - start);
+    }
+
+    private void readNumber() {
+        int start = position;
+        if (buffer[position] == '-') {
+            position++;
+        }
+        if (buffer[position] == '0' && position + 1 < length && (buffer[position + 1] == 'x' || buffer[position + 1] == 'X')) {
+            position += 2;
+            while (position < length && Character.digit(buffer[position], 16) >= 0) {
+                position++;
+            }
+        } else {
+            while (position < length && (isDigit(buffer[position]) || buffer[position] == '.')) {
+                position++;
+            }
+        }
+        kind = Kind.NUMBER;
+        text = new String(buffer, start, position - start);
+    }
+
+    private void readString() throws FidlParseException {
+        int startLine = line;
+        int startColumn = position - lineStart + 1;
+        StringBuilder value = new StringBuilder();
+        position++;
+        while (position < length && buffer[position] != '"') {
+            char c = buffer[position];
+            if (c == '\\' && position + 1 < length) {
+                value.append(buffer[position + 1]);
+                position += 2;
+            } else if (c == '\n') {
+                throw new FidlParseException(source, startLine, startColumn, "Unterminated string literal");
+            } else {
+                value.append(c);
+                position++;
+            }
+        }
+        if (position >= length) {
+            throw new FidlParseException(source, startLine, startColumn, "Unterminated string literal");
+        }
+        position++;
+        kind = Kind.STRING;
+        text = value.toString();
+    }
+
+    private void readAnnotation() throws FidlParseException {
+        int startLine = line;
+        int startColumn = position - lineStart + 1;
+        position += 3;
+        int start = position;
+        while (position + 2 < length
+                && !(buffer[position] == '*' && buffer[position + 1] == '*' && buffer[position + 2] == '>')) {
+            newlineAware();
+        }
+        if (position + 2 >= length) {
+            throw new FidlParseException(source, startLine, startColumn, "Unterminated <** **> annotation block");
+        }
+        kind = Kind.ANNOTATION;
+        text = new String(buffer, start, position - start);
+        position += 3;
+    }
+
+    private void newlineAware() {
+        if (buffer[position] == '\n') {
+            line++;
+            lineStart = position + 1;
+        }
+        position++;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
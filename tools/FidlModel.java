@@ -0,0 +1,442 @@
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable abstract syntax tree of a single Franca IDL file, produced by {@link FidlParser}
+ */
+public final class FidlModel {
+
+    private final Path source;
+    private final String packageName;
+    private final List<Import> imports;
+    private final List<TypeCollection> typeCollections;
+    private final List<Interface> interfaces;
+
+    public FidlModel(Path source, String packageName, List<Import> imports,
+                     List<TypeCollection> typeCollections, List<Interface> interfaces) {
+        this.source = source;
+        this.packageName = packageName;
+        this.imports = List.copyOf(imports);
+        this.typeCollections = List.copyOf(typeCollections);
+        this.interfaces = List.copyOf(interfaces);
+    }
+
+    public Path getSource() { return source; }
+    public String getPackageName() { return packageName; }
+    public List<Import> getImports() { return imports; }
+    public List<TypeCollection> getTypeCollections() { return typeCollections; }
+    public List<Interface> getInterfaces() { return interfaces; }
+
+    /**
+     * Resolves an import URI relative to the directory of this model's source file
+     */
+    public Path resolveImport(Import fidlImport) {
+        Path base = source.toAbsolutePath().getParent();
+        return base.resolve(fidlImport.getUri()).normalize();
+    }
+
+    /**
+     * Looks up a type by simple or qualified name in all type collections and interfaces of this file
+     */
+    public Type findType(String name) {
+        String simpleName = simpleName(name);
+        for (TypeCollection typeCollection : typeCollections) {
+            Type type = typeCollection.findType(simpleName);
+            if (type != null) {
+                return type;
+            }
+        }
+        for (Interface fidlInterface : interfaces) {
+            Type type = fidlInterface.findType(simpleName);
+            if (type != null) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public static String simpleName(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(dot + 1);
+    }
+
+    // Shared building blocks
+
+    public static final class Annotation {
+        private final String tag;
+        private final String value;
+
+        public Annotation(String tag, String value) {
+            this.tag = tag;
+            this.value = value;
+        }
+
+        public String getTag() { return tag; }
+        public String getValue() { return value; }
+    }
+
+    public abstract static class Element {
+        private final String name;
+        private final List<Annotation> annotations;
+
+        protected Element(String name, List<Annotation> annotations) {
+            this.name = name;
+            this.annotations = List.copyOf(annotations);
+        }
+
+        public String getName() { return name; }
+        public List<Annotation> getAnnotations() { return annotations; }
+
+        public String getAnnotation(String tag) {
+            for (Annotation annotation : annotations) {
+                if (annotation.getTag().equals(tag)) {
+                    return annotation.getValue();
+                }
+            }
+            return null;
+        }
+
+        public String getDescription() {
+            return getAnnotation("description");
+        }
+    }
+
+    public static final class Import {
+        private final String namespace;
+        private final String uri;
+
+        public Import(String namespace, String uri) {
+            this.namespace = namespace;
+            this.uri = uri;
+        }
+
+        /** Imported namespace, e.g. {@code org.example.common.*}, or {@code null} for {@code import model} */
+        public String getNamespace() { return namespace; }
+        public String getUri() { return uri; }
+    }
+
+    public static final class Version {
+        private final int major;
+        private final int minor;
+
+        public Version(int major, int minor) {
+            this.major = major;
+            this.minor = minor;
+        }
+
+        public int getMajor() { return major; }
+        public int getMinor() { return minor; }
+    }
+
+    /**
+     * Reference to a named type, either a FIDL primitive (UInt32, String, ...) or a user-defined type
+     */
+    public static final class TypeRef {
+        private static final List<String> PRIMITIVES = List.of(
+            "Boolean", "Int8", "UInt8", "Int16", "UInt16", "Int32", "UInt32", "Int64", "UInt64",
+            "Float", "Double", "String", "ByteBuffer");
+
+        private final String name;
+        private final boolean array;
+
+        public TypeRef(String name, boolean array) {
+            this.name = name;
+            this.array = array;
+        }
+
+        public String getName() { return name; }
+        public boolean isArray() { return array; }
+        public boolean isPrimitive() { return PRIMITIVES.contains(name); }
+
+        public TypeRef elementType() {
+            return array ? new TypeRef(name, false) : this;
+        }
+
+        @Override
+        public String toString() {
+            return array ? name + "[]" : name;
+        }
+    }
+
+    public static final class Field extends Element {
+        private final TypeRef type;
+
+        public Field(String name, TypeRef type, List<Annotation> annotations) {
+            super(name, annotations);
+            this.type = type;
+        }
+
+        public TypeRef getType() { return type; }
+    }
+
+    // Type definitions
+
+    public abstract static class Type extends Element {
+        protected Type(String name, List<Annotation> annotations) {
+            super(name, annotations);
+        }
+    }
+
+    public static final class Enumerator extends Element {
+        private final Long value;
+        private final String message;
+
+        public Enumerator(String name, Long value, String message, List<Annotation> annotations) {
+            super(name, annotations);
+            this.value = value;
+            this.message = message;
+        }
+
+        /** Explicit enumerator value, or {@code null} when the value is implicit */
+        public Long getValue() { return value; }
+        /** Optional message string, used by inline method error enumerations */
+        public String getMessage() { return message; }
+    }
+
+    public static final class Enumeration extends Type {
+        private final String baseName;
+        private final List<Enumerator> enumerators;
+
+        public Enumeration(String name, String baseName, List<Enumerator> enumerators, List<Annotation> annotations) {
+            super(name, annotations);
+            this.baseName = baseName;
+            this.enumerators = List.copyOf(enumerators);
+        }
+
+        public String getBaseName() { return baseName; }
+        public List<Enumerator> getEnumerators() { return enumerators; }
+
+        /** Resolves implicit enumerator values by counting up from the previous explicit value */
+        public List<Long> getValues() {
+            List<Long> values = new ArrayList<>(enumerators.size());
+            long next = 0;
+            for (Enumerator enumerator : enumerators) {
+                long value = enumerator.getValue() != null ? enumerator.getValue() : next;
+                values.add(value);
+                next = value + 1;
+            }
+            return Collections.unmodifiableList(values);
+        }
+    }
+
+    public static final class Struct extends Type {
+        private final String baseName;
+        private final boolean union;
+        private final List<Field> fields;
+
+        public Struct(String name, String baseName, boolean union, List<Field> fields, List<Annotation> annotations) {
+            super(name, annotations);
+            this.baseName = baseName;
+            this.union = union;
+            this.fields = List.copyOf(fields);
+        }
+
+        public String getBaseName() { return baseName; }
+        public boolean isUnion() { return union; }
+        public List<Field> getFields() { return fields; }
+    }
+
+    public static final class ArrayType extends Type {
+        private final TypeRef elementType;
+
+        public ArrayType(String name, TypeRef elementType, List<Annotation> annotations) {
+            super(name, annotations);
+            this.elementType = elementType;
+        }
+
+        public TypeRef getElementType() { return elementType; }
+    }
+
+    public static final class MapType extends Type {
+        private final TypeRef keyType;
+        private final TypeRef valueType;
+
+        public MapType(String name, TypeRef keyType, TypeRef valueType, List<Annotation> annotations) {
+            super(name, annotations);
+            this.keyType = keyType;
+            this.valueType = valueType;
+        }
+
+        public TypeRef getKeyType() { return keyType; }
+        public TypeRef getValueType() { return valueType; }
+    }
+
+    public static final class Typedef extends Type {
+        private final TypeRef actualType;
+
+        public Typedef(String name, TypeRef actualType, List<Annotation> annotations) {
+            super(name, annotations);
+            this.actualType = actualType;
+        }
+
+        public TypeRef getActualType() { return actualType; }
+    }
+
+    // Containers
+
+    public abstract static class TypeContainer extends Element {
+        private final Version version;
+        private final List<Type> types;
+
+        protected TypeContainer(String name, Version version, List<Type> types, List<Annotation> annotations) {
+            super(name, annotations);
+            this.version = version;
+            this.types = List.copyOf(types);
+        }
+
+        public Version getVersion() { return version; }
+        public List<Type> getTypes() { return types; }
+
+        public Type findType(String simpleName) {
+            for (Type type : types) {
+                if (type.getName().equals(simpleName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final class TypeCollection extends TypeContainer {
+        public TypeCollection(String name, Version version, List<Type> types, List<Annotation> annotations) {
+            super(name, version, types, annotations);
+        }
+    }
+
+    public static final class Attribute extends Element {
+        private final TypeRef type;
+        private final boolean readonly;
+        private final boolean noSubscriptions;
+
+        public Attribute(String name, TypeRef type, boolean readonly, boolean noSubscriptions,
+                         List<Annotation> annotations) {
+            super(name, annotations);
+            this.type = type;
+            this.readonly = readonly;
+            this.noSubscriptions = noSubscriptions;
+        }
+
+        public TypeRef getType() { return type; }
+        public boolean isReadonly() { return readonly; }
+        public boolean isNoSubscriptions() { return noSubscriptions; }
+
+        /**
+         * {@code get<Attribute>} method with the value as its single out argument
+         */
+        public Method getter() {
+            return new Method("get" + capitalize(getName()), false, List.of(),
+                List.of(new Field("value", type, List.of())), null, List.of(), getAnnotations());
+        }
+
+        /**
+         * {@code set<Attribute>} method taking the value as its single in argument, or {@code null} if readonly
+         */
+        public Method setter() {
+            if (readonly) {
+                return null;
+            }
+            return new Method("set" + capitalize(getName()), false, List.of(new Field(getName(), type, List.of())),
+                List.of(), null, List.of(), getAnnotations());
+        }
+
+        private static String capitalize(String name) {
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    public static final class Method extends Element {
+        private final boolean fireAndForget;
+        private final List<Field> inArgs;
+        private final List<Field> outArgs;
+        private final String errorEnumeration;
+        private final List<Enumerator> errors;
+
+        public Method(String name, boolean fireAndForget, List<Field> inArgs, List<Field> outArgs,
+                      String errorEnumeration, List<Enumerator> errors, List<Annotation> annotations) {
+            super(name, annotations);
+            this.fireAndForget = fireAndForget;
+            this.inArgs = List.copyOf(inArgs);
+            this.outArgs = List.copyOf(outArgs);
+            this.errorEnumeration = errorEnumeration;
+            this.errors = List.copyOf(errors);
+        }
+
+        public boolean isFireAndForget() { return fireAndForget; }
+        public List<Field> getInArgs() { return inArgs; }
+        public List<Field> getOutArgs() { return outArgs; }
+        /** Referenced error enumeration ({@code error CommonError}), or {@code null} */
+        public String getErrorEnumeration() { return errorEnumeration; }
+        /** Inline error enumerators ({@code error { ... }}) */
+        public List<Enumerator> getErrors() { return errors; }
+    }
+
+    public static final class Broadcast extends Element {
+        private final boolean selective;
+        private final List<Field> outArgs;
+
+        public Broadcast(String name, boolean selective, List<Field> outArgs, List<Annotation> annotations) {
+            super(name, annotations);
+            this.selective = selective;
+            this.outArgs = List.copyOf(outArgs);
+        }
+
+        public boolean isSelective() { return selective; }
+        public List<Field> getOutArgs() { return outArgs; }
+    }
+
+    public static final class Interface extends TypeContainer {
+        private final List<Attribute> attributes;
+        private final List<Method> methods;
+        private final List<Broadcast> broadcasts;
+
+        public Interface(String name, Version version, List<Type> types, List<Attribute> attributes,
+                         List<Method> methods, List<Broadcast> broadcasts, List<Annotation> annotations) {
+            super(name, version, types, annotations);
+            this.attributes = List.copyOf(attributes);
+            this.methods = List.copyOf(methods);
+            this.broadcasts = List.copyOf(broadcasts);
+        }
+
+        public List<Attribute> getAttributes() { return attributes; }
+        public List<Method> getMethods() { return methods; }
+        public List<Broadcast> getBroadcasts() { return broadcasts; }
+
+        /**
+         * Getters and setters of all attributes in declaration order
+         */
+        public List<Method> getAttributeAccessors() {
+            List<Method> accessors = new ArrayList<>();
+            for (Attribute attribute : attributes) {
+                accessors.add(attribute.getter());
+                if (!attribute.isReadonly()) {
+                    accessors.add(attribute.setter());
+                }
+            }
+            return accessors;
+        }
+
+        /**
+         * Methods followed by the attribute accessors; SOME/IP method IDs are assigned in this order
+         */
+        public List<Method> getCallables() {
+            List<Method> callables = new ArrayList<>(methods);
+            callables.addAll(getAttributeAccessors());
+            return callables;
+        }
+
+        /**
+         * Attributes whose changes are notified, i.e. not declared {@code noSubscriptions}
+         */
+        public List<Attribute> getNotifiedAttributes() {
+            List<Attribute> notified = new ArrayList<>();
+            for (Attribute attribute : attributes) {
+                if (!attribute.isNoSubscriptions()) {
+                    notified.add(attribute);
+                }
+            }
+            return notified;
+        }
+    }
+}
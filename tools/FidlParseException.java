@@ -0,0 +1,24 @@
+import java.io.IOException;
+
+/**
+ * Syntax error raised while lexing or parsing a Franca IDL file
+ */
+public class FidlParseException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String source;
+    private final int line;
+    private final int column;
+
+    public FidlParseException(String source, int line, int column, String message) {
+        super(source + ":" + line + ":" + column + ": " + message);
+        this.source = source;
+        this.line = line;
+        this.column = column;
+    }
+
+    public String getSource() { return source; }
+    public int getLine() { return line; }
+    public int getColumn() { return column; }
+}
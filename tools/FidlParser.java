@@ -0,0 +1,451 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recursive-descent parser turning Franca IDL source into an immutable {@link FidlModel}.
+ * Supports package, import, typeCollection, interface, version, enumeration, struct, union,
+ * array, map, typedef, attribute, method, broadcast and {@code <** **>} annotation blocks.
+ */
+public class FidlParser {
+
+    private final FidlLexer lexer;
+
+    private FidlParser(FidlLexer lexer) {
+        this.lexer = lexer;
+    }
+
+    public static FidlModel parse(Path file) throws IOException {
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        return parse(file, content);
+    }
+
+    public static FidlModel parse(Path source, String content) throws FidlParseException {
+        return new FidlParser(new FidlLexer(source.toString(), content)).parseModel(source);
+    }
+
+    /**
+     * Parses a file together with all files it imports (transitively). The requested file comes first,
+     * each imported file appears exactly once.
+     */
+    public static List<FidlModel> parseWithImports(Path file) throws IOException {
+        Map<Path, FidlModel> models = new LinkedHashMap<>();
+        collect(file.toAbsolutePath().normalize(), models);
+        return new ArrayList<>(models.values());
+    }
+
+    private static void collect(Path file, Map<Path, FidlModel> models) throws IOException {
+        if (models.containsKey(file)) {
+            return;
+        }
+        FidlModel model = parse(file);
+        models.put(file, model);
+        for (FidlModel.Import fidlImport : model.getImports()) {
+            collect(model.resolveImport(fidlImport), models);
+        }
+    }
+
+    /**
+     * Lists all .fidl files below a directory in a stable (sorted) order
+     */
+    public static List<Path> findFidlFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(path -> path.toString().endsWith(".fidl"))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    // Grammar
+
+    private FidlModel parseModel(Path source) throws FidlParseException {
+        List<FidlModel.Annotation> annotations = parseAnnotations();
+        expectKeyword("package");
+        String packageName = expectIdentifier();
+
+        List<FidlModel.Import> imports = new ArrayList<>();
+        List<FidlModel.TypeCollection> typeCollections = new ArrayList<>();
+        List<FidlModel.Interface> interfaces = new ArrayList<>();
+
+        while (!lexer.is(FidlLexer.Kind.EOF)) {
+            annotations = parseAnnotations();
+            if (lexer.isKeyword("import")) {
+                lexer.advance();
+                imports.add(parseImport());
+            } else if (lexer.isKeyword("typeCollection")) {
+                lexer.advance();
+                typeCollections.add(parseTypeCollection(annotations));
+            } else if (lexer.isKeyword("interface")) {
+                lexer.advance();
+                interfaces.add(parseInterface(annotations));
+            } else {
+                throw lexer.error("Expected import, typeCollection or interface but found '" + lexer.text() + "'");
+            }
+        }
+        return new FidlModel(source, packageName, imports, typeCollections, interfaces);
+    }
+
+    private FidlModel.Import parseImport() throws FidlParseException {
+        if (lexer.isKeyword("model")) {
+            lexer.advance();
+            return new FidlModel.Import(null, expect(FidlLexer.Kind.STRING));
+        }
+        String namespace = expectIdentifier();
+        expectKeyword("from");
+        return new FidlModel.Import(namespace, expect(FidlLexer.Kind.STRING));
+    }
+
+    private FidlModel.TypeCollection parseTypeCollection(List<FidlModel.Annotation> annotations)
+            throws FidlParseException {
+        String name = lexer.is(FidlLexer.Kind.IDENTIFIER) ? expectIdentifier() : "";
+        expect(FidlLexer.Kind.LBRACE);
+        FidlModel.Version version = null;
+        List<FidlModel.Type> types = new ArrayList<>();
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            List<FidlModel.Annotation> memberAnnotations = parseAnnotations();
+            if (lexer.isKeyword("version")) {
+                lexer.advance();
+                version = parseVersion();
+            } else {
+                types.add(parseType(memberAnnotations));
+            }
+        }
+        expect(FidlLexer.Kind.RBRACE);
+        return new FidlModel.TypeCollection(name, version, types, annotations);
+    }
+
+    private FidlModel.Interface parseInterface(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        String name = expectIdentifier();
+        if (lexer.isKeyword("extends")) {
+            lexer.advance();
+            expectIdentifier();
+        }
+        expect(FidlLexer.Kind.LBRACE);
+
+        FidlModel.Version version = null;
+        List<FidlModel.Type> types = new ArrayList<>();
+        List<FidlModel.Attribute> attributes = new ArrayList<>();
+        List<FidlModel.Method> methods = new ArrayList<>();
+        List<FidlModel.Broadcast> broadcasts = new ArrayList<>();
+
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            List<FidlModel.Annotation> memberAnnotations = parseAnnotations();
+            if (lexer.isKeyword("version")) {
+                lexer.advance();
+                version = parseVersion();
+            } else if (lexer.isKeyword("attribute")) {
+                lexer.advance();
+                attributes.add(parseAttribute(memberAnnotations));
+            } else if (lexer.isKeyword("method")) {
+                lexer.advance();
+                methods.add(parseMethod(memberAnnotations));
+            } else if (lexer.isKeyword("broadcast")) {
+                lexer.advance();
+                broadcasts.add(parseBroadcast(memberAnnotations));
+            } else {
+                types.add(parseType(memberAnnotations));
+            }
+        }
+        expect(FidlLexer.Kind.RBRACE);
+        return new FidlModel.Interface(name, version, types, attributes, methods, broadcasts, annotations);
+    }
+
+    private FidlModel.Version parseVersion() throws FidlParseException {
+        expect(FidlLexer.Kind.LBRACE);
+        expectKeyword("major");
+        int major = parseInt(0, Integer.MAX_VALUE);
+        expectKeyword("minor");
+        int minor = parseInt(0, Integer.MAX_VALUE);
+        expect(FidlLexer.Kind.RBRACE);
+        return new FidlModel.Version(major, minor);
+    }
+
+    private FidlModel.Type parseType(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        if (!lexer.is(FidlLexer.Kind.IDENTIFIER)) {
+            throw lexer.error("Expected type definition but found '" + lexer.text() + "'");
+        }
+        String keyword = lexer.text();
+        lexer.advance();
+        switch (keyword) {
+            case "enumeration":
+                return parseEnumeration(annotations);
+            case "struct":
+                return parseStruct(annotations, false);
+            case "union":
+                return parseStruct(annotations, true);
+            case "array": {
+                String name = expectIdentifier();
+                expectKeyword("of");
+                return new FidlModel.ArrayType(name, parseTypeRef(), annotations);
+            }
+            case "map": {
+                String name = expectIdentifier();
+                expect(FidlLexer.Kind.LBRACE);
+                FidlModel.TypeRef keyType = parseTypeRef();
+                expectKeyword("to");
+                FidlModel.TypeRef valueType = parseTypeRef();
+                expect(FidlLexer.Kind.RBRACE);
+                return new FidlModel.MapType(name, keyType, valueType, annotations);
+            }
+            case "typedef": {
+                String name = expectIdentifier();
+                expectKeyword("is");
+                return new FidlModel.Typedef(name, parseTypeRef(), annotations);
+            }
+            default:
+                throw new FidlParseException(lexer.source(), lexer.line(), lexer.column(),
+                    "Unknown type definition keyword '" + keyword + "'");
+        }
+    }
+
+    private FidlModel.Enumeration parseEnumeration(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        String name = expectIdentifier();
+        String baseName = null;
+        if (lexer.isKeyword("extends")) {
+            lexer.advance();
+            baseName = expectIdentifier();
+        }
+        return new FidlModel.Enumeration(name, baseName, parseEnumerators(), annotations);
+    }
+
+    private List<FidlModel.Enumerator> parseEnumerators() throws FidlParseException {
+        expect(FidlLexer.Kind.LBRACE);
+        List<FidlModel.Enumerator> enumerators = new ArrayList<>();
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            List<FidlModel.Annotation> annotations = parseAnnotations();
+            String name = expectIdentifier();
+            Long value = null;
+            String message = null;
+            if (lexer.is(FidlLexer.Kind.EQUALS)) {
+                lexer.advance();
+                value = parseInteger();
+            }
+            if (lexer.is(FidlLexer.Kind.STRING)) {
+                message = expect(FidlLexer.Kind.STRING);
+            }
+            if (lexer.is(FidlLexer.Kind.COMMA)) {
+                lexer.advance();
+            }
+            enumerators.add(new FidlModel.Enumerator(name, value, message, annotations));
+        }
+        expect(FidlLexer.Kind.RBRACE);
+        return enumerators;
+    }
+
+    private FidlModel.Struct parseStruct(List<FidlModel.Annotation> annotations, boolean union)
+            throws FidlParseException {
+        String name = expectIdentifier();
+        String baseName = null;
+        if (lexer.isKeyword("extends")) {
+            lexer.advance();
+            baseName = expectIdentifier();
+        }
+        if (lexer.isKeyword("polymorphic")) {
+            lexer.advance();
+        }
+        return new FidlModel.Struct(name, baseName, union, parseFields(), annotations);
+    }
+
+    private List<FidlModel.Field> parseFields() throws FidlParseException {
+        expect(FidlLexer.Kind.LBRACE);
+        List<FidlModel.Field> fields = new ArrayList<>();
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            List<FidlModel.Annotation> annotations = parseAnnotations();
+            FidlModel.TypeRef type = parseTypeRef();
+            fields.add(new FidlModel.Field(expectIdentifier(), type, annotations));
+        }
+        expect(FidlLexer.Kind.RBRACE);
+        return fields;
+    }
+
+    private FidlModel.TypeRef parseTypeRef() throws FidlParseException {
+        String name = expectIdentifier();
+        boolean array = false;
+        if (lexer.is(FidlLexer.Kind.LBRACKET)) {
+            lexer.advance();
+            expect(FidlLexer.Kind.RBRACKET);
+            array = true;
+        }
+        return new FidlModel.TypeRef(name, array);
+    }
+
+    private FidlModel.Attribute parseAttribute(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        FidlModel.TypeRef type = parseTypeRef();
+        String name = expectIdentifier();
+        boolean readonly = false;
+        boolean noSubscriptions = false;
+        while (lexer.isKeyword("readonly") || lexer.isKeyword("noSubscriptions") || lexer.isKeyword("noRead")) {
+            readonly |= lexer.text().equals("readonly");
+            noSubscriptions |= lexer.text().equals("noSubscriptions");
+            lexer.advance();
+        }
+        return new FidlModel.Attribute(name, type, readonly, noSubscriptions, annotations);
+    }
+
+    private FidlModel.Method parseMethod(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        String name = expectIdentifier();
+        skipSelector();
+        boolean fireAndForget = false;
+        if (lexer.isKeyword("fireAndForget")) {
+            lexer.advance();
+            fireAndForget = true;
+        }
+        expect(FidlLexer.Kind.LBRACE);
+
+        List<FidlModel.Field> inArgs = Collections.emptyList();
+        List<FidlModel.Field> outArgs = Collections.emptyList();
+        String errorEnumeration = null;
+        List<FidlModel.Enumerator> errors = Collections.emptyList();
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            parseAnnotations();
+            if (lexer.isKeyword("in")) {
+                lexer.advance();
+                inArgs = parseFields();
+            } else if (lexer.isKeyword("out")) {
+                lexer.advance();
+                outArgs = parseFields();
+            } else if (lexer.isKeyword("error")) {
+                lexer.advance();
+                if (lexer.is(FidlLexer.Kind.LBRACE)) {
+                    errors = parseEnumerators();
+                } else {
+                    errorEnumeration = expectIdentifier();
+                }
+            } else {
+                throw lexer.error("Expected in, out or error but found '" + lexer.text() + "'");
+            }
+        }
+        expect(FidlLexer.Kind.RBRACE);
+        return new FidlModel.Method(name, fireAndForget, inArgs, outArgs, errorEnumeration, errors, annotations);
+    }
+
+    private FidlModel.Broadcast parseBroadcast(List<FidlModel.Annotation> annotations) throws FidlParseException {
+        String name = expectIdentifier();
+        skipSelector();
+        boolean selective = false;
+        if (lexer.isKeyword("selective")) {
+            lexer.advance();
+            selective = true;
+        }
+        expect(FidlLexer.Kind.LBRACE);
+        List<FidlModel.Field> outArgs = Collections.emptyList();
+        while (!lexer.is(FidlLexer.Kind.RBRACE)) {
+            parseAnnotations();
+            expectKeyword("out");
+            outArgs = parseFields();
+        }
+        expect(FidlLexer.Kind.RBRACE);
+        return new FidlModel.Broadcast(name, selective, outArgs, annotations);
+    }
+
+    private void skipSelector() throws FidlParseException {
+        // Overloaded methods/broadcasts carry a selector: method name:selector { ... }
+        if (lexer.is(FidlLexer.Kind.COLON)) {
+            lexer.advance();
+            expectIdentifier();
+        }
+    }
+
+    // Annotations
+
+    private List<FidlModel.Annotation> parseAnnotations() throws FidlParseException {
+        if (!lexer.is(FidlLexer.Kind.ANNOTATION)) {
+            return Collections.emptyList();
+        }
+        List<FidlModel.Annotation> annotations = new ArrayList<>();
+        while (lexer.is(FidlLexer.Kind.ANNOTATION)) {
+            parseAnnotationBlock(lexer.text(), annotations);
+            lexer.advance();
+        }
+        return annotations;
+    }
+
+    static void parseAnnotationBlock(String block, List<FidlModel.Annotation> annotations) {
+        String tag = null;
+        StringBuilder value = new StringBuilder();
+        for (String rawLine : block.split("\n")) {
+            String line = rawLine.trim();
+            if (line.startsWith("@")) {
+                if (tag != null) {
+                    annotations.add(new FidlModel.Annotation(tag, value.toString().trim()));
+                }
+                int colon = line.indexOf(':');
+                tag = (colon < 0 ? line.substring(1) : line.substring(1, colon)).trim();
+                value.setLength(0);
+                if (colon >= 0) {
+                    value.append(line.substring(colon + 1).trim());
+                }
+            } else if (!line.isEmpty() && tag != null) {
+                value.append(' ').append(line);
+            }
+        }
+        if (tag != null) {
+            annotations.add(new FidlModel.Annotation(tag, value.toString().trim()));
+        }
+    }
+
+    // Token helpers
+
+    private String expect(FidlLexer.Kind kind) throws FidlParseException {
+        if (!lexer.is(kind)) {
+            throw lexer.error("Expected " + kind + " but found '" + lexer.text() + "'");
+        }
+        String text = lexer.text();
+        lexer.advance();
+        return text;
+    }
+
+    private String expectIdentifier() throws FidlParseException {
+        return expect(FidlLexer.Kind.IDENTIFIER);
+    }
+
+    private void expectKeyword(String keyword) throws FidlParseException {
+        if (!lexer.isKeyword(keyword)) {
+            throw lexer.error("Expected '" + keyword + "' but found '" + lexer.text() + "'");
+        }
+        lexer.advance();
+    }
+
+    private long parseInteger() throws FidlParseException {
+        long value = integerValue();
+        lexer.advance();
+        return value;
+    }
+
+    private int parseInt(int min, int max) throws FidlParseException {
+        long value = integerValue();
+        if (value < min || value > max) {
+            throw lexer.error("Value " + lexer.text() + " out of range [" + min + ", " + max + "]");
+        }
+        lexer.advance();
+        return (int) value;
+    }
+
+    /**
+     * Value of the current NUMBER token as a decimal or hexadecimal integer; errors point at the token
+     */
+    private long integerValue() throws FidlParseException {
+        if (!lexer.is(FidlLexer.Kind.NUMBER)) {
+            throw lexer.error("Expected NUMBER but found '" + lexer.text() + "'");
+        }
+        String text = lexer.text();
+        try {
+            boolean negative = text.startsWith("-");
+            String digits = negative ? text.substring(1) : text;
+            long value = digits.startsWith("0x") || digits.startsWith("0X")
+                ? Long.parseLong(digits.substring(2), 16)
+                : Long.parseLong(digits);
+            return negative ? -value : value;
+        } catch (NumberFormatException e) {
+            throw lexer.error("Invalid integer literal '" + text + "'");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Type lookup for one interface: its own types first, then the rest of its file, then imported files
+ */
+public class FidlScope {
+
+    private final FidlModel.Interface fidlInterface;
+    private final List<FidlModel> models;
+
+    /**
+     * @param fidlInterface interface whose types are searched first
+     * @param models        the interface's own model followed by its (transitive) imports
+     */
+    public FidlScope(FidlModel.Interface fidlInterface, List<FidlModel> models) {
+        this.fidlInterface = fidlInterface;
+        this.models = List.copyOf(models);
+    }
+
+    public FidlModel.Interface getInterface() { return fidlInterface; }
+    public FidlModel getModel() { return models.get(0); }
+
+    /**
+     * Resolves a type reference to its definition, or {@code null} for FIDL primitive types
+     */
+    public FidlModel.Type resolve(FidlModel.TypeRef ref) {
+        if (ref.isPrimitive()) {
+            return null;
+        }
+        String simpleName = FidlModel.simpleName(ref.getName());
+        FidlModel.Type type = fidlInterface.findType(simpleName);
+        if (type != null) {
+            return type;
+        }
+        for (FidlModel model : models) {
+            type = model.findType(simpleName);
+            if (type != null) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unresolved type '" + ref.getName() + "' in interface "
+            + fidlInterface.getName());
+    }
+
+    /**
+     * Follows typedefs until a primitive or a non-typedef definition is reached
+     */
+    public FidlModel.TypeRef unalias(FidlModel.TypeRef ref) {
+        FidlModel.TypeRef current = ref;
+        FidlModel.Type type = resolve(current);
+        while (type instanceof FidlModel.Typedef) {
+            FidlModel.TypeRef actual = ((FidlModel.Typedef) type).getActualType();
+            current = new FidlModel.TypeRef(actual.getName(), actual.isArray() || current.isArray());
+            type = resolve(current);
+        }
+        return current;
+    }
+
+    /**
+     * Enumerations and structs defined outside the interface that its members reference (transitively),
+     * in declaration order. Generated Java interfaces inline these as nested types.
+     */
+    public List<FidlModel.Type> importedTypes() {
+        Set<FidlModel.Type> referenced = new LinkedHashSet<>();
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            collectFromType(type, referenced);
+        }
+        for (FidlModel.Method method : fidlInterface.getMethods()) {
+            collectFromFields(method.getInArgs(), referenced);
+            collectFromFields(method.getOutArgs(), referenced);
+            if (method.getErrorEnumeration() != null) {
+                collect(new FidlModel.TypeRef(method.getErrorEnumeration(), false), referenced);
+            }
+        }
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            collectFromFields(broadcast.getOutArgs(), referenced);
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getAttributes()) {
+            collect(attribute.getType(), referenced);
+        }
+
+        List<FidlModel.Type> imported = new ArrayList<>();
+        for (FidlModel model : models) {
+            for (FidlModel.TypeCollection typeCollection : model.getTypeCollections()) {
+                for (FidlModel.Type type : typeCollection.getTypes()) {
+                    if (referenced.contains(type)) {
+                        imported.add(type);
+                    }
+                }
+            }
+            for (FidlModel.Interface other : model.getInterfaces()) {
+                if (other == fidlInterface) {
+                    continue;
+                }
+                for (FidlModel.Type type : other.getTypes()) {
+                    if (referenced.contains(type)) {
+                        imported.add(type);
+                    }
+                }
+            }
+        }
+        return imported;
+    }
+
+    private void collectFromFields(List<FidlModel.Field> fields, Set<FidlModel.Type> referenced) {
+        for (FidlModel.Field field : fields) {
+            collect(field.getType(), referenced);
+        }
+    }
+
+    private void collect(FidlModel.TypeRef ref, Set<FidlModel.Type> referenced) {
+        FidlModel.Type type = resolve(ref);
+        if (type != null && referenced.add(type)) {
+            collectFromType(type, referenced);
+        }
+    }
+
+    private void collectFromType(FidlModel.Type type, Set<FidlModel.Type> referenced) {
+        if (type instanceof FidlModel.Struct) {
+            FidlModel.Struct struct = (FidlModel.Struct) type;
+            collectFromFields(struct.getFields(), referenced);
+            if (struct.getBaseName() != null) {
+                collect(new FidlModel.TypeRef(struct.getBaseName(), false), referenced);
+            }
+        } else if (type instanceof FidlModel.ArrayType) {
+            collect(((FidlModel.ArrayType) type).getElementType(), referenced);
+        } else if (type instanceof FidlModel.MapType) {
+            collect(((FidlModel.MapType) type).getKeyType(), referenced);
+            collect(((FidlModel.MapType) type).getValueType(), referenced);
+        } else if (type instanceof FidlModel.Typedef) {
+            collect(((FidlModel.Typedef) type).getActualType(), referenced);
+        } else if (type instanceof FidlModel.Enumeration && ((FidlModel.Enumeration) type).getBaseName() != null) {
+            collect(new FidlModel.TypeRef(((FidlModel.Enumeration) type).getBaseName(), false), referenced);
+        }
+    }
+}
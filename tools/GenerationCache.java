@@ -0,0 +1,229 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persistent content-hash cache for incremental code generation.
+ * <p>
+ * Each FIDL file is keyed by the SHA-256 of its own bytes, the bytes of every file it imports (transitively)
+ * and a fingerprint of the generator itself. A file only needs regenerating when that hash changes or one of
+ * its recorded outputs disappeared. The cache is a sorted, timestamp-free text file so that saving an
+ * unchanged cache does not touch it either.
+ */
+public class GenerationCache {
+
+    private static final String GENERATOR_KEY = "generator";
+
+    private final Path cacheFile;
+    private final String generatorFingerprint;
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private boolean dirty;
+
+    private static final class Entry {
+        final String inputHash;
+        final List<String> inputs;
+        final List<String> outputs;
+
+        Entry(String inputHash, List<String> inputs, List<String> outputs) {
+            this.inputHash = inputHash;
+            this.inputs = List.copyOf(inputs);
+            this.outputs = List.copyOf(outputs);
+        }
+    }
+
+    private GenerationCache(Path cacheFile, String generatorFingerprint) {
+        this.cacheFile = cacheFile;
+        this.generatorFingerprint = generatorFingerprint;
+    }
+
+    /**
+     * Loads the cache; entries written by a different generator build are discarded
+     */
+    public static GenerationCache load(Path cacheFile, String generatorFingerprint) throws IOException {
+        GenerationCache cache = new GenerationCache(cacheFile, generatorFingerprint);
+        if (!Files.exists(cacheFile)) {
+            cache.dirty = true;
+            return cache;
+        }
+        List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(GENERATOR_KEY + "=" + generatorFingerprint)) {
+            cache.dirty = true;
+            return cache;
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            // <source>|<input hash>|<input;input;...>|<output;output;...>
+            String[] parts = line.split("\\|", -1);
+            if (parts.length == 4) {
+                cache.entries.put(parts[0], new Entry(parts[1], split(parts[2]), split(parts[3])));
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns true when the recorded inputs of {@code source} still hash to the recorded value
+     * and all recorded outputs still exist
+     */
+    public boolean isUpToDate(Path source) throws IOException {
+        Entry entry = entries.get(key(source));
+        if (entry == null) {
+            return false;
+        }
+        for (String input : entry.inputs) {
+            if (!Files.exists(Path.of(input))) {
+                return false;
+            }
+        }
+        for (String output : entry.outputs) {
+            if (!Files.exists(Path.of(output))) {
+                return false;
+            }
+        }
+        return entry.inputHash.equals(hashFiles(toPaths(entry.inputs)));
+    }
+
+    /**
+     * Records a successful generation of {@code source}
+     *
+     * @param inputs  the source file followed by its resolved imports
+     * @param outputs files produced from it
+     */
+    public void record(Path source, List<Path> inputs, List<Path> outputs) throws IOException {
+        List<String> inputNames = new ArrayList<>();
+        for (Path input : inputs) {
+            inputNames.add(key(input));
+        }
+        List<String> outputNames = new ArrayList<>();
+        for (Path output : outputs) {
+            outputNames.add(key(output));
+        }
+        entries.put(key(source), new Entry(hashFiles(inputs), inputNames, outputNames));
+        dirty = true;
+    }
+
+    public void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        content.append(GENERATOR_KEY).append('=').append(generatorFingerprint).append('\n');
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            content.append(entry.getKey()).append('|')
+                   .append(value.inputHash).append('|')
+                   .append(String.join(";", value.inputs)).append('|')
+                   .append(String.join(";", value.outputs)).append('\n');
+        }
+        Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+        writeIfChanged(cacheFile, content.toString().getBytes(StandardCharsets.UTF_8));
+        dirty = false;
+    }
+
+    // Hashing
+
+    public static String hashFiles(List<Path> files) throws IOException {
+        MessageDigest digest = sha256();
+        for (Path file : files) {
+            digest.update(key(file).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+            digest.update((byte) 0);
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Fingerprint of the generator classes, so that changing an emitter invalidates every cached entry.
+     * Nested and anonymous classes are included, since they are compiled to class files of their own.
+     */
+    public static String fingerprint(Class<?>... generatorClasses) throws IOException {
+        MessageDigest digest = sha256();
+        for (Class<?> generatorClass : generatorClasses) {
+            digestClass(digest, generatorClass);
+        }
+        return hex(digest.digest());
+    }
+
+    private static void digestClass(MessageDigest digest, Class<?> generatorClass) throws IOException {
+        String binaryName = generatorClass.getName().substring(generatorClass.getName().lastIndexOf('.') + 1);
+        digestResource(digest, generatorClass, binaryName + ".class");
+        // Anonymous classes are numbered from 1 and do not show up as declared classes
+        for (int i = 1; digestResource(digest, generatorClass, binaryName + "$" + i + ".class"); i++) {
+            // digested
+        }
+        Class<?>[] nested = generatorClass.getDeclaredClasses();
+        Arrays.sort(nested, Comparator.comparing(Class::getName));
+        for (Class<?> nestedClass : nested) {
+            digestClass(digest, nestedClass);
+        }
+    }
+
+    private static boolean digestResource(MessageDigest digest, Class<?> owner, String resource) throws IOException {
+        try (InputStream classBytes = owner.getResourceAsStream(resource)) {
+            if (classBytes == null) {
+                return false;
+            }
+            digest.update(classBytes.readAllBytes());
+            return true;
+        }
+    }
+
+    /**
+     * Writes {@code content} only when the file does not already hold exactly these bytes,
+     * leaving the modification time of unchanged outputs untouched
+     *
+     * @return true if the file was written
+     */
+    public static boolean writeIfChanged(Path file, byte[] content) throws IOException {
+        if (Files.exists(file) && Files.size(file) == content.length
+                && Arrays.equals(Files.readAllBytes(file), content)) {
+            return false;
+        }
+        Files.write(file, content);
+        return true;
+    }
+
+    // Helpers
+
+    private static String key(Path path) {
+        return path.toAbsolutePath().normalize().toString().replace('\\', '/');
+    }
+
+    private static List<String> split(String joined) {
+        return joined.isEmpty() ? List.of() : Arrays.asList(joined.split(";"));
+    }
+
+    private static List<Path> toPaths(List<String> names) {
+        List<Path> paths = new ArrayList<>(names.size());
+        for (String name : names) {
+            paths.add(Path.of(name));
+        }
+        return paths;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,311 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel generation pipeline for a set of FIDL files.
+ * <p>
+ * Stages: cache check, parse, import graph, generate, write. Parsing and hashing run per file, generation
+ * runs per (interface, backend) pair, and writing runs per output file, all on one fork-join pool.
+ * Generated outputs never depend on each other, so the import graph only orders work and reports:
+ * files are handled in topological order (imports first, ties broken by path), which keeps console
+ * output and the written file order identical from run to run regardless of thread count.
+ */
+public class GenerationScheduler {
+
+    /**
+     * Produces the output files of one language for one interface
+     */
+    public interface Backend {
+        List<GeneratedFile> generate(FidlScope scope) throws IOException;
+    }
+
+    public static final class GeneratedFile {
+        private final Path path;
+        private final String content;
+        private final boolean onlyIfMissing;
+
+        public GeneratedFile(Path path, String content, boolean onlyIfMissing) {
+            this.path = path;
+            this.content = content;
+            this.onlyIfMissing = onlyIfMissing;
+        }
+
+        public GeneratedFile(Path path, String content) {
+            this(path, content, false);
+        }
+
+        public Path getPath() { return path; }
+    }
+
+    /**
+     * Outcome of one scheduler run, in deterministic order
+     */
+    public static final class Result {
+        private final List<String> generatedInterfaces = new ArrayList<>();
+        private final List<Path> written = new ArrayList<>();
+        private final List<Path> unchanged = new ArrayList<>();
+        private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+        private final Map<String, Long> backendNanos = new LinkedHashMap<>();
+        private int upToDateFiles;
+
+        public List<String> getGeneratedInterfaces() { return generatedInterfaces; }
+        public List<Path> getWritten() { return written; }
+        public List<Path> getUnchanged() { return unchanged; }
+        public int getUpToDateFiles() { return upToDateFiles; }
+        /** Wall-clock time per pipeline stage */
+        public Map<String, Long> getStageNanos() { return stageNanos; }
+        /** Cumulative (all threads) generation time per backend */
+        public Map<String, Long> getBackendNanos() { return backendNanos; }
+    }
+
+    private final ForkJoinPool pool;
+    private final Map<String, Backend> backends = new LinkedHashMap<>();
+
+    public GenerationScheduler(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public GenerationScheduler addBackend(String name, Backend backend) {
+        backends.put(name, backend);
+        return this;
+    }
+
+    public Result run(List<Path> fidlFiles, GenerationCache cache, boolean force) throws IOException {
+        Result result = new Result();
+        try {
+            // Cache check: hash inputs of every file concurrently
+            long start = System.nanoTime();
+            List<Path> sources = new ArrayList<>();
+            for (Path fidlFile : fidlFiles) {
+                sources.add(fidlFile.toAbsolutePath().normalize());
+            }
+            List<Boolean> upToDate = invokeAll(sources, source -> !force && cache.isUpToDate(source));
+            List<Path> stale = new ArrayList<>();
+            for (int i = 0; i < sources.size(); i++) {
+                if (upToDate.get(i)) {
+                    result.upToDateFiles++;
+                } else {
+                    stale.add(sources.get(i));
+                }
+            }
+            result.stageNanos.put("cache check", System.nanoTime() - start);
+
+            // Parse: every stale file and everything it imports, each file exactly once
+            start = System.nanoTime();
+            Map<Path, FidlModel> models = new ConcurrentHashMap<>();
+            parseClosure(stale, models);
+            result.stageNanos.put("parse", System.nanoTime() - start);
+
+            // Import graph: topological order, imports before importers
+            start = System.nanoTime();
+            List<Path> ordered = topologicalOrder(stale, models);
+            result.stageNanos.put("import graph", System.nanoTime() - start);
+
+            // Generate: one task per (interface, backend)
+            start = System.nanoTime();
+            List<Job> jobs = new ArrayList<>();
+            for (Path source : ordered) {
+                List<FidlModel> scopeModels = importClosure(source, models);
+                for (FidlModel.Interface fidlInterface : models.get(source).getInterfaces()) {
+                    result.generatedInterfaces.add(fidlInterface.getName());
+                    FidlScope scope = new FidlScope(fidlInterface, scopeModels);
+                    for (Map.Entry<String, Backend> backend : backends.entrySet()) {
+                        jobs.add(new Job(source, backend.getKey(), backend.getValue(), scope));
+                    }
+                }
+            }
+            Map<String, AtomicLong> backendTimes = new LinkedHashMap<>();
+            for (String backend : backends.keySet()) {
+                backendTimes.put(backend, new AtomicLong());
+            }
+            List<List<GeneratedFile>> generated = invokeAll(jobs, job -> {
+                long jobStart = System.nanoTime();
+                List<GeneratedFile> files = job.backend.generate(job.scope);
+                backendTimes.get(job.backendName).addAndGet(System.nanoTime() - jobStart);
+                return files;
+            });
+            for (Map.Entry<String, AtomicLong> time : backendTimes.entrySet()) {
+                result.backendNanos.put(time.getKey(), time.getValue().get());
+            }
+            result.stageNanos.put("generate", System.nanoTime() - start);
+
+            // Write: byte-identical outputs are left untouched
+            start = System.nanoTime();
+            List<GeneratedFile> outputs = new ArrayList<>();
+            Map<Path, List<Path>> outputsBySource = new LinkedHashMap<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                outputs.addAll(generated.get(i));
+                List<Path> sourceOutputs = outputsBySource.computeIfAbsent(jobs.get(i).source, s -> new ArrayList<>());
+                for (GeneratedFile file : generated.get(i)) {
+                    sourceOutputs.add(file.path);
+                }
+            }
+            List<Boolean> writes = invokeAll(outputs, GenerationScheduler::write);
+            for (int i = 0; i < outputs.size(); i++) {
+                (writes.get(i) ? result.written : result.unchanged).add(outputs.get(i).path);
+            }
+            for (Path source : ordered) {
+                List<Path> inputs = new ArrayList<>();
+                for (FidlModel model : importClosure(source, models)) {
+                    inputs.add(model.getSource());
+                }
+                cache.record(source, inputs, outputsBySource.getOrDefault(source, List.of()));
+            }
+            cache.save();
+            result.stageNanos.put("write", System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
+    private static final class Job {
+        final Path source;
+        final String backendName;
+        final Backend backend;
+        final FidlScope scope;
+
+        Job(Path source, String backendName, Backend backend, FidlScope scope) {
+            this.source = source;
+            this.backendName = backendName;
+            this.backend = backend;
+            this.scope = scope;
+        }
+    }
+
+    private static boolean write(GeneratedFile file) throws IOException {
+        if (file.onlyIfMissing && Files.exists(file.path)) {
+            return false;
+        }
+        Files.createDirectories(file.path.toAbsolutePath().getParent());
+        return GenerationCache.writeIfChanged(file.path, file.content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Parsing and import graph
+
+    private void parseClosure(List<Path> roots, Map<Path, FidlModel> models) throws IOException {
+        List<Path> pending = roots;
+        while (!pending.isEmpty()) {
+            List<Path> batch = new ArrayList<>();
+            for (Path path : pending) {
+                if (!models.containsKey(path) && !batch.contains(path)) {
+                    batch.add(path);
+                }
+            }
+            List<FidlModel> parsed = invokeAll(batch, FidlParser::parse);
+            TreeSet<Path> next = new TreeSet<>();
+            for (FidlModel model : parsed) {
+                models.put(model.getSource(), model);
+                for (FidlModel.Import fidlImport : model.getImports()) {
+                    next.add(model.resolveImport(fidlImport));
+                }
+            }
+            pending = new ArrayList<>(next);
+        }
+    }
+
+    private static List<Path> topologicalOrder(List<Path> sources, Map<Path, FidlModel> models) throws IOException {
+        List<Path> ordered = new ArrayList<>();
+        Map<Path, Boolean> state = new TreeMap<>();
+        for (Path source : new TreeSet<>(sources)) {
+            visit(source, models, state, ordered);
+        }
+        // Only files that were requested are generated; their imports merely fix the order
+        ordered.retainAll(sources);
+        return ordered;
+    }
+
+    private static void visit(Path path, Map<Path, FidlModel> models, Map<Path, Boolean> state, List<Path> ordered)
+            throws IOException {
+        Boolean done = state.get(path);
+        if (Boolean.TRUE.equals(done)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(done)) {
+            throw new IOException("Import cycle detected at " + path);
+        }
+        state.put(path, false);
+        FidlModel model = models.get(path);
+        for (FidlModel.Import fidlImport : model.getImports()) {
+            visit(model.resolveImport(fidlImport), models, state, ordered);
+        }
+        state.put(path, true);
+        ordered.add(path);
+    }
+
+    /**
+     * The model of {@code source} followed by its transitive imports, matching {@link FidlParser#parseWithImports}
+     */
+    private static List<FidlModel> importClosure(Path source, Map<Path, FidlModel> models) {
+        Map<Path, FidlModel> closure = new LinkedHashMap<>();
+        List<Path> pending = new ArrayList<>(List.of(source));
+        while (!pending.isEmpty()) {
+            Path path = pending.remove(0);
+            FidlModel model = models.get(path);
+            if (closure.putIfAbsent(path, model) == null) {
+                for (FidlModel.Import fidlImport : model.getImports()) {
+                    pending.add(model.resolveImport(fidlImport));
+                }
+            }
+        }
+        return new ArrayList<>(closure.values());
+    }
+
+    // Fork-join helpers
+
+    private interface Task<T, R> {
+        R apply(T input) throws IOException;
+    }
+
+    /**
+     * Runs {@code task} for every input on the pool and returns the results in input order
+     */
+    private <T, R> List<R> invokeAll(List<T> inputs, Task<T, R> task) throws IOException {
+        List<ForkJoinTask<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            Callable<R> callable = () -> task.apply(input);
+            futures.add(pool.submit(callable));
+        }
+        List<R> results = new ArrayList<>(inputs.size());
+        for (ForkJoinTask<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Code generation interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+        return results;
+    }
+}
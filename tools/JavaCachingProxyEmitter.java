@@ -0,0 +1,318 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emits {@code <Interface>CachingProxy}, an implementation of a FIDL interface that answers its idempotent
+ * methods from an {@code org.example.runtime.ResponseCache} and forwards everything else to a delegate, usually
+ * the SOME/IP client proxy.
+ * <p>
+ * Methods named {@code get<Something>} that return a value are cached, which includes the attribute getters.
+ * By default every broadcast of the interface invalidates the cached methods, while an attribute getter is
+ * invalidated by its attribute's change notifications and by its setter; the {@code ResponseCache.Policy}
+ * passed to the proxy can replace these defaults per method. Every other method that replies may change what
+ * the cached methods besides the attribute getters return, so their replies are dropped once it completes; a
+ * client thus reads its own writes without waiting for the broadcast.
+ */
+public class JavaCachingProxyEmitter {
+
+    private final FidlScope scope;
+    private final FidlModel.Interface fidlInterface;
+    private final JavaInterfaceEmitter types;
+
+    public JavaCachingProxyEmitter(FidlScope scope) {
+        this.scope = scope;
+        this.fidlInterface = scope.getInterface();
+        this.types = new JavaInterfaceEmitter(scope);
+    }
+
+    public String getClassName() {
+        return fidlInterface.getName() + "CachingProxy";
+    }
+
+    public String emit() {
+        String name = fidlInterface.getName();
+        List<FidlModel.Method> cached = cachedMethods();
+        List<FidlModel.Method> written = writeInvalidated(cached);
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(types.getPackageName()).append(";\n\n");
+        out.append("import java.util.ArrayList;\n");
+        out.append("import java.util.List;\n");
+        out.append("import java.util.concurrent.CompletableFuture;\n");
+        if (usesMaps()) {
+            out.append("import java.util.Map;\n");
+        }
+        out.append("import ").append(JavaInterfaceEmitter.EVENT_BUS_IMPORT).append(";\n");
+        out.append("import org.example.runtime.ResponseCache;\n");
+        out.append("import ").append(types.getPackageName()).append('.').append(name).append(".*;\n");
+        out.append("\n");
+        out.append("/**\n");
+        out.append(" * Caching client proxy of ").append(name).append(" generated from FRANCA IDL\n");
+        out.append(" * <p>\n");
+        out.append(" * Replies of the get methods are kept in a {@link ResponseCache}; other methods and events\n");
+        out.append(" * are passed through to the delegate. Invalidating events are delivered asynchronously, so a\n");
+        out.append(" * reply can outlive its invalidation by the event's delivery latency.\n");
+        out.append(" */\n");
+        out.append("public final class ").append(getClassName()).append(" implements ").append(name)
+           .append(", AutoCloseable {\n");
+        out.append("    \n");
+        for (int i = 0; i < cached.size(); i++) {
+            out.append("    private static final int ").append(JavaSomeIpEmitter.constantCase(cached.get(i).getName()))
+               .append(" = ").append(i).append(";\n");
+        }
+        out.append("    private static final String[] METHODS = {");
+        appendStrings(out, namesOf(cached), "        ");
+        out.append("};\n");
+        out.append("    // Events invalidating each method unless the policy replaces them\n");
+        out.append("    private static final String[][] INVALIDATED_BY = {\n");
+        for (FidlModel.Method method : cached) {
+            out.append("        {");
+            appendStrings(out, invalidatedBy(method), "            ");
+            out.append("},\n");
+        }
+        out.append("    };\n");
+        if (!written.isEmpty()) {
+            out.append("    // Methods whose replies the other methods' calls may change\n");
+            List<String> constants = new ArrayList<>();
+            for (FidlModel.Method method : written) {
+                constants.add(JavaSomeIpEmitter.constantCase(method.getName()));
+            }
+            out.append("    private static final int[] WRITE_INVALIDATED = {");
+            appendItems(out, constants, "        ");
+            out.append("};\n");
+        }
+        out.append("    \n");
+        out.append("    private final ").append(name).append(" delegate;\n");
+        out.append("    private final ResponseCache cache;\n");
+        out.append("    private final List<EventBus.Subscription<?>> subscriptions = new ArrayList<>();\n");
+        out.append("    \n");
+        out.append("    public ").append(getClassName()).append("(").append(name).append(" delegate) {\n");
+        out.append("        this(delegate, ResponseCache.Policy.defaults());\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    public ").append(getClassName()).append("(").append(name)
+           .append(" delegate, ResponseCache.Policy policy) {\n");
+        out.append("        this.delegate = delegate;\n");
+        out.append("        this.cache = new ResponseCache(\"").append(name)
+           .append("\", METHODS, INVALIDATED_BY, policy);\n");
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            emitInvalidation(out, broadcast.getName(), JavaInterfaceEmitter.eventBusMethod(broadcast), "event");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+            emitInvalidation(out, attribute.getName(), JavaInterfaceEmitter.changesMethod(attribute), "value");
+        }
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    public ResponseCache getCache() {\n");
+        out.append("        return cache;\n");
+        out.append("    }\n");
+
+        for (FidlModel.Method method : fidlInterface.getCallables()) {
+            emitMethod(out, method, cached, !written.isEmpty());
+        }
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            out.append("    \n");
+            out.append("    @Override\n");
+            out.append("    public ").append(types.eventBusSignature(broadcast)).append(" {\n");
+            out.append("        return delegate.").append(JavaInterfaceEmitter.eventBusMethod(broadcast))
+               .append("();\n");
+            out.append("    }\n");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+            out.append("    \n");
+            out.append("    @Override\n");
+            out.append("    public ").append(types.changesSignature(attribute)).append(" {\n");
+            out.append("        return delegate.").append(JavaInterfaceEmitter.changesMethod(attribute))
+               .append("();\n");
+            out.append("    }\n");
+        }
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * Stops listening for invalidating events; the delegate is left open\n");
+        out.append("     */\n");
+        out.append("    @Override\n");
+        out.append("    public void close() {\n");
+        out.append("        for (EventBus.Subscription<?> subscription : subscriptions) {\n");
+        out.append("            subscription.close();\n");
+        out.append("        }\n");
+        out.append("    }\n");
+        if (!written.isEmpty()) {
+            out.append("    \n");
+            out.append("    private void invalidateWrites() {\n");
+            out.append("        for (int method : WRITE_INVALIDATED) {\n");
+            out.append("            cache.invalidate(method);\n");
+            out.append("        }\n");
+            out.append("    }\n");
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private void emitInvalidation(StringBuilder out, String event, String bus, String parameter) {
+        out.append("        if (cache.isInvalidatedBy(\"").append(event).append("\")) {\n");
+        out.append("            subscriptions.add(delegate.").append(bus).append("().subscribe(\n");
+        out.append("                ").append(parameter).append(" -> cache.invalidate(\"").append(event)
+           .append("\"), 1, EventBus.Backpressure.COALESCE));\n");
+        out.append("        }\n");
+    }
+
+    private void emitMethod(StringBuilder out, FidlModel.Method method, List<FidlModel.Method> cached,
+                            boolean invalidatesWrites) {
+        StringBuilder arguments = new StringBuilder();
+        for (FidlModel.Field arg : method.getInArgs()) {
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            arguments.append(arg.getName());
+        }
+        String call = "delegate." + method.getName() + "(" + arguments + ")";
+        out.append("    \n");
+        out.append("    @Override\n");
+        out.append("    public ").append(types.methodSignature(method)).append(" {\n");
+        int index = indexOf(cached, method.getName());
+        FidlModel.Attribute setAttribute = setterAttribute(method);
+        if (index >= 0) {
+            String constant = JavaSomeIpEmitter.constantCase(method.getName());
+            if (method.getInArgs().isEmpty()) {
+                out.append("        return cache.get(").append(constant).append(", delegate::").append(method.getName())
+                   .append(");\n");
+            } else {
+                // An explicit array, so that a single array argument is not taken for the varargs
+                out.append("        return cache.get(").append(constant).append(", () -> ").append(call).append(",\n");
+                out.append("            new Object[] {").append(arguments).append("});\n");
+            }
+        } else if (setAttribute != null && indexOf(cached, setAttribute.getter().getName()) >= 0) {
+            String constant = JavaSomeIpEmitter.constantCase(setAttribute.getter().getName());
+            out.append("        return ").append(call).append("\n");
+            out.append("            .whenComplete((ignored, error) -> cache.invalidate(").append(constant)
+               .append("));\n");
+        } else if (method.isFireAndForget()) {
+            out.append("        ").append(call).append(";\n");
+        } else if (setAttribute == null && invalidatesWrites) {
+            out.append("        return ").append(call).append("\n");
+            out.append("            .whenComplete((ignored, error) -> invalidateWrites());\n");
+        } else {
+            out.append("        return ").append(call).append(";\n");
+        }
+        out.append("    }\n");
+    }
+
+    /**
+     * Methods answered from the cache, in the order of their cache indexes
+     */
+    private List<FidlModel.Method> cachedMethods() {
+        List<FidlModel.Method> cached = new ArrayList<>();
+        for (FidlModel.Method method : fidlInterface.getCallables()) {
+            String name = method.getName();
+            if (!method.isFireAndForget() && !method.getOutArgs().isEmpty() && name.length() > 3
+                    && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+                cached.add(method);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Cached methods other than attribute getters, whose replies the interface's other methods may change
+     */
+    private List<FidlModel.Method> writeInvalidated(List<FidlModel.Method> cached) {
+        List<FidlModel.Method> written = new ArrayList<>();
+        for (FidlModel.Method method : cached) {
+            if (attributeOf(method) == null) {
+                written.add(method);
+            }
+        }
+        return written;
+    }
+
+    private FidlModel.Attribute attributeOf(FidlModel.Method getter) {
+        for (FidlModel.Attribute attribute : fidlInterface.getAttributes()) {
+            if (attribute.getter().getName().equals(getter.getName())) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private List<String> invalidatedBy(FidlModel.Method method) {
+        List<String> events = new ArrayList<>();
+        for (FidlModel.Attribute attribute : fidlInterface.getAttributes()) {
+            if (attribute.getter().getName().equals(method.getName())) {
+                if (!attribute.isNoSubscriptions()) {
+                    events.add(attribute.getName());
+                }
+                return events;
+            }
+        }
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            events.add(broadcast.getName());
+        }
+        return events;
+    }
+
+    private FidlModel.Attribute setterAttribute(FidlModel.Method method) {
+        for (FidlModel.Attribute attribute : fidlInterface.getAttributes()) {
+            if (!attribute.isReadonly() && attribute.setter().getName().equals(method.getName())
+                    && method.getOutArgs().isEmpty()) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(List<FidlModel.Method> methods, String name) {
+        for (int i = 0; i < methods.size(); i++) {
+            if (methods.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> namesOf(List<FidlModel.Method> methods) {
+        List<String> names = new ArrayList<>();
+        for (FidlModel.Method method : methods) {
+            names.add(method.getName());
+        }
+        return names;
+    }
+
+    private static void appendStrings(StringBuilder out, List<String> strings, String continuation) {
+        List<String> literals = new ArrayList<>();
+        for (String string : strings) {
+            literals.add("\"" + string + "\"");
+        }
+        appendItems(out, literals, continuation);
+    }
+
+    /**
+     * Comma-separated {@code items}, wrapped onto continuation lines before they get too long
+     */
+    private static void appendItems(StringBuilder out, List<String> items, String continuation) {
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.append(",");
+                int column = out.length() - out.lastIndexOf("\n") - 1;
+                if (column + items.get(i).length() + 3 > 110) {
+                    out.append("\n").append(continuation);
+                } else {
+                    out.append(" ");
+                }
+            }
+            out.append(items.get(i));
+        }
+    }
+
+    private boolean usesMaps() {
+        for (FidlModel.Type type : scope.importedTypes()) {
+            if (type instanceof FidlModel.MapType) {
+                return true;
+            }
+        }
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            if (type instanceof FidlModel.MapType) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,481 @@
+import java.util.List;
+
+/**
+ * Emits SOME/IP binary codecs ({@code writeTo}, {@code readFrom}, {@code serializedSize}) for generated
+ * Java data classes. The generated code uses direct {@code ByteBuffer} access and the helpers in
+ * {@code org.example.runtime.SomeIpCodec}; there is no reflection.
+ * <p>
+ * Writing never allocates. Reading reuses nested structs, arrays and maps already referenced by the
+ * target object and only allocates for strings, resized arrays and missing nested objects.
+ */
+public class JavaCodecEmitter {
+
+    public static final String RUNTIME_IMPORT = "org.example.runtime.SomeIpCodec";
+
+    private static final int VARIABLE_SIZE = -1;
+
+    private final FidlScope scope;
+    private final JavaInterfaceEmitter types;
+    private int variableCounter;
+
+    public JavaCodecEmitter(FidlScope scope, JavaInterfaceEmitter types) {
+        this.scope = scope;
+        this.types = types;
+    }
+
+    /**
+     * Emits the codec methods of a data class with the given fields at class-member indentation
+     */
+    public void emitCodec(StringBuilder out, List<FidlModel.Field> fields, boolean hasBase) {
+        resetVariables();
+        out.append("        \n");
+        out.append("        // SOME/IP serialization\n");
+        out.append("        public void writeTo(ByteBuffer buffer) {\n");
+        if (hasBase) {
+            out.append("            super.writeTo(buffer);\n");
+        }
+        for (FidlModel.Field field : fields) {
+            write(out, field.getType(), field.getName(), "            ");
+        }
+        out.append("        }\n");
+
+        out.append("        \n");
+        out.append("        public void readFrom(ByteBuffer buffer) {\n");
+        if (hasBase) {
+            out.append("            super.readFrom(buffer);\n");
+        }
+        for (FidlModel.Field field : fields) {
+            read(out, field.getType(), field.getName(), "            ");
+        }
+        out.append("        }\n");
+
+        out.append("        \n");
+        out.append("        public int serializedSize() {\n");
+        int fixed = 0;
+        StringBuilder variable = new StringBuilder();
+        for (FidlModel.Field field : fields) {
+            int fieldSize = fixedSize(field.getType());
+            if (fieldSize != VARIABLE_SIZE) {
+                fixed += fieldSize;
+            } else {
+                size(variable, field.getType(), field.getName(), "            ");
+            }
+        }
+        String base = hasBase ? "super.serializedSize() + " : "";
+        if (variable.length() == 0) {
+            out.append("            return ").append(base).append(fixed).append(";\n");
+        } else {
+            out.append("            int size = ").append(base).append(fixed).append(";\n");
+            out.append(variable);
+            out.append("            return size;\n");
+        }
+        out.append("        }\n");
+    }
+
+    /**
+     * Emits a static {@code fromValue} lookup for an enumeration without allocating
+     */
+    public static void emitEnumLookup(StringBuilder out, FidlModel.Enumeration enumeration) {
+        String name = enumeration.getName();
+        List<FidlModel.Enumerator> enumerators = enumeration.getEnumerators();
+        List<Long> values = enumeration.getValues();
+        out.append("        \n");
+        out.append("        public static ").append(name).append(" fromValue(int value) {\n");
+        out.append("            switch (value) {\n");
+        for (int i = 0; i < enumerators.size(); i++) {
+            out.append("                case ").append(values.get(i)).append(": return ")
+               .append(enumerators.get(i).getName()).append(";\n");
+        }
+        out.append("                default: throw new IllegalArgumentException(\"Unknown ").append(name)
+           .append(" value \" + value);\n");
+        out.append("            }\n");
+        out.append("        }\n");
+    }
+
+    /**
+     * Enumerations are serialized as UInt8 when all values fit, otherwise as Int32
+     */
+    public static int enumBackingSize(FidlModel.Enumeration enumeration) {
+        for (long value : enumeration.getValues()) {
+            if (value < 0 || value > 255) {
+                return 4;
+            }
+        }
+        return 1;
+    }
+
+    // Writing
+
+    /**
+     * Emits statements writing {@code expr} of the given type to a {@code ByteBuffer} named {@code buffer}
+     */
+    public void write(StringBuilder out, FidlModel.TypeRef ref, String expr, String indent) {
+        FidlModel.TypeRef type = scope.unalias(ref);
+        if (isArray(type)) {
+            FidlModel.TypeRef element = elementOf(type);
+            String bulk = bulkCodec(element);
+            if (bulk != null) {
+                out.append(indent).append("SomeIpCodec.write").append(bulk).append("(buffer, ").append(expr).append(");\n");
+                return;
+            }
+            String var = nextVariable();
+            out.append(indent).append("int lengthPosition").append(var).append(" = SomeIpCodec.beginLength(buffer);\n");
+            out.append(indent).append("if (").append(expr).append(" != null) {\n");
+            out.append(indent).append("    for (").append(types.javaType(element)).append(" element").append(var)
+               .append(" : ").append(expr).append(") {\n");
+            write(out, element, "element" + var, indent + "        ");
+            out.append(indent).append("    }\n");
+            out.append(indent).append("}\n");
+            out.append(indent).append("SomeIpCodec.endLength(buffer, lengthPosition").append(var).append(");\n");
+            return;
+        }
+        if (type.isPrimitive()) {
+            out.append(indent).append(writePrimitive(type.getName(), expr)).append("\n");
+            return;
+        }
+        FidlModel.Type resolved = scope.resolve(type);
+        if (resolved instanceof FidlModel.Enumeration) {
+            FidlModel.Enumeration enumeration = (FidlModel.Enumeration) resolved;
+            // An enumeration has no neutral value, so a missing one is an error rather than the first enumerator
+            out.append(indent).append("if (").append(expr).append(" == null) {\n");
+            out.append(indent).append("    throw new IllegalArgumentException(\"").append(enumeration.getName())
+               .append(" ").append(expr).append(" must not be null\");\n");
+            out.append(indent).append("}\n");
+            out.append(indent).append(enumBackingSize(enumeration) == 1
+                ? "buffer.put((byte) " + expr + ".getValue());\n"
+                : "buffer.putInt(" + expr + ".getValue());\n");
+        } else if (resolved instanceof FidlModel.Struct) {
+            out.append(indent).append("(").append(expr).append(" != null ? ").append(expr).append(" : new ")
+               .append(resolved.getName()).append("()).writeTo(buffer);\n");
+        } else if (resolved instanceof FidlModel.MapType) {
+            FidlModel.MapType map = (FidlModel.MapType) resolved;
+            String var = nextVariable();
+            out.append(indent).append("int lengthPosition").append(var).append(" = SomeIpCodec.beginLength(buffer);\n");
+            out.append(indent).append("if (").append(expr).append(" != null) {\n");
+            out.append(indent).append("    for (Map.Entry<").append(types.boxedType(map.getKeyType())).append(", ")
+               .append(types.boxedType(map.getValueType())).append("> entry").append(var).append(" : ")
+               .append(expr).append(".entrySet()) {\n");
+            write(out, map.getKeyType(), "entry" + var + ".getKey()", indent + "        ");
+            write(out, map.getValueType(), "entry" + var + ".getValue()", indent + "        ");
+            out.append(indent).append("    }\n");
+            out.append(indent).append("}\n");
+            out.append(indent).append("SomeIpCodec.endLength(buffer, lengthPosition").append(var).append(");\n");
+        } else {
+            throw new IllegalArgumentException("Cannot serialize type " + ref);
+        }
+    }
+
+    private static String writePrimitive(String fidlType, String expr) {
+        switch (fidlType) {
+            case "Boolean": return "SomeIpCodec.writeBoolean(buffer, " + expr + ");";
+            case "Int8":
+            case "UInt8": return "buffer.put(" + expr + ");";
+            case "Int16": return "buffer.putShort(" + expr + ");";
+            case "UInt16": return "buffer.putShort((short) " + expr + ");";
+            case "Int32":
+            case "UInt32": return "buffer.putInt(" + expr + ");";
+            case "Int64":
+            case "UInt64": return "buffer.putLong(" + expr + ");";
+            case "Float": return "buffer.putFloat(" + expr + ");";
+            case "Double": return "buffer.putDouble(" + expr + ");";
+            case "String": return "SomeIpCodec.writeString(buffer, " + expr + ");";
+            case "ByteBuffer": return "SomeIpCodec.writeBytes(buffer, " + expr + ");";
+            default: throw new IllegalArgumentException("Unknown FIDL primitive type " + fidlType);
+        }
+    }
+
+    // Reading
+
+    /**
+     * Emits statements reading a value of the given type from {@code buffer} into {@code target}, reusing the
+     * structs, arrays and maps it already references
+     */
+    public void read(StringBuilder out, FidlModel.TypeRef ref, String target, String indent) {
+        read(out, ref, target, indent, false);
+    }
+
+    /**
+     * Emits a declaration of the local variable {@code name} initialized from {@code buffer}
+     */
+    public void declare(StringBuilder out, FidlModel.TypeRef ref, String name, String indent) {
+        FidlModel.TypeRef type = scope.unalias(ref);
+        String javaType = types.javaType(ref);
+        if (!isArray(type) && (type.isPrimitive() || scope.resolve(type) instanceof FidlModel.Enumeration)) {
+            out.append(indent).append(javaType).append(' ').append(name).append(" = ")
+               .append(readValue(type, "null")).append(";\n");
+        } else {
+            out.append(indent).append(javaType).append(' ').append(name).append(";\n");
+            read(out, ref, name, indent, true);
+        }
+    }
+
+    /**
+     * @param fresh whether {@code target} is unassigned, so there is nothing to reuse
+     */
+    private void read(StringBuilder out, FidlModel.TypeRef ref, String target, String indent, boolean fresh) {
+        FidlModel.TypeRef type = scope.unalias(ref);
+        if (isArray(type)) {
+            readArray(out, elementOf(type), target, indent, fresh);
+            return;
+        }
+        FidlModel.Type resolved = type.isPrimitive() ? null : scope.resolve(type);
+        if (type.isPrimitive() || resolved instanceof FidlModel.Enumeration) {
+            out.append(indent).append(target).append(" = ").append(readValue(type, fresh ? "null" : target))
+               .append(";\n");
+        } else if (resolved instanceof FidlModel.Struct) {
+            if (fresh) {
+                out.append(indent).append(target).append(" = new ").append(resolved.getName()).append("();\n");
+            } else {
+                out.append(indent).append("if (").append(target).append(" == null) {\n");
+                out.append(indent).append("    ").append(target).append(" = new ").append(resolved.getName()).append("();\n");
+                out.append(indent).append("}\n");
+            }
+            out.append(indent).append(target).append(".readFrom(buffer);\n");
+        } else if (resolved instanceof FidlModel.MapType) {
+            FidlModel.MapType map = (FidlModel.MapType) resolved;
+            String var = nextVariable();
+            out.append(indent).append("int end").append(var).append(" = SomeIpCodec.readSectionEnd(buffer);\n");
+            if (fresh) {
+                out.append(indent).append(target).append(" = new java.util.LinkedHashMap<>();\n");
+            } else {
+                out.append(indent).append("if (").append(target).append(" == null) {\n");
+                out.append(indent).append("    ").append(target).append(" = new java.util.LinkedHashMap<>();\n");
+                out.append(indent).append("} else {\n");
+                out.append(indent).append("    ").append(target).append(".clear();\n");
+                out.append(indent).append("}\n");
+            }
+            out.append(indent).append("while (buffer.position() < end").append(var).append(") {\n");
+            declare(out, map.getKeyType(), "key" + var, indent + "    ");
+            declare(out, map.getValueType(), "value" + var, indent + "    ");
+            out.append(indent).append("    ").append(target).append(".put(key").append(var).append(", value")
+               .append(var).append(");\n");
+            out.append(indent).append("}\n");
+        } else {
+            throw new IllegalArgumentException("Cannot deserialize type " + ref);
+        }
+    }
+
+    private void readArray(StringBuilder out, FidlModel.TypeRef element, String target, String indent, boolean fresh) {
+        String bulk = bulkCodec(element);
+        if (bulk != null) {
+            out.append(indent).append(target).append(" = SomeIpCodec.read").append(bulk).append("(buffer, ")
+               .append(fresh ? "null" : target).append(");\n");
+            return;
+        }
+        String var = nextVariable();
+        String elementType = types.javaType(element);
+        int elementSize = fixedSize(element);
+        out.append(indent).append("int end").append(var).append(" = SomeIpCodec.readSectionEnd(buffer);\n");
+        if (elementSize != VARIABLE_SIZE) {
+            // Fixed-size elements: the count follows from the byte length, so the array can be reused
+            out.append(indent).append("int count").append(var).append(" = (end").append(var)
+               .append(" - buffer.position()) / ").append(elementSize).append(";\n");
+            if (fresh) {
+                out.append(indent).append(target).append(" = ").append(newArray(elementType, "count" + var))
+                   .append(";\n");
+            } else {
+                out.append(indent).append("if (").append(target).append(" == null || ").append(target)
+                   .append(".length != count").append(var).append(") {\n");
+                out.append(indent).append("    ").append(target).append(" = ")
+                   .append(newArray(elementType, "count" + var)).append(";\n");
+                out.append(indent).append("}\n");
+            }
+            out.append(indent).append("for (int i").append(var).append(" = 0; i").append(var).append(" < count")
+               .append(var).append("; i").append(var).append("++) {\n");
+            read(out, element, target + "[i" + var + "]", indent + "    ", fresh);
+            out.append(indent).append("}\n");
+        } else {
+            out.append(indent).append("java.util.List<").append(types.boxedType(element)).append("> list").append(var)
+               .append(" = new java.util.ArrayList<>();\n");
+            out.append(indent).append("while (buffer.position() < end").append(var).append(") {\n");
+            declare(out, element, "element" + var, indent + "    ");
+            out.append(indent).append("    list").append(var).append(".add(element").append(var).append(");\n");
+            out.append(indent).append("}\n");
+            out.append(indent).append(target).append(" = list").append(var).append(".toArray(")
+               .append(newArray(elementType, "0")).append(");\n");
+        }
+    }
+
+    /**
+     * Expression reading a primitive or enumeration value
+     */
+    private String readValue(FidlModel.TypeRef type, String reuse) {
+        if (type.isPrimitive()) {
+            return readPrimitive(type.getName(), reuse);
+        }
+        FidlModel.Enumeration enumeration = (FidlModel.Enumeration) scope.resolve(type);
+        return enumeration.getName() + ".fromValue("
+            + (enumBackingSize(enumeration) == 1 ? "buffer.get() & 0xFF" : "buffer.getInt()") + ")";
+    }
+
+    private static String readPrimitive(String fidlType, String target) {
+        switch (fidlType) {
+            case "Boolean": return "SomeIpCodec.readBoolean(buffer)";
+            case "Int8":
+            case "UInt8": return "buffer.get()";
+            case "Int16": return "buffer.getShort()";
+            case "UInt16": return "buffer.getShort() & 0xFFFF";
+            case "Int32":
+            case "UInt32": return "buffer.getInt()";
+            case "Int64":
+            case "UInt64": return "buffer.getLong()";
+            case "Float": return "buffer.getFloat()";
+            case "Double": return "buffer.getDouble()";
+            case "String": return "SomeIpCodec.readString(buffer)";
+            case "ByteBuffer": return "SomeIpCodec.readBytes(buffer, " + target + ")";
+            default: throw new IllegalArgumentException("Unknown FIDL primitive type " + fidlType);
+        }
+    }
+
+    // Sizing
+
+    /**
+     * Emits statements adding the serialized size of {@code expr} to an {@code int} named {@code size}
+     */
+    public void size(StringBuilder out, FidlModel.TypeRef ref, String expr, String indent) {
+        FidlModel.TypeRef type = scope.unalias(ref);
+        int fixed = fixedSize(type);
+        if (fixed != VARIABLE_SIZE) {
+            out.append(indent).append("size += ").append(fixed).append(";\n");
+            return;
+        }
+        if (isArray(type)) {
+            FidlModel.TypeRef element = elementOf(type);
+            int elementSize = fixedSize(element);
+            if (elementSize != VARIABLE_SIZE) {
+                out.append(indent).append("size += 4 + (").append(expr).append(" == null ? 0 : ").append(expr)
+                   .append(".length * ").append(elementSize).append(");\n");
+            } else {
+                String var = nextVariable();
+                out.append(indent).append("size += 4;\n");
+                out.append(indent).append("if (").append(expr).append(" != null) {\n");
+                out.append(indent).append("    for (").append(types.javaType(element)).append(" element").append(var)
+                   .append(" : ").append(expr).append(") {\n");
+                size(out, element, "element" + var, indent + "        ");
+                out.append(indent).append("    }\n");
+                out.append(indent).append("}\n");
+            }
+            return;
+        }
+        if (type.isPrimitive()) {
+            if (type.getName().equals("String")) {
+                out.append(indent).append("size += SomeIpCodec.stringSize(").append(expr).append(");\n");
+            } else {
+                out.append(indent).append("size += 4 + (").append(expr).append(" == null ? 0 : ").append(expr)
+                   .append(".length);\n");
+            }
+            return;
+        }
+        FidlModel.Type resolved = scope.resolve(type);
+        if (resolved instanceof FidlModel.Struct) {
+            out.append(indent).append("size += (").append(expr).append(" != null ? ").append(expr).append(" : new ")
+               .append(resolved.getName()).append("()).serializedSize();\n");
+        } else if (resolved instanceof FidlModel.MapType) {
+            FidlModel.MapType map = (FidlModel.MapType) resolved;
+            String var = nextVariable();
+            out.append(indent).append("size += 4;\n");
+            out.append(indent).append("if (").append(expr).append(" != null) {\n");
+            out.append(indent).append("    for (Map.Entry<").append(types.boxedType(map.getKeyType())).append(", ")
+               .append(types.boxedType(map.getValueType())).append("> entry").append(var).append(" : ")
+               .append(expr).append(".entrySet()) {\n");
+            size(out, map.getKeyType(), "entry" + var + ".getKey()", indent + "        ");
+            size(out, map.getValueType(), "entry" + var + ".getValue()", indent + "        ");
+            out.append(indent).append("    }\n");
+            out.append(indent).append("}\n");
+        }
+    }
+
+    /**
+     * Serialized size of a type when it does not depend on the value, otherwise {@link #VARIABLE_SIZE}
+     */
+    public int fixedSize(FidlModel.TypeRef ref) {
+        FidlModel.TypeRef type = scope.unalias(ref);
+        if (isArray(type)) {
+            return VARIABLE_SIZE;
+        }
+        if (type.isPrimitive()) {
+            switch (type.getName()) {
+                case "Boolean":
+                case "Int8":
+                case "UInt8": return 1;
+                case "Int16":
+                case "UInt16": return 2;
+                case "Int32":
+                case "UInt32":
+                case "Float": return 4;
+                case "Int64":
+                case "UInt64":
+                case "Double": return 8;
+                default: return VARIABLE_SIZE;
+            }
+        }
+        FidlModel.Type resolved = scope.resolve(type);
+        if (resolved instanceof FidlModel.Enumeration) {
+            return enumBackingSize((FidlModel.Enumeration) resolved);
+        }
+        if (resolved instanceof FidlModel.Struct) {
+            FidlModel.Struct struct = (FidlModel.Struct) resolved;
+            if (struct.getBaseName() != null) {
+                return VARIABLE_SIZE;
+            }
+            int size = 0;
+            for (FidlModel.Field field : struct.getFields()) {
+                int fieldSize = fixedSize(field.getType());
+                if (fieldSize == VARIABLE_SIZE) {
+                    return VARIABLE_SIZE;
+                }
+                size += fieldSize;
+            }
+            return size;
+        }
+        return VARIABLE_SIZE;
+    }
+
+    // Helpers
+
+    /**
+     * Suffix of the SomeIpCodec bulk methods for arrays of 64-bit primitives, or null
+     */
+    private String bulkCodec(FidlModel.TypeRef element) {
+        FidlModel.TypeRef type = scope.unalias(element);
+        if (!type.isPrimitive() || type.isArray()) {
+            return null;
+        }
+        switch (type.getName()) {
+            case "Double": return "Doubles";
+            case "Int64":
+            case "UInt64": return "Longs";
+            default: return null;
+        }
+    }
+
+    private boolean isArray(FidlModel.TypeRef type) {
+        return type.isArray() || scope.resolve(type) instanceof FidlModel.ArrayType;
+    }
+
+    private FidlModel.TypeRef elementOf(FidlModel.TypeRef type) {
+        if (type.isArray()) {
+            return type.elementType();
+        }
+        return ((FidlModel.ArrayType) scope.resolve(type)).getElementType();
+    }
+
+    private static String newArray(String elementType, String length) {
+        int bracket = elementType.indexOf('[');
+        if (bracket < 0) {
+            return "new " + elementType + "[" + length + "]";
+        }
+        return "new " + elementType.substring(0, bracket) + "[" + length + "]" + elementType.substring(bracket);
+    }
+
+    /**
+     * Restarts local variable numbering; call once per emitted method
+     */
+    public void resetVariables() {
+        variableCounter = 0;
+    }
+
+    private String nextVariable() {
+        return Integer.toString(variableCounter++);
+    }
+}
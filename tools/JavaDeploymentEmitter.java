@@ -0,0 +1,105 @@
+/**
+ * Emits the bootstrap class of a deployment file: one {@code SomeIpDeployment} constant per interface
+ * instance plus helpers that start the instance's server or connect a client to it with those settings.
+ */
+public class JavaDeploymentEmitter {
+
+    private final FdeplModel model;
+
+    public JavaDeploymentEmitter(FdeplModel model) {
+        this.model = model;
+    }
+
+    public String getPackageName() {
+        return model.getPackageName();
+    }
+
+    public String getClassName() {
+        return model.getName();
+    }
+
+    public String emit() {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(model.getPackageName()).append(";\n\n");
+        out.append("import java.io.IOException;\n");
+        out.append("import org.example.runtime.SomeIpClient;\n");
+        out.append("import org.example.runtime.SomeIpDeployment;\n");
+        out.append("import org.example.runtime.SomeIpServer;\n");
+        for (FdeplModel.InterfaceInstance instance : model.getInstances()) {
+            String interfacePackage = packageOf(instance.getInterfaceName());
+            if (!interfacePackage.equals(model.getPackageName())) {
+                out.append("import ").append(instance.getInterfaceName()).append(";\n");
+                out.append("import ").append(instance.getInterfaceName()).append("SomeIp;\n");
+            }
+        }
+        out.append("\n");
+        out.append("/**\n");
+        out.append(" * Service instances deployed by ").append(model.getSource().getFileName())
+           .append(", generated from FRANCA deployment model\n");
+        out.append(" */\n");
+        out.append("public final class ").append(getClassName()).append(" {\n");
+        out.append("    \n");
+        for (FdeplModel.InterfaceInstance instance : model.getInstances()) {
+            out.append("    public static final SomeIpDeployment ").append(constantName(instance))
+               .append(" = new SomeIpDeployment(\n");
+            out.append("        \"").append(instance.getName()).append("\", \"")
+               .append(instance.getInterfaceName()).append("\", \"")
+               .append(instance.getAddress()).append("\", ").append(instance.getPort()).append(",\n");
+            out.append("        ").append(instance.getWorkerThreads()).append(", ")
+               .append(instance.getQueueDepth()).append(", ")
+               .append(instance.getBatchSize()).append(", ")
+               .append(instance.getEventCoalescingIntervalMs()).append(");\n");
+            out.append("    \n");
+        }
+        out.append("    private ").append(getClassName()).append("() {}\n");
+        for (FdeplModel.InterfaceInstance instance : model.getInstances()) {
+            emitInstanceHelpers(out, instance);
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private void emitInstanceHelpers(StringBuilder out, FdeplModel.InterfaceInstance instance) {
+        String interfaceName = FidlModel.simpleName(instance.getInterfaceName());
+        String suffix = JavaInterfaceEmitter.capitalize(instance.getName());
+        String constant = constantName(instance);
+
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * Serves {@code service} as ").append(instance.getName())
+           .append(" on its deployed endpoint\n");
+        out.append("     */\n");
+        out.append("    public static SomeIpServer start").append(suffix).append("(").append(interfaceName)
+           .append(" service) throws IOException {\n");
+        out.append("        return start").append(suffix).append("(service, ").append(constant).append(");\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * Serves {@code service} with the settings of {@code deployment}, e.g. a\n");
+        out.append("     * {@link SomeIpDeployment#withEndpoint} copy of {@link #").append(constant).append("}\n");
+        out.append("     */\n");
+        out.append("    public static SomeIpServer start").append(suffix).append("(").append(interfaceName)
+           .append(" service, SomeIpDeployment deployment)\n");
+        out.append("            throws IOException {\n");
+        out.append("        return new SomeIpServer(deployment).register(").append(interfaceName)
+           .append("SomeIp.skeleton(service)).start();\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * Connects to ").append(instance.getName())
+           .append("; use {@code ").append(interfaceName).append("SomeIp.proxy(client)} to call it\n");
+        out.append("     */\n");
+        out.append("    public static SomeIpClient connect").append(suffix).append("() throws IOException {\n");
+        out.append("        return SomeIpClient.connect(").append(constant).append(");\n");
+        out.append("    }\n");
+    }
+
+    private static String constantName(FdeplModel.InterfaceInstance instance) {
+        return JavaSomeIpEmitter.constantCase(instance.getName());
+    }
+
+    private static String packageOf(String qualifiedName) {
+        int dot = qualifiedName.lastIndexOf('.');
+        return dot < 0 ? "" : qualifiedName.substring(0, dot);
+    }
+}
@@ -0,0 +1,533 @@
+import java.util.List;
+
+/**
+ * Emits Java sources for a FIDL interface from its {@link FidlModel} AST.
+ * <p>
+ * Mapping rules:
+ * <ul>
+ *   <li>enumerations become Java enums carrying their FIDL value</li>
+ *   <li>structs become mutable nested classes with a no-arg and an all-fields constructor</li>
+ *   <li>enumerations and structs from imported type collections are inlined as nested types</li>
+ *   <li>methods return a {@code CompletableFuture} of their single out argument, or of a nested
+ *       {@code <Method>Reply} class when they declare several out arguments</li>
+ *   <li>broadcasts become {@code <Broadcast>Event} classes published on an {@code EventBus} returned by
+ *       {@code <broadcast>Events()}; {@code set<Broadcast>Listener} registers a single listener on it</li>
+ *   <li>attributes become a {@code get<Attribute>} method, a {@code set<Attribute>} method unless readonly and,
+ *       unless {@code noSubscriptions}, an {@code EventBus} of the changed values returned by
+ *       {@code <attribute>Changes()}; implementations keep them in an {@code AttributeCell}</li>
+ *   <li>structs, event and reply classes carry SOME/IP {@code writeTo}/{@code readFrom} codecs emitted by
+ *       {@link JavaCodecEmitter}</li>
+ * </ul>
+ */
+public class JavaInterfaceEmitter {
+
+    private static final int MAX_ENUM_LINE = 100;
+    static final String EVENT_BUS_IMPORT = "org.example.runtime.EventBus";
+    static final String ATTRIBUTE_CELL_IMPORT = "org.example.runtime.AttributeCell";
+
+    private final FidlScope scope;
+    private final FidlModel.Interface fidlInterface;
+    private final JavaCodecEmitter codecs;
+
+    public JavaInterfaceEmitter(FidlScope scope) {
+        this.scope = scope;
+        this.fidlInterface = scope.getInterface();
+        this.codecs = new JavaCodecEmitter(scope, this);
+    }
+
+    public String getPackageName() {
+        return scope.getModel().getPackageName();
+    }
+
+    public String getInterfaceName() {
+        return fidlInterface.getName();
+    }
+
+    // Interface
+
+    public String emitInterface() {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(getPackageName()).append(";\n\n");
+        out.append("import java.util.concurrent.CompletableFuture;\n");
+        if (!fidlInterface.getBroadcasts().isEmpty()) {
+            out.append("import java.util.function.Consumer;\n");
+        }
+        if (usesMaps()) {
+            out.append("import java.util.Map;\n");
+        }
+        if (hasDataClasses()) {
+            out.append("import java.nio.ByteBuffer;\n");
+            out.append("import ").append(JavaCodecEmitter.RUNTIME_IMPORT).append(";\n");
+        }
+        if (usesEventBus()) {
+            out.append("import ").append(EVENT_BUS_IMPORT).append(";\n");
+        }
+        out.append("\n");
+        out.append("/**\n");
+        out.append(" * ").append(fidlInterface.getName()).append(" interface generated from FRANCA IDL\n");
+        if (fidlInterface.getDescription() != null) {
+            out.append(" * <p>\n");
+            out.append(" * ").append(fidlInterface.getDescription()).append("\n");
+        }
+        out.append(" */\n");
+        out.append("public interface ").append(fidlInterface.getName()).append(" {\n");
+
+        List<FidlModel.Type> imported = scope.importedTypes();
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            if (type instanceof FidlModel.Enumeration) {
+                emitEnumeration(out, (FidlModel.Enumeration) type);
+            }
+        }
+        for (FidlModel.Type type : imported) {
+            if (type instanceof FidlModel.Enumeration) {
+                emitEnumeration(out, (FidlModel.Enumeration) type);
+            }
+        }
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            if (type instanceof FidlModel.Struct) {
+                emitStruct(out, (FidlModel.Struct) type);
+            }
+        }
+        for (FidlModel.Type type : imported) {
+            if (type instanceof FidlModel.Struct) {
+                emitStruct(out, (FidlModel.Struct) type);
+            }
+        }
+
+        out.append("    \n");
+        out.append("    // Methods\n");
+        for (FidlModel.Method method : fidlInterface.getMethods()) {
+            out.append("    ").append(methodSignature(method)).append(";\n");
+        }
+
+        if (!fidlInterface.getAttributes().isEmpty()) {
+            out.append("    \n");
+            out.append("    // Attributes\n");
+            for (FidlModel.Method accessor : fidlInterface.getAttributeAccessors()) {
+                out.append("    ").append(methodSignature(accessor)).append(";\n");
+            }
+            for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+                out.append("    ").append(changesSignature(attribute)).append(";\n");
+            }
+        }
+
+        if (!fidlInterface.getBroadcasts().isEmpty()) {
+            out.append("    \n");
+            out.append("    // Events\n");
+            for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+                out.append("    ").append(eventBusSignature(broadcast)).append(";\n");
+            }
+            for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+                out.append("    \n");
+                out.append("    default ").append(listenerSignature(broadcast)).append(" {\n");
+                out.append("        ").append(eventBusMethod(broadcast)).append("().setListener(listener);\n");
+                out.append("    }\n");
+            }
+            out.append("    \n");
+            out.append("    // Event classes\n");
+            String separator = "";
+            for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+                out.append(separator);
+                emitDataClass(out, eventClassName(broadcast), broadcast.getOutArgs(), null);
+                separator = "    \n";
+            }
+        }
+
+        String separator = "    \n    // Reply classes\n";
+        for (FidlModel.Method method : fidlInterface.getMethods()) {
+            if (method.getOutArgs().size() > 1) {
+                out.append(separator);
+                emitDataClass(out, replyClassName(method), method.getOutArgs(), null);
+                separator = "    \n";
+            }
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private void emitEnumeration(StringBuilder out, FidlModel.Enumeration enumeration) {
+        out.append("    \n");
+        out.append("    enum ").append(enumeration.getName()).append(" {\n");
+        List<FidlModel.Enumerator> enumerators = enumeration.getEnumerators();
+        List<Long> values = enumeration.getValues();
+        StringBuilder line = new StringBuilder("        ");
+        for (int i = 0; i < enumerators.size(); i++) {
+            String constant = enumerators.get(i).getName() + "(" + values.get(i) + ")"
+                + (i + 1 < enumerators.size() ? "," : ";");
+            if (line.length() > 8 && line.length() + constant.length() + 1 > MAX_ENUM_LINE) {
+                out.append(line.toString().stripTrailing()).append("\n");
+                line.setLength(0);
+                line.append("        ");
+            }
+            line.append(constant).append(' ');
+        }
+        out.append(line.toString().stripTrailing()).append("\n");
+        out.append("        \n");
+        out.append("        private final int value;\n");
+        out.append("        ").append(enumeration.getName()).append("(int value) { this.value = value; }\n");
+        out.append("        public int getValue() { return value; }\n");
+        JavaCodecEmitter.emitEnumLookup(out, enumeration);
+        out.append("    }\n");
+    }
+
+    private void emitStruct(StringBuilder out, FidlModel.Struct struct) {
+        String base = struct.getBaseName() != null ? FidlModel.simpleName(struct.getBaseName()) : null;
+        out.append("    \n");
+        emitDataClass(out, struct.getName(), struct.getFields(), base);
+    }
+
+    private boolean hasDataClasses() {
+        if (!fidlInterface.getBroadcasts().isEmpty()) {
+            return true;
+        }
+        for (FidlModel.Method method : fidlInterface.getMethods()) {
+            if (method.getOutArgs().size() > 1) {
+                return true;
+            }
+        }
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            if (type instanceof FidlModel.Struct) {
+                return true;
+            }
+        }
+        for (FidlModel.Type type : scope.importedTypes()) {
+            if (type instanceof FidlModel.Struct) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void emitDataClass(StringBuilder out, String className, List<FidlModel.Field> fields, String base) {
+        out.append("    class ").append(className);
+        if (base != null) {
+            out.append(" extends ").append(base);
+        }
+        out.append(" {\n");
+        for (FidlModel.Field field : fields) {
+            out.append("        public ").append(javaType(field.getType())).append(' ')
+               .append(field.getName()).append(";\n");
+        }
+        out.append("        \n");
+        out.append("        public ").append(className).append("() {}\n");
+        if (!fields.isEmpty()) {
+            out.append("        \n");
+            out.append("        public ").append(className).append("(").append(parameterList(fields)).append(") {\n");
+            for (FidlModel.Field field : fields) {
+                out.append("            this.").append(field.getName()).append(" = ").append(field.getName()).append(";\n");
+            }
+            out.append("        }\n");
+        }
+        codecs.emitCodec(out, fields, base != null);
+        out.append("    }\n");
+    }
+
+    // Implementation skeleton
+
+    /**
+     * Skeleton implementation written once when no implementation exists yet; developers own it afterwards
+     */
+    public String emitImplementationSkeleton() {
+        StringBuilder out = new StringBuilder();
+        String name = fidlInterface.getName();
+        out.append("package ").append(getPackageName()).append(";\n\n");
+        out.append("import java.util.concurrent.CompletableFuture;\n");
+        if (usesMaps()) {
+            out.append("import java.util.Map;\n");
+        }
+        if (!fidlInterface.getAttributes().isEmpty()) {
+            out.append("import ").append(ATTRIBUTE_CELL_IMPORT).append(";\n");
+        }
+        if (usesEventBus()) {
+            out.append("import ").append(EVENT_BUS_IMPORT).append(";\n");
+        }
+        out.append("import org.example.runtime.ServiceExecutor;\n");
+        out.append("\n");
+        out.append("/**\n");
+        out.append(" * ").append(name).append(" implementation skeleton generated from FRANCA IDL.\n");
+        out.append(" * Asynchronous bodies should run through {@code executor.supply(...)}.\n");
+        out.append(" */\n");
+        out.append("public class ").append(name).append("Impl implements ").append(name).append(" {\n");
+        if (!fidlInterface.getBroadcasts().isEmpty()) {
+            out.append("    \n");
+            out.append("    // Events\n");
+            for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+                emitEventBusField(out, broadcast, "    ");
+            }
+        }
+        if (!fidlInterface.getAttributes().isEmpty()) {
+            out.append("    \n");
+            out.append("    // Attributes\n");
+            for (FidlModel.Attribute attribute : fidlInterface.getAttributes()) {
+                String type = boxedType(attribute.getType());
+                out.append("    private final AttributeCell<").append(type).append("> ").append(attribute.getName())
+                   .append(" =\n");
+                out.append("        new AttributeCell<>(\"").append(name).append('.').append(attribute.getName())
+                   .append("\", ").append(defaultValue(attribute.getType())).append(");\n");
+            }
+        }
+        out.append("    \n");
+        out.append("    private final ServiceExecutor executor;\n");
+        out.append("    \n");
+        out.append("    public ").append(name).append("Impl() {\n");
+        out.append("        this(ServiceExecutor.inline());\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    public ").append(name).append("Impl(ServiceExecutor executor) {\n");
+        out.append("        this.executor = executor;\n");
+        out.append("    }\n");
+        for (FidlModel.Method method : fidlInterface.getMethods()) {
+            out.append("    \n");
+            out.append("    @Override\n");
+            out.append("    public ").append(methodSignature(method)).append(" {\n");
+            if (method.isFireAndForget()) {
+                out.append("        throw new UnsupportedOperationException(\"").append(method.getName())
+                   .append(" not implemented\");\n");
+            } else {
+                out.append("        return CompletableFuture.failedFuture(new UnsupportedOperationException(\"")
+                   .append(method.getName()).append(" not implemented\"));\n");
+            }
+            out.append("    }\n");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getAttributes()) {
+            String cell = attribute.getName();
+            out.append("    \n");
+            out.append("    @Override\n");
+            out.append("    public ").append(methodSignature(attribute.getter())).append(" {\n");
+            out.append("        return CompletableFuture.completedFuture(").append(cell).append(".get());\n");
+            out.append("    }\n");
+            if (!attribute.isReadonly()) {
+                out.append("    \n");
+                out.append("    @Override\n");
+                out.append("    public ").append(methodSignature(attribute.setter())).append(" {\n");
+                out.append("        this.").append(cell).append(".set(").append(cell).append(");\n");
+                out.append("        return CompletableFuture.completedFuture(null);\n");
+                out.append("    }\n");
+            }
+        }
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            emitEventBusAccessor(out, broadcast, "    ");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+            emitAccessor(out, changesSignature(attribute), attribute.getName() + ".changes()", "    ");
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * {@code private final EventBus<...> <broadcast>Events = ...;} named after the interface and broadcast
+     */
+    public void emitEventBusField(StringBuilder out, FidlModel.Broadcast broadcast, String indent) {
+        emitBusField(out, eventClassName(broadcast), eventBusMethod(broadcast), broadcast.getName(), indent);
+    }
+
+    /**
+     * {@code private final EventBus<...> <attribute>Changes = ...;} for a client of a remote attribute
+     */
+    public void emitChangesField(StringBuilder out, FidlModel.Attribute attribute, String indent) {
+        emitBusField(out, boxedType(attribute.getType()), changesMethod(attribute), attribute.getName(), indent);
+    }
+
+    private void emitBusField(StringBuilder out, String eventType, String field, String member, String indent) {
+        String declaration = indent + "private final EventBus<" + eventType + "> " + field + " =";
+        String initializer = "new EventBus<>(\"" + fidlInterface.getName() + "." + member + "\");";
+        out.append(declaration);
+        if (declaration.length() + initializer.length() + 1 > 110) {
+            out.append("\n").append(indent).append("    ");
+        } else {
+            out.append(' ');
+        }
+        out.append(initializer).append("\n");
+    }
+
+    public void emitEventBusAccessor(StringBuilder out, FidlModel.Broadcast broadcast, String indent) {
+        emitAccessor(out, eventBusSignature(broadcast), eventBusMethod(broadcast), indent);
+    }
+
+    public void emitChangesAccessor(StringBuilder out, FidlModel.Attribute attribute, String indent) {
+        emitAccessor(out, changesSignature(attribute), changesMethod(attribute), indent);
+    }
+
+    private static void emitAccessor(StringBuilder out, String signature, String expression, String indent) {
+        out.append(indent).append("\n");
+        out.append(indent).append("@Override\n");
+        out.append(indent).append("public ").append(signature).append(" {\n");
+        out.append(indent).append("    return ").append(expression).append(";\n");
+        out.append(indent).append("}\n");
+    }
+
+    // Naming and type mapping
+
+    public String methodSignature(FidlModel.Method method) {
+        String returnType = method.isFireAndForget() ? "void" : "CompletableFuture<" + replyType(method) + ">";
+        return returnType + " " + method.getName() + "(" + parameterList(method.getInArgs()) + ")";
+    }
+
+    public String replyType(FidlModel.Method method) {
+        List<FidlModel.Field> outArgs = method.getOutArgs();
+        if (outArgs.isEmpty()) {
+            return "Void";
+        }
+        if (outArgs.size() == 1) {
+            return boxedType(outArgs.get(0).getType());
+        }
+        return replyClassName(method);
+    }
+
+    public String listenerSignature(FidlModel.Broadcast broadcast) {
+        return "void set" + capitalize(broadcast.getName()) + "Listener(Consumer<" + eventClassName(broadcast)
+            + "> listener)";
+    }
+
+    public static String eventClassName(FidlModel.Broadcast broadcast) {
+        return capitalize(broadcast.getName()) + "Event";
+    }
+
+    public static String replyClassName(FidlModel.Method method) {
+        return capitalize(method.getName()) + "Reply";
+    }
+
+    public String eventBusSignature(FidlModel.Broadcast broadcast) {
+        return "EventBus<" + eventClassName(broadcast) + "> " + eventBusMethod(broadcast) + "()";
+    }
+
+    /**
+     * Name of both the bus accessor and the field holding the bus
+     */
+    public static String eventBusMethod(FidlModel.Broadcast broadcast) {
+        return broadcast.getName() + "Events";
+    }
+
+    public String changesSignature(FidlModel.Attribute attribute) {
+        return "EventBus<" + boxedType(attribute.getType()) + "> " + changesMethod(attribute) + "()";
+    }
+
+    /**
+     * Name of the accessor of an attribute's change notifications
+     */
+    public static String changesMethod(FidlModel.Attribute attribute) {
+        return attribute.getName() + "Changes";
+    }
+
+    /**
+     * Java expression of the zero value of {@code ref}: 0, false, "", the first enumerator or an empty instance
+     */
+    public String defaultValue(FidlModel.TypeRef ref) {
+        String javaType = javaType(ref);
+        if (javaType.endsWith("[]")) {
+            return "new " + javaType.substring(0, javaType.length() - 2) + "[0]";
+        }
+        if (javaType.startsWith("Map<")) {
+            return "Map.of()";
+        }
+        switch (javaType) {
+            case "boolean": return "false";
+            case "byte": return "(byte) 0";
+            case "short": return "(short) 0";
+            case "int": return "0";
+            case "long": return "0L";
+            case "float": return "0f";
+            case "double": return "0.0";
+            case "String": return "\"\"";
+            default:
+                break;
+        }
+        FidlModel.Type type = scope.resolve(ref.elementType());
+        if (type instanceof FidlModel.Typedef) {
+            return defaultValue(((FidlModel.Typedef) type).getActualType());
+        }
+        if (type instanceof FidlModel.Enumeration) {
+            return javaType + "." + ((FidlModel.Enumeration) type).getEnumerators().get(0).getName();
+        }
+        return "new " + javaType + "()";
+    }
+
+    private String parameterList(List<FidlModel.Field> fields) {
+        StringBuilder parameters = new StringBuilder();
+        for (FidlModel.Field field : fields) {
+            if (parameters.length() > 0) {
+                parameters.append(", ");
+            }
+            parameters.append(javaType(field.getType())).append(' ').append(field.getName());
+        }
+        return parameters.toString();
+    }
+
+    public String javaType(FidlModel.TypeRef ref) {
+        FidlModel.TypeRef element = ref.elementType();
+        String javaType;
+        if (element.isPrimitive()) {
+            javaType = primitiveType(element.getName());
+        } else {
+            FidlModel.Type type = scope.resolve(element);
+            if (type instanceof FidlModel.ArrayType) {
+                javaType = javaType(((FidlModel.ArrayType) type).getElementType()) + "[]";
+            } else if (type instanceof FidlModel.MapType) {
+                FidlModel.MapType map = (FidlModel.MapType) type;
+                javaType = "Map<" + boxedType(map.getKeyType()) + ", " + boxedType(map.getValueType()) + ">";
+            } else if (type instanceof FidlModel.Typedef) {
+                javaType = javaType(((FidlModel.Typedef) type).getActualType());
+            } else {
+                javaType = type.getName();
+            }
+        }
+        return ref.isArray() ? javaType + "[]" : javaType;
+    }
+
+    public String boxedType(FidlModel.TypeRef ref) {
+        String javaType = javaType(ref);
+        switch (javaType) {
+            case "boolean": return "Boolean";
+            case "byte": return "Byte";
+            case "short": return "Short";
+            case "int": return "Integer";
+            case "long": return "Long";
+            case "float": return "Float";
+            case "double": return "Double";
+            default: return javaType;
+        }
+    }
+
+    public static String primitiveType(String fidlType) {
+        switch (fidlType) {
+            case "Boolean": return "boolean";
+            case "Int8":
+            case "UInt8": return "byte";
+            case "Int16": return "short";
+            case "UInt16":
+            case "Int32":
+            case "UInt32": return "int";
+            case "Int64":
+            case "UInt64": return "long";
+            case "Float": return "float";
+            case "Double": return "double";
+            case "String": return "String";
+            case "ByteBuffer": return "byte[]";
+            default:
+                throw new IllegalArgumentException("Unknown FIDL primitive type " + fidlType);
+        }
+    }
+
+    public static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private boolean usesEventBus() {
+        return !fidlInterface.getBroadcasts().isEmpty() || !fidlInterface.getNotifiedAttributes().isEmpty();
+    }
+
+    private boolean usesMaps() {
+        for (FidlModel.Type type : scope.importedTypes()) {
+            if (type instanceof FidlModel.MapType) {
+                return true;
+            }
+        }
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            if (type instanceof FidlModel.MapType) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,413 @@
+import java.util.List;
+
+/**
+ * Emits the SOME/IP binding of a FIDL interface: a {@code <Interface>SomeIp} class holding the service,
+ * method and event IDs, a server skeleton dispatching requests to an implementation, and a client proxy
+ * implementing the interface on top of {@code org.example.runtime.SomeIpClient}.
+ * <p>
+ * Method IDs are assigned in declaration order starting at 0x0001, event IDs likewise starting at 0x8001.
+ * Attribute getters and setters follow the methods, and attribute change notifications follow the broadcasts,
+ * so adding attributes leaves the IDs of existing methods and broadcasts unchanged. The service ID is derived
+ * from the fully qualified interface name.
+ */
+public class JavaSomeIpEmitter {
+
+    private static final int FIRST_EVENT_ID = 0x8001;
+
+    private final FidlScope scope;
+    private final FidlModel.Interface fidlInterface;
+    private final JavaInterfaceEmitter types;
+    private final JavaCodecEmitter codecs;
+
+    public JavaSomeIpEmitter(FidlScope scope) {
+        this.scope = scope;
+        this.fidlInterface = scope.getInterface();
+        this.types = new JavaInterfaceEmitter(scope);
+        this.codecs = new JavaCodecEmitter(scope, types);
+    }
+
+    public String getClassName() {
+        return fidlInterface.getName() + "SomeIp";
+    }
+
+    /**
+     * Stable 16-bit service ID, avoiding the reserved values 0x0000 and 0xFFFF
+     */
+    public int serviceId() {
+        int hash = (types.getPackageName() + "." + fidlInterface.getName()).hashCode();
+        int id = (hash ^ (hash >>> 16)) & 0xFFFF;
+        return id == 0 || id == 0xFFFF ? 0x0100 : id;
+    }
+
+    public int interfaceVersion() {
+        return fidlInterface.getVersion() != null ? fidlInterface.getVersion().getMajor() : 0;
+    }
+
+    public String emit() {
+        String name = fidlInterface.getName();
+        boolean hasEvents = hasEvents();
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(types.getPackageName()).append(";\n\n");
+        out.append("import java.nio.ByteBuffer;\n");
+        out.append("import java.util.concurrent.CompletableFuture;\n");
+        if (usesMaps()) {
+            out.append("import java.util.Map;\n");
+        }
+        if (hasEvents) {
+            out.append("import ").append(JavaInterfaceEmitter.EVENT_BUS_IMPORT).append(";\n");
+        }
+        out.append("import org.example.runtime.ServiceMetrics;\n");
+        out.append("import org.example.runtime.SomeIpClient;\n");
+        out.append("import org.example.runtime.SomeIpCodec;\n");
+        out.append("import org.example.runtime.SomeIpHeader;\n");
+        out.append("import org.example.runtime.SomeIpService;\n");
+        out.append("import ").append(types.getPackageName()).append('.').append(name).append(".*;\n");
+        out.append("\n");
+        out.append("/**\n");
+        out.append(" * SOME/IP binding of ").append(name).append(" generated from FRANCA IDL\n");
+        out.append(" */\n");
+        out.append("public final class ").append(getClassName()).append(" {\n");
+        out.append("    \n");
+        out.append("    public static final int SERVICE_ID = ").append(hex(serviceId())).append(";\n");
+        out.append("    public static final int INTERFACE_VERSION = ").append(interfaceVersion()).append(";\n");
+        out.append("    \n");
+        out.append("    // Method IDs\n");
+        List<FidlModel.Method> methods = fidlInterface.getCallables();
+        for (int i = 0; i < methods.size(); i++) {
+            out.append("    public static final int ").append(methodConstant(methods.get(i))).append(" = ")
+               .append(hex(i + 1)).append(";\n");
+        }
+        if (hasEvents) {
+            out.append("    \n");
+            out.append("    // Event IDs\n");
+            int eventId = FIRST_EVENT_ID;
+            for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+                out.append("    public static final int ").append(eventConstant(broadcast)).append(" = ")
+                   .append(hex(eventId++)).append(";\n");
+            }
+            for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+                out.append("    public static final int ").append(eventConstant(attribute)).append(" = ")
+                   .append(hex(eventId++)).append(";\n");
+            }
+        }
+        out.append("    \n");
+        out.append("    private ").append(getClassName()).append("() {}\n");
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * Exposes {@code service} for registration with a {@code SomeIpServer}\n");
+        out.append("     */\n");
+        out.append("    public static SomeIpService skeleton(").append(name).append(" service) {\n");
+        out.append("        return new Skeleton(service);\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * Remote ").append(name).append(" calling through {@code client}\n");
+        out.append("     */\n");
+        out.append("    public static ").append(name).append(" proxy(SomeIpClient client) {\n");
+        out.append("        return new Proxy(client);\n");
+        out.append("    }\n");
+        emitSkeleton(out);
+        emitProxy(out);
+        out.append("}\n");
+        return out.toString();
+    }
+
+    // Skeleton
+
+    private void emitSkeleton(StringBuilder out) {
+        String name = fidlInterface.getName();
+        out.append("    \n");
+        out.append("    private static final class Skeleton implements SomeIpService {\n");
+        out.append("        private final ").append(name).append(" service;\n");
+        out.append("        private final ServiceMetrics metrics = new ServiceMetrics(\"").append(name).append("\"");
+        for (FidlModel.Method method : fidlInterface.getCallables()) {
+            out.append(",");
+            int column = out.length() - out.lastIndexOf("\n") - 1;
+            if (column + method.getName().length() + 4 > 110) {
+                out.append("\n            ");
+            } else {
+                out.append(" ");
+            }
+            out.append("\"").append(method.getName()).append("\"");
+        }
+        out.append(");\n");
+        out.append("        \n");
+        out.append("        Skeleton(").append(name).append(" service) {\n");
+        out.append("            this.service = service;\n");
+        out.append("        }\n");
+        out.append("        \n");
+        out.append("        @Override\n");
+        out.append("        public int getServiceId() {\n");
+        out.append("            return SERVICE_ID;\n");
+        out.append("        }\n");
+        out.append("        \n");
+        out.append("        @Override\n");
+        out.append("        public int getInterfaceVersion() {\n");
+        out.append("            return INTERFACE_VERSION;\n");
+        out.append("        }\n");
+        out.append("        \n");
+        out.append("        @Override\n");
+        out.append("        public CompletableFuture<ByteBuffer> invoke(int methodId, ByteBuffer payload) {\n");
+        out.append("            long start = System.nanoTime();\n");
+        out.append("            switch (methodId) {\n");
+        List<FidlModel.Method> methods = fidlInterface.getCallables();
+        for (int i = 0; i < methods.size(); i++) {
+            FidlModel.Method method = methods.get(i);
+            out.append("                case ").append(methodConstant(method)).append(": return metrics.record(")
+               .append(i).append(", start, ").append(method.getName()).append("(payload));\n");
+        }
+        out.append("                default: return null;\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        \n");
+        out.append("        @Override\n");
+        out.append("        public ServiceMetrics getMetrics() {\n");
+        out.append("            return metrics;\n");
+        out.append("        }\n");
+        out.append("        \n");
+        out.append("        @Override\n");
+        out.append("        public void bindEvents(Notifier notifier) {\n");
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            out.append("            service.").append(JavaInterfaceEmitter.eventBusMethod(broadcast))
+               .append("().subscribe(event -> {\n");
+            out.append("                ByteBuffer message = SomeIpHeader.allocate(event.serializedSize());\n");
+            out.append("                event.writeTo(message);\n");
+            out.append("                notifier.notify(SERVICE_ID, ").append(eventConstant(broadcast))
+               .append(", INTERFACE_VERSION, message);\n");
+            out.append("            });\n");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+            // The getter's reply encoder doubles as the notification encoder
+            out.append("            service.").append(JavaInterfaceEmitter.changesMethod(attribute))
+               .append("().subscribe(value -> {\n");
+            out.append("                ByteBuffer message = ").append(attribute.getter().getName())
+               .append("Reply(value);\n");
+            out.append("                notifier.notify(SERVICE_ID, ").append(eventConstant(attribute))
+               .append(", INTERFACE_VERSION, message);\n");
+            out.append("            });\n");
+        }
+        out.append("        }\n");
+
+        for (FidlModel.Method method : fidlInterface.getCallables()) {
+            emitSkeletonMethod(out, method);
+        }
+        out.append("    }\n");
+    }
+
+    private void emitSkeletonMethod(StringBuilder out, FidlModel.Method method) {
+        codecs.resetVariables();
+        out.append("        \n");
+        out.append("        private CompletableFuture<ByteBuffer> ").append(method.getName()).append("(ByteBuffer buffer) {\n");
+        StringBuilder arguments = new StringBuilder();
+        for (FidlModel.Field arg : method.getInArgs()) {
+            codecs.declare(out, arg.getType(), arg.getName(), "            ");
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            arguments.append(arg.getName());
+        }
+        String call = "service." + method.getName() + "(" + arguments + ")";
+        if (method.isFireAndForget()) {
+            out.append("            ").append(call).append(";\n");
+            out.append("            return CompletableFuture.completedFuture(null);\n");
+        } else if (method.getOutArgs().isEmpty()) {
+            out.append("            return ").append(call).append(".thenApply(ignored -> SomeIpHeader.allocate(0));\n");
+        } else {
+            out.append("            return ").append(call).append(".thenApply(Skeleton::")
+               .append(method.getName()).append("Reply);\n");
+        }
+        out.append("        }\n");
+        if (method.isFireAndForget() || method.getOutArgs().isEmpty()) {
+            return;
+        }
+
+        codecs.resetVariables();
+        out.append("        \n");
+        out.append("        private static ByteBuffer ").append(method.getName()).append("Reply(")
+           .append(types.replyType(method)).append(" result) {\n");
+        if (method.getOutArgs().size() > 1) {
+            out.append("            ByteBuffer buffer = SomeIpHeader.allocate(result.serializedSize());\n");
+            out.append("            result.writeTo(buffer);\n");
+        } else {
+            FidlModel.TypeRef type = method.getOutArgs().get(0).getType();
+            int fixed = codecs.fixedSize(type);
+            if (fixed >= 0) {
+                out.append("            ByteBuffer buffer = SomeIpHeader.allocate(").append(fixed).append(");\n");
+            } else {
+                out.append("            int size = 0;\n");
+                codecs.size(out, type, "result", "            ");
+                out.append("            ByteBuffer buffer = SomeIpHeader.allocate(size);\n");
+            }
+            codecs.write(out, type, "result", "            ");
+        }
+        out.append("            return buffer;\n");
+        out.append("        }\n");
+    }
+
+    // Proxy
+
+    private void emitProxy(StringBuilder out) {
+        String name = fidlInterface.getName();
+        out.append("    \n");
+        out.append("    private static final class Proxy implements ").append(name).append(" {\n");
+        out.append("        private final SomeIpClient client;\n");
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            types.emitEventBusField(out, broadcast, "        ");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+            types.emitChangesField(out, attribute, "        ");
+        }
+        out.append("        \n");
+        out.append("        Proxy(SomeIpClient client) {\n");
+        out.append("            this.client = client;\n");
+        if (hasEvents()) {
+            out.append("            client.setNotificationHandler(SERVICE_ID, this::onNotification);\n");
+        }
+        out.append("        }\n");
+
+        for (FidlModel.Method method : fidlInterface.getCallables()) {
+            emitProxyMethod(out, method);
+        }
+
+        for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+            types.emitEventBusAccessor(out, broadcast, "        ");
+        }
+        for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+            types.emitChangesAccessor(out, attribute, "        ");
+        }
+        if (hasEvents()) {
+            out.append("        \n");
+            out.append("        private void onNotification(int eventId, ByteBuffer payload) {\n");
+            out.append("            switch (eventId) {\n");
+            for (FidlModel.Broadcast broadcast : fidlInterface.getBroadcasts()) {
+                String eventClass = JavaInterfaceEmitter.eventClassName(broadcast);
+                String bus = JavaInterfaceEmitter.eventBusMethod(broadcast);
+                out.append("                case ").append(eventConstant(broadcast)).append(": {\n");
+                out.append("                    if (").append(bus).append(".hasSubscribers()) {\n");
+                out.append("                        ").append(eventClass).append(" event = new ").append(eventClass)
+                   .append("();\n");
+                out.append("                        event.readFrom(payload);\n");
+                out.append("                        ").append(bus).append(".publish(event);\n");
+                out.append("                    }\n");
+                out.append("                    break;\n");
+                out.append("                }\n");
+            }
+            for (FidlModel.Attribute attribute : fidlInterface.getNotifiedAttributes()) {
+                String bus = JavaInterfaceEmitter.changesMethod(attribute);
+                out.append("                case ").append(eventConstant(attribute)).append(":\n");
+                out.append("                    if (").append(bus).append(".hasSubscribers()) {\n");
+                out.append("                        ").append(bus).append(".publish(")
+                   .append(attribute.getter().getName()).append("Reply(payload));\n");
+                out.append("                    }\n");
+                out.append("                    break;\n");
+            }
+            out.append("                default:\n");
+            out.append("                    break;\n");
+            out.append("            }\n");
+            out.append("        }\n");
+        }
+        out.append("    }\n");
+    }
+
+    private void emitProxyMethod(StringBuilder out, FidlModel.Method method) {
+        codecs.resetVariables();
+        out.append("        \n");
+        out.append("        @Override\n");
+        out.append("        public ").append(types.methodSignature(method)).append(" {\n");
+        int fixed = 0;
+        StringBuilder variable = new StringBuilder();
+        for (FidlModel.Field arg : method.getInArgs()) {
+            int argSize = codecs.fixedSize(arg.getType());
+            if (argSize >= 0) {
+                fixed += argSize;
+            } else {
+                codecs.size(variable, arg.getType(), arg.getName(), "            ");
+            }
+        }
+        if (variable.length() == 0) {
+            out.append("            ByteBuffer buffer = SomeIpHeader.allocate(").append(fixed).append(");\n");
+        } else {
+            out.append("            int size = ").append(fixed).append(";\n");
+            out.append(variable);
+            out.append("            ByteBuffer buffer = SomeIpHeader.allocate(size);\n");
+        }
+        for (FidlModel.Field arg : method.getInArgs()) {
+            codecs.write(out, arg.getType(), arg.getName(), "            ");
+        }
+        String constant = methodConstant(method);
+        if (method.isFireAndForget()) {
+            out.append("            client.send(SERVICE_ID, ").append(constant).append(", INTERFACE_VERSION, buffer);\n");
+            out.append("        }\n");
+            return;
+        }
+        String reader = method.getOutArgs().isEmpty() ? "ignored -> null" : "Proxy::" + method.getName() + "Reply";
+        out.append("            return client.call(SERVICE_ID, ").append(constant).append(", INTERFACE_VERSION, buffer, ")
+           .append(reader).append(");\n");
+        out.append("        }\n");
+        if (method.getOutArgs().isEmpty()) {
+            return;
+        }
+
+        codecs.resetVariables();
+        String replyType = types.replyType(method);
+        out.append("        \n");
+        out.append("        private static ").append(replyType).append(' ').append(method.getName())
+           .append("Reply(ByteBuffer buffer) {\n");
+        if (method.getOutArgs().size() > 1) {
+            out.append("            ").append(replyType).append(" result = new ").append(replyType).append("();\n");
+            out.append("            result.readFrom(buffer);\n");
+        } else {
+            codecs.declare(out, method.getOutArgs().get(0).getType(), "result", "            ");
+        }
+        out.append("            return result;\n");
+        out.append("        }\n");
+    }
+
+    // Helpers
+
+    private static String methodConstant(FidlModel.Method method) {
+        return "METHOD_" + constantCase(method.getName());
+    }
+
+    private static String eventConstant(FidlModel.Broadcast broadcast) {
+        return "EVENT_" + constantCase(broadcast.getName());
+    }
+
+    private static String eventConstant(FidlModel.Attribute attribute) {
+        return "EVENT_" + constantCase(attribute.getName()) + "_CHANGED";
+    }
+
+    private boolean hasEvents() {
+        return !fidlInterface.getBroadcasts().isEmpty() || !fidlInterface.getNotifiedAttributes().isEmpty();
+    }
+
+    static String constantCase(String camelCase) {
+        StringBuilder constant = new StringBuilder();
+        for (int i = 0; i < camelCase.length(); i++) {
+            char c = camelCase.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(camelCase.charAt(i - 1))) {
+                constant.append('_');
+            }
+            constant.append(Character.toUpperCase(c));
+        }
+        return constant.toString();
+    }
+
+    private static String hex(int value) {
+        return String.format("0x%04X", value);
+    }
+
+    private boolean usesMaps() {
+        for (FidlModel.Type type : scope.importedTypes()) {
+            if (type instanceof FidlModel.MapType) {
+                return true;
+            }
+        }
+        for (FidlModel.Type type : fidlInterface.getTypes()) {
+            if (type instanceof FidlModel.MapType) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,12 +16,14 @@ public class SimpleCodeGenerator {
             // Create output directories
             createDirectories(outputDir);
             
-            // Read Calculator.fidl file
+            // Read and parse Calculator.fidl file
             String fidlContent = readFile(inputDir + "/Calculator.fidl");
+            List<FidlModel> models = FidlParser.parseWithImports(Paths.get(inputDir + "/Calculator.fidl"));
+            FidlScope scope = new FidlScope(models.get(0).getInterfaces().get(0), models);
             
             // Generate code for different languages
             generateCppCode(outputDir, fidlContent);
-            generateJavaCode(outputDir, fidlContent);
+            generateJavaCode(outputDir, scope);
             generateJavaScriptCode(outputDir, fidlContent);
             
             System.out.println("Code generation completed successfully!");
@@ -58,8 +60,8 @@ public class SimpleCodeGenerator {
         System.out.println("Generated C++ code in " + outputDir + "/cpp/");
     }
     
-    private static void generateJavaCode(String outputDir, String fidlContent) throws IOException {
-        String interfaceContent = generateJavaInterface();
+    private static void generateJavaCode(String outputDir, FidlScope scope) throws IOException {
+        String interfaceContent = new JavaInterfaceEmitter(scope).emitInterface();
         String implementationContent = generateJavaImplementation();
         String clientContent = generateJavaClient();
         
@@ -323,103 +325,6 @@ public class SimpleCodeGenerator {
                "endif()\n";
     }
     
-    private static String generateJavaInterface() {
-        return "package org.example.calculator;\n\n" +
-               "import java.util.function.Consumer;\n" +
-               "import java.util.concurrent.CompletableFuture;\n\n" +
-               "/**\n" +
-               " * Calculator interface generated from FRANCA IDL\n" +
-               " */\n" +
-               "public interface Calculator {\n" +
-               "    \n" +
-               "    enum Operation {\n" +
-               "        ADD(1), SUBTRACT(2), MULTIPLY(3), DIVIDE(4), POWER(5), SQRT(6);\n" +
-               "        \n" +
-               "        private final int value;\n" +
-               "        Operation(int value) { this.value = value; }\n" +
-               "        public int getValue() { return value; }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class CalculationResult {\n" +
-               "        public double result;\n" +
-               "        public String errorMessage;\n" +
-               "        public boolean isValid;\n" +
-               "        public long timestamp;\n" +
-               "        \n" +
-               "        public CalculationResult() {}\n" +
-               "        \n" +
-               "        public CalculationResult(double result, String errorMessage, boolean isValid, long timestamp) {\n" +
-               "            this.result = result;\n" +
-               "            this.errorMessage = errorMessage;\n" +
-               "            this.isValid = isValid;\n" +
-               "            this.timestamp = timestamp;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ComplexNumber {\n" +
-               "        public double real;\n" +
-               "        public double imaginary;\n" +
-               "        \n" +
-               "        public ComplexNumber() {}\n" +
-               "        \n" +
-               "        public ComplexNumber(double real, double imaginary) {\n" +
-               "            this.real = real;\n" +
-               "            this.imaginary = imaginary;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class CalculatorStats {\n" +
-               "        public int totalOperations;\n" +
-               "        public int successfulOperations;\n" +
-               "        public int errorCount;\n" +
-               "        public double averageExecutionTime;\n" +
-               "        \n" +
-               "        public CalculatorStats() {}\n" +
-               "        \n" +
-               "        public CalculatorStats(int total, int successful, int errors, double avgTime) {\n" +
-               "            this.totalOperations = total;\n" +
-               "            this.successfulOperations = successful;\n" +
-               "            this.errorCount = errors;\n" +
-               "            this.averageExecutionTime = avgTime;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    // Methods\n" +
-               "    CompletableFuture<CalculationResult> calculate(double leftOperand, double rightOperand, Operation operation);\n" +
-               "    CompletableFuture<ComplexNumber> calculateComplex(ComplexNumber left, ComplexNumber right, Operation operation);\n" +
-               "    CompletableFuture<CalculatorStats> getStatistics();\n" +
-               "    CompletableFuture<Boolean> reset();\n" +
-               "    CompletableFuture<Boolean> setPrecision(byte decimalPlaces);\n" +
-               "    \n" +
-               "    // Event listeners\n" +
-               "    void setCalculationCompletedListener(Consumer<CalculationCompletedEvent> listener);\n" +
-               "    void setErrorOccurredListener(Consumer<ErrorOccurredEvent> listener);\n" +
-               "    \n" +
-               "    // Event classes\n" +
-               "    class CalculationCompletedEvent {\n" +
-               "        public CalculationResult result;\n" +
-               "        public long sessionId;\n" +
-               "        \n" +
-               "        public CalculationCompletedEvent(CalculationResult result, long sessionId) {\n" +
-               "            this.result = result;\n" +
-               "            this.sessionId = sessionId;\n" +
-               "        }\n" +
-               "    }\n" +
-               "    \n" +
-               "    class ErrorOccurredEvent {\n" +
-               "        public String errorMessage;\n" +
-               "        public int errorCode;\n" +
-               "        public long timestamp;\n" +
-               "        \n" +
-               "        public ErrorOccurredEvent(String errorMessage, int errorCode, long timestamp) {\n" +
-               "            this.errorMessage = errorMessage;\n" +
-               "            this.errorCode = errorCode;\n" +
-               "            this.timestamp = timestamp;\n" +
-               "        }\n" +
-               "    }\n" +
-               "}\n";
-    }
-    
     private static String generateJavaImplementation() {
         return "package org.example.calculator;\n\n" +
                "import java.util.concurrent.CompletableFuture;\n" +